@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -23,19 +24,33 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.webflux) // spring.main.web-application-type=reactive 일 때 사용하는 리액티브 API
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    testImplementation(libs.reactor.test)
 }
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21) // 가상 스레드 사용
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
+}
+
+// benchmark tasks
+// ./gradlew jmh -PjmhIncludes=PointServiceBenchmark -PjmhProfilers=gc
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    (findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+    (findProperty("jmhProfilers") as String?)?.let { profilers = it.split(",") }
 }
 
 // bundling tasks
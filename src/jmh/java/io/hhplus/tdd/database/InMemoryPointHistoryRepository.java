@@ -0,0 +1,31 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 지연 없는 포인트 내역 저장소
+ * - 아이디만 부여하고 내역은 보관하지 않으므로, 조회는 IndexedPointHistoryRepository 로 감싸서 사용한다.
+ */
+public class InMemoryPointHistoryRepository implements PointHistoryRepository {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return new PointHistory(sequence.incrementAndGet(), userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public long append(long userId, long amount, TransactionType type, long updateMillis) {
+        return sequence.incrementAndGet();
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        throw new UnsupportedOperationException("IndexedPointHistoryRepository 로 감싸서 조회합니다.");
+    }
+}
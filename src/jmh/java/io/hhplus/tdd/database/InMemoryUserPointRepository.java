@@ -0,0 +1,27 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 벤치마크용 지연 없는 사용자 포인트 저장소
+ * - UserPointTable 의 인위적인 지연을 제외하고 서비스 코드만 측정하기 위해 사용한다.
+ */
+public class InMemoryUserPointRepository implements UserPointRepository {
+
+    private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = table.get(id);
+        return userPoint == null ? UserPoint.empty(id) : userPoint;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+}
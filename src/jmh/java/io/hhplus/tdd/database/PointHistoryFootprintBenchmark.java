@@ -0,0 +1,118 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내역 저장 구조별 메모리 사용량 벤치마크
+ * - table : PointHistoryTable 과 같이 PointHistory 객체를 리스트에 보관하고, IndexedPointHistoryRepository 로 사용자 색인을 붙인 구조
+ * - columnar : ColumnarPointHistoryRepository (열 단위 원시 배열 + 행 번호 색인)
+ * - 측정 시간은 rows 건을 저장하는 데 걸린 시간이며, 반복이 끝날 때 저장 중 GC 횟수/멈춘 시간과
+ *   전체 GC 후 남은 힙 크기, 전체 GC 에 걸린 시간을 출력한다. (-PjmhProfilers=gc 로 할당량도 함께 볼 수 있다)
+ * - 실행 예 : ./gradlew jmh -PjmhIncludes=PointHistoryFootprintBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g", "-XX:+UseG1GC"})
+public class PointHistoryFootprintBenchmark {
+
+    private static final int USERS = 100_000;
+
+    @Param({"table", "columnar"})
+    private String layout;
+
+    @Param({"50000000"})
+    private int rows;
+
+    private PointHistoryRepository repository;
+    private long baselineHeap;
+    private long baselineGcCount;
+    private long baselineGcMillis;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        repository = null;
+        baselineHeap = usedHeapAfterFullGc();
+        baselineGcCount = gcCount();
+        baselineGcMillis = gcMillis();
+    }
+
+    @Benchmark
+    public PointHistoryRepository fill() {
+        repository = "table".equals(layout)
+                ? new IndexedPointHistoryRepository(new TableLayoutPointHistoryRepository())
+                : new ColumnarPointHistoryRepository();
+        for (int i = 0; i < rows; i++) {
+            repository.insert(1L + i % USERS, 1_000L, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i);
+        }
+        return repository;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long fillGcCount = gcCount() - baselineGcCount;
+        long fillGcMillis = gcMillis() - baselineGcMillis;
+
+        long fullGcStart = gcMillis();
+        long retainedBytes = usedHeapAfterFullGc() - baselineHeap;
+        long fullGcMillis = gcMillis() - fullGcStart;
+
+        // 측정이 끝날 때까지 저장소가 수거되지 않도록 조회 한 번으로 참조를 유지한다.
+        int sample = repository.selectByUserId(1L, 0L, Long.MIN_VALUE, Long.MAX_VALUE, 1).size();
+        System.out.printf("%n[%s] rows=%d retained=%dMB (%.1f bytes/row), fill gc=%d회 %dms, full gc=%dms, sample=%d%n",
+                layout, rows, retainedBytes >> 20, (double) retainedBytes / rows, fillGcCount, fillGcMillis, fullGcMillis, sample);
+        repository = null;
+    }
+
+    private static long usedHeapAfterFullGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long gcCount() {
+        long count = 0L;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(bean.getCollectionCount(), 0L);
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0L;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(bean.getCollectionTime(), 0L);
+        }
+        return millis;
+    }
+
+    /**
+     * PointHistoryTable 과 같은 구조로 내역을 보관하되 인위적인 지연은 제외한 저장소
+     */
+    private static class TableLayoutPointHistoryRepository implements PointHistoryRepository {
+
+        private final List<PointHistory> table = new ArrayList<>();
+        private long cursor = 1;
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        }
+    }
+}
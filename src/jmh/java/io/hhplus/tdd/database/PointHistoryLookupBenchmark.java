@@ -0,0 +1,49 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내역 조회 벤치마크
+ * - 전체 내역 수가 늘어나도 한 사용자의 내역 조회 비용이 일정한지 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PointHistoryLookupBenchmark {
+
+    private static final long TARGET_USER_ID = 1L;
+    private static final int TARGET_USER_HISTORIES = 100;
+
+    @Param({"10000", "1000000"})
+    private int totalHistories;
+
+    private IndexedPointHistoryRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new IndexedPointHistoryRepository(new InMemoryPointHistoryRepository());
+        int interval = totalHistories / TARGET_USER_HISTORIES;
+        for (int i = 0; i < totalHistories; i++) {
+            long userId = i % interval == 0 ? TARGET_USER_ID : 2L + i % 10_000;
+            repository.insert(userId, 1_000L, TransactionType.CHARGE, i);
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> selectAll() {
+        return repository.selectAllByUserId(TARGET_USER_ID);
+    }
+
+    @Benchmark
+    public List<PointHistory> selectPage() {
+        return repository.selectByUserId(TARGET_USER_ID, 50L, 0L, Long.MAX_VALUE, 20);
+    }
+}
@@ -0,0 +1,71 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 상태 스냅샷 기록/복원 시간 벤치마크
+ * - users 명의 잔액과 history 건의 내역(ColumnarPointHistoryRepository)을 스냅샷으로 기록하고, 빈 맵과 저장소에 복원하는 시간을 측정한다.
+ * - 복원 시간이 재시작 후 요청을 받을 수 있을 때까지 걸리는 시간이며, 내역 건수에 비례하는 부분은 유지되는 저장소(journal)에서는 빠진다.
+ * - 실행 예 : ./gradlew jmh -PjmhIncludes=PointStateRestoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g", "-XX:+UseG1GC"})
+public class PointStateRestoreBenchmark {
+
+    @Param({"10000000"})
+    private int users;
+
+    @Param({"1000000"})
+    private int history;
+
+    private Path directory;
+    private Path file;
+    private ConcurrentLongBalanceMap balances;
+    private ColumnarPointHistoryRepository histories;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("point-state-bench");
+        file = directory.resolve("point-state.snap");
+        balances = new ConcurrentLongBalanceMap();
+        histories = new ColumnarPointHistoryRepository();
+        for (long userId = 1; userId <= users; userId++) {
+            balances.put(userId, userId % 1_000_000L, userId);
+        }
+        for (int i = 0; i < history; i++) {
+            histories.append(1L + i % users, 1_000L, TransactionType.CHARGE, i);
+        }
+    }
+
+    @Benchmark
+    public PointStateSnapshotter.Report write() {
+        return new PointStateSnapshotter(file, balances, histories).write();
+    }
+
+    @Benchmark
+    public PointStateSnapshotter.Report restore() {
+        if (!Files.exists(file)) {
+            new PointStateSnapshotter(file, balances, histories).write();
+        }
+        return new PointStateSnapshotter(file, new ConcurrentLongBalanceMap(), new ColumnarPointHistoryRepository()).restore();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ConcurrentLongBalanceMap;
+import io.hhplus.tdd.database.InMemoryPointHistoryRepository;
+import io.hhplus.tdd.database.InMemoryUserPointRepository;
+import io.hhplus.tdd.database.PrimitiveUserPointRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 저장 구조별 충전/사용 비용 벤치마크
+ * - boxed : ConcurrentHashMap<Long, UserPoint> 저장소 + chargePoints/usePoints (그룹 커밋, 사용자 락)
+ * - primitive : PrimitiveUserPointRepository + chargeBalance/useBalance (잔액 맵의 원자적 갱신)
+ * - map : ConcurrentLongBalanceMap.add 만 호출
+ * - 할당량은 -PjmhProfilers=gc 의 gc.alloc.rate.norm 으로 확인하며, primitive 와 map 은 0 B/op 이어야 한다.
+ *   (내역 저장소는 아이디만 부여하는 InMemoryPointHistoryRepository 이므로 내역 보관 비용은 포함하지 않는다)
+ * - 실행 예 : ./gradlew jmh -PjmhIncludes=PointBalanceBenchmark -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointBalanceBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+    private static final long AMOUNT = 1_000L;
+    private static final long MAX_POINTS = 1_000_000L;
+
+    private PointService boxedService;
+    private PointService primitiveService;
+    private ConcurrentLongBalanceMap balances;
+    private long nextUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boxedService = new PointService(new InMemoryUserPointRepository(), new InMemoryPointHistoryRepository());
+        primitiveService = new PointService(new PrimitiveUserPointRepository(), new InMemoryPointHistoryRepository());
+        balances = new ConcurrentLongBalanceMap();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            boxedService.chargePoints(userId, AMOUNT);
+            primitiveService.chargeBalance(userId, AMOUNT);
+            balances.put(userId, AMOUNT, 0L);
+        }
+    }
+
+    private long nextUserId() {
+        nextUserId = nextUserId % USER_COUNT + 1;
+        return nextUserId;
+    }
+
+    @Benchmark
+    public long boxed() {
+        long userId = nextUserId();
+        boxedService.chargePoints(userId, AMOUNT);
+        return boxedService.usePoints(userId, AMOUNT).point();
+    }
+
+    @Benchmark
+    public long primitive() {
+        long userId = nextUserId();
+        primitiveService.chargeBalance(userId, AMOUNT);
+        return primitiveService.useBalance(userId, AMOUNT);
+    }
+
+    @Benchmark
+    public long map() {
+        long userId = nextUserId();
+        balances.add(userId, AMOUNT, MAX_POINTS, userId, null);
+        return balances.add(userId, -AMOUNT, MAX_POINTS, userId, null);
+    }
+}
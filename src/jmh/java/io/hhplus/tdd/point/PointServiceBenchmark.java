@@ -0,0 +1,76 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.InMemoryPointHistoryRepository;
+import io.hhplus.tdd.database.InMemoryUserPointRepository;
+import io.hhplus.tdd.database.IndexedPointHistoryRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 처리량 벤치마크
+ * - 지연 없는 저장소를 사용하여 락, 그룹 커밋, 스냅샷 등 서비스 코드의 비용만 측정한다.
+ * - 충전 후 같은 금액을 사용하여 잔액이 한도를 넘지 않도록 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class PointServiceBenchmark {
+
+    private static final long HOT_USER_ID = 1L;
+    private static final int USER_COUNT = 10_000;
+    private static final long AMOUNT = 1_000L;
+
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pointService = new PointService(
+                new InMemoryUserPointRepository(),
+                new IndexedPointHistoryRepository(new InMemoryPointHistoryRepository())
+        );
+        pointService.chargePoints(HOT_USER_ID, AMOUNT);
+    }
+
+    /**
+     * 모든 스레드가 한 사용자에게 몰리는 경우
+     */
+    @Benchmark
+    public UserPoint singleUserContention() {
+        pointService.chargePoints(HOT_USER_ID, AMOUNT);
+        return pointService.usePoints(HOT_USER_ID, AMOUNT);
+    }
+
+    /**
+     * 요청이 여러 사용자에게 고르게 분산되는 경우
+     */
+    @Benchmark
+    public UserPoint manyUserSpread() {
+        long userId = 1 + ThreadLocalRandom.current().nextInt(USER_COUNT);
+        pointService.chargePoints(userId, AMOUNT);
+        return pointService.usePoints(userId, AMOUNT);
+    }
+
+    /**
+     * 한 사용자에 대해 조회 7, 변경 1 비율로 섞인 경우
+     */
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(7)
+    public UserPoint readHeavyRead() {
+        return pointService.getPoints(HOT_USER_ID);
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public UserPoint readHeavyWrite() {
+        pointService.chargePoints(HOT_USER_ID, AMOUNT);
+        return pointService.usePoints(HOT_USER_ID, AMOUNT);
+    }
+}
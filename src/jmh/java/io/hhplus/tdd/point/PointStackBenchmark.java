@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.IndexedPointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.ReactivePointHistoryRepository;
+import io.hhplus.tdd.database.ReactiveUserPointRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableRepository;
+import io.hhplus.tdd.database.WriteBehindPointHistoryRepository;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 웹 스택별 동시 요청 처리 벤치마크
+ * - concurrency 명의 서로 다른 사용자가 동시에 충전을 요청하고, 모든 응답이 끝날 때까지의 시간을 측정한다.
+ * - 테이블은 지연(throttle)이 있는 UserPointTable, PointHistoryTable 을 그대로 사용한다.
+ * - mvc-platform : 요청마다 플랫폼 스레드 하나를 점유 (Tomcat 기본값과 같은 200개 스레드 풀)
+ * - mvc-virtual : 요청마다 가상 스레드 하나를 점유
+ * - reactive : ReactivePointService, 테이블 호출만 point-table 스케줄러(스레드 최대 256개)에서 실행
+ * - HTTP 계층은 포함하지 않고 요청 하나를 서비스 호출 하나로 대신하며, 반복마다 최대 플랫폼 스레드 수와 코어당 스레드 수를 출력한다.
+ * - 실행 예 : ./gradlew jmh -PjmhIncludes=PointStackBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PointStackBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int TABLE_THREAD_CAP = 256;
+    private static final long AMOUNT = 1_000L;
+
+    @Param({"mvc-platform", "mvc-virtual", "reactive"})
+    public String stack;
+
+    @Param({"1000", "10000"})
+    public int concurrency;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private WriteBehindPointHistoryRepository writeBehindPointHistoryRepository;
+    private ExecutorService executor;
+    private Scheduler tableScheduler;
+    private PointService pointService;
+    private ReactivePointService reactivePointService;
+    private long nextUserId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        UserPointRepository userPointRepository = new UserPointTableRepository(new UserPointTable());
+        writeBehindPointHistoryRepository = new WriteBehindPointHistoryRepository(new PointHistoryTable(), 10_000);
+        PointHistoryRepository pointHistoryRepository = new IndexedPointHistoryRepository(writeBehindPointHistoryRepository);
+        switch (stack) {
+            case "mvc-platform" -> executor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+            case "mvc-virtual" -> executor = Executors.newVirtualThreadPerTaskExecutor();
+            case "reactive" -> tableScheduler = Schedulers.newBoundedElastic(TABLE_THREAD_CAP, Integer.MAX_VALUE, "point-table");
+            default -> throw new IllegalArgumentException("알 수 없는 스택입니다. " + stack);
+        }
+        if (tableScheduler == null) {
+            pointService = new PointService(userPointRepository, pointHistoryRepository);
+        } else {
+            reactivePointService = new ReactivePointService(
+                    new ReactiveUserPointRepository(userPointRepository, tableScheduler),
+                    new ReactivePointHistoryRepository(pointHistoryRepository, tableScheduler));
+        }
+        threads.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        int peakThreads = threads.getPeakThreadCount();
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%n[%s, %d] 최대 플랫폼 스레드 %d개, 코어당 %.1f개, 코어당 동시 요청 %d건%n",
+                stack, concurrency, peakThreads, (double) peakThreads / cores, concurrency / cores);
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        if (tableScheduler != null) {
+            tableScheduler.dispose();
+            tableScheduler = null;
+        }
+        writeBehindPointHistoryRepository.close();
+    }
+
+    @Benchmark
+    public void chargeConcurrently() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            long userId = ++nextUserId;
+            if (executor != null) {
+                executor.execute(() -> {
+                    try {
+                        pointService.chargePoints(userId, AMOUNT);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            } else {
+                reactivePointService.chargePoints(userId, AMOUNT).subscribe(
+                        userPoint -> latch.countDown(), e -> latch.countDown(), () -> {});
+            }
+        }
+        latch.await();
+    }
+}
@@ -1,14 +1,33 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointOverloadedException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
     }
-}
+
+    /**
+     * 처리량 한도로 거절한 요청은 바로 응답하고, 다시 요청할 시점을 Retry-After 로 알려준다.
+     * 한 사용자의 요청이 많으면 429, 전체 요청이 많거나 처리 기한이 지났으면 503
+     */
+    @ExceptionHandler(value = PointOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloaded(PointOverloadedException e) {
+        HttpStatus status = e.reason() == PointOverloadedException.Reason.USER_LIMIT
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.retryAfter().toSeconds()))
+                .body(new ErrorResponse(String.valueOf(status.value()), e.getMessage(), e.reason().name()));
+    }
+}
\ No newline at end of file
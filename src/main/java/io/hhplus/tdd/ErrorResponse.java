@@ -1,7 +1,19 @@
 package io.hhplus.tdd;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 오류 응답
+ *
+ * @param reason 처리량 한도 거절 사유(PointOverloadedException.Reason), 그 밖의 오류는 없다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ErrorResponse(
         String code,
-        String message
+        String message,
+        String reason
 ) {
+    public ErrorResponse(String code, String message) {
+        this(code, message, null);
+    }
 }
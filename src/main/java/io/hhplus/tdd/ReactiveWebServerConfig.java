@@ -0,0 +1,20 @@
+package io.hhplus.tdd;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 리액티브 웹 서버 설정
+ * - Tomcat 과 Netty 가 함께 있으면 Spring Boot 는 리액티브 모드에서도 Tomcat 을 선택하므로, reactive 모드에서는 Netty 를 사용하도록 지정한다.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+class ReactiveWebServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 캐시를 거치는 사용자 포인트 저장소
+ * - 조회는 캐시를 먼저 확인하고, 없으면 원본 저장소에서 읽어 캐시에 적재한다(read-through).
+ * - 저장은 원본 저장소에 기록한 뒤 캐시를 갱신한다(write-through).
+ * - 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거한다(LRU).
+ */
+public class CachingUserPointRepository implements UserPointRepository {
+
+    private static final int WRITE_STRIPES = 1024; // 2의 거듭제곱
+
+    private final UserPointRepository delegate;
+    private final int maxSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, UserPoint> cache;
+
+    // 원본 조회 중 같은 키에 저장이 일어났다면 조회 결과(이전 값)를 캐시에 적재하지 않기 위한 저장 횟수
+    private final long[] writeStamps = new long[WRITE_STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingUserPointRepository(UserPointRepository delegate, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("캐시 크기는 0보다 커야 합니다.");
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                if (size() > CachingUserPointRepository.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long stamp;
+        lock.lock();
+        try {
+            UserPoint cached = cache.get(id);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            stamp = writeStamps[stripe(id)];
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        UserPoint loaded = delegate.selectById(id);
+
+        lock.lock();
+        try {
+            if (writeStamps[stripe(id)] == stamp) {
+                cache.putIfAbsent(id, loaded);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = delegate.insertOrUpdate(id, amount);
+
+        lock.lock();
+        try {
+            writeStamps[stripe(id)]++;
+            cache.put(id, userPoint);
+        } finally {
+            lock.unlock();
+        }
+        return userPoint;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return cache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int stripe(long id) {
+        return Long.hashCode(id) & (WRITE_STRIPES - 1);
+    }
+}
@@ -0,0 +1,171 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 열 단위 원시 배열 기반 포인트 내역 저장소
+ * - 내역을 PointHistory 객체로 보관하지 않고 필드별 원시 배열(userId, amount, updateMillis, type)에 나누어 기록한다.
+ * - 배열은 고정 크기 청크를 이어 붙여 늘어나므로 기존 내역을 복사하지 않고, 객체 헤더와 참조가 없어 내역 1건에 25바이트만 사용한다.
+ * - 아이디는 1부터 차례로 부여하므로 따로 저장하지 않고 행 번호(아이디 - 1)로 계산한다.
+ * - PointHistory 는 조회할 때만 만들며, 사용자별로 행 번호만 담은 색인(내역당 4바이트)을 둔다.
+ */
+public class ColumnarPointHistoryRepository implements PointHistoryLog, UserIndexedPointHistory {
+
+    static final int CHUNK_SIZE = 1 << 16;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, UserRows> userRows = new ConcurrentHashMap<>();
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size; // 기록된 행 수, appendLock 으로 갱신
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return new PointHistory(append(userId, amount, type, updateMillis), userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public long append(long userId, long amount, TransactionType type, long updateMillis) {
+        appendLock.lock();
+        try {
+            // 1. 기록할 행 계산, 마지막 청크가 가득 찼으면 다음 청크를 만든다.
+            int row = size;
+            if (row == Integer.MAX_VALUE) {
+                throw new IllegalStateException("포인트 내역 저장소가 가득 찼습니다.");
+            }
+            int chunkIndex = row / CHUNK_SIZE;
+            Chunk[] current = chunks;
+            if (chunkIndex == current.length) {
+                current = Arrays.copyOf(current, current.length + 1);
+                current[chunkIndex] = new Chunk();
+                chunks = current;
+            }
+
+            // 2. 필드별 배열에 기록
+            Chunk chunk = current[chunkIndex];
+            int offset = row % CHUNK_SIZE;
+            chunk.userIds[offset] = userId;
+            chunk.amounts[offset] = amount;
+            chunk.updateMillis[offset] = updateMillis;
+            chunk.types[offset] = (byte) type.ordinal();
+
+            // 3. 사용자 색인에 추가한 뒤 크기를 늘려 게시한다. (appendLock 안이므로 조회 후 등록해도 겹치지 않는다)
+            UserRows rows = userRows.get(userId);
+            if (rows == null) {
+                rows = new UserRows();
+                userRows.put(userId, rows);
+            }
+            rows.append(row);
+            size = row + 1;
+            return row + 1L;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectByUserId(userId, 0L, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+        UserRows rows = userRows.get(userId);
+        if (rows == null) {
+            return List.of();
+        }
+
+        int count = rows.size;
+        int[] values = rows.values;
+        Chunk[] current = chunks;
+
+        // 사용자 색인은 행 번호 오름차순이고, 아이디가 afterId 보다 큰 행은 행 번호가 afterId 이상인 행이다.
+        int from = Arrays.binarySearch(values, 0, count, (int) Math.min(Math.max(afterId, 0L), Integer.MAX_VALUE));
+        from = from < 0 ? -from - 1 : from;
+
+        List<PointHistory> histories = new ArrayList<>(Math.min(limit, count - from));
+        for (int i = from; i < count && histories.size() < limit; i++) {
+            int row = values[i];
+            Chunk chunk = current[row / CHUNK_SIZE];
+            int offset = row % CHUNK_SIZE;
+            long updateMillis = chunk.updateMillis[offset];
+            if (updateMillis >= fromMillis && updateMillis <= toMillis) {
+                histories.add(new PointHistory(row + 1L, chunk.userIds[offset], chunk.amounts[offset], TYPES[chunk.types[offset]], updateMillis));
+            }
+        }
+        return histories;
+    }
+
+    @Override
+    public Set<Long> userIds() {
+        return Collections.unmodifiableSet(userRows.keySet());
+    }
+
+    /**
+     * 기록된 내역 수
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long lastId() {
+        return size;
+    }
+
+    @Override
+    public void forEach(long afterId, long toId, RowConsumer consumer) {
+        // 기록된 행은 바뀌지 않으므로, 크기를 먼저 읽으면 그 이전의 행은 락 없이 읽을 수 있다.
+        int count = (int) Math.min(toId, size);
+        Chunk[] current = chunks;
+        for (int row = (int) Math.max(afterId, 0L); row < count; row++) {
+            Chunk chunk = current[row / CHUNK_SIZE];
+            int offset = row % CHUNK_SIZE;
+            consumer.accept(row + 1L, chunk.userIds[offset], chunk.amounts[offset], TYPES[chunk.types[offset]], chunk.updateMillis[offset]);
+        }
+    }
+
+    @Override
+    public boolean durable() {
+        return false;
+    }
+
+    /**
+     * 내역 CHUNK_SIZE 건을 담는 필드별 배열
+     */
+    private static final class Chunk {
+        private final long[] userIds = new long[CHUNK_SIZE];
+        private final long[] amounts = new long[CHUNK_SIZE];
+        private final long[] updateMillis = new long[CHUNK_SIZE];
+        private final byte[] types = new byte[CHUNK_SIZE];
+    }
+
+    /**
+     * 사용자 한 명의 내역 행 번호 목록 (오름차순)
+     * - 추가는 appendLock 을 잡은 스레드만 수행하고, 조회는 volatile 크기를 먼저 읽어 그 이전에 추가된 행만 락 없이 읽는다.
+     */
+    private static final class UserRows {
+
+        private volatile int[] values = new int[8];
+        private volatile int size;
+
+        void append(int row) {
+            int[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                values = current;
+            }
+            current[size] = row;
+            size = size + 1; // 행 번호를 기록한 뒤 크기를 늘려 조회 스레드에 게시한다.
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package io.hhplus.tdd.database;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 여러 스레드에서 사용하는 long 키 잔액 맵
+ * - 키를 구역(stripe)으로 나누어 구역마다 LongBalanceMap 과 StampedLock 을 둔다.
+ * - 조회는 낙관적 읽기로 락 없이 읽고, 읽는 중에 기록이 있었을 때만 읽기 락으로 다시 읽는다.
+ * - 잔액 변경은 구역 쓰기 락 안에서 한도 검사와 저장을 함께 수행하므로 조회 후 저장 사이에 다른 변경이 끼어들지 않는다.
+ * - 조회, 변경 모두 객체를 만들지 않는다. (표 크기를 늘릴 때 제외)
+ */
+public class ConcurrentLongBalanceMap {
+
+    public static final long INSUFFICIENT = Long.MIN_VALUE;       // 변경 후 잔액이 0 미만이라 거절됨
+    public static final long LIMIT_EXCEEDED = Long.MIN_VALUE + 1; // 변경 후 잔액이 한도를 초과하여 거절됨
+
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int DEFAULT_STRIPE_SIZE = 1_024;
+
+    private final Stripe[] stripes;
+
+    public ConcurrentLongBalanceMap() {
+        this(DEFAULT_STRIPES, DEFAULT_STRIPE_SIZE);
+    }
+
+    /**
+     * @param stripeCount 구역 수 (2의 거듭제곱으로 올림)
+     * @param stripeSize  구역마다 다시 늘리지 않고 담을 수 있는 항목 수
+     */
+    public ConcurrentLongBalanceMap(int stripeCount, int stripeSize) {
+        if (stripeCount < 1 || stripeCount > 1 << 16) {
+            throw new IllegalArgumentException("구역 수는 1 이상 " + (1 << 16) + " 이하여야 합니다.");
+        }
+        int count = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(new LongBalanceMap(stripeSize));
+        }
+    }
+
+    /**
+     * 잔액 조회, 없으면 0
+     */
+    public long balance(long key) {
+        Stripe stripe = stripe(key);
+        long stamp = stripe.lock.tryOptimisticRead();
+        long balance = stripe.map.balance(key);
+        if (stripe.lock.validate(stamp)) {
+            return balance;
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.map.balance(key);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 잔액과 수정 시각을 함께 읽어 변환, 없으면 null
+     */
+    public <T> T get(long key, EntryMapper<T> mapper) {
+        Stripe stripe = stripe(key);
+        long stamp = stripe.lock.tryOptimisticRead();
+        boolean present = stripe.map.containsKey(key);
+        long balance = stripe.map.balance(key);
+        long updateMillis = stripe.map.updateMillis(key);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                present = stripe.map.containsKey(key);
+                balance = stripe.map.balance(key);
+                updateMillis = stripe.map.updateMillis(key);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return present ? mapper.map(key, balance, updateMillis) : null;
+    }
+
+    /**
+     * 구역 쓰기 락을 잡은 채로 잔액과 수정 시각을 한 번 전달하여 변환, 없으면 잔액과 수정 시각을 0으로 전달한다.
+     * 같은 키의 add, transfer 와 겹치지 않으므로, 잔액을 확인한 결과에 따라 맵 밖의 상태를 바꿀 때 사용한다. 잔액은 바꾸지 않는다.
+     */
+    public <T> T getLocked(long key, EntryMapper<T> mapper) {
+        Stripe stripe = stripe(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return mapper.map(key, stripe.map.balance(key), stripe.map.updateMillis(key));
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 잔액과 수정 시각 저장
+     */
+    public void put(long key, long balance, long updateMillis) {
+        Stripe stripe = stripe(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            stripe.map.put(key, balance, updateMillis);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 잔액에 delta 를 더한다.
+     * - 변경 후 잔액이 0 미만이면 INSUFFICIENT, maxBalance 초과면 LIMIT_EXCEEDED 를 반환하고 잔액은 그대로 둔다.
+     * - listener 는 잔액을 저장한 뒤 구역 락을 보유한 채로 호출되므로, 같은 키의 변경 순서대로 호출된다.
+     *   listener 가 예외를 던지면 잔액과 수정 시각을 이전 값으로 되돌린 뒤 예외를 그대로 던진다.
+     *
+     * @return 변경 후 잔액, 거절되면 INSUFFICIENT 또는 LIMIT_EXCEEDED
+     */
+    public long add(long key, long delta, long maxBalance, long updateMillis, UpdateListener listener) {
+        Stripe stripe = stripe(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            // 1. 변경 후 잔액 계산 및 한도 확인
+            boolean present = stripe.map.containsKey(key);
+            long balance = stripe.map.balance(key);
+            long previousMillis = stripe.map.updateMillis(key);
+            long result = balance + delta;
+            if (result < 0) {
+                return INSUFFICIENT;
+            }
+            if (result > maxBalance) {
+                return LIMIT_EXCEEDED;
+            }
+
+            // 2. 저장 후 listener 호출, 실패하면 되돌린다.
+            stripe.map.put(key, result, updateMillis);
+            if (listener != null) {
+                try {
+                    listener.updated(key, delta, result, updateMillis);
+                } catch (RuntimeException e) {
+                    stripe.map.put(key, balance, present ? previousMillis : updateMillis);
+                    throw e;
+                }
+            }
+            return result;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * fromKey 의 잔액에서 amount 를 빼서 toKey 의 잔액에 더한다.
+     * - 두 구역의 쓰기 락을 구역 순서대로 획득하므로, 반대 방향의 이동이 동시에 일어나도 교착 상태가 생기지 않는다.
+     * - 보내는 쪽 잔액이 부족하면 INSUFFICIENT, 받는 쪽 잔액이 maxBalance 를 초과하면 LIMIT_EXCEEDED 를 반환한다.
+     * - listener 는 두 잔액을 저장한 뒤 락을 보유한 채로 호출되며, 예외를 던지면 두 잔액을 되돌린다.
+     *
+     * @return 보낸 쪽의 변경 후 잔액, 거절되면 INSUFFICIENT 또는 LIMIT_EXCEEDED
+     */
+    public long transfer(long fromKey, long toKey, long amount, long maxBalance, long updateMillis, TransferListener listener) {
+        if (fromKey == toKey) {
+            throw new IllegalArgumentException("같은 키 사이에서는 잔액을 옮길 수 없습니다.");
+        }
+        int fromIndex = stripeIndex(fromKey);
+        int toIndex = stripeIndex(toKey);
+        Stripe first = stripes[Math.min(fromIndex, toIndex)];
+        Stripe second = stripes[Math.max(fromIndex, toIndex)];
+        long firstStamp = first.lock.writeLock();
+        long secondStamp = first == second ? 0L : second.lock.writeLock();
+        try {
+            LongBalanceMap fromMap = stripes[fromIndex].map;
+            LongBalanceMap toMap = stripes[toIndex].map;
+
+            // 1. 두 잔액 확인
+            boolean fromPresent = fromMap.containsKey(fromKey);
+            boolean toPresent = toMap.containsKey(toKey);
+            long fromBalance = fromMap.balance(fromKey);
+            long toBalance = toMap.balance(toKey);
+            long fromMillis = fromMap.updateMillis(fromKey);
+            long toMillis = toMap.updateMillis(toKey);
+            if (fromBalance < amount) {
+                return INSUFFICIENT;
+            }
+            if (toBalance + amount > maxBalance) {
+                return LIMIT_EXCEEDED;
+            }
+
+            // 2. 두 잔액 저장 후 listener 호출, 실패하면 되돌린다.
+            fromMap.put(fromKey, fromBalance - amount, updateMillis);
+            toMap.put(toKey, toBalance + amount, updateMillis);
+            if (listener != null) {
+                try {
+                    listener.transferred(fromKey, toKey, amount, fromBalance - amount, toBalance + amount, updateMillis);
+                } catch (RuntimeException e) {
+                    fromMap.put(fromKey, fromBalance, fromPresent ? fromMillis : updateMillis);
+                    toMap.put(toKey, toBalance, toPresent ? toMillis : updateMillis);
+                    throw e;
+                }
+            }
+            return fromBalance - amount;
+        } finally {
+            if (first != second) {
+                second.lock.unlockWrite(secondStamp);
+            }
+            first.lock.unlockWrite(firstStamp);
+        }
+    }
+
+    /**
+     * 저장된 항목 수
+     */
+    public long size() {
+        long size = 0L;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.map.size();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 전체 expectedSize 개의 항목을 다시 늘리지 않고 담을 수 있도록 구역마다 표 크기를 미리 늘린다.
+     */
+    public void ensureCapacity(long expectedSize) {
+        // 구역마다 항목 수가 조금씩 다르므로 평균보다 여유 있게 잡는다.
+        int perStripe = (int) Math.min(Integer.MAX_VALUE / 2, expectedSize / stripes.length * 9 / 8 + 1);
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.map.ensureCapacity(perStripe);
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * 모든 항목을 구역별로 읽기 락을 잡고 차례로 전달
+     * 구역 사이에서는 변경이 계속되므로 전체가 한 시점의 값은 아니지만, 각 항목은 온전한 값이다.
+     */
+    public void forEach(LongBalanceMap.EntryConsumer consumer) {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                stripe.map.forEach(consumer);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * 구역 하나의 읽기 락을 잡은 상태에서 marker 를 읽고, 그 값과 구역의 항목을 함께 전달
+     * - 구역의 변경은 쓰기 락 안에서 잔액 저장과 후속 작업(내역 저장)을 함께 마치므로,
+     *   marker 로 내역의 마지막 아이디를 읽으면 그 아이디까지의 내역이 전달되는 잔액에 모두 반영되어 있다.
+     * - 다른 구역은 계속 변경할 수 있으며, visitor 가 끝날 때까지 해당 구역의 변경만 대기하므로 visitor 는 복사만 한다.
+     *
+     * @param stripe 구역 번호 (0 이상 stripeCount 미만)
+     */
+    public void visitStripe(int stripe, LongSupplier marker, StripeVisitor visitor) {
+        Stripe target = stripes[stripe];
+        long stamp = target.lock.readLock();
+        try {
+            visitor.visit(marker.getAsLong(), target.map);
+        } finally {
+            target.lock.unlockRead(stamp);
+        }
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * 구역 수가 stripeCount 일 때 키가 속하는 구역
+     */
+    public static int stripeIndex(long key, int stripeCount) {
+        // 구역 안의 표는 곱셈 해시의 상위 비트를 쓰므로, 구역은 하위 비트를 섞어서 고른다.
+        long mixed = key ^ (key >>> 32);
+        return (int) (mixed ^ (mixed >>> 16)) & (stripeCount - 1);
+    }
+
+    private Stripe stripe(long key) {
+        return stripes[stripeIndex(key)];
+    }
+
+    private int stripeIndex(long key) {
+        return stripeIndex(key, stripes.length);
+    }
+
+    /**
+     * 잔액과 수정 시각을 값 객체로 변환하는 함수
+     */
+    @FunctionalInterface
+    public interface EntryMapper<T> {
+        T map(long key, long balance, long updateMillis);
+    }
+
+    /**
+     * 구역 하나의 항목을 읽기 락 안에서 전달받는 함수, 전달받은 맵은 읽기만 한다.
+     */
+    @FunctionalInterface
+    public interface StripeVisitor {
+        void visit(long marker, LongBalanceMap entries);
+    }
+
+    /**
+     * 잔액 변경 직후 구역 락 안에서 호출되는 함수
+     */
+    @FunctionalInterface
+    public interface UpdateListener {
+        void updated(long key, long delta, long balance, long updateMillis);
+    }
+
+    /**
+     * 잔액 이동 직후 두 구역 락 안에서 호출되는 함수
+     */
+    @FunctionalInterface
+    public interface TransferListener {
+        void transferred(long fromKey, long toKey, long amount, long fromBalance, long toBalance, long updateMillis);
+    }
+
+    private record Stripe(LongBalanceMap map, StampedLock lock) {
+        private Stripe(LongBalanceMap map) {
+            this(map, new StampedLock());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 내역 기반 포인트 저장소 설정
+ * - point.balance.mode 가 event-sourced 이면 포인트 내역을 원본으로, 잔액을 내역의 투영으로 PointService 에 제공한다.
+ * - UserPointTable 은 투영의 사본으로만 기록하며, 요청 경로에서 기다리지 않도록 WriteBehindUserPointRepository 를 거쳐 백그라운드로 옮겨 적는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.balance.mode", havingValue = "event-sourced")
+public class EventSourcedPointConfig {
+
+    @Bean
+    public EventSourcedPointStore eventSourcedPointStore(
+            WriteBehindPointHistoryRepository writeBehindPointHistoryRepository,
+            @Qualifier("pointHistoryStore") ObjectProvider<PointHistoryRepository> pointHistoryStore,
+            WriteBehindUserPointRepository writeBehindUserPointRepository,
+            @Value("${point.balance.snapshot-interval:100}") int snapshotInterval,
+            @Value("${point.balance.rebuild-parallelism:16}") int rebuildParallelism,
+            @Value("${point.balance.max-projections:100000}") int maxProjections
+    ) {
+        PointHistoryRepository store = pointHistoryStore.getIfAvailable();
+        if (store instanceof TieredPointHistoryRepository) {
+            throw new IllegalStateException("오래된 내역을 집계로 압축하는 저장소(point.history.store: tiered)는 event-sourced 모드에서 사용할 수 없습니다.");
+        }
+        if (store != null && !(store instanceof UserIndexedPointHistory)) {
+            throw new IllegalStateException("event-sourced 모드에는 사용자 목록을 제공하는 내역 저장소가 필요합니다: " + store.getClass().getSimpleName());
+        }
+        return new EventSourcedPointStore(
+                store != null ? (UserIndexedPointHistory) store : new IndexedPointHistoryRepository(writeBehindPointHistoryRepository),
+                writeBehindUserPointRepository,
+                snapshotInterval,
+                rebuildParallelism,
+                maxProjections);
+    }
+
+    @Bean
+    @Primary
+    public PointHistoryRepository pointHistoryRepository(EventSourcedPointStore eventSourcedPointStore) {
+        return eventSourcedPointStore.histories();
+    }
+
+    @Bean
+    public UserPointRepository userPointRepository(EventSourcedPointStore eventSourcedPointStore) {
+        return eventSourcedPointStore.userPoints();
+    }
+
+    @Bean
+    public PointBalanceRebuildEndpoint pointBalanceRebuildEndpoint(EventSourcedPointStore eventSourcedPointStore) {
+        return new PointBalanceRebuildEndpoint(eventSourcedPointStore);
+    }
+}
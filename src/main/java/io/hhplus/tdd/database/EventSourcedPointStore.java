@@ -0,0 +1,423 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 내역 기반(event-sourced) 포인트 저장소
+ * - 포인트 내역을 유일한 원본으로 보고, 잔액은 저장된 내역을 차례로 반영한 투영(projection)으로 계산한다.
+ * - 내역이 저장될 때마다 해당 사용자의 투영에 그 내역만 반영하며, 일정 건수마다 사용자별 스냅샷(잔액, 마지막 반영 내역 아이디)을 남긴다.
+ * - 메모리에 투영이 없는 사용자는 스냅샷 이후의 내역만 재생하여 잔액을 계산하므로, 재생 비용은 전체 내역 수가 아니라 스냅샷 간격으로 제한된다.
+ * - 투영은 최대 maxProjections 명까지 보관하고, 넘으면 가장 오래 사용되지 않은 사용자부터 제거한다(LRU).
+ * - 내역 재생(원본 조회)은 투영 락 밖에서 수행하고, 재생 결과는 더 많은 내역을 반영한 투영만 남기는 방식으로 합친다.
+ * - 잔액 저장 요청은 사본(UserPointTable)에만 기록하며, 잔액 조회는 사본이 아닌 투영을 읽는다.
+ * - rebuild 는 원본 저장소의 모든 사용자 잔액을 내역 전체로부터 병렬(fork/join)로 다시 계산하고, 투영, 스냅샷, 사본과 다른 값을 보고한다.
+ */
+public class EventSourcedPointStore {
+
+    private static final int REPLAY_PAGE_SIZE = 1_000;  // 재생 시 한 번에 읽는 내역 수
+    private static final int REBUILD_BATCH_SIZE = 64;   // 재계산 작업을 더 나누지 않는 사용자 수
+    private static final int DEFAULT_MAX_PROJECTIONS = 100_000;
+
+    private final UserIndexedPointHistory history;
+    private final UserPointRepository copy;
+    private final int snapshotInterval;
+    private final int rebuildParallelism;
+    private final int maxProjections;
+
+    private final ReentrantLock projectionLock = new ReentrantLock();
+    private final LinkedHashMap<Long, Projection> projections; // 접근 순서, projectionLock 으로 보호
+    private final ConcurrentHashMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final UserPointRepository userPoints = new ProjectedUserPointRepository();
+    private final PointHistoryRepository histories = new ProjectingPointHistoryRepository();
+
+    /**
+     * @param history            원본 포인트 내역 저장소, 재계산 대상 사용자를 찾을 수 있도록 사용자 색인이 필요하다.
+     * @param copy               잔액 사본 저장소
+     * @param snapshotInterval   스냅샷을 남기는 내역 건수 간격
+     * @param rebuildParallelism 재계산 병렬 작업 수
+     */
+    public EventSourcedPointStore(UserIndexedPointHistory history, UserPointRepository copy, int snapshotInterval, int rebuildParallelism) {
+        this(history, copy, snapshotInterval, rebuildParallelism, DEFAULT_MAX_PROJECTIONS);
+    }
+
+    /**
+     * @param maxProjections 메모리에 보관하는 최대 투영 수
+     */
+    public EventSourcedPointStore(UserIndexedPointHistory history, UserPointRepository copy, int snapshotInterval, int rebuildParallelism, int maxProjections) {
+        if (snapshotInterval <= 0 || rebuildParallelism <= 0 || maxProjections <= 0) {
+            throw new IllegalArgumentException("스냅샷 간격, 재계산 병렬 작업 수, 최대 투영 수는 0보다 커야 합니다.");
+        }
+        this.history = history;
+        this.copy = copy;
+        this.snapshotInterval = snapshotInterval;
+        this.rebuildParallelism = rebuildParallelism;
+        this.maxProjections = maxProjections;
+        this.projections = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Projection> eldest) {
+                return size() > EventSourcedPointStore.this.maxProjections;
+            }
+        };
+    }
+
+    /**
+     * 사용자별 스냅샷
+     *
+     * @param userId        사용자 아이디
+     * @param point         스냅샷 시점의 잔액
+     * @param lastHistoryId 스냅샷에 반영된 마지막 내역 아이디
+     * @param updateMillis  마지막 내역의 처리 시각
+     */
+    public record Snapshot(long userId, long point, long lastHistoryId, long updateMillis) {
+    }
+
+    /**
+     * 재계산 결과와 다른 값
+     *
+     * @param userId   사용자 아이디
+     * @param source   다른 값을 가진 대상 (projection, snapshot, copy)
+     * @param expected 내역으로 다시 계산한 잔액
+     * @param actual   대상이 가진 잔액
+     */
+    public record Mismatch(long userId, String source, long expected, long actual) {
+    }
+
+    /**
+     * 재계산 결과
+     *
+     * @param userCount     재계산한 사용자 수
+     * @param elapsedMillis 소요 시간
+     * @param mismatches    재계산 결과와 다른 값 목록
+     */
+    public record RebuildReport(int userCount, long elapsedMillis, List<Mismatch> mismatches) {
+    }
+
+    /**
+     * PointService 에 제공하는 사용자 포인트 저장소 - 투영을 조회하고, 잔액은 사본에만 저장한다.
+     */
+    public UserPointRepository userPoints() {
+        return userPoints;
+    }
+
+    /**
+     * PointService 에 제공하는 포인트 내역 저장소 - 원본에 저장한 뒤 투영에 반영한다.
+     */
+    public PointHistoryRepository histories() {
+        return histories;
+    }
+
+    /**
+     * 사용자의 최근 스냅샷 조회
+     *
+     * @param userId 사용자 아이디
+     * @return 스냅샷, 없으면 null
+     */
+    public Snapshot snapshot(long userId) {
+        return snapshots.get(userId);
+    }
+
+    /**
+     * 메모리의 투영 제거, 다음 조회 시 스냅샷 이후의 내역을 재생하여 다시 계산한다.
+     *
+     * @param userId 사용자 아이디
+     */
+    public void evict(long userId) {
+        projectionLock.lock();
+        try {
+            projections.remove(userId);
+        } finally {
+            projectionLock.unlock();
+        }
+    }
+
+    /**
+     * 메모리에 보관 중인 투영 수
+     */
+    int projectionCount() {
+        projectionLock.lock();
+        try {
+            return projections.size();
+        } finally {
+            projectionLock.unlock();
+        }
+    }
+
+    /**
+     * 모든 사용자의 잔액을 내역 전체로부터 다시 계산
+     * - 대상은 원본 저장소에 내역이 있는 사용자로, 재시작 후 아직 조회되지 않아 투영이 없는 사용자도 포함한다.
+     * - 사용자 목록을 나누어 fork/join 으로 병렬 계산하고, 투영, 스냅샷, 사본과 비교한다.
+     * - 투영과 스냅샷이 다르면 다시 계산한 값으로 교체하고, 사본은 보고만 한다(다음 잔액 저장 시 갱신된다).
+     * - 재계산 중 변경 중인 사용자는 사본과 일시적으로 다르게 보고될 수 있다.
+     *
+     * @return RebuildReport
+     */
+    public RebuildReport rebuild() {
+        long startMillis = System.currentTimeMillis();
+        Set<Long> userIds = new TreeSet<>(history.userIds());
+        userIds.addAll(snapshots.keySet());
+        long[] targets = userIds.stream().mapToLong(Long::longValue).toArray();
+
+        ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+        try {
+            List<Mismatch> mismatches = pool.invoke(new RebuildTask(targets, 0, targets.length));
+            return new RebuildReport(targets.length, System.currentTimeMillis() - startMillis, mismatches);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<Mismatch> rebuild(long userId) {
+        List<Mismatch> mismatches = new ArrayList<>();
+
+        // 1. 비교할 투영과 스냅샷
+        Projection projection = projection(userId);
+        Snapshot snapshot = snapshots.get(userId);
+        long projectedUntil = projection == null ? -1L : projection.lastHistoryId();
+        long snapshotUntil = snapshot == null ? -1L : snapshot.lastHistoryId();
+
+        // 2. 내역 전체를 처음부터 재생하면서 투영과 스냅샷 시점의 잔액을 함께 기록한다. (투영 락 밖에서 원본 조회)
+        Projection replayed = Projection.EMPTY;
+        long balanceAtProjection = 0L;
+        long balanceAtSnapshot = 0L;
+        long afterId = 0L;
+        List<PointHistory> page;
+        do {
+            page = history.selectByUserId(userId, afterId, 0L, Long.MAX_VALUE, REPLAY_PAGE_SIZE);
+            for (PointHistory pointHistory : page) {
+                replayed = replayed.apply(pointHistory);
+                if (pointHistory.id() <= projectedUntil) {
+                    balanceAtProjection = replayed.point();
+                }
+                if (pointHistory.id() <= snapshotUntil) {
+                    balanceAtSnapshot = replayed.point();
+                }
+                afterId = pointHistory.id();
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE);
+
+        // 3. 스냅샷이 다르면 버리고, 투영이 다르면 다시 계산한 값으로 교체한다.
+        if (snapshot != null && snapshot.point() != balanceAtSnapshot) {
+            mismatches.add(new Mismatch(userId, "snapshot", balanceAtSnapshot, snapshot.point()));
+            snapshots.remove(userId, snapshot);
+        }
+        if (projection != null && projection.point() != balanceAtProjection) {
+            mismatches.add(new Mismatch(userId, "projection", balanceAtProjection, projection.point()));
+            replaceProjection(userId, replayed);
+        }
+
+        // 4. 사본 비교
+        long copied = copy.selectById(userId).point();
+        if (copied != replayed.point()) {
+            mismatches.add(new Mismatch(userId, "copy", replayed.point(), copied));
+        }
+        return mismatches;
+    }
+
+    /**
+     * 잘못 계산된 투영 교체
+     * 재생하는 동안 투영에 새 내역이 반영되었다면 그 투영도 잘못된 값에서 이어진 것이므로 제거하여 다음 조회 때 다시 재생한다.
+     */
+    private void replaceProjection(long userId, Projection replayed) {
+        projectionLock.lock();
+        try {
+            Projection current = projections.get(userId);
+            if (current == null) {
+                return;
+            }
+            if (current.lastHistoryId() <= replayed.lastHistoryId()) {
+                projections.put(userId, replayed);
+            } else {
+                projections.remove(userId);
+            }
+        } finally {
+            projectionLock.unlock();
+        }
+    }
+
+    private Projection projection(long userId) {
+        projectionLock.lock();
+        try {
+            return projections.get(userId);
+        } finally {
+            projectionLock.unlock();
+        }
+    }
+
+    /**
+     * 재생한 투영 등록
+     * 재생하는 동안 다른 스레드가 더 많은 내역을 반영한 투영을 등록했다면 그 투영을 남긴다.
+     */
+    private Projection install(long userId, Projection replayed) {
+        projectionLock.lock();
+        try {
+            Projection current = projections.get(userId);
+            if (current != null && current.lastHistoryId() >= replayed.lastHistoryId()) {
+                return current;
+            }
+            Projection installed = takeSnapshotIfDue(userId, replayed);
+            projections.put(userId, installed);
+            return installed;
+        } finally {
+            projectionLock.unlock();
+        }
+    }
+
+    /**
+     * 스냅샷 이후의 내역을 재생하여 투영 계산
+     */
+    private Projection replay(long userId) {
+        Snapshot snapshot = snapshots.get(userId);
+        Projection projection = snapshot == null
+                ? Projection.EMPTY
+                : new Projection(snapshot.point(), snapshot.lastHistoryId(), snapshot.updateMillis(), 0);
+
+        List<PointHistory> page;
+        do {
+            page = history.selectByUserId(userId, projection.lastHistoryId(), 0L, Long.MAX_VALUE, REPLAY_PAGE_SIZE);
+            for (PointHistory pointHistory : page) {
+                projection = projection.apply(pointHistory);
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE);
+        return projection;
+    }
+
+    /**
+     * 저장된 내역 하나를 투영에 반영
+     * 투영이 없으면 락 밖에서 스냅샷부터 재생하며, 재생 결과에는 방금 저장된 내역이 이미 포함되어 있다.
+     */
+    private void project(PointHistory pointHistory) {
+        long userId = pointHistory.userId();
+        projectionLock.lock();
+        try {
+            Projection projection = projections.get(userId);
+            if (projection != null) {
+                if (pointHistory.id() > projection.lastHistoryId()) { // 이미 반영된 내역은 건너뛴다.
+                    projections.put(userId, takeSnapshotIfDue(userId, projection.apply(pointHistory)));
+                }
+                return;
+            }
+        } finally {
+            projectionLock.unlock();
+        }
+        install(userId, replay(userId));
+    }
+
+    private Projection takeSnapshotIfDue(long userId, Projection projection) {
+        if (projection.sinceSnapshot() < snapshotInterval) {
+            return projection;
+        }
+        snapshots.put(userId, new Snapshot(userId, projection.point(), projection.lastHistoryId(), projection.updateMillis()));
+        return projection.snapshotTaken();
+    }
+
+    /**
+     * 사용자 한 명의 투영
+     *
+     * @param point         잔액
+     * @param lastHistoryId 마지막으로 반영한 내역 아이디
+     * @param updateMillis  마지막으로 반영한 내역의 처리 시각
+     * @param sinceSnapshot 마지막 스냅샷 이후 반영한 내역 수
+     */
+    private record Projection(long point, long lastHistoryId, long updateMillis, int sinceSnapshot) {
+
+        static final Projection EMPTY = new Projection(0L, 0L, 0L, 0);
+
+        Projection apply(PointHistory pointHistory) {
+            long signed = pointHistory.type() == TransactionType.CHARGE ? pointHistory.amount() : -pointHistory.amount();
+            return new Projection(point + signed, pointHistory.id(), pointHistory.updateMillis(), sinceSnapshot + 1);
+        }
+
+        Projection snapshotTaken() {
+            return new Projection(point, lastHistoryId, updateMillis, 0);
+        }
+    }
+
+    /**
+     * 사용자 목록을 절반씩 나누어 병렬로 재계산하는 작업
+     */
+    private final class RebuildTask extends RecursiveTask<List<Mismatch>> {
+
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+
+        RebuildTask(long[] userIds, int from, int to) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Mismatch> compute() {
+            if (to - from <= REBUILD_BATCH_SIZE) {
+                List<Mismatch> mismatches = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    mismatches.addAll(rebuild(userIds[i]));
+                }
+                return mismatches;
+            }
+
+            int middle = (from + to) >>> 1;
+            RebuildTask left = new RebuildTask(userIds, from, middle);
+            RebuildTask right = new RebuildTask(userIds, middle, to);
+            left.fork();
+            List<Mismatch> mismatches = new ArrayList<>(right.compute());
+            mismatches.addAll(0, left.join());
+            return mismatches;
+        }
+    }
+
+    private final class ProjectedUserPointRepository implements UserPointRepository {
+
+        @Override
+        public UserPoint selectById(long id) {
+            Projection projection = projection(id);
+            if (projection == null) {
+                projection = install(id, replay(id));
+            }
+            return projection.lastHistoryId() == 0L
+                    ? UserPoint.empty(id)
+                    : new UserPoint(id, projection.point(), projection.updateMillis());
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            // 잔액은 내역으로부터 계산되므로 사본에만 기록한다.
+            return copy.insertOrUpdate(id, amount);
+        }
+    }
+
+    private final class ProjectingPointHistoryRepository implements PointHistoryRepository {
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            PointHistory pointHistory = history.insert(userId, amount, type, updateMillis);
+            project(pointHistory);
+            return pointHistory;
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return history.selectAllByUserId(userId);
+        }
+
+        @Override
+        public List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+            return history.selectByUserId(userId, afterId, fromMillis, toMillis, limit);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 색인을 유지하는 포인트 내역 저장소
+ * - 저장된 내역을 사용자별 추가 전용 세그먼트에 함께 기록하고, 조회는 원본 전체를 훑지 않고 해당 사용자의 세그먼트만 읽는다.
+ * - 조회 비용은 전체 내역 수가 아니라 해당 사용자의 내역 수에 비례한다.
+ * - 색인은 이 저장소를 통해 저장된 내역만 포함하므로, 원본 저장소는 이 저장소를 통해서만 채워져야 한다.
+ */
+public class IndexedPointHistoryRepository implements UserIndexedPointHistory {
+
+    private final PointHistoryRepository delegate;
+    private final ConcurrentHashMap<Long, Segment> segments = new ConcurrentHashMap<>();
+
+    public IndexedPointHistoryRepository(PointHistoryRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = delegate.insert(userId, amount, type, updateMillis);
+        segments.computeIfAbsent(userId, id -> new Segment()).append(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        Segment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.toList();
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+        Segment segment = segments.get(userId);
+        return segment == null ? List.of() : segment.slice(afterId, fromMillis, toMillis, limit);
+    }
+
+    @Override
+    public Set<Long> userIds() {
+        return Collections.unmodifiableSet(segments.keySet());
+    }
+
+    /**
+     * 사용자 한 명의 추가 전용 내역 세그먼트
+     * - 고정 크기 청크를 이어 붙여 늘어나므로 기존 내역을 복사하지 않는다.
+     * - 추가는 락으로 직렬화하고, 조회는 volatile 크기를 먼저 읽어 그 이전에 추가된 내역만 락 없이 읽는다.
+     */
+    static final class Segment {
+
+        private static final int CHUNK_SIZE = 64;
+
+        private final ReentrantLock appendLock = new ReentrantLock();
+        private volatile PointHistory[][] chunks = new PointHistory[1][];
+        private volatile int size;
+
+        void append(PointHistory pointHistory) {
+            appendLock.lock();
+            try {
+                int index = size;
+                int chunkIndex = index / CHUNK_SIZE;
+                PointHistory[][] current = chunks;
+                if (chunkIndex == current.length) {
+                    current = Arrays.copyOf(current, current.length * 2);
+                }
+                if (current[chunkIndex] == null) {
+                    current[chunkIndex] = new PointHistory[CHUNK_SIZE];
+                }
+                current[chunkIndex][index % CHUNK_SIZE] = pointHistory;
+                chunks = current;
+                size = index + 1; // 내역을 기록한 뒤 크기를 늘려 조회 스레드에 게시한다.
+            } finally {
+                appendLock.unlock();
+            }
+        }
+
+        /**
+         * 커서 이후의 내역 중 처리 시각 범위에 속하는 내역을 최대 limit 건 조회
+         * 세그먼트는 아이디 오름차순이므로 커서 위치는 이진 탐색으로 찾는다.
+         */
+        List<PointHistory> slice(long afterId, long fromMillis, long toMillis, int limit) {
+            int count = size;
+            PointHistory[][] current = chunks;
+
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (current[mid / CHUNK_SIZE][mid % CHUNK_SIZE].id() <= afterId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            List<PointHistory> histories = new ArrayList<>(Math.min(limit, count - low));
+            for (int i = low; i < count && histories.size() < limit; i++) {
+                PointHistory pointHistory = current[i / CHUNK_SIZE][i % CHUNK_SIZE];
+                if (pointHistory.updateMillis() >= fromMillis && pointHistory.updateMillis() <= toMillis) {
+                    histories.add(pointHistory);
+                }
+            }
+            return histories;
+        }
+
+        List<PointHistory> toList() {
+            int count = size;
+            PointHistory[][] current = chunks;
+            PointHistory[] histories = new PointHistory[count];
+            for (int i = 0; i < count; i++) {
+                histories[i] = current[i / CHUNK_SIZE][i % CHUNK_SIZE];
+            }
+            return Arrays.asList(histories);
+        }
+    }
+}
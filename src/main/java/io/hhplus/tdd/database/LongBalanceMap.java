@@ -0,0 +1,186 @@
+package io.hhplus.tdd.database;
+
+/**
+ * long 키 잔액 맵 (open addressing, linear probing)
+ * - 사용자 아이디별 잔액과 수정 시각을 원시 배열 칸에 보관하여 Long 키, 맵 항목, UserPoint 값 객체를 만들지 않는다.
+ * - 키 0은 빈 칸 표시로 사용하므로 저장할 수 없고, 항목 삭제는 지원하지 않는다. (UserPointTable 도 항목을 지우지 않는다)
+ * - 동기화하지 않으므로 여러 스레드에서 사용할 때는 ConcurrentLongBalanceMap 을 사용한다.
+ */
+public class LongBalanceMap {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L; // 2^64 / 황금비, 연속된 아이디를 고르게 흩뜨린다.
+
+    private Table table;
+    private int size;
+
+    public LongBalanceMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 다시 늘리지 않고 담을 수 있는 항목 수
+     */
+    public LongBalanceMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("예상 항목 수는 음수가 될 수 없습니다.");
+        }
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(table, key) >= 0;
+    }
+
+    /**
+     * 잔액 조회, 없으면 0
+     */
+    public long balance(long key) {
+        Table current = table;
+        int index = indexOf(current, key);
+        return index < 0 ? 0L : current.balances[index];
+    }
+
+    /**
+     * 수정 시각 조회, 없으면 0
+     */
+    public long updateMillis(long key) {
+        Table current = table;
+        int index = indexOf(current, key);
+        return index < 0 ? 0L : current.updateMillis[index];
+    }
+
+    /**
+     * 잔액과 수정 시각 저장
+     */
+    public void put(long key, long balance, long updateMillis) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("키는 0일 수 없습니다.");
+        }
+        int index = indexOf(table, key);
+        if (index < 0) {
+            if (size + 1 > threshold(table)) {
+                resize();
+            }
+            index = ~indexOf(table, key);
+            table.keys[index] = key;
+            size++;
+        }
+        table.balances[index] = balance;
+        table.updateMillis[index] = updateMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * expectedSize 개의 항목을 다시 늘리지 않고 담을 수 있도록 표 크기를 미리 늘린다.
+     * 다른 표의 칸 순서대로 항목을 옮겨 담을 때(스냅샷 복원 등) 작은 표에서 시작하면 앞쪽 칸에 항목이 몰려 탐색이 길어지므로,
+     * 옮겨 담기 전에 호출한다.
+     */
+    public void ensureCapacity(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > table.keys.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * 모든 항목을 차례로 전달 (순서는 정해지지 않는다)
+     */
+    public void forEach(EntryConsumer consumer) {
+        Table current = table;
+        for (int i = 0; i < current.keys.length; i++) {
+            if (current.keys[i] != EMPTY) {
+                consumer.accept(current.keys[i], current.balances[i], current.updateMillis[i]);
+            }
+        }
+    }
+
+    /**
+     * 키가 있으면 그 칸의 위치, 없으면 키를 넣을 빈 칸 위치의 비트 반전(음수)
+     * 다른 스레드가 기록 중인 표를 읽더라도 예외 없이 끝나도록 탐색 횟수를 표 크기로 제한한다.
+     */
+    private static int indexOf(Table table, long key) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            long current = keys[index];
+            if (current == key) {
+                return index;
+            }
+            if (current == EMPTY) {
+                return ~index;
+            }
+            index = (index + 1) & mask;
+        }
+        return ~0;
+    }
+
+    private void resize() {
+        if (table.keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("잔액 맵에 더 이상 항목을 추가할 수 없습니다.");
+        }
+        resize(table.keys.length << 1);
+    }
+
+    private void resize(int capacity) {
+        Table current = table;
+        Table resized = new Table(capacity);
+        for (int i = 0; i < current.keys.length; i++) {
+            long key = current.keys[i];
+            if (key != EMPTY) {
+                int index = ~indexOf(resized, key);
+                resized.keys[index] = key;
+                resized.balances[index] = current.balances[i];
+                resized.updateMillis[index] = current.updateMillis[i];
+            }
+        }
+        // 새 표를 모두 채운 뒤 교체하므로, 읽는 쪽은 항상 온전한 표 하나를 본다.
+        table = resized;
+    }
+
+    private static int hash(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> 32);
+    }
+
+    private static int threshold(Table table) {
+        return table.keys.length / 4 * 3; // 부하율 0.75
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = Math.max(MIN_CAPACITY, (long) expectedSize * 4 / 3 + 1);
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("예상 항목 수가 너무 큽니다: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    /**
+     * 항목 하나를 전달받는 함수
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long balance, long updateMillis);
+    }
+
+    /**
+     * 같은 크기의 키, 잔액, 수정 시각 배열
+     * 배열 참조를 하나로 묶어 두어 크기를 늘리는 중에도 서로 다른 크기의 배열을 섞어 읽지 않는다.
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final long[] balances;
+        private final long[] updateMillis;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.balances = new long[capacity];
+            this.updateMillis = new long[capacity];
+        }
+    }
+}
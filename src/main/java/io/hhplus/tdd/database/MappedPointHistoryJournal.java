@@ -0,0 +1,373 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑 파일 기반 추가 전용 포인트 내역 저장소(journal)
+ * - 내역은 고정 길이(40바이트) 레코드로 세그먼트 파일에 차례로 기록하며, 세그먼트가 가득 차면 다음 세그먼트를 만든다.
+ * - 레코드 : id(8) | userId(8) | amount(8) | updateMillis(8) | type(4) | checksum(4)
+ * - 아이디는 1부터 차례로 부여하므로 레코드 위치는 아이디로 바로 계산된다.
+ * - 시작 시 세그먼트를 처음부터 읽어 아이디가 이어지고 checksum 이 맞는 레코드까지만 복구하고, 마지막 세그먼트 끝의 불완전한 기록은 지운다.
+ *   불완전한 레코드 뒤에 온전한 레코드나 세그먼트가 남아 있으면 기록된 내역이 손상된 것이므로 파일을 그대로 두고 시작하지 않는다.
+ * - 조회는 매핑된 파일에서 필요한 필드만 바로 읽으며, 사용자별로 내역 아이디만 담은 색인(레코드당 8바이트)을 메모리에 둔다.
+ */
+public class MappedPointHistoryJournal implements PointHistoryLog, UserIndexedPointHistory, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedPointHistoryJournal.class);
+
+    static final int RECORD_SIZE = 40;
+    private static final int ID_OFFSET = 0;
+    private static final int USER_ID_OFFSET = 8;
+    private static final int AMOUNT_OFFSET = 16;
+    private static final int UPDATE_MILLIS_OFFSET = 24;
+    private static final int TYPE_OFFSET = 32;
+    private static final int CHECKSUM_OFFSET = 36;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final boolean fsync;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, UserIds> userIds = new ConcurrentHashMap<>();
+    private volatile Segment[] segments = new Segment[0];
+    private volatile long lastId; // 마지막으로 기록된 아이디, appendLock 으로 갱신
+    private volatile boolean closed;
+
+    /**
+     * @param directory         세그먼트 파일 디렉터리
+     * @param recordsPerSegment 세그먼트 하나에 담는 레코드 수
+     * @param fsync             기록할 때마다 디스크에 반영할지 여부 (false 면 운영체제가 반영 시점을 정한다)
+     */
+    public MappedPointHistoryJournal(Path directory, int recordsPerSegment, boolean fsync) {
+        if (recordsPerSegment <= 0 || (long) recordsPerSegment * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("세그먼트 레코드 수는 1 이상 " + Integer.MAX_VALUE / RECORD_SIZE + " 이하여야 합니다.");
+        }
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        this.fsync = fsync;
+        recover();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("포인트 내역 저장소가 종료되었습니다.");
+            }
+
+            // 1. 기록할 위치 계산, 마지막 세그먼트가 가득 찼으면 다음 세그먼트를 만든다.
+            long id = lastId + 1;
+            int segmentIndex = segmentIndex(id);
+            if (segmentIndex == segments.length) {
+                segments = append(segments, Segment.open(directory, segmentIndex, recordsPerSegment));
+            }
+            Segment segment = segments[segmentIndex];
+            int position = position(id);
+
+            // 2. 레코드 기록 후 checksum 을 마지막에 기록하여 불완전한 기록을 구분한다.
+            write(segment.buffer, position, id, userId, amount, type, updateMillis);
+            if (fsync) {
+                segment.buffer.force(position, RECORD_SIZE);
+            }
+
+            // 3. 사용자 색인에 추가한 뒤 마지막 아이디를 게시한다.
+            userIds.computeIfAbsent(userId, key -> new UserIds()).append(id);
+            lastId = id;
+            return new PointHistory(id, userId, amount, type, updateMillis);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectByUserId(userId, 0L, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+        UserIds ids = userIds.get(userId);
+        if (ids == null) {
+            return List.of();
+        }
+
+        int count = ids.size;
+        long[] values = ids.values;
+        Segment[] current = segments;
+
+        // 사용자 색인은 아이디 오름차순이므로 커서 위치는 이진 탐색으로 찾는다.
+        int from = Arrays.binarySearch(values, 0, count, afterId + 1);
+        from = from < 0 ? -from - 1 : from;
+
+        List<PointHistory> histories = new ArrayList<>(Math.min(limit, count - from));
+        for (int i = from; i < count && histories.size() < limit; i++) {
+            long id = values[i];
+            MappedByteBuffer buffer = current[segmentIndex(id)].buffer;
+            int position = position(id);
+            long updateMillis = buffer.getLong(position + UPDATE_MILLIS_OFFSET);
+            if (updateMillis >= fromMillis && updateMillis <= toMillis) {
+                histories.add(read(buffer, position));
+            }
+        }
+        return histories;
+    }
+
+    @Override
+    public long lastId() {
+        return lastId;
+    }
+
+    @Override
+    public void forEach(long afterId, long toId, RowConsumer consumer) {
+        long last = Math.min(toId, lastId);
+        Segment[] current = segments;
+        for (long id = Math.max(afterId, 0L) + 1; id <= last; id++) {
+            MappedByteBuffer buffer = current[segmentIndex(id)].buffer;
+            int position = position(id);
+            consumer.accept(id,
+                    buffer.getLong(position + USER_ID_OFFSET),
+                    buffer.getLong(position + AMOUNT_OFFSET),
+                    TYPES[buffer.getInt(position + TYPE_OFFSET)],
+                    buffer.getLong(position + UPDATE_MILLIS_OFFSET));
+        }
+    }
+
+    @Override
+    public Set<Long> userIds() {
+        return Collections.unmodifiableSet(userIds.keySet());
+    }
+
+    @Override
+    public boolean durable() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments) {
+                segment.buffer.force();
+                segment.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 세그먼트를 차례로 읽어 마지막 온전한 레코드까지 복구하고 사용자 색인을 다시 만든다.
+     * 온전하지 않은 레코드는 마지막 세그먼트의 끝부분일 때만 지우고, 그 뒤에 기록된 내역이 있으면 예외를 던진다.
+     */
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+            }
+
+            Segment[] recovered = new Segment[0];
+            long id = 0L;
+            for (int segmentIndex = 0; segmentIndex < files.size(); segmentIndex++) {
+                Path expected = Segment.path(directory, segmentIndex);
+                if (!files.get(segmentIndex).equals(expected)) {
+                    throw new IllegalStateException("포인트 내역 세그먼트가 누락되었습니다: " + expected);
+                }
+                long size = Files.size(expected);
+                if (size != 0L && size != (long) recordsPerSegment * RECORD_SIZE) {
+                    throw new IllegalStateException("포인트 내역 세그먼트 크기가 설정과 다릅니다: " + expected);
+                }
+
+                Segment segment = Segment.open(directory, segmentIndex, recordsPerSegment);
+                recovered = append(recovered, segment);
+                for (int slot = 0; slot < recordsPerSegment; slot++) {
+                    int position = slot * RECORD_SIZE;
+                    if (!isValid(segment.buffer, position, id + 1)) {
+                        // 1. 이후에 기록된 내역이 있으면 지우지 않고 시작을 중단한다.
+                        boolean lastSegment = segmentIndex == files.size() - 1;
+                        if (!lastSegment || hasValidRecordAfter(segment, slot)) {
+                            for (Segment opened : recovered) {
+                                opened.close();
+                            }
+                            throw new IllegalStateException("포인트 내역 세그먼트가 손상되었습니다. 아이디 " + (id + 1)
+                                    + " 의 레코드가 온전하지 않지만 이후 내역이 남아 있어 복구하지 않습니다: " + expected);
+                        }
+
+                        // 2. 마지막 세그먼트 끝의 불완전한 기록은 지운다.
+                        truncate(segment, position);
+                        break;
+                    }
+                    id++;
+                    userIds.computeIfAbsent(segment.buffer.getLong(position + USER_ID_OFFSET), key -> new UserIds()).append(id);
+                }
+            }
+
+            this.segments = recovered;
+            this.lastId = id;
+            log.info("포인트 내역 {}건을 {}개의 세그먼트에서 복구했습니다. ({})", id, recovered.length, directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 저장소를 열 수 없습니다: " + directory, e);
+        }
+    }
+
+    /**
+     * 세그먼트에서 주어진 위치 이후에 아이디와 checksum 이 맞는 레코드가 있는지 확인
+     */
+    private boolean hasValidRecordAfter(Segment segment, int slot) {
+        long firstId = (long) segment.index * recordsPerSegment;
+        for (int next = slot + 1; next < recordsPerSegment; next++) {
+            if (isValid(segment.buffer, next * RECORD_SIZE, firstId + next + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 마지막 온전한 레코드 이후에 남은 기록을 0으로 지운다. 기록은 차례로 이루어지므로 빈 레코드를 만나면 멈춘다.
+     */
+    private void truncate(Segment segment, int position) {
+        int end = recordsPerSegment * RECORD_SIZE;
+        int cleared = 0;
+        for (int i = position; i < end && !isEmpty(segment.buffer, i); i += RECORD_SIZE) {
+            for (int offset = 0; offset < RECORD_SIZE; offset += 8) {
+                segment.buffer.putLong(i + offset, 0L);
+            }
+            cleared++;
+        }
+        if (cleared > 0) {
+            segment.buffer.force();
+            log.warn("불완전한 포인트 내역 레코드 {}건을 지웠습니다. ({})", cleared, Segment.path(directory, segment.index));
+        }
+    }
+
+    private static boolean isEmpty(MappedByteBuffer buffer, int position) {
+        for (int offset = 0; offset < RECORD_SIZE; offset += 8) {
+            if (buffer.getLong(position + offset) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isValid(MappedByteBuffer buffer, int position, long expectedId) {
+        return buffer.getLong(position + ID_OFFSET) == expectedId
+                && buffer.getInt(position + CHECKSUM_OFFSET) == checksum(buffer, position);
+    }
+
+    private static void write(MappedByteBuffer buffer, int position, long id, long userId, long amount, TransactionType type, long updateMillis) {
+        buffer.putLong(position + ID_OFFSET, id);
+        buffer.putLong(position + USER_ID_OFFSET, userId);
+        buffer.putLong(position + AMOUNT_OFFSET, amount);
+        buffer.putLong(position + UPDATE_MILLIS_OFFSET, updateMillis);
+        buffer.putInt(position + TYPE_OFFSET, type.ordinal());
+        buffer.putInt(position + CHECKSUM_OFFSET, checksum(buffer, position));
+    }
+
+    private static PointHistory read(MappedByteBuffer buffer, int position) {
+        return new PointHistory(
+                buffer.getLong(position + ID_OFFSET),
+                buffer.getLong(position + USER_ID_OFFSET),
+                buffer.getLong(position + AMOUNT_OFFSET),
+                TYPES[buffer.getInt(position + TYPE_OFFSET)],
+                buffer.getLong(position + UPDATE_MILLIS_OFFSET));
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private int segmentIndex(long id) {
+        return (int) ((id - 1) / recordsPerSegment);
+    }
+
+    private int position(long id) {
+        return (int) ((id - 1) % recordsPerSegment) * RECORD_SIZE;
+    }
+
+    private static Segment[] append(Segment[] segments, Segment segment) {
+        Segment[] appended = Arrays.copyOf(segments, segments.length + 1);
+        appended[segments.length] = segment;
+        return appended;
+    }
+
+    /**
+     * 고정 크기로 매핑된 세그먼트 파일
+     */
+    private record Segment(int index, FileChannel channel, MappedByteBuffer buffer) {
+
+        static Path path(Path directory, int index) {
+            return directory.resolve(String.format("%010d%s", index, SEGMENT_SUFFIX));
+        }
+
+        static Segment open(Path directory, int index, int records) {
+            try {
+                FileChannel channel = FileChannel.open(path(directory, index),
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                // 파일 크기를 미리 확보하고 전체를 매핑한다. 새로 늘어난 영역은 0으로 채워진다.
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) records * RECORD_SIZE);
+                return new Segment(index, channel, buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("포인트 내역 세그먼트를 열 수 없습니다: " + path(directory, index), e);
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("포인트 내역 세그먼트를 닫지 못했습니다: {}", index, e);
+            }
+        }
+    }
+
+    /**
+     * 사용자 한 명의 내역 아이디 목록 (오름차순)
+     * - 추가는 appendLock 을 잡은 스레드만 수행하고, 조회는 volatile 크기를 먼저 읽어 그 이전에 추가된 아이디만 락 없이 읽는다.
+     */
+    private static final class UserIds {
+
+        private volatile long[] values = new long[8];
+        private volatile int size;
+
+        void append(long id) {
+            long[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                values = current;
+            }
+            current[size] = id;
+            size = size + 1; // 아이디를 기록한 뒤 크기를 늘려 조회 스레드에 게시한다.
+        }
+    }
+}
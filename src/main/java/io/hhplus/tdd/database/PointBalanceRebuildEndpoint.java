@@ -0,0 +1,23 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * 잔액 재계산 명령 (POST /actuator/pointrebuild)
+ * - 모든 사용자의 잔액을 포인트 내역으로부터 다시 계산하고, 투영, 스냅샷, 사본과 다른 값을 반환한다.
+ */
+@Endpoint(id = "pointrebuild")
+public class PointBalanceRebuildEndpoint {
+
+    private final EventSourcedPointStore eventSourcedPointStore;
+
+    public PointBalanceRebuildEndpoint(EventSourcedPointStore eventSourcedPointStore) {
+        this.eventSourcedPointStore = eventSourcedPointStore;
+    }
+
+    @WriteOperation
+    public EventSourcedPointStore.RebuildReport rebuild() {
+        return eventSourcedPointStore.rebuild();
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 아이디 순서대로 전체 내역을 읽을 수 있는 포인트 내역 저장소
+ * - 아이디는 1부터 빈틈없이 차례로 부여된다.
+ * - 상태 스냅샷(PointStateSnapshotter)이 스냅샷 이후의 내역을 다시 적용하거나 내역 전체를 기록할 때 사용한다.
+ */
+public interface PointHistoryLog extends PointHistoryRepository {
+
+    /**
+     * 기록된 마지막 내역 아이디, 내역이 없으면 0
+     */
+    long lastId();
+
+    /**
+     * afterId 보다 크고 toId 이하인 내역을 아이디 순서대로 전달
+     */
+    void forEach(long afterId, long toId, RowConsumer consumer);
+
+    /**
+     * 프로세스가 재시작되어도 내역이 유지되는지 여부
+     * 유지되지 않는 저장소는 상태 스냅샷에 내역 전체를 함께 기록한다.
+     */
+    boolean durable();
+
+    /**
+     * 내역 한 건을 전달받는 함수
+     */
+    @FunctionalInterface
+    interface RowConsumer {
+        void accept(long id, long userId, long amount, TransactionType type, long updateMillis);
+    }
+}
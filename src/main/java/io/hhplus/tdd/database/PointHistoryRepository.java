@@ -0,0 +1,61 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 저장소
+ * - PointService 는 PointHistoryTable 을 직접 사용하지 않고 이 인터페이스를 통해 내역을 저장하고 조회한다.
+ */
+public interface PointHistoryRepository {
+
+    /**
+     * 포인트 내역 저장
+     *
+     * @param userId       사용자 아이디
+     * @param amount       충전/사용 포인트
+     * @param type         트랜잭션 종류
+     * @param updateMillis 처리 시각
+     * @return 저장된 포인트 내역
+     */
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 포인트 내역 저장 후 아이디만 반환
+     * 저장된 내역 객체가 필요 없는 호출자를 위한 메서드로, 원시 배열 기반 저장소는 내역 객체를 만들지 않는다.
+     *
+     * @return 저장된 포인트 내역 아이디
+     */
+    default long append(long userId, long amount, TransactionType type, long updateMillis) {
+        return insert(userId, amount, type, updateMillis).id();
+    }
+
+    /**
+     * 사용자 포인트 내역 조회 (저장 순서)
+     *
+     * @param userId 사용자 아이디
+     * @return List<PointHistory>
+     */
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * 사용자 포인트 내역 페이지 조회 (아이디 오름차순)
+     * 아이디는 저장 순서대로 증가하므로, 마지막으로 받은 내역의 아이디를 다음 페이지의 커서로 사용한다.
+     *
+     * @param userId     사용자 아이디
+     * @param afterId    이 아이디보다 큰 내역부터 조회
+     * @param fromMillis 처리 시각 하한 (포함)
+     * @param toMillis   처리 시각 상한 (포함)
+     * @param limit      최대 조회 건수
+     * @return List<PointHistory>
+     */
+    default List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+        return selectAllByUserId(userId).stream()
+                .filter(pointHistory -> pointHistory.id() > afterId)
+                .filter(pointHistory -> pointHistory.updateMillis() >= fromMillis && pointHistory.updateMillis() <= toMillis)
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 포인트 내역 저장소 설정
+ * - 쓰기 지연 저장소 앞에 사용자별 색인을 두어 PointService 에 제공한다.
+ * - point.history.store 가 journal, columnar 이면 해당 저장소를 그대로 제공한다. (두 저장소는 자체 사용자 색인을 갖는다)
+ * - point.balance.mode 가 table(기본값)일 때 사용하며, event-sourced 이면 EventSourcedPointConfig 가 대신한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.balance.mode", havingValue = "table", matchIfMissing = true)
+public class PointHistoryRepositoryConfig {
+
+    @Bean
+    @Primary
+    public PointHistoryRepository pointHistoryRepository(
+            WriteBehindPointHistoryRepository writeBehindPointHistoryRepository,
+            @Qualifier("pointHistoryStore") ObjectProvider<PointHistoryRepository> pointHistoryStore
+    ) {
+        PointHistoryRepository store = pointHistoryStore.getIfAvailable();
+        return store != null ? store : new IndexedPointHistoryRepository(writeBehindPointHistoryRepository);
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * 포인트 내역 원본 저장소 설정
+ * - point.history.store 가 journal 이면 PointHistoryTable 대신 메모리 매핑 파일에 내역을 저장한다.
+ *   재시작 후 내역만 남고 잔액이 0이 되지 않도록, 잔액을 내역으로 계산(point.balance.mode: event-sourced)하거나 스냅샷(point.snapshot.enabled)으로 복원할 때만 사용할 수 있다.
+ * - point.history.store 가 columnar 이면 PointHistoryTable 대신 열 단위 원시 배열에 내역을 저장한다.
+ * - point.history.store 가 tiered 이면 사용자별 최근 내역만 원본으로 보관하고, 오래된 내역은 일 단위 집계로 압축한다.
+ * - memory(기본값)이면 등록하지 않으며, 내역 저장소 설정이 쓰기 지연 저장소에 색인을 붙여 사용한다.
+ */
+@Configuration
+public class PointHistoryStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "point.history.store", havingValue = "journal")
+    public MappedPointHistoryJournal pointHistoryStore(
+            @Value("${point.history.journal.directory:./data/point-history}") String directory,
+            @Value("${point.history.journal.segment-records:1048576}") int segmentRecords,
+            @Value("${point.history.journal.fsync:false}") boolean fsync,
+            @Value("${point.balance.mode:table}") String balanceMode,
+            @Value("${point.snapshot.enabled:false}") boolean snapshotEnabled
+    ) {
+        if (!"event-sourced".equals(balanceMode) && !snapshotEnabled) {
+            throw new IllegalStateException("파일에 저장하는 내역 저장소(point.history.store: journal)는 재시작 후 잔액을 복원할 수 있도록 "
+                    + "point.balance.mode: event-sourced 또는 point.snapshot.enabled: true 와 함께 사용해야 합니다.");
+        }
+        return new MappedPointHistoryJournal(Path.of(directory), segmentRecords, fsync);
+    }
+
+    @Bean(name = "pointHistoryStore")
+    @ConditionalOnProperty(name = "point.history.store", havingValue = "columnar")
+    public ColumnarPointHistoryRepository columnarPointHistoryStore() {
+        return new ColumnarPointHistoryRepository();
+    }
+
+    @Bean(name = "pointHistoryStore", destroyMethod = "close")
+    @ConditionalOnProperty(name = "point.history.store", havingValue = "tiered")
+    public TieredPointHistoryRepository tieredPointHistoryStore(
+            @Value("${point.history.retention.hot-max-rows:1000}") int hotMaxRows,
+            @Value("${point.history.retention.hot-days:7}") long hotDays,
+            @Value("${point.history.retention.cold-days:365}") long coldDays,
+            @Value("${point.history.retention.zone:Asia/Seoul}") String zone,
+            @Value("${point.history.retention.compaction-interval-seconds:60}") long compactionIntervalSeconds
+    ) {
+        TieredPointHistoryRepository repository = new TieredPointHistoryRepository(
+                hotMaxRows, Duration.ofDays(hotDays), Duration.ofDays(coldDays), ZoneId.of(zone));
+        repository.start(Duration.ofSeconds(compactionIntervalSeconds));
+        return repository;
+    }
+}
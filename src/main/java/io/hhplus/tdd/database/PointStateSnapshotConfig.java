@@ -0,0 +1,42 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 포인트 상태 스냅샷 설정
+ * - point.snapshot.enabled 가 true 이면 시작 시 스냅샷에서 잔액과 내역을 복원하고, 주기적으로 스냅샷을 기록한다.
+ * - 잔액을 구역별로 복사할 수 있는 원시 배열 잔액 맵(point.user-point.store: primitive)과
+ *   아이디 순서대로 읽을 수 있는 내역 저장소(point.history.store: journal, columnar)가 필요하다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.snapshot.enabled", havingValue = "true")
+public class PointStateSnapshotConfig {
+
+    @Bean(destroyMethod = "close")
+    public PointStateSnapshotter pointStateSnapshotter(
+            UserPointRepository userPointRepository,
+            @Qualifier("pointHistoryStore") ObjectProvider<PointHistoryRepository> pointHistoryStore,
+            @Value("${point.snapshot.file:./data/point-state.snap}") String file,
+            @Value("${point.snapshot.interval-seconds:60}") long intervalSeconds
+    ) {
+        if (!(userPointRepository instanceof PrimitiveUserPointRepository primitive)) {
+            throw new IllegalStateException("포인트 상태 스냅샷은 point.user-point.store 가 primitive 일 때만 사용할 수 있습니다.");
+        }
+        if (!(pointHistoryStore.getIfAvailable() instanceof PointHistoryLog history)) {
+            throw new IllegalStateException("포인트 상태 스냅샷은 point.history.store 가 journal 또는 columnar 일 때만 사용할 수 있습니다.");
+        }
+
+        PointStateSnapshotter snapshotter = new PointStateSnapshotter(Path.of(file), primitive.balances(), history);
+        snapshotter.restore();
+        snapshotter.start(Duration.ofSeconds(intervalSeconds));
+        return snapshotter;
+    }
+}
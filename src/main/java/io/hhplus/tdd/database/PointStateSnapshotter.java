@@ -0,0 +1,427 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 상태 스냅샷
+ * - 잔액 맵의 모든 잔액과, 재시작 후 유지되지 않는 내역 저장소면 내역 전체를 하나의 이진 파일로 기록하고 시작 시 복원한다.
+ * - 기록 중에도 변경을 멈추지 않는다(fuzzy snapshot). 잔액은 구역별로 읽기 락을 잡은 짧은 순간에 복사하고,
+ *   그때의 내역 마지막 아이디(marker)를 함께 기록한다.
+ * - 복원 시 구역별 marker 이후의 내역(journal tail)을 잔액에 다시 적용하여, 구역마다 다른 시점에 복사된 잔액을 한 시점으로 맞춘다.
+ *   재시작 후에도 유지되는 내역 저장소(journal)면 마지막 스냅샷 이후 종료 직전까지의 내역도 이 과정에서 함께 반영된다.
+ * - 파일은 임시 파일에 모두 기록한 뒤 교체하고, 끝에 CRC32C 를 붙여 복원 전에 손상 여부를 확인한다.
+ *
+ * 파일 구조
+ * - magic(4) | version(4) | createdMillis(8) | stripeCount(4)
+ * - 구역마다 : marker(8) | count(4) | [userId(8) | balance(8) | updateMillis(8)] * count
+ * - historyLastId(8) | historyIncluded(1) | [userId(8) | amount(8) | updateMillis(8) | type(1)] * historyLastId (포함한 경우)
+ * - crc32c(4)
+ */
+public class PointStateSnapshotter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointStateSnapshotter.class);
+
+    private static final int MAGIC = 0x50545331; // "PTS1"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path file;
+    private final ConcurrentLongBalanceMap balances;
+    private final PointHistoryLog history;
+    private final ReentrantLock writeLock = new ReentrantLock(); // 주기 기록과 종료 시 기록이 겹치지 않도록 한다.
+    private ScheduledExecutorService scheduler;
+
+    public PointStateSnapshotter(Path file, ConcurrentLongBalanceMap balances, PointHistoryLog history) {
+        this.file = file;
+        this.balances = balances;
+        this.history = history;
+    }
+
+    /**
+     * 현재 상태를 스냅샷 파일로 기록
+     */
+    public Report write() {
+        writeLock.lock();
+        long startNanos = System.nanoTime();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+
+            long users = 0L;
+            long historyLastId;
+            try (Output out = new Output(temp)) {
+                // 1. 머리말
+                out.putInt(MAGIC);
+                out.putInt(VERSION);
+                out.putLong(System.currentTimeMillis());
+                out.putInt(balances.stripeCount());
+
+                // 2. 구역별로 락 안에서는 복사만 하고, 파일 기록은 락을 놓은 뒤에 한다.
+                StripeCopy copy = new StripeCopy();
+                for (int stripe = 0; stripe < balances.stripeCount(); stripe++) {
+                    balances.visitStripe(stripe, history::lastId, copy::fill);
+                    out.putLong(copy.marker);
+                    out.putInt(copy.count);
+                    for (int i = 0; i < copy.count; i++) {
+                        out.putLong(copy.keys[i]);
+                        out.putLong(copy.balances[i]);
+                        out.putLong(copy.updateMillis[i]);
+                    }
+                    users += copy.count;
+                }
+
+                // 3. 모든 구역의 marker 이후에 읽은 마지막 아이디까지 내역 기록 (유지되지 않는 저장소만)
+                historyLastId = history.lastId();
+                out.putLong(historyLastId);
+                out.put((byte) (history.durable() ? 0 : 1));
+                if (!history.durable()) {
+                    history.forEach(0L, historyLastId, (id, userId, amount, type, updateMillis) -> {
+                        out.putLong(userId);
+                        out.putLong(amount);
+                        out.putLong(updateMillis);
+                        out.put((byte) type.ordinal());
+                    });
+                }
+                out.finish();
+            }
+
+            // 4. 기록을 마친 파일로 교체
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Report report = new Report(users, historyLastId, 0L, elapsedMillis(startNanos));
+            log.info("포인트 상태 스냅샷을 기록했습니다. 사용자 {}명, 내역 {}건, {}ms ({})",
+                    report.users(), report.histories(), report.elapsedMillis(), file);
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 상태 스냅샷을 기록할 수 없습니다: " + file, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 스냅샷 파일에서 잔액(과 내역)을 복원하고, 스냅샷 이후의 내역을 잔액에 다시 적용
+     * 잔액 맵은 비어 있어야 하며, 스냅샷 파일이 없으면 내역 저장소의 내역 전체를 잔액에 적용한다.
+     */
+    public Report restore() {
+        long startNanos = System.nanoTime();
+        if (balances.size() != 0L) {
+            throw new IllegalStateException("잔액이 비어 있지 않아 포인트 상태 스냅샷을 복원할 수 없습니다.");
+        }
+
+        // 1. 스냅샷이 없으면 모든 구역의 marker 를 0으로 보고 내역 전체를 다시 적용한다.
+        long[] markers = new long[balances.stripeCount()];
+        long users = 0L;
+        long historyLastId = 0L;
+        if (Files.exists(file)) {
+            verifyChecksum();
+            try (Input in = new Input(file)) {
+                // 2. 머리말 확인
+                if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                    throw new IllegalStateException("포인트 상태 스냅샷 형식이 올바르지 않습니다: " + file);
+                }
+                in.getLong(); // 기록 시각
+                markers = new long[in.getInt()];
+
+                // 3. 구역별 잔액 복원
+                for (int stripe = 0; stripe < markers.length; stripe++) {
+                    markers[stripe] = in.getLong();
+                    int count = in.getInt();
+                    if (stripe == 0) {
+                        // 항목은 기록한 맵의 칸 순서대로 들어오므로, 작은 표에서 늘려 가며 담으면 탐색이 길어진다.
+                        // 구역마다 항목 수가 고르므로 첫 구역의 항목 수로 전체 크기를 추정해 미리 늘린다.
+                        balances.ensureCapacity((long) count * markers.length);
+                    }
+                    for (int i = 0; i < count; i++) {
+                        balances.put(in.getLong(), in.getLong(), in.getLong());
+                    }
+                    users += count;
+                }
+
+                // 4. 내역 복원, 유지되는 저장소는 스냅샷 시점까지의 내역이 남아 있는지만 확인한다.
+                historyLastId = in.getLong();
+                boolean historyIncluded = in.get() == 1;
+                if (historyIncluded) {
+                    if (history.lastId() != 0L) {
+                        throw new IllegalStateException("포인트 내역 저장소가 비어 있지 않아 스냅샷의 내역을 복원할 수 없습니다.");
+                    }
+                    for (long id = 1; id <= historyLastId; id++) {
+                        long userId = in.getLong();
+                        long amount = in.getLong();
+                        long updateMillis = in.getLong();
+                        history.append(userId, amount, TYPES[in.get()], updateMillis);
+                    }
+                } else if (history.lastId() < historyLastId) {
+                    throw new IllegalStateException("포인트 내역이 스냅샷보다 적어 복원할 수 없습니다. 스냅샷: "
+                            + historyLastId + "건, 저장소: " + history.lastId() + "건");
+                }
+            }
+        }
+
+        // 5. 사용자가 속한 구역의 marker 이후 내역을 잔액에 다시 적용
+        long replayed = replay(markers);
+        Report report = new Report(users, history.lastId(), replayed, elapsedMillis(startNanos));
+        log.info("포인트 상태를 복원했습니다. 사용자 {}명, 내역 {}건, 다시 적용한 내역 {}건, {}ms ({})",
+                report.users(), report.histories(), report.replayed(), report.elapsedMillis(), file);
+        return report;
+    }
+
+    private long replay(long[] markers) {
+        long from = Arrays.stream(markers).min().orElse(0L);
+        long[] replayed = new long[1];
+        history.forEach(from, history.lastId(), (id, userId, amount, type, updateMillis) -> {
+            if (id > markers[ConcurrentLongBalanceMap.stripeIndex(userId, markers.length)]) {
+                long delta = type == TransactionType.CHARGE ? amount : -amount;
+                balances.put(userId, balances.balance(userId) + delta, updateMillis);
+                replayed[0]++;
+            }
+        });
+        return replayed[0];
+    }
+
+    /**
+     * interval 마다 스냅샷을 기록하는 백그라운드 작업 시작
+     */
+    public void start(Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("point-state-snapshot").daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(this::writeQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 주기 기록을 멈추고 마지막 스냅샷을 기록한 뒤 종료
+     */
+    @Override
+    public void close() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("진행 중인 포인트 상태 스냅샷 기록을 기다리지 못하고 종료합니다.");
+            }
+        }
+        write();
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (RuntimeException e) {
+            log.error("포인트 상태 스냅샷 기록에 실패했습니다.", e);
+        }
+    }
+
+    private void verifyChecksum() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bodySize = channel.size() - Integer.BYTES;
+            if (bodySize < 0) {
+                throw new IllegalStateException("포인트 상태 스냅샷이 손상되었습니다: " + file);
+            }
+            CRC32C crc = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long position = 0L;
+            while (position < bodySize) {
+                buffer.clear().limit((int) Math.min(BUFFER_SIZE, bodySize - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+                crc.update(buffer.flip());
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(trailer, bodySize);
+            if (trailer.getInt(0) != (int) crc.getValue()) {
+                throw new IllegalStateException("포인트 상태 스냅샷이 손상되었습니다: " + file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 상태 스냅샷을 읽을 수 없습니다: " + file, e);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 기록 또는 복원 결과
+     *
+     * @param users         사용자 수
+     * @param histories     내역 수 (마지막 내역 아이디)
+     * @param replayed      복원 시 스냅샷 이후로 다시 적용한 내역 수
+     * @param elapsedMillis 걸린 시간
+     */
+    public record Report(long users, long histories, long replayed, long elapsedMillis) {
+    }
+
+    /**
+     * 구역 하나의 항목 복사본, 구역 락을 짧게 잡기 위해 배열을 재사용한다.
+     */
+    private static final class StripeCopy {
+        private long marker;
+        private int count;
+        private long[] keys = new long[1_024];
+        private long[] balances = new long[1_024];
+        private long[] updateMillis = new long[1_024];
+
+        void fill(long marker, LongBalanceMap entries) {
+            this.marker = marker;
+            this.count = 0;
+            if (keys.length < entries.size()) {
+                keys = new long[entries.size()];
+                balances = new long[entries.size()];
+                updateMillis = new long[entries.size()];
+            }
+            entries.forEach((key, balance, millis) -> {
+                keys[count] = key;
+                balances[count] = balance;
+                updateMillis[count] = millis;
+                count++;
+            });
+        }
+    }
+
+    /**
+     * 버퍼에 모아 파일에 기록하며 CRC32C 를 계산하는 출력
+     */
+    private static final class Output implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32C crc = new CRC32C();
+
+        Output(Path path) throws IOException {
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        void putLong(long value) {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putInt(int value) {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void put(byte value) {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        /**
+         * 남은 내용과 CRC32C 를 기록하고 디스크에 반영
+         */
+        void finish() throws IOException {
+            flush();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * 버퍼 단위로 파일을 읽는 입력
+     */
+    private static final class Input implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).limit(0);
+
+        Input(Path path) {
+            try {
+                this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException("포인트 상태 스냅샷을 읽을 수 없습니다: " + path, e);
+            }
+        }
+
+        long getLong() {
+            ensure(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        int getInt() {
+            ensure(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        byte get() {
+            ensure(1);
+            return buffer.get();
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            buffer.compact();
+            try {
+                while (buffer.position() < bytes && channel.read(buffer) >= 0) {
+                    // 필요한 만큼 읽을 때까지 반복
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.flip();
+            if (buffer.remaining() < bytes) {
+                throw new IllegalStateException("포인트 상태 스냅샷이 예상보다 짧습니다.");
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 원시 배열 맵 기반 사용자 포인트 저장소
+ * - UserPointTable 의 HashMap<Long, UserPoint> 대신 ConcurrentLongBalanceMap 에 잔액과 수정 시각을 보관한다.
+ * - PointService 는 이 저장소를 사용하면 잔액 변경을 맵의 원자적 갱신으로 처리한다. (balances 참고)
+ */
+public class PrimitiveUserPointRepository implements UserPointRepository {
+
+    private final ConcurrentLongBalanceMap balances;
+
+    public PrimitiveUserPointRepository() {
+        this(new ConcurrentLongBalanceMap());
+    }
+
+    public PrimitiveUserPointRepository(ConcurrentLongBalanceMap balances) {
+        this.balances = balances;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = balances.get(id, UserPoint::new);
+        return userPoint == null ? UserPoint.empty(id) : userPoint;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long updateMillis = System.currentTimeMillis();
+        balances.put(id, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    /**
+     * 잔액 맵
+     * 조회 후 저장 대신 맵의 add, transfer 로 한도 검사와 저장을 한 번에 처리할 때 사용한다.
+     */
+    public ConcurrentLongBalanceMap balances() {
+        return balances;
+    }
+}
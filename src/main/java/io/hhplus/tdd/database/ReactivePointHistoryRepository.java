@@ -0,0 +1,36 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 저장소의 리액티브 어댑터
+ * - 블로킹 저장소(PointHistoryTable 등) 호출을 ReactiveUserPointRepository 와 같은 스케줄러에서 실행한다.
+ */
+public class ReactivePointHistoryRepository {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final Scheduler scheduler;
+
+    public ReactivePointHistoryRepository(PointHistoryRepository pointHistoryRepository, Scheduler scheduler) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.scheduler = scheduler;
+    }
+
+    public Mono<PointHistory> insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return Mono.fromCallable(() -> pointHistoryRepository.insert(userId, amount, type, updateMillis)).subscribeOn(scheduler);
+    }
+
+    public Mono<List<PointHistory>> selectAllByUserId(long userId) {
+        return Mono.fromCallable(() -> pointHistoryRepository.selectAllByUserId(userId)).subscribeOn(scheduler);
+    }
+
+    public Mono<List<PointHistory>> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+        return Mono.fromCallable(() -> pointHistoryRepository.selectByUserId(userId, afterId, fromMillis, toMillis, limit))
+                .subscribeOn(scheduler);
+    }
+}
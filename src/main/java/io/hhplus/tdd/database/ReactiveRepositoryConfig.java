@@ -0,0 +1,36 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 리액티브 저장소 설정
+ * - spring.main.web-application-type 이 reactive 이면 설정된 사용자 포인트/내역 저장소를 리액티브 어댑터로 감싸 제공한다.
+ * - 블로킹 테이블 호출은 point-table 스케줄러에서 실행하며, 동시에 실행되는 호출 수는 thread-cap, 대기할 수 있는 호출 수는 queued-task-cap 으로 제한한다.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRepositoryConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler pointTableScheduler(
+            @Value("${point.reactive.table.thread-cap:256}") int threadCap,
+            @Value("${point.reactive.table.queued-task-cap:100000}") int queuedTaskCap
+    ) {
+        return Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "point-table");
+    }
+
+    @Bean
+    public ReactiveUserPointRepository reactiveUserPointRepository(UserPointRepository userPointRepository, Scheduler pointTableScheduler) {
+        return new ReactiveUserPointRepository(userPointRepository, pointTableScheduler);
+    }
+
+    @Bean
+    public ReactivePointHistoryRepository reactivePointHistoryRepository(PointHistoryRepository pointHistoryRepository, Scheduler pointTableScheduler) {
+        return new ReactivePointHistoryRepository(pointHistoryRepository, pointTableScheduler);
+    }
+}
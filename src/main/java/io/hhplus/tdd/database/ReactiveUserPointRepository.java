@@ -0,0 +1,30 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * 사용자 포인트 저장소의 리액티브 어댑터
+ * - 블로킹 저장소(UserPointTable 등) 호출을 정해진 수의 스레드를 가진 스케줄러(bounded elastic)에서 실행하여,
+ *   요청을 처리하는 이벤트 루프 스레드가 테이블의 지연(throttle) 동안 멈추지 않도록 한다.
+ * - 구독할 때마다 한 번 호출하며, 동시에 호출되는 수는 스케줄러의 스레드 수로 제한된다.
+ */
+public class ReactiveUserPointRepository {
+
+    private final UserPointRepository userPointRepository;
+    private final Scheduler scheduler;
+
+    public ReactiveUserPointRepository(UserPointRepository userPointRepository, Scheduler scheduler) {
+        this.userPointRepository = userPointRepository;
+        this.scheduler = scheduler;
+    }
+
+    public Mono<UserPoint> selectById(long id) {
+        return Mono.fromCallable(() -> userPointRepository.selectById(id)).subscribeOn(scheduler);
+    }
+
+    public Mono<UserPoint> insertOrUpdate(long id, long amount) {
+        return Mono.fromCallable(() -> userPointRepository.insertOrUpdate(id, amount)).subscribeOn(scheduler);
+    }
+}
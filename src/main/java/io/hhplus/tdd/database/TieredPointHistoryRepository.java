@@ -0,0 +1,294 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 보존 기간을 두는 2단계 포인트 내역 저장소
+ * - 최근 내역(hot)은 사용자별 최대 hotCapacity 건의 링에 원본 그대로 보관하고, 링이 가득 차거나 보관 기간(hotRetention)이 지난 내역은
+ *   사용자별 일 단위 집계(cold)로 압축한다. 집계는 하루의 CHARGE 합계와 USE 합계만 가지므로 사용자당 하루 최대 2건이다.
+ * - 집계 보관 기간(coldRetention)이 지난 날의 집계는 버린다. (0 이하면 버리지 않는다)
+ * - 조회는 집계를 내역 2건(CHARGE 합계, USE 합계)으로 펼친 뒤 최근 내역을 이어 붙여 반환한다.
+ *   집계 행의 아이디는 집계에 포함된 마지막 내역의 아이디, 처리 시각은 해당 일의 시작 시각이다.
+ * - 압축은 아이디 순서대로 가장 오래된 내역부터 하므로 집계 행의 아이디는 항상 최근 내역보다 작고, 아이디 커서로 이어서 조회할 수 있다.
+ *   단, 같은 날의 내역이 더 압축되면 그 날의 집계 행은 더 큰 아이디와 합계로 바뀐다.
+ * - 잔액 원본이 아니므로 내역을 다시 적용해 잔액을 만드는 event-sourced 모드와 상태 스냅샷에는 사용할 수 없다.
+ */
+public class TieredPointHistoryRepository implements PointHistoryRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredPointHistoryRepository.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+    private static final int INITIAL_RING_SIZE = 8;
+
+    private final int hotCapacity;
+    private final long hotRetentionMillis;
+    private final long coldRetentionDays;
+    private final ZoneId zone;
+    private final LongSupplier clock;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, UserHistory> users = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public TieredPointHistoryRepository(int hotCapacity, Duration hotRetention, Duration coldRetention, ZoneId zone) {
+        this(hotCapacity, hotRetention, coldRetention, zone, System::currentTimeMillis);
+    }
+
+    TieredPointHistoryRepository(int hotCapacity, Duration hotRetention, Duration coldRetention, ZoneId zone, LongSupplier clock) {
+        if (hotCapacity < 1) {
+            throw new IllegalArgumentException("사용자별 최근 내역 보관 건수는 1 이상이어야 합니다.");
+        }
+        this.hotCapacity = hotCapacity;
+        this.hotRetentionMillis = hotRetention.toMillis();
+        this.coldRetentionDays = coldRetention.toDays();
+        this.zone = zone;
+        this.clock = clock;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        while (true) {
+            UserHistory history = users.computeIfAbsent(userId, id -> new UserHistory());
+            history.lock.lock();
+            try {
+                // 압축으로 비어 제거된 사용자면 새로 등록된 사용자 내역에 다시 기록한다.
+                if (history.removed) {
+                    continue;
+                }
+                // 아이디를 사용자 락 안에서 부여해야 링 안의 내역이 아이디 순서를 유지한다.
+                PointHistory pointHistory = new PointHistory(sequence.incrementAndGet(), userId, amount, type, updateMillis);
+                history.append(pointHistory);
+                return pointHistory;
+            } finally {
+                history.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectByUserId(userId, 0L, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+        UserHistory history = users.get(userId);
+        if (history == null) {
+            return List.of();
+        }
+
+        history.lock.lock();
+        try {
+            List<PointHistory> histories = new ArrayList<>(Math.min(limit, history.size + history.days.size() * 2));
+
+            // 1. 집계 행을 아이디 순서로 펼친다.
+            for (PointHistory pointHistory : history.coldRows(userId)) {
+                if (histories.size() == limit) {
+                    return histories;
+                }
+                if (matches(pointHistory, afterId, fromMillis, toMillis)) {
+                    histories.add(pointHistory);
+                }
+            }
+
+            // 2. 최근 내역을 오래된 순서로 이어 붙인다.
+            for (int i = 0; i < history.size && histories.size() < limit; i++) {
+                PointHistory pointHistory = history.hot(i);
+                if (matches(pointHistory, afterId, fromMillis, toMillis)) {
+                    histories.add(pointHistory);
+                }
+            }
+            return histories;
+        } finally {
+            history.lock.unlock();
+        }
+    }
+
+    private static boolean matches(PointHistory pointHistory, long afterId, long fromMillis, long toMillis) {
+        return pointHistory.id() > afterId && pointHistory.updateMillis() >= fromMillis && pointHistory.updateMillis() <= toMillis;
+    }
+
+    /**
+     * 보관 기간이 지난 최근 내역을 집계로 압축하고, 보관 기간이 지난 집계를 버린다.
+     * 내역이 모두 사라진 사용자는 제거한다.
+     *
+     * @return 압축한 최근 내역 수
+     */
+    public int compact() {
+        long now = clock.getAsLong();
+        long hotCutoff = hotRetentionMillis > 0 ? now - hotRetentionMillis : Long.MIN_VALUE;
+        long coldCutoffDay = coldRetentionDays > 0 ? epochDay(now) - coldRetentionDays : Long.MIN_VALUE;
+
+        int compacted = 0;
+        for (Map.Entry<Long, UserHistory> entry : users.entrySet()) {
+            UserHistory history = entry.getValue();
+            history.lock.lock();
+            try {
+                // 1. 가장 오래된 내역부터 보관 기간이 지났으면 집계로 옮긴다.
+                while (history.size > 0 && history.hot(0).updateMillis() < hotCutoff) {
+                    history.compactOldest();
+                    compacted++;
+                }
+
+                // 2. 보관 기간이 지난 날의 집계를 버린다.
+                history.days.headMap(coldCutoffDay).clear();
+
+                // 3. 내역이 모두 사라진 사용자 제거
+                if (history.size == 0 && history.days.isEmpty()) {
+                    history.removed = true;
+                    users.remove(entry.getKey(), history);
+                }
+            } finally {
+                history.lock.unlock();
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * interval 마다 압축하는 백그라운드 작업 시작
+     */
+    public void start(Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("point-history-compaction").daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(this::compactQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 주기 압축 중지
+     */
+    @Override
+    public void close() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("진행 중인 포인트 내역 압축을 기다리지 못하고 종료합니다.");
+            }
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            int compacted = compact();
+            log.debug("포인트 내역 {}건을 일 단위 집계로 압축했습니다.", compacted);
+        } catch (RuntimeException e) {
+            log.error("포인트 내역 압축에 실패했습니다.", e);
+        }
+    }
+
+    private long epochDay(long millis) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone).toEpochDay();
+    }
+
+    private long dayStartMillis(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 사용자 한 명의 최근 내역 링과 일 단위 집계
+     * - 추가, 압축, 조회 모두 사용자 락을 잡고 수행한다. 포인트 변경은 이미 사용자 단위로 직렬화되어 있어 경합이 적다.
+     */
+    private final class UserHistory {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private PointHistory[] ring = new PointHistory[Math.min(INITIAL_RING_SIZE, hotCapacity)];
+        private final TreeMap<Long, DayAggregate> days = new TreeMap<>(); // 일(epoch day) 오름차순
+        private int head; // 가장 오래된 최근 내역의 위치
+        private int size;
+        private boolean removed;
+
+        PointHistory hot(int index) {
+            return ring[(head + index) % ring.length];
+        }
+
+        void append(PointHistory pointHistory) {
+            // 링이 가득 차면 보관 건수까지는 두 배로 늘리고, 보관 건수에 이르면 가장 오래된 내역을 집계로 옮겨 자리를 만든다.
+            if (size == ring.length) {
+                if (ring.length < hotCapacity) {
+                    grow();
+                } else {
+                    compactOldest();
+                }
+            }
+            ring[(head + size) % ring.length] = pointHistory;
+            size++;
+        }
+
+        private void grow() {
+            PointHistory[] grown = new PointHistory[(int) Math.min((long) ring.length * 2, hotCapacity)];
+            for (int i = 0; i < size; i++) {
+                grown[i] = hot(i);
+            }
+            ring = grown;
+            head = 0;
+        }
+
+        void compactOldest() {
+            PointHistory oldest = ring[head];
+            ring[head] = null;
+            head = (head + 1) % ring.length;
+            size--;
+            days.computeIfAbsent(epochDay(oldest.updateMillis()), day -> new DayAggregate()).add(oldest);
+        }
+
+        /**
+         * 집계를 CHARGE 합계, USE 합계 내역으로 펼쳐 아이디 순서로 반환
+         * 처리 시각이 거꾸로 기록된 내역이 있으면 일 순서와 아이디 순서가 다를 수 있어 다시 정렬한다.
+         */
+        List<PointHistory> coldRows(long userId) {
+            List<PointHistory> rows = new ArrayList<>(days.size() * 2);
+            for (Map.Entry<Long, DayAggregate> entry : days.entrySet()) {
+                DayAggregate aggregate = entry.getValue();
+                long dayStart = dayStartMillis(entry.getKey());
+                if (aggregate.chargeLastId != 0L) {
+                    rows.add(new PointHistory(aggregate.chargeLastId, userId, aggregate.chargeAmount, TransactionType.CHARGE, dayStart));
+                }
+                if (aggregate.useLastId != 0L) {
+                    rows.add(new PointHistory(aggregate.useLastId, userId, aggregate.useAmount, TransactionType.USE, dayStart));
+                }
+            }
+            rows.sort(Comparator.comparingLong(PointHistory::id));
+            return rows;
+        }
+    }
+
+    /**
+     * 사용자 한 명의 하루치 CHARGE, USE 합계
+     * 마지막 아이디가 0이면 해당 종류의 내역이 없다.
+     */
+    private static final class DayAggregate {
+
+        private long chargeAmount;
+        private long chargeLastId;
+        private long useAmount;
+        private long useLastId;
+
+        void add(PointHistory pointHistory) {
+            if (pointHistory.type() == TransactionType.CHARGE) {
+                chargeAmount += pointHistory.amount();
+                chargeLastId = Math.max(chargeLastId, pointHistory.id());
+            } else {
+                useAmount += pointHistory.amount();
+                useLastId = Math.max(useLastId, pointHistory.id());
+            }
+        }
+    }
+}
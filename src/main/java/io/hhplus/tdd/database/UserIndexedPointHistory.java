@@ -0,0 +1,18 @@
+package io.hhplus.tdd.database;
+
+import java.util.Set;
+
+/**
+ * 사용자별 색인을 가진 포인트 내역 저장소
+ * - 내역이 있는 사용자 목록을 제공한다.
+ * - 내역 기반 잔액(EventSourcedPointStore)이 잔액을 내역 전체로부터 다시 계산할 때 대상 사용자를 찾는 데 사용한다.
+ */
+public interface UserIndexedPointHistory extends PointHistoryRepository {
+
+    /**
+     * 내역이 있는 사용자 아이디 목록
+     *
+     * @return Set<Long>
+     */
+    Set<Long> userIds();
+}
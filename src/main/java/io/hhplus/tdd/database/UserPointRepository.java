@@ -0,0 +1,27 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 사용자 포인트 저장소
+ * - PointService 는 UserPointTable 을 직접 사용하지 않고 이 인터페이스를 통해 포인트를 조회하고 저장한다.
+ */
+public interface UserPointRepository {
+
+    /**
+     * 사용자 포인트 조회, 없으면 0 포인트를 반환
+     *
+     * @param id 사용자 아이디
+     * @return UserPoint
+     */
+    UserPoint selectById(long id);
+
+    /**
+     * 사용자 포인트 저장
+     *
+     * @param id     사용자 아이디
+     * @param amount 저장할 포인트 잔액
+     * @return 저장된 사용자 포인트
+     */
+    UserPoint insertOrUpdate(long id, long amount);
+}
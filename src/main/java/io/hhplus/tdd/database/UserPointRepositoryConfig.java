@@ -0,0 +1,54 @@
+package io.hhplus.tdd.database;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 사용자 포인트 저장소 설정
+ * - point.user-point.store 가 table(기본값)이면 사용자별 잔액 맵에 저장하고 UserPointTable 에는 백그라운드로 옮겨 적는다. (WriteBehindUserPointRepository)
+ *   테이블 어댑터(UserPointTableRepository)는 HashMap 보호를 위해 저장을 하나씩만 처리하므로 요청 경로에 두지 않는다.
+ * - point.user-point.store 가 primitive 이면 UserPointTable 대신 원시 배열 잔액 맵(PrimitiveUserPointRepository)을 사용한다.
+ * - point.user-point.cache.enabled 로 캐시 사용 여부를 선택한다. (table 저장소일 때만 적용)
+ * - 캐시를 사용하면 적중/실패/제거 건수를 point.user_point.cache 지표로 기록한다.
+ * - point.balance.mode 가 table(기본값)일 때 사용하며, event-sourced 이면 EventSourcedPointConfig 가 대신한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.balance.mode", havingValue = "table", matchIfMissing = true)
+public class UserPointRepositoryConfig {
+
+    @Bean
+    public UserPointRepository userPointRepository(
+            WriteBehindUserPointRepository writeBehindUserPointRepository,
+            MeterRegistry meterRegistry,
+            @Value("${point.user-point.store:table}") String store,
+            @Value("${point.user-point.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${point.user-point.cache.max-size:10000}") int cacheMaxSize
+    ) {
+        if ("primitive".equals(store)) {
+            return new PrimitiveUserPointRepository();
+        }
+        UserPointRepository repository = writeBehindUserPointRepository;
+        if (!cacheEnabled) {
+            return repository;
+        }
+        CachingUserPointRepository cache = new CachingUserPointRepository(repository, cacheMaxSize);
+        bindCacheMetrics(cache, meterRegistry);
+        return cache;
+    }
+
+    private void bindCacheMetrics(CachingUserPointRepository cache, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("point.user_point.cache", cache, CachingUserPointRepository::hitCount)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("point.user_point.cache", cache, CachingUserPointRepository::missCount)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("point.user_point.cache", cache, CachingUserPointRepository::evictionCount)
+                .tag("result", "eviction")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,53 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * UserPointTable 을 그대로 사용하는 사용자 포인트 저장소
+ * - UserPointTable 은 동기화되지 않은 HashMap 이므로, 서로 다른 사용자의 저장이 겹치면 항목이 유실될 수 있다.
+ *   조회는 동시에, 저장은 사용자와 관계없이 한 번에 하나씩 테이블을 호출하도록 읽기/쓰기 락으로 감싼다.
+ * - 테이블 호출 시간을 point.table.call 지표로 기록한다. (락 대기 시간은 포함하지 않는다)
+ */
+public class UserPointTableRepository implements UserPointRepository {
+
+    private final UserPointTable userPointTable;
+    private final Timer selectTimer = tableTimer("select");
+    private final Timer insertOrUpdateTimer = tableTimer("insert_or_update");
+    private final ReentrantReadWriteLock tableLock = new ReentrantReadWriteLock();
+
+    public UserPointTableRepository(UserPointTable userPointTable) {
+        this.userPointTable = userPointTable;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        tableLock.readLock().lock();
+        try {
+            return selectTimer.record(() -> userPointTable.selectById(id));
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        tableLock.writeLock().lock();
+        try {
+            return insertOrUpdateTimer.record(() -> userPointTable.insertOrUpdate(id, amount));
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    private static Timer tableTimer(String operation) {
+        return Timer.builder("point.table.call")
+                .description("테이블 호출 시간")
+                .tag("table", "user_point")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,181 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 쓰기 지연(write-behind) 포인트 내역 저장소
+ * - 내역은 고정 크기 버퍼에 등록한 뒤 바로 반환하고, 백그라운드 스레드가 등록 순서대로 PointHistoryTable 에 저장한다.
+ * - 버퍼가 가득 차면 빈 자리가 생길 때까지 등록을 대기시킨다(backpressure).
+ * - 아이디는 등록 시점에 부여하며, 테이블이 이 저장소를 통해서만 채워지므로 테이블이 부여하는 아이디와 같다.
+ * - 조회 시 아직 저장되지 않은 내역도 함께 반환한다.
+ * - PointHistoryTable 은 동기화되지 않은 ArrayList 이므로, 테이블 조회는 백그라운드 저장과 겹치지 않도록 읽기/쓰기 락으로 감싼다.
+ * - 테이블 호출 시간을 point.table.call 지표로, 저장 대기 내역 수를 point.history.backlog 지표로 기록한다.
+ */
+@Component
+public class WriteBehindPointHistoryRepository implements PointHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindPointHistoryRepository.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+    private final PointHistoryTable pointHistoryTable;
+    private final Timer insertTimer = tableTimer("insert");
+    private final Timer selectTimer = tableTimer("select");
+
+    // 테이블 저장이 끝난 뒤에 버퍼에서 제거하므로, 저장 중인 내역도 조회 시 버퍼에서 확인할 수 있다.
+    private final BlockingQueue<PointHistory> buffer;
+    private final Semaphore pending = new Semaphore(0);
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantReadWriteLock tableLock = new ReentrantReadWriteLock(); // 테이블 저장(백그라운드 스레드)과 조회를 분리
+    private final Thread drainer;
+
+    private long sequence = 0L; // appendLock 으로 보호
+    private volatile boolean closed = false;
+
+    public WriteBehindPointHistoryRepository(
+            PointHistoryTable pointHistoryTable,
+            @Value("${point.history.write-behind.capacity:10000}") int capacity
+    ) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder("point.history.backlog", buffer, BlockingQueue::size)
+                .description("테이블 저장을 기다리는 포인트 내역 수")
+                .register(Metrics.globalRegistry);
+        this.drainer = Thread.ofPlatform()
+                .name("point-history-writer")
+                .daemon(true)
+                .start(this::drain);
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        if (closed) {
+            throw new IllegalStateException("포인트 내역 저장소가 종료되었습니다.");
+        }
+
+        // 아이디 부여와 등록을 함께 수행하여 버퍼 순서와 아이디 순서를 일치시킨다.
+        appendLock.lock();
+        try {
+            PointHistory pointHistory = new PointHistory(sequence + 1, userId, amount, type, updateMillis);
+            buffer.put(pointHistory);
+            sequence++;
+            pending.release();
+            return pointHistory;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 내역 등록이 중단되었습니다.", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        // 1. 버퍼를 먼저 읽고 테이블을 읽어야 그 사이에 저장된 내역이 누락되지 않는다.
+        List<PointHistory> buffered = buffer.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        List<PointHistory> stored = selectStored(userId);
+        if (buffered.isEmpty()) {
+            return stored;
+        }
+
+        // 2. 버퍼를 읽은 뒤 테이블에 저장된 내역은 아이디로 걸러낸다.
+        long lastStoredId = stored.isEmpty() ? 0L : stored.get(stored.size() - 1).id();
+        List<PointHistory> histories = new ArrayList<>(stored);
+        buffered.stream().filter(pointHistory -> pointHistory.id() > lastStoredId).forEach(histories::add);
+        return histories;
+    }
+
+    private List<PointHistory> selectStored(long userId) {
+        // 테이블 목록은 동기화되지 않으므로, 백그라운드 저장과 겹치지 않도록 읽기 락을 잡고 읽는다.
+        tableLock.readLock().lock();
+        try {
+            return selectTimer.record(() -> pointHistoryTable.selectAllByUserId(userId));
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 저장 대기 중인 내역 수
+     */
+    public int backlog() {
+        return buffer.size();
+    }
+
+    /**
+     * 신규 등록을 막고 버퍼에 남은 내역을 모두 저장한 뒤 종료
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        closed = true;
+        pending.release(); // 대기 중인 백그라운드 스레드를 깨운다.
+        if (!drainer.join(Duration.ofSeconds(SHUTDOWN_TIMEOUT_SECONDS))) {
+            log.warn("포인트 내역 {}건을 저장하지 못하고 종료합니다.", buffer.size());
+        }
+    }
+
+    private void drain() {
+        while (!closed || !buffer.isEmpty()) {
+            try {
+                if (!pending.tryAcquire(1, TimeUnit.SECONDS)) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            PointHistory pointHistory = buffer.peek();
+            if (pointHistory == null) {
+                continue;
+            }
+
+            try {
+                PointHistory stored = insertStored(pointHistory);
+                if (stored.id() != pointHistory.id()) {
+                    log.warn("포인트 내역 아이디가 일치하지 않습니다. 부여된 아이디: {}, 저장된 아이디: {}", pointHistory.id(), stored.id());
+                }
+            } catch (RuntimeException e) {
+                log.error("포인트 내역 저장에 실패했습니다. {}", pointHistory, e);
+            } finally {
+                buffer.poll();
+            }
+        }
+    }
+
+    private PointHistory insertStored(PointHistory pointHistory) {
+        tableLock.writeLock().lock();
+        try {
+            return insertTimer.record(() -> pointHistoryTable.insert(
+                    pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis()));
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    private static Timer tableTimer(String operation) {
+        return Timer.builder("point.table.call")
+                .description("테이블 호출 시간")
+                .tag("table", "point_history")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,132 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쓰기 지연(write-behind) 사용자 포인트 저장소
+ * - 잔액은 사용자별 ConcurrentHashMap 항목에 저장하고 바로 반환하므로, 서로 다른 사용자의 저장이 서로를 기다리지 않는다.
+ * - UserPointTable 은 동기화되지 않은 HashMap 이라 서로 다른 사용자라도 동시에 저장할 수 없으므로,
+ *   백그라운드 스레드 하나가 바뀐 사용자의 마지막 잔액을 차례로 테이블에 옮겨 적는다. (같은 사용자의 연속 저장은 한 번으로 합친다)
+ * - 조회는 맵을 먼저 확인하고, 이 저장소로 저장된 적 없는 사용자만 테이블에서 읽어 맵에 적재한다.
+ *   적재 후 테이블에 직접 기록한 값은 보지 않는다.
+ * - 잔액의 원본은 맵이고 테이블은 사본이다. 테이블 저장은 건당 평균 150ms 가 걸려 초당 7명 정도만 반영되므로,
+ *   변경이 그보다 많으면 테이블 반영이 뒤처진다.
+ * - 테이블 반영을 기다리는 사용자 수를 point.user_point.backlog 지표로 기록한다.
+ */
+@Component
+public class WriteBehindUserPointRepository implements UserPointRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindUserPointRepository.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+    private final UserPointRepository table;
+    private final ConcurrentHashMap<Long, UserPoint> balances = new ConcurrentHashMap<>();
+
+    // 테이블 반영을 기다리는 사용자, 대기열에는 사용자마다 한 번만 들어간다.
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Long> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    private volatile boolean closed = false;
+
+    @Autowired
+    public WriteBehindUserPointRepository(UserPointTable userPointTable) {
+        this(new UserPointTableRepository(userPointTable));
+    }
+
+    /**
+     * @param table 잔액을 옮겨 적을 저장소, 한 번에 하나의 스레드만 저장한다.
+     */
+    public WriteBehindUserPointRepository(UserPointRepository table) {
+        this.table = table;
+        Gauge.builder("point.user_point.backlog", dirty, Set::size)
+                .description("테이블 반영을 기다리는 사용자 수")
+                .register(Metrics.globalRegistry);
+        this.writer = Thread.ofPlatform()
+                .name("user-point-writer")
+                .daemon(true)
+                .start(this::drain);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = balances.get(id);
+        if (userPoint != null) {
+            return userPoint;
+        }
+
+        // 테이블을 읽는 동안 저장된 잔액이 있으면 그 값을 우선한다.
+        UserPoint loaded = table.selectById(id);
+        UserPoint stored = balances.putIfAbsent(id, loaded);
+        return stored == null ? loaded : stored;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        if (closed) {
+            throw new IllegalStateException("사용자 포인트 저장소가 종료되었습니다.");
+        }
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        balances.put(id, userPoint);
+        if (dirty.add(id)) {
+            pending.add(id);
+        }
+        return userPoint;
+    }
+
+    /**
+     * 테이블 반영을 기다리는 사용자 수
+     */
+    public int backlog() {
+        return dirty.size();
+    }
+
+    /**
+     * 신규 저장을 막고 남은 잔액을 모두 테이블에 반영한 뒤 종료
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        closed = true;
+        if (!writer.join(Duration.ofSeconds(SHUTDOWN_TIMEOUT_SECONDS))) {
+            log.warn("사용자 {}명의 잔액을 테이블에 반영하지 못하고 종료합니다.", dirty.size());
+        }
+    }
+
+    private void drain() {
+        while (!closed || !pending.isEmpty()) {
+            Long id;
+            try {
+                id = pending.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (id == null) {
+                continue;
+            }
+
+            // 읽기 전에 표시를 지워야, 읽은 뒤의 저장이 다시 대기열에 들어간다.
+            dirty.remove(id);
+            UserPoint latest = balances.get(id);
+            try {
+                table.insertOrUpdate(id, latest.point());
+            } catch (RuntimeException e) {
+                log.error("사용자 포인트를 테이블에 반영하지 못했습니다. {}", latest, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 처리 시간에 따라 조정되는 동시 처리 한도 (gradient 방식)
+ * - 처리 시간의 장기 평균(longRtt)과 최근 구간 평균(shortRtt)을 비교하여, 최근 처리 시간이 늘어나면(대기열이 쌓이면) 한도를 줄이고
+ *   평소 수준이면 한도를 조금씩 늘린다. newLimit = limit * min(1, tolerance * longRtt / shortRtt) + sqrt(limit)
+ * - 기한을 넘긴 요청(클라이언트가 포기한 요청)이 생기면 처리 시간과 관계없이 한도를 바로 줄인다.
+ * - 처리 중인 요청이 한도의 절반에 못 미치면 한도가 처리량을 제한하지 않는 상태이므로 늘리지 않는다.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final int WINDOW_SAMPLES = 32;      // 한도를 조정하는 구간의 요청 수
+    private static final double LONG_RTT_FACTOR = 0.02; // 장기 평균 반영 비율 (약 50개 구간)
+    private static final double TOLERANCE = 1.5;        // 장기 평균 대비 허용하는 처리 시간 증가 비율
+    private static final double SMOOTHING = 0.2;        // 새 한도 반영 비율
+    private static final double DROP_BACKOFF = 0.9;     // 기한 초과 시 한도 감소 비율
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile double limit;
+    private volatile double longRttNanos; // updateLock 으로 갱신, 조회는 락 없이
+    private long windowRttNanos;
+    private int windowSamples;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("동시 처리 한도는 1 이상, 최소 한도 <= 초기 한도 <= 최대 한도여야 합니다.");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * 한도 안이면 처리 중인 요청 수를 늘리고 true, 한도에 도달했으면 false
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리를 마친 요청의 처리 시간을 반영하고 처리 중인 요청 수를 줄인다.
+     *
+     * @param rttNanos 처리 시간
+     * @param dropped  기한을 넘겨 클라이언트가 결과를 받지 못한 요청 여부
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        updateLock.lock();
+        try {
+            // 1. 기한 초과는 바로 한도를 줄인다.
+            if (dropped) {
+                limit = Math.max(minLimit, limit * DROP_BACKOFF);
+                return;
+            }
+
+            // 2. 구간이 찰 때까지 처리 시간을 모은다.
+            windowRttNanos += rttNanos;
+            if (++windowSamples < WINDOW_SAMPLES) {
+                return;
+            }
+            double shortRtt = (double) windowRttNanos / windowSamples;
+            windowRttNanos = 0L;
+            windowSamples = 0;
+
+            // 3. 장기 평균 갱신, 최근 처리 시간이 크게 줄었으면(부하 해소) 장기 평균도 빠르게 낮춘다.
+            longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) * LONG_RTT_FACTOR;
+            if (longRttNanos > shortRtt * 2) {
+                longRttNanos *= 0.95;
+            }
+
+            // 4. 한도 조정
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRtt));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            if (newLimit > limit && current < limit / 2) {
+                return;
+            }
+            newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 처리 시간의 장기 평균, 아직 구간을 채우지 못했으면 0
+     */
+    public long averageRttNanos() {
+        return (long) longRttNanos;
+    }
+}
@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자별 요청 빈도를 추정하는 슬라이딩 윈도 카운팅 스케치 (count-min sketch)
+ * - 윈도를 buckets 개의 구간으로 나누고, 구간마다 depth 개의 행에 사용자 아이디를 서로 다른 해시로 세어 둔다.
+ * - 추정값은 행마다 윈도 안 구간의 칸을 더한 값 중 가장 작은 값이다. 해시 충돌로 실제보다 크게 추정할 수는 있지만 작게 추정하지는 않는다.
+ * - 사용자 수와 관계없이 buckets * depth * width 개의 int 만 사용하며, 기록과 추정 모두 락 없이 처리한다.
+ * - 오래된 구간은 다음에 기록될 때 비우므로, 비우는 동안에는 추정값이 잠시 부정확할 수 있다. (빈도 판단용이므로 허용한다)
+ */
+public class HotKeyDetector {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int buckets;
+    private final int depth;
+    private final int width;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+    private final AtomicIntegerArray counts;   // [구간][행][칸]
+    private final AtomicLongArray bucketEpochs; // 구간마다 마지막으로 기록된 구간 번호 (현재 시각 / bucketMillis)
+
+    /**
+     * @param windowMillis 빈도를 세는 윈도 길이, 밀리초
+     * @param buckets      윈도를 나누는 구간 수, 클수록 윈도가 부드럽게 이동한다.
+     * @param depth        해시 행 수 (최대 8), 클수록 충돌로 인한 과대 추정이 줄어든다.
+     * @param width        행마다 칸 수 (2의 거듭제곱)
+     */
+    public HotKeyDetector(long windowMillis, int buckets, int depth, int width) {
+        this(windowMillis, buckets, depth, width, System::currentTimeMillis);
+    }
+
+    HotKeyDetector(long windowMillis, int buckets, int depth, int width, LongSupplier clock) {
+        if (buckets < 1 || windowMillis < buckets) {
+            throw new IllegalArgumentException("윈도는 1밀리초 이상인 구간 1개 이상으로 나누어야 합니다.");
+        }
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("해시 행 수는 1 이상 " + SEEDS.length + " 이하여야 합니다.");
+        }
+        if (width < 1 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("행마다 칸 수는 2의 거듭제곱이어야 합니다.");
+        }
+        this.buckets = buckets;
+        this.depth = depth;
+        this.width = width;
+        this.bucketMillis = windowMillis / buckets;
+        this.clock = clock;
+        this.counts = new AtomicIntegerArray(Math.multiplyExact(buckets, Math.multiplyExact(depth, width)));
+        this.bucketEpochs = new AtomicLongArray(buckets);
+    }
+
+    /**
+     * 사용자 요청 1건을 기록하고 윈도 안의 추정 요청 수 반환
+     */
+    public long record(long userId) {
+        return add(userId, 1);
+    }
+
+    /**
+     * 사용자 요청 count 건을 기록하고 윈도 안의 추정 요청 수 반환
+     */
+    public long add(long userId, int count) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        int bucket = bucketOf(epoch);
+        int base = bucket * depth * width;
+        for (int row = 0; row < depth; row++) {
+            counts.addAndGet(base + row * width + slot(userId, row), count);
+        }
+        return estimate(userId, epoch);
+    }
+
+    /**
+     * 윈도 안의 추정 요청 수
+     */
+    public long estimate(long userId) {
+        return estimate(userId, clock.getAsLong() / bucketMillis);
+    }
+
+    private long estimate(long userId, long epoch) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int slot = slot(userId, row);
+            long sum = 0;
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                // 윈도를 벗어난 구간은 아직 비우지 않았더라도 더하지 않는다.
+                if (epoch - bucketEpochs.get(bucket) < buckets) {
+                    sum += counts.get((bucket * depth + row) * width + slot);
+                }
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    /**
+     * 구간 번호에 해당하는 구간, 이전 윈도에서 쓰던 구간이면 비운 뒤 반환한다.
+     */
+    private int bucketOf(long epoch) {
+        int bucket = (int) (epoch % buckets);
+        long current = bucketEpochs.get(bucket);
+        if (current < epoch && bucketEpochs.compareAndSet(bucket, current, epoch)) {
+            int base = bucket * depth * width;
+            for (int i = 0; i < depth * width; i++) {
+                counts.set(base + i, 0);
+            }
+        }
+        return bucket;
+    }
+
+    private int slot(long userId, int row) {
+        long hash = (userId ^ SEEDS[row]) * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        hash *= SEEDS[(row + 1) % SEEDS.length];
+        hash ^= hash >>> 29;
+        return (int) hash & (width - 1);
+    }
+}
@@ -0,0 +1,238 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 요청이 몰리는 사용자의 단일 처리 스레드 대기열
+ * - 변경 요청마다 HotKeyDetector 로 사용자의 최근 요청 수를 추정하고, hotThreshold 이상이면 그 사용자 전용 대기열을 만든다.
+ * - 전용 대기열은 가상 스레드 하나가 처리한다. 요청한 스레드는 사용자 락을 기다리지 않고 대기열에 넣은 뒤 결과만 기다리며,
+ *   처리 스레드가 쌓인 요청을 한 번의 락 획득으로 배치 처리하므로 요청 사이에 락이 넘겨지지 않는다.
+ * - 배치 처리는 그룹 커밋과 같은 함수를 사용하므로 테이블 조회/저장은 배치마다 한 번씩 일어난다.
+ *   전송 등 다른 경로와 섞이지 않도록 처리 스레드도 배치마다 사용자 락을 잡는다.
+ * - 처리 스레드가 직접 처리한 요청 수를 스케치에 기록하며, 추정값이 hotThreshold 의 절반 아래로 내려가고 남은 요청이 없으면
+ *   대기열을 제거하고 종료한다. 이후 요청은 다시 그룹 커밋(PointGroupCommitter)으로 처리한다.
+ * - 처리 기한(PointDeadline)이 지날 때까지 처리되지 않은 요청은 대기열에서 빼고 실패한다. 이미 배치에 포함되었다면 그 결과를 기다린다.
+ */
+public class HotUserRouter {
+
+    private final PointGroupCommitter groupCommitter;
+    private final UserLockManager userLockManager;
+    private final HotKeyDetector detector;
+    private final long hotThreshold;
+    private final long coolThreshold;
+    private final long idleMillis;
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * @param hotThreshold 전용 대기열로 전환하는 윈도 안의 추정 요청 수
+     * @param idleMillis   처리 스레드가 요청 없이 기다리다 다시 전환 해제 여부를 확인하는 간격
+     */
+    public HotUserRouter(PointGroupCommitter groupCommitter, UserLockManager userLockManager, HotKeyDetector detector,
+                         long hotThreshold, long idleMillis, PointMetrics pointMetrics) {
+        if (hotThreshold < 2) {
+            throw new IllegalArgumentException("전용 대기열 전환 기준 요청 수는 2 이상이어야 합니다.");
+        }
+        this.groupCommitter = groupCommitter;
+        this.userLockManager = userLockManager;
+        this.detector = detector;
+        this.hotThreshold = hotThreshold;
+        this.coolThreshold = hotThreshold / 2;
+        this.idleMillis = idleMillis;
+        pointMetrics.gauge("point.hot.users", "전용 대기열에서 처리 중인 사용자 수", mailboxes, ConcurrentHashMap::size);
+    }
+
+    /**
+     * 변경 요청을 처리하고 결과를 반환
+     * 요청이 몰리는 사용자이면 전용 대기열에서, 아니면 그룹 커밋 대기열에서 처리한다.
+     *
+     * @param command   변경 요청
+     * @param processor 배치 처리 함수 (사용자 아이디, 등록 순서대로 정렬된 요청 목록)
+     * @return 요청의 처리 결과
+     */
+    public UserPoint submit(PointCommand command, BiConsumer<Long, List<PointCommand>> processor) {
+        long userId = command.userId();
+
+        // 1. 전용 대기열이 없으면 요청 수를 기록하고, 한도 미만이면 그룹 커밋으로 처리
+        Mailbox mailbox = mailboxes.get(userId);
+        if (mailbox == null) {
+            if (detector.record(userId) < hotThreshold) {
+                return groupCommitter.submit(command, processor);
+            }
+            mailbox = mailboxes.computeIfAbsent(userId, id -> new Mailbox(id, processor));
+        }
+
+        // 2. 전용 대기열에 등록, 이미 종료 중인 대기열이면 그룹 커밋으로 처리
+        Waiter waiter = new Waiter(command);
+        if (!mailbox.offer(waiter)) {
+            return groupCommitter.submit(command, processor);
+        }
+
+        // 3. 처리 스레드가 처리할 때까지 대기
+        await(mailbox, waiter);
+        return command.result();
+    }
+
+    /**
+     * 현재 전용 대기열에서 처리 중인 사용자 수
+     */
+    public int size() {
+        return mailboxes.size();
+    }
+
+    boolean isHot(long userId) {
+        return mailboxes.containsKey(userId);
+    }
+
+    private void await(Mailbox mailbox, Waiter waiter) {
+        long remainingNanos = PointDeadline.remainingNanos();
+        try {
+            if (remainingNanos == Long.MAX_VALUE) {
+                waiter.done.await();
+                return;
+            }
+            if (waiter.done.await(remainingNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            // 기한이 지났을 때 아직 대기열에 남아 있으면 처리하지 않고 버린다.
+            if (mailbox.cancel(waiter)) {
+                throw PointOverloadedException.deadlineExceeded();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (mailbox.cancel(waiter)) {
+                throw new IllegalStateException("포인트 처리 대기가 중단되었습니다.", e);
+            }
+        }
+        awaitUninterruptibly(waiter);
+    }
+
+    private void awaitUninterruptibly(Waiter waiter) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                waiter.done.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 처리를 기다리는 변경 요청
+     * 처리 스레드가 요청에 결과를 기록한 뒤 done 을 내리므로, 기다린 스레드는 기록된 결과를 읽을 수 있다.
+     */
+    private record Waiter(PointCommand command, CountDownLatch done) {
+        Waiter(PointCommand command) {
+            this(command, new CountDownLatch(1));
+        }
+    }
+
+    /**
+     * 사용자 한 명의 전용 대기열과 처리 스레드
+     */
+    private final class Mailbox implements Runnable {
+
+        private static final int RETIRED = -1;
+
+        private final long userId;
+        private final BiConsumer<Long, List<PointCommand>> processor;
+        private final Queue<Waiter> queue = new ConcurrentLinkedQueue<>();
+        private final Semaphore signal = new Semaphore(0);
+        private final AtomicInteger pending = new AtomicInteger(); // 등록 후 처리되지 않은 요청 수, 종료하면 RETIRED
+
+        private Mailbox(long userId, BiConsumer<Long, List<PointCommand>> processor) {
+            this.userId = userId;
+            this.processor = processor;
+            Thread.ofVirtual().name("point-hot-user-" + userId).start(this);
+        }
+
+        /**
+         * 요청 등록, 대기열이 종료되었으면 false
+         */
+        boolean offer(Waiter waiter) {
+            int current;
+            do {
+                current = pending.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!pending.compareAndSet(current, current + 1));
+            queue.add(waiter);
+            signal.release();
+            return true;
+        }
+
+        /**
+         * 처리되기 전의 요청을 대기열에서 제거, 이미 처리 중이거나 처리되었으면 false
+         */
+        boolean cancel(Waiter waiter) {
+            if (queue.remove(waiter)) {
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            List<Waiter> batch = new ArrayList<>();
+            while (true) {
+                // 1. 요청이 들어오거나 idleMillis 가 지날 때까지 대기
+                try {
+                    signal.tryAcquire(idleMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // 깨어난 것으로 보고 쌓인 요청을 처리한다.
+                }
+                signal.drainPermits();
+
+                // 2. 쌓인 요청을 한 번에 처리
+                Waiter waiter;
+                while ((waiter = queue.poll()) != null) {
+                    batch.add(waiter);
+                }
+                if (!batch.isEmpty()) {
+                    process(batch);
+                    detector.add(userId, batch.size());
+                    pending.addAndGet(-batch.size());
+                    batch.clear();
+                }
+
+                // 3. 요청이 줄었고 남은 요청이 없으면 종료, 종료 이후 요청은 그룹 커밋으로 처리된다.
+                if (detector.estimate(userId) < coolThreshold && pending.compareAndSet(0, RETIRED)) {
+                    mailboxes.remove(userId, this);
+                    return;
+                }
+            }
+        }
+
+        private void process(List<Waiter> batch) {
+            List<PointCommand> commands = new ArrayList<>(batch.size());
+            for (Waiter waiter : batch) {
+                commands.add(waiter.command());
+            }
+            try {
+                userLockManager.executeWithLock(userId, () -> {
+                    processor.accept(userId, commands);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                commands.stream().filter(command -> !command.isDone()).forEach(command -> command.fail(e));
+            } finally {
+                batch.forEach(waiter -> waiter.done().countDown());
+            }
+        }
+    }
+}
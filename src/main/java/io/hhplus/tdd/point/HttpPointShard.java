@@ -0,0 +1,239 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 다른 노드의 포인트 API 를 HTTP 로 호출하는 포인트 샤드
+ * - 요청에 FORWARDED 헤더를 붙여, 받은 노드가 다시 다른 노드로 전달하지 않고 직접 처리하게 한다.
+ * - 요청마다 노드 사이에 공유한 인증 값(point.sharding.secret)을 SECRET 헤더로 보내, 받은 노드가 내부 API(/point-shard/**) 요청을 확인하게 한다.
+ * - 받은 노드가 429/503 으로 거절하면 응답 본문의 거절 사유로 PointOverloadedException 을, 그 밖의 오류 응답은 응답 메시지를 담은 RuntimeException 을 던진다.
+ * - 응답을 받지 못하면(연결 실패, 시간 초과, 응답 대기 중단) 처리 여부를 알 수 없으므로 PointShardIndeterminateException 을 던진다.
+ */
+public class HttpPointShard implements PointShard {
+
+    public static final String FORWARDED = "X-Point-Shard-Forwarded";
+    public static final String SECRET = "X-Point-Shard-Secret";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final URI baseUri;
+    private final String secret;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    private final JavaType historiesType;
+
+    public HttpPointShard(String baseUrl, String secret, ObjectMapper objectMapper, Duration requestTimeout) {
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl);
+        this.secret = secret;
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .build();
+        this.historiesType = objectMapper.getTypeFactory().constructCollectionType(List.class, PointHistory.class);
+    }
+
+    @Override
+    public UserPoint getPoints(Long userId) {
+        return send("GET", "/point/" + userId, null, objectMapper.constructType(UserPoint.class));
+    }
+
+    @Override
+    public List<PointHistory> getPointHistories(Long userId) {
+        return send("GET", "/point/" + userId + "/histories", null, historiesType);
+    }
+
+    @Override
+    public UserPoint chargePoints(Long userId, Long amount) {
+        return send("PATCH", "/point/" + userId + "/charge", amount, objectMapper.constructType(UserPoint.class));
+    }
+
+    @Override
+    public UserPoint chargePoints(Long userId, Long amount, String idempotencyKey) {
+        return send("PATCH", "/point/" + userId + "/charge", Map.of(IDEMPOTENCY_KEY, idempotencyKey), amount,
+                objectMapper.constructType(UserPoint.class));
+    }
+
+    @Override
+    public UserPoint usePoints(Long userId, Long amount) {
+        return send("PATCH", "/point/" + userId + "/use", amount, objectMapper.constructType(UserPoint.class));
+    }
+
+    @Override
+    public PointTransferResult transferPoints(Long fromUserId, Long toUserId, Long amount) {
+        return send("POST", "/point/" + fromUserId + "/transfer", new PointTransferRequest(toUserId, amount),
+                objectMapper.constructType(PointTransferResult.class));
+    }
+
+    /**
+     * 사용자별로는 순서대로, 사용자 간에는 병렬로 단건 충전을 호출한다.
+     * (받은 노드의 /point/charges 는 다시 사용자별 담당 노드로 나누므로 사용하지 않는다.)
+     */
+    @Override
+    public List<PointChargeResult> chargePointsInBulk(List<PointChargeRequest> requests) {
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            PointChargeRequest request = requests.get(i);
+            indexesByUser.computeIfAbsent(request == null ? null : request.userId(), id -> new ArrayList<>()).add(i);
+        }
+
+        PointChargeResult[] results = new PointChargeResult[requests.size()];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture.allOf(indexesByUser.values().stream()
+                            .map(indexes -> CompletableFuture.runAsync(
+                                    () -> indexes.forEach(i -> results[i] = chargeEntry(requests.get(i))), executor))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+        }
+        return Arrays.asList(results);
+    }
+
+    private PointChargeResult chargeEntry(PointChargeRequest request) {
+        Long userId = request == null ? null : request.userId();
+        Long amount = request == null ? null : request.amount();
+        try {
+            return PointChargeResult.success(userId, amount, chargePoints(userId, amount));
+        } catch (RuntimeException e) {
+            return PointChargeResult.failure(userId, amount, e.getMessage());
+        }
+    }
+
+    @Override
+    public void importUser(PointShardUser user) {
+        send("PUT", "/point-shard/users/" + user.userId(), user, null);
+    }
+
+    @Override
+    public void removeUser(long userId) {
+        send("DELETE", "/point-shard/users/" + userId, null, null);
+    }
+
+    /**
+     * 받은 요청을 그대로 전달하고 응답 본문을 스트림으로 반환, 응답 상태와 관계없이 예외를 던지지 않는다.
+     *
+     * @param method       HTTP 메서드
+     * @param pathAndQuery 경로와 쿼리 문자열
+     * @param headers      함께 전달할 헤더
+     * @param body         요청 본문, 없으면 빈 배열
+     * @return 담당 노드의 응답, 호출하는 쪽이 본문 스트림을 닫는다.
+     * @throws PointShardIndeterminateException 응답을 받지 못한 경우
+     */
+    public HttpResponse<InputStream> exchange(String method, String pathAndQuery, Map<String, String> headers, byte[] body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(pathAndQuery))
+                .timeout(requestTimeout)
+                .header(FORWARDED, "true")
+                .header(SECRET, secret)
+                .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach(builder::header);
+        try {
+            return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new PointShardIndeterminateException("노드 " + baseUri + " 의 응답을 받지 못했습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointShardIndeterminateException("노드 " + baseUri + " 의 응답 대기가 중단되었습니다.", e);
+        }
+    }
+
+    private <T> T send(String method, String path, Object requestBody, JavaType responseType) {
+        return send(method, path, Map.of(), requestBody, responseType);
+    }
+
+    private <T> T send(String method, String path, Map<String, String> extraHeaders, Object requestBody, JavaType responseType) {
+        byte[] body;
+        try {
+            body = requestBody == null ? new byte[0] : objectMapper.writeValueAsBytes(requestBody);
+        } catch (IOException e) {
+            throw new UncheckedIOException("노드 " + baseUri + " 에 보낼 요청을 만들지 못했습니다.", e);
+        }
+        Map<String, String> headers = new LinkedHashMap<>(extraHeaders);
+        if (requestBody != null) {
+            headers.put("Content-Type", "application/json");
+        }
+
+        HttpResponse<InputStream> response = exchange(method, path, headers, body);
+        try (InputStream in = response.body()) {
+            byte[] responseBody = in.readAllBytes();
+            if (response.statusCode() >= 400) {
+                throw error(response, responseBody);
+            }
+            return responseType == null || responseBody.length == 0 ? null : objectMapper.readValue(responseBody, responseType);
+        } catch (IOException e) {
+            // 응답 상태를 받았더라도 본문을 끝까지 받지 못하면 처리 결과를 알 수 없다.
+            throw new PointShardIndeterminateException("노드 " + baseUri + " 의 응답을 읽지 못했습니다.", e);
+        }
+    }
+
+    private RuntimeException error(HttpResponse<?> response, byte[] responseBody) {
+        String message = "노드 " + baseUri + " 가 요청을 처리하지 못했습니다. (" + response.statusCode() + ")";
+        ErrorResponse errorResponse = null;
+        try {
+            errorResponse = objectMapper.readValue(responseBody, ErrorResponse.class);
+            message = errorResponse.message();
+        } catch (IOException ignored) {
+            // 오류 응답 형식이 아니면 상태 코드로 알린다.
+        }
+
+        // 담당 노드의 처리량 한도 거절은 그대로 재시도 가능한 거절로 전달한다.
+        if (response.statusCode() == 429 || response.statusCode() == 503) {
+            Duration retryAfter = response.headers().firstValue("Retry-After")
+                    .map(HttpPointShard::retryAfter)
+                    .orElse(DEFAULT_RETRY_AFTER);
+            return new PointOverloadedException(reason(response.statusCode(), errorResponse), message, retryAfter);
+        }
+        return new RuntimeException(message);
+    }
+
+    /**
+     * 응답 본문의 거절 사유, 없거나 알 수 없는 사유면 상태 코드로 정한다. (429 : USER_LIMIT, 503 : GLOBAL_LIMIT)
+     */
+    private static PointOverloadedException.Reason reason(int statusCode, ErrorResponse errorResponse) {
+        if (errorResponse != null && errorResponse.reason() != null) {
+            try {
+                return PointOverloadedException.Reason.valueOf(errorResponse.reason());
+            } catch (IllegalArgumentException ignored) {
+                // 다른 버전의 노드가 보낸 사유면 상태 코드로 정한다.
+            }
+        }
+        return statusCode == 429 ? PointOverloadedException.Reason.USER_LIMIT : PointOverloadedException.Reason.GLOBAL_LIMIT;
+    }
+
+    /**
+     * Retry-After 헤더 해석, 초(delta-seconds)와 HTTP 날짜 형식을 모두 받고 해석할 수 없으면 기본값을 쓴다.
+     */
+    static Duration retryAfter(String value) {
+        String trimmed = value.trim();
+        try {
+            if (!trimmed.isEmpty() && trimmed.chars().allMatch(Character::isDigit)) {
+                return Duration.ofSeconds(Long.parseLong(trimmed));
+            }
+            Duration untilDate = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 멱등 키(Idempotency-Key) 처리 결과 저장소
+ * - 처음 들어온 요청만 실행하고, 같은 키로 다시 들어온 요청에는 처음 요청의 결과(또는 실패)를 그대로 반환한다.
+ * - 처음 요청이 아직 실행 중이면 다시 실행하지 않고 그 결과를 기다린다.
+ * - 기록은 등록 후 보관 시간(ttl)이 지나면 만료되며, 최대 개수를 넘으면 가장 먼저 등록된 기록부터 제거한다.
+ *   실행 중인 기록은 만료되거나 최대 개수를 넘어도 끝날 때까지 남겨, 같은 키의 요청이 다시 실행되지 않게 한다.
+ * - 같은 키로 다른 요청(사용자, 기능, 포인트가 다른 요청)을 보내면 실행하지 않고 실패한다.
+ * - 처리량 한도로 거절된 요청(PointOverloadedException)은 처리되지 않았으므로 기록하지 않는다.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries; // 등록 순서 = 만료 순서
+
+    public IdempotencyStore(
+            @Value("${point.idempotency.ttl-millis:600000}") long ttlMillis,
+            @Value("${point.idempotency.max-size:100000}") int maxSize
+    ) {
+        if (ttlMillis <= 0 || maxSize <= 0) {
+            throw new IllegalArgumentException("멱등 키 보관 시간과 최대 개수는 0보다 커야 합니다.");
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * 멱등 키 단위로 한 번만 실행하고 결과를 반환
+     *
+     * @param key         멱등 키
+     * @param fingerprint 요청 식별 값, 같은 키로 들어온 요청이 같은 요청인지 확인한다.
+     * @param action      실행할 작업
+     * @return 처음 실행한 작업의 결과
+     */
+    public <T> T execute(String key, String fingerprint, Supplier<T> action) {
+        long now = System.nanoTime();
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Entry existing;
+
+        // 1. 만료된 기록을 정리하고, 기록이 없으면 이 요청을 처음 요청으로 등록한다.
+        lock.lock();
+        try {
+            purgeExpired(now);
+            existing = entries.get(key);
+            if (existing == null) {
+                entries.put(key, new Entry(fingerprint, result, now + ttlNanos));
+                evictOverflow();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // 2. 다시 들어온 요청이면 처음 요청의 결과를 기다려 반환한다.
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+            }
+            return await(existing.result());
+        }
+
+        // 3. 처음 요청이면 실행하고 결과 또는 실패를 기록한다.
+        try {
+            T value = action.get();
+            result.complete(value);
+            return value;
+        } catch (PointOverloadedException e) {
+            // 처리하지 않고 거절된 요청은 기록을 지워, 같은 키로 다시 요청하면 처음부터 실행한다.
+            forget(key, result);
+            result.completeExceptionally(e);
+            throw e;
+        } catch (Throwable e) {
+            // Error 도 기록해야 같은 키로 기다리는 요청이 끝없이 기다리지 않는다.
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 현재 보관 중인 기록 수
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void forget(String key, CompletableFuture<Object> result) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.result() == result) {
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void purgeExpired(long now) {
+        // 보관 시간이 모두 같으므로 등록 순서대로 만료된다. 실행 중인 기록은 건너뛰고 끝날 때까지 남긴다.
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAtNanos() - now > 0) {
+                return;
+            }
+            if (entry.result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        // 끝난 기록만 등록 순서대로 제거한다. 모두 실행 중이면 끝날 때까지 최대 개수를 넘을 수 있다.
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            if (iterator.next().result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(CompletableFuture<Object> result) {
+        try {
+            return (T) result.join();
+        } catch (CompletionException e) {
+            // 처음 요청이 던진 예외를 그대로 전달한다.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result, long expiresAtNanos) {
+    }
+}
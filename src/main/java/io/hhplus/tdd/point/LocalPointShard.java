@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 같은 프로세스의 PointService 로 처리하는 포인트 샤드
+ * - 노드가 추가될 때 옮길 사용자를 고를 수 있도록, 이 샤드에서 처리한 사용자 아이디를 기록해 둔다.
+ *   (UserPointTable 은 저장된 사용자 목록을 제공하지 않는다.)
+ */
+public class LocalPointShard implements PointShard {
+
+    private final PointService pointService;
+    private final Set<Long> userIds = ConcurrentHashMap.newKeySet();
+
+    public LocalPointShard(PointService pointService) {
+        this.pointService = pointService;
+    }
+
+    @Override
+    public UserPoint getPoints(Long userId) {
+        track(userId);
+        return pointService.getPoints(userId);
+    }
+
+    @Override
+    public List<PointHistory> getPointHistories(Long userId) {
+        track(userId);
+        return pointService.getPointHistories(userId);
+    }
+
+    @Override
+    public UserPoint chargePoints(Long userId, Long amount) {
+        track(userId);
+        return pointService.chargePoints(userId, amount);
+    }
+
+    /**
+     * 같은 프로세스의 호출은 결과를 알 수 없는 경우가 없어 다시 요청되지 않으므로 멱등 키를 쓰지 않는다.
+     */
+    @Override
+    public UserPoint chargePoints(Long userId, Long amount, String idempotencyKey) {
+        return chargePoints(userId, amount);
+    }
+
+    @Override
+    public UserPoint usePoints(Long userId, Long amount) {
+        track(userId);
+        return pointService.usePoints(userId, amount);
+    }
+
+    @Override
+    public PointTransferResult transferPoints(Long fromUserId, Long toUserId, Long amount) {
+        track(fromUserId);
+        track(toUserId);
+        return pointService.transferPoints(fromUserId, toUserId, amount);
+    }
+
+    @Override
+    public List<PointChargeResult> chargePointsInBulk(List<PointChargeRequest> requests) {
+        requests.forEach(request -> track(request == null ? null : request.userId()));
+        return pointService.chargePointsInBulk(requests);
+    }
+
+    @Override
+    public void importUser(PointShardUser user) {
+        userIds.add(user.userId());
+        pointService.importUser(user);
+    }
+
+    @Override
+    public void removeUser(long userId) {
+        pointService.evictUser(userId);
+        userIds.remove(userId);
+    }
+
+    /**
+     * 다른 샤드로 옮기기 위해 사용자의 잔액과 내역을 읽는다.
+     */
+    public PointShardUser exportUser(long userId) {
+        return pointService.exportUser(userId);
+    }
+
+    /**
+     * 이 샤드에서 처리한 적이 있는 사용자 아이디
+     */
+    public Set<Long> userIds() {
+        return Set.copyOf(userIds);
+    }
+
+    /**
+     * 이 샤드에서 처리하는 사용자로 기록, 포인트 API 요청을 컨트롤러로 바로 넘길 때 호출한다.
+     */
+    void track(Long userId) {
+        if (userId != null && userId > 0) {
+            userIds.add(userId);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 요청 허용(admission) 제어
+ * - 전체 동시 요청 수는 처리 시간에 따라 조정되는 한도(AdaptiveConcurrencyLimit)로 제한하고, 넘으면 바로 거절한다. (503)
+ * - 같은 사용자의 요청은 사용자 락에서 차례로 처리되므로, 기한 안에 처리할 수 있는 수(기한 / 평균 처리 시간)만큼만 받고 넘으면 거절한다. (429)
+ * - 대기열에서 기다리다 응답을 받지 못할 요청을 처음부터 받지 않아, 부하가 몰려도 받은 요청은 기한 안에 처리한다.
+ */
+public class PointAdmission {
+
+    private static final long MIN_RETRY_AFTER_SECONDS = 1L;
+
+    private final AdaptiveConcurrencyLimit globalLimit;
+    private final int maxPerUser;
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<Long, Integer> userInFlight = new ConcurrentHashMap<>(); // 사용자별 처리 중인 요청 수
+
+    /**
+     * @param globalLimit 전체 동시 처리 한도
+     * @param maxPerUser  사용자별 동시 요청 수 상한 (처리 시간이 짧아도 이 수를 넘지 않는다)
+     */
+    public PointAdmission(AdaptiveConcurrencyLimit globalLimit, int maxPerUser, PointMetrics pointMetrics) {
+        if (maxPerUser < 1) {
+            throw new IllegalArgumentException("사용자별 동시 요청 수 상한은 1 이상이어야 합니다.");
+        }
+        this.globalLimit = globalLimit;
+        this.maxPerUser = maxPerUser;
+        this.pointMetrics = pointMetrics;
+        pointMetrics.gauge("point.admission.limit", "전체 동시 처리 한도", globalLimit, AdaptiveConcurrencyLimit::limit);
+        pointMetrics.gauge("point.admission.in_flight", "처리 중인 요청 수", globalLimit, AdaptiveConcurrencyLimit::inFlight);
+    }
+
+    /**
+     * 요청 허용, 한도를 넘으면 PointOverloadedException 을 던진다.
+     *
+     * @param userId       사용자 아이디
+     * @param timeoutNanos 요청 처리 기한까지 남은 시간
+     * @return 처리를 마치면 release 에 전달할 허가
+     */
+    public Permit acquire(long userId, long timeoutNanos) {
+        // 1. 사용자별 한도 확인
+        int userLimit = userLimit(timeoutNanos);
+        boolean[] admitted = new boolean[1];
+        userInFlight.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= userLimit) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        if (!admitted[0]) {
+            pointMetrics.recordAdmissionRejected(PointOverloadedException.Reason.USER_LIMIT);
+            throw new PointOverloadedException(PointOverloadedException.Reason.USER_LIMIT,
+                    "같은 사용자의 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", retryAfter(globalLimit.averageRttNanos() * userLimit));
+        }
+
+        // 2. 전체 한도 확인
+        if (!globalLimit.tryAcquire()) {
+            releaseUser(userId);
+            pointMetrics.recordAdmissionRejected(PointOverloadedException.Reason.GLOBAL_LIMIT);
+            throw new PointOverloadedException(PointOverloadedException.Reason.GLOBAL_LIMIT,
+                    "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", retryAfter(globalLimit.averageRttNanos()));
+        }
+        long startNanos = System.nanoTime();
+        return new Permit(userId, startNanos, startNanos + timeoutNanos);
+    }
+
+    /**
+     * 처리를 마친 요청의 처리 시간을 한도에 반영하고 허가 반환
+     * 기한을 넘겨 끝난 요청은 클라이언트가 결과를 받지 못한 것으로 보고 한도를 줄인다.
+     */
+    public void release(Permit permit) {
+        long endNanos = System.nanoTime();
+        boolean dropped = endNanos - permit.deadlineNanos() > 0;
+        if (dropped) {
+            pointMetrics.recordAdmissionRejected(PointOverloadedException.Reason.DEADLINE_EXCEEDED);
+        }
+        globalLimit.release(endNanos - permit.startNanos(), dropped);
+        releaseUser(permit.userId());
+    }
+
+    /**
+     * 사용자별 동시 요청 한도, 평균 처리 시간을 아직 모르면 상한을 사용한다.
+     */
+    int userLimit(long timeoutNanos) {
+        long averageRttNanos = globalLimit.averageRttNanos();
+        if (averageRttNanos <= 0) {
+            return maxPerUser;
+        }
+        return (int) Math.max(1L, Math.min(maxPerUser, timeoutNanos / averageRttNanos));
+    }
+
+    private void releaseUser(long userId) {
+        // 처리 중인 요청이 없으면 맵에서 제거한다.
+        userInFlight.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static Duration retryAfter(long nanos) {
+        return Duration.ofSeconds(Math.max(MIN_RETRY_AFTER_SECONDS, (long) Math.ceil(nanos / (double) TimeUnit.SECONDS.toNanos(1))));
+    }
+
+    /**
+     * 허용된 요청의 허가
+     *
+     * @param userId        사용자 아이디
+     * @param startNanos    허용 시각
+     * @param deadlineNanos 처리 기한
+     */
+    public record Permit(long userId, long startNanos, long deadlineNanos) {
+    }
+}
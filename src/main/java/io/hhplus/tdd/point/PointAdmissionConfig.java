@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 포인트 요청 허용 제어 설정
+ * - point.admission.enabled 가 true(기본값)이면 사용자 한 명을 대상으로 하는 포인트 API 앞에서 동시 요청 수를 제한한다.
+ * - 일괄 충전(/point/charges)과 내역 내보내기는 비동기로 응답하므로 제외한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.admission.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PointAdmissionConfig implements WebMvcConfigurer {
+
+    private final PointAdmissionInterceptor pointAdmissionInterceptor;
+
+    public PointAdmissionConfig(
+            @Value("${point.admission.initial-limit:200}") int initialLimit,
+            @Value("${point.admission.min-limit:20}") int minLimit,
+            @Value("${point.admission.max-limit:2000}") int maxLimit,
+            @Value("${point.admission.max-per-user:16}") int maxPerUser,
+            @Value("${point.admission.deadline-millis:3000}") long deadlineMillis
+    ) {
+        PointAdmission pointAdmission = new PointAdmission(
+                new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit), maxPerUser, PointMetrics.global());
+        this.pointAdmissionInterceptor = new PointAdmissionInterceptor(pointAdmission, deadlineMillis);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(pointAdmissionInterceptor)
+                .addPathPatterns("/point/*", "/point/*/histories", "/point/*/charge", "/point/*/use", "/point/*/transfer",
+                        "/point/*/holds", "/point/*/holds/*", "/point/*/holds/*/capture")
+                .excludePathPatterns("/point/charges");
+    }
+}
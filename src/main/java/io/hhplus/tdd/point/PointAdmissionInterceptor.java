@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 API 요청 허용 인터셉터
+ * - 경로의 사용자 아이디로 PointAdmission 의 허가를 받은 요청만 처리하고, 거절되면 PointOverloadedException 을 던진다. (ApiControllerAdvice 가 응답)
+ * - 처리 기한은 기본값(deadlineMillis)이며, 클라이언트가 X-Request-Timeout 헤더(밀리초)로 더 짧게 지정할 수 있다.
+ * - 처리 기한을 요청 스레드에 설정하여, 사용자 락을 기다리는 요청은 기한이 지나면 처리하지 않고 버린다.
+ */
+public class PointAdmissionInterceptor implements HandlerInterceptor {
+
+    public static final String REQUEST_TIMEOUT = "X-Request-Timeout";
+    private static final String PERMIT = PointAdmissionInterceptor.class.getName() + ".permit";
+
+    private final PointAdmission pointAdmission;
+    private final long deadlineMillis;
+
+    public PointAdmissionInterceptor(PointAdmission pointAdmission, long deadlineMillis) {
+        this.pointAdmission = pointAdmission;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 1. 사용자 아이디가 없는 경로는 제한하지 않는다.
+        Long userId = userId(request);
+        if (userId == null) {
+            return true;
+        }
+
+        // 2. 처리 기한 계산 후 허가를 받고 요청 스레드에 기한 설정
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis(request));
+        PointAdmission.Permit permit = pointAdmission.acquire(userId, timeoutNanos);
+        request.setAttribute(PERMIT, permit);
+        PointDeadline.start(timeoutNanos);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof PointAdmission.Permit permit) {
+            PointDeadline.clear();
+            pointAdmission.release(permit);
+        }
+    }
+
+    private long timeoutMillis(HttpServletRequest request) {
+        String header = request.getHeader(REQUEST_TIMEOUT);
+        if (header == null) {
+            return deadlineMillis;
+        }
+        try {
+            long requested = Long.parseLong(header.trim());
+            if (requested <= 0) {
+                throw new IllegalArgumentException(REQUEST_TIMEOUT + " 는 0보다 커야 합니다.");
+            }
+            return Math.min(requested, deadlineMillis);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(REQUEST_TIMEOUT + " 는 밀리초 단위 숫자여야 합니다.");
+        }
+    }
+
+    static Long userId(HttpServletRequest request) {
+        if (!(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables)
+                || !(variables.get("id") instanceof String id)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null; // 경로 변수 변환 오류는 컨트롤러에서 처리한다.
+        }
+    }
+}
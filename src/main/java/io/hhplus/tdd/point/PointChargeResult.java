@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 충전 요청 항목별 처리 결과
+ * - 성공하면 충전 후 사용자 포인트를, 실패하면 chargePoints 가 던지는 오류 메시지를 담는다.
+ */
+public record PointChargeResult(
+        Long userId,
+        Long amount,
+        boolean success,
+        UserPoint userPoint,
+        String message
+) {
+
+    public static PointChargeResult success(Long userId, Long amount, UserPoint userPoint) {
+        return new PointChargeResult(userId, amount, true, userPoint, null);
+    }
+
+    public static PointChargeResult failure(Long userId, Long amount, String message) {
+        return new PointChargeResult(userId, amount, false, null, message);
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 그룹 커밋 대기열에 쌓이는 포인트 변경 요청
+ * - 요청을 처리한 스레드가 결과 또는 실패를 기록하며, 요청한 스레드는 사용자 락을 획득한 뒤 이를 읽는다.
+ */
+public class PointCommand {
+
+    private final long userId;
+    private final TransactionType type;
+    private final long amount;
+
+    private boolean done;
+    private UserPoint result;
+    private RuntimeException failure;
+
+    public PointCommand(long userId, TransactionType type, long amount) {
+        this.userId = userId;
+        this.type = type;
+        this.amount = amount;
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public TransactionType type() {
+        return type;
+    }
+
+    public long amount() {
+        return amount;
+    }
+
+    /**
+     * 처리 후 잔액 계산
+     *
+     * @param balance 처리 전 잔액
+     * @return 처리 후 잔액
+     */
+    public long apply(long balance) {
+        return type == TransactionType.CHARGE ? balance + amount : balance - amount;
+    }
+
+    public void complete(UserPoint result) {
+        this.result = result;
+        this.done = true;
+    }
+
+    public void fail(RuntimeException failure) {
+        this.failure = failure;
+        this.done = true;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * 처리 결과 반환, 실패한 경우 기록된 예외를 던진다.
+     *
+     * @return UserPoint
+     */
+    public UserPoint result() {
+        if (failure != null) {
+            throw failure;
+        }
+        return result;
+    }
+}
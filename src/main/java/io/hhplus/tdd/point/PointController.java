@@ -1,20 +1,57 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/point")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String HISTORY_ID_RANGE_UNIT = "id";
+    private static final Pattern HISTORY_ID_RANGE = Pattern.compile("^id=(\\d+)-$"); // 예: Range: id=101-
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int BULK_CHARGE_CHUNK_SIZE = 1_000; // 일괄 충전 시 한 번에 병렬 처리하는 요청 수
+
     private final PointService pointService;
-    public PointController(PointService pointService){
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectWriter historyWriter;
+    private final ObjectReader chargeRequestReader;
+    private final ObjectWriter chargeResultWriter;
+    private final PointShardRouter pointShardRouter; // 샤딩을 사용하지 않으면 null
+    public PointController(PointService pointService, IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+                           ObjectProvider<PointShardRouter> pointShardRouter){
         this.pointService = pointService;
+        this.idempotencyStore = idempotencyStore;
+        this.pointShardRouter = pointShardRouter.getIfAvailable();
+        this.historyWriter = objectMapper.writerFor(PointHistory.class);
+        this.chargeRequestReader = objectMapper.readerFor(PointChargeRequest.class);
+        this.chargeResultWriter = objectMapper.writerFor(PointChargeResult.class);
     }
 
     /**
@@ -29,33 +66,205 @@ public class PointController {
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * after, from, to, limit 중 하나라도 전달되면 내역 아이디를 커서로 나누어 조회한다.
      */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
-            @PathVariable long id
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer limit
     ) {
-        return pointService.getPointHistories(id);
+        if (after == null && from == null && to == null && limit == null) {
+            return pointService.getPointHistories(id);
+        }
+        return pointService.getPointHistories(id, after, from, to, limit);
+    }
+
+    /**
+     * 특정 유저의 포인트 내역을 NDJSON(한 줄에 내역 하나)으로 내보내는 기능
+     * - 내역을 페이지 단위로 읽으면서 바로 응답에 기록하므로 내역 수와 관계없이 메모리 사용량이 일정하다.
+     * - 중단된 내보내기는 마지막으로 받은 내역 아이디를 after 로 전달하거나, Range: id={마지막 아이디 + 1}- 헤더로 이어서 받는다.
+     * - Range 로 요청하면 206 으로 응답하고 Content-Range 헤더에 시작 아이디를 담는다. (끝 아이디와 전체 건수는 알 수 없어 * 로 표시)
+     *   시작 아이디가 long 범위를 넘으면 416 으로 응답한다.
+     */
+    @GetMapping("{id}/histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range
+    ) {
+        Long resumeAfter = after;
+        String contentRange = null;
+        HttpStatus status = HttpStatus.OK;
+        if (range != null) {
+            Matcher matcher = HISTORY_ID_RANGE.matcher(range.trim());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("지원하지 않는 Range 형식입니다.");
+            }
+            long firstId;
+            try {
+                firstId = Long.parseLong(matcher.group(1));
+            } catch (NumberFormatException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, HISTORY_ID_RANGE_UNIT + " */*")
+                        .build();
+            }
+            resumeAfter = Math.max(0L, firstId - 1);
+            contentRange = HISTORY_ID_RANGE_UNIT + " " + firstId + "-*/*"; // 마지막 아이디와 전체 건수는 내보내기 전에 알 수 없다.
+            status = HttpStatus.PARTIAL_CONTENT;
+        }
+
+        Stream<PointHistory> histories = pointService.streamPointHistories(id, resumeAfter);
+        StreamingResponseBody body = outputStream -> {
+            try (histories) {
+                Iterator<PointHistory> iterator = histories.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(historyWriter.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                .header(HttpHeaders.ACCEPT_RANGES, HISTORY_ID_RANGE_UNIT)
+                .contentType(NDJSON);
+        if (contentRange != null) {
+            response.header(HttpHeaders.CONTENT_RANGE, contentRange);
+        }
+        return response.body(body);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 들어온 요청은 충전하지 않고 처음 요청의 결과를 반환한다.
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        return pointService.chargePoints(id, amount);
+        if (idempotencyKey == null) {
+            return pointService.chargePoints(id, amount);
+        }
+        return idempotencyStore.execute(idempotencyKey, "charge:" + id + ":" + amount, () -> pointService.chargePoints(id, amount));
+    }
+
+    /**
+     * 특정 유저의 포인트를 다른 유저에게 전송하는 기능
+     * - 보낸 유저 차감과 받은 유저 충전이 함께 처리되며, 둘 중 하나라도 실패하면 어느 쪽 잔액도 바뀌지 않는다.
+     * - 샤딩을 사용하면 받은 유저를 다른 노드가 담당할 수 있으므로 라우터로 처리한다.
+     *   담당 노드가 다르면 보낸 유저 차감 후 받은 유저의 노드에 충전을 요청하므로 함께 처리되지 않는다.
+     *   충전이 거절되면 보낸 유저에게 되돌려 충전하지만 이 충전도 거절(최대 잔액 초과 등)될 수 있고,
+     *   충전 결과를 알 수 없으면(응답 없음) 보낸 유저는 차감된 채로 오류를 응답하므로 두 유저의 잔액을 확인해야 한다.
+     */
+    @PostMapping("{id}/transfer")
+    public PointTransferResult transfer(
+            @PathVariable long id,
+            @RequestBody PointTransferRequest request
+    ) {
+        if (pointShardRouter != null) {
+            return pointShardRouter.transferPoints(id, request.toUserId(), request.amount());
+        }
+        return pointService.transferPoints(id, request.toUserId(), request.amount());
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전하는 기능
+     * - 요청 본문은 {userId, amount} 항목의 JSON 배열 또는 NDJSON 이며, 읽는 대로 1,000건씩 나누어 사용자 간 병렬로 충전한다.
+     * - 결과는 요청 순서대로 한 줄에 하나씩 NDJSON 으로 내보내므로, 요청 수와 관계없이 메모리 사용량이 일정하다.
+     * - 실패한 항목은 단건 충전이 던지는 오류 메시지를 결과에 담고, 나머지 항목은 계속 처리한다.
+     * - 샤딩을 사용하면 묶음마다 담당 노드별로 나누어 처리한다.
+     * - 기본 저장소(WriteBehindUserPointRepository)는 UserPointTable 저장을 기다리지 않으므로, 묶음 하나는 처음 보는 사용자의 테이블 조회 지연 정도로 끝난다.
+     */
+    @PostMapping("charges")
+    public ResponseEntity<StreamingResponseBody> charges(
+            InputStream requestBody
+    ) throws IOException {
+        MappingIterator<PointChargeRequest> requests = chargeRequestReader.readValues(requestBody);
+        StreamingResponseBody body = outputStream -> {
+            try (requests) {
+                List<PointChargeRequest> chunk = new ArrayList<>(BULK_CHARGE_CHUNK_SIZE);
+                while (requests.hasNextValue()) {
+                    chunk.add(requests.nextValue());
+                    if (chunk.size() == BULK_CHARGE_CHUNK_SIZE) {
+                        writeChargeResults(chunk, outputStream);
+                        chunk.clear();
+                    }
+                }
+                writeChargeResults(chunk, outputStream);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+
+    private void writeChargeResults(List<PointChargeRequest> chunk, OutputStream outputStream) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<PointChargeResult> results = pointShardRouter != null
+                ? pointShardRouter.chargePointsInBulk(chunk)
+                : pointService.chargePointsInBulk(chunk);
+        for (PointChargeResult result : results) {
+            outputStream.write(chargeResultWriter.writeValueAsBytes(result));
+            outputStream.write('\n');
+        }
+        outputStream.flush(); // 처리한 묶음의 결과를 바로 전달한다.
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 들어온 요청은 사용하지 않고 처음 요청의 결과를 반환한다.
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return pointService.usePoints(id, amount);
+        }
+        return idempotencyStore.execute(idempotencyKey, "use:" + id + ":" + amount, () -> pointService.usePoints(id, amount));
+    }
+
+    /**
+     * 특정 유저의 포인트 사용을 예약하는 기능
+     * - 예약한 포인트는 바로 사용 가능 포인트에서 빠지고, 확정하거나 취소할 때까지 다른 사용에 쓰이지 않는다.
+     * - 일정 시간 안에 확정하지 않은 예약은 자동으로 취소된다.
+     */
+    @PostMapping("{id}/holds")
+    public PointHold hold(
             @PathVariable long id,
             @RequestBody long amount
     ) {
-        return pointService.usePoints(id, amount);
+        return pointService.reservePoints(id, amount);
+    }
+
+    /**
+     * 특정 유저의 포인트 사용 예약을 확정하는 기능
+     */
+    @PostMapping("{id}/holds/{holdId}/capture")
+    public UserPoint capture(
+            @PathVariable long id,
+            @PathVariable long holdId
+    ) {
+        return pointService.capturePoints(id, holdId);
+    }
+
+    /**
+     * 특정 유저의 포인트 사용 예약을 취소하는 기능
+     */
+    @DeleteMapping("{id}/holds/{holdId}")
+    public PointHold release(
+            @PathVariable long id,
+            @PathVariable long holdId
+    ) {
+        return pointService.releasePoints(id, holdId);
     }
 }
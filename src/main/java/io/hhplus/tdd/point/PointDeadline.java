@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point;
+
+import java.util.function.Supplier;
+
+/**
+ * 요청 처리 기한
+ * - 요청을 받은 스레드에 기한(System.nanoTime 기준)을 두고, 사용자 락 대기 등 대기하는 작업이 기한까지만 기다리도록 한다.
+ * - 클라이언트가 응답을 포기한 뒤에는 대기 중인 작업을 처리하지 않고 버린다.
+ * - 기한이 없는 스레드(배치 작업, 테스트 등)는 기존과 같이 제한 없이 기다린다.
+ */
+public final class PointDeadline {
+
+    private static final long NONE = Long.MAX_VALUE;
+    private static final ThreadLocal<long[]> DEADLINE = ThreadLocal.withInitial(() -> new long[]{NONE});
+
+    private PointDeadline() {
+    }
+
+    /**
+     * 현재 스레드의 기한 설정
+     *
+     * @param timeoutNanos 지금부터 남은 시간
+     */
+    public static void start(long timeoutNanos) {
+        DEADLINE.get()[0] = System.nanoTime() + timeoutNanos;
+    }
+
+    /**
+     * 현재 스레드의 기한 해제
+     */
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * 기한까지 남은 시간, 기한이 없으면 Long.MAX_VALUE
+     */
+    public static long remainingNanos() {
+        long deadline = DEADLINE.get()[0];
+        return deadline == NONE ? NONE : deadline - System.nanoTime();
+    }
+
+    /**
+     * 기한 없이 작업을 실행
+     * 이미 다른 스레드가 처리를 시작하여 되돌릴 수 없는 요청의 결과를 기다릴 때 사용한다.
+     */
+    public static <T> T withoutDeadline(Supplier<T> action) {
+        long[] deadline = DEADLINE.get();
+        long saved = deadline[0];
+        deadline[0] = NONE;
+        try {
+            return action.get();
+        } finally {
+            deadline[0] = saved;
+        }
+    }
+}
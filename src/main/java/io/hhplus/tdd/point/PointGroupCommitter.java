@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * 사용자 단위 그룹 커밋
+ * - 같은 사용자에 대한 변경 요청을 대기열에 쌓고, 사용자 락을 먼저 획득한 요청이 대기열에 쌓인 요청을 한 번에 처리한다.
+ * - 락을 늦게 획득한 요청은 이미 처리된 자신의 결과만 확인하고 반환하므로, 테이블 조회/저장은 요청 수가 아닌 배치 수만큼 발생한다.
+ * - 대기열은 요청 순서를 유지하며, 배치 내 요청은 등록된 순서대로 적용된다.
+ * - 처리 기한(PointDeadline)까지 락을 얻지 못한 요청은 대기열에서 빼고 실패한다.
+ *   이미 다른 요청의 배치에 포함되었다면 되돌릴 수 없으므로, 기한과 관계없이 그 결과를 기다려 반환한다.
+ */
+public class PointGroupCommitter {
+
+    private final UserLockManager userLockManager;
+    private final ConcurrentHashMap<Long, Queue<PointCommand>> queues = new ConcurrentHashMap<>();
+
+    public PointGroupCommitter(UserLockManager userLockManager) {
+        this.userLockManager = userLockManager;
+    }
+
+    /**
+     * 변경 요청을 등록하고 처리 결과를 반환
+     *
+     * @param command   변경 요청
+     * @param processor 배치 처리 함수 (사용자 아이디, 등록 순서대로 정렬된 요청 목록)
+     * @return 요청의 처리 결과
+     */
+    public UserPoint submit(PointCommand command, BiConsumer<Long, List<PointCommand>> processor) {
+        long userId = command.userId();
+        Queue<PointCommand> queue = queues.computeIfAbsent(userId, id -> new ConcurrentLinkedQueue<>());
+        queue.add(command);
+
+        try {
+            return userLockManager.executeWithLock(userId, () -> process(userId, queue, command, processor));
+        } catch (PointOverloadedException e) {
+            // 기한이 지났을 때 아직 대기열에 남아 있으면 처리하지 않고 버린다.
+            if (queue.remove(command)) {
+                removeIfEmpty(userId, queue);
+                throw e;
+            }
+            return PointDeadline.withoutDeadline(
+                    () -> userLockManager.executeWithLock(userId, () -> process(userId, queue, command, processor)));
+        }
+    }
+
+    private UserPoint process(long userId, Queue<PointCommand> queue, PointCommand command, BiConsumer<Long, List<PointCommand>> processor) {
+        // 앞선 배치에서 처리되지 않았다면 대기열에 쌓인 요청을 모두 처리한다.
+        if (!command.isDone()) {
+            List<PointCommand> batch = drain(queue);
+            try {
+                processor.accept(userId, batch);
+            } catch (RuntimeException e) {
+                batch.stream().filter(pending -> !pending.isDone()).forEach(pending -> pending.fail(e));
+            }
+        }
+        removeIfEmpty(userId, queue);
+        return command.result();
+    }
+
+    private void removeIfEmpty(long userId, Queue<PointCommand> queue) {
+        // 빈 대기열은 제거한다. 제거 이후 이 대기열에 등록된 요청은 등록한 스레드가 직접 처리한다.
+        if (queue.isEmpty()) {
+            queues.remove(userId, queue);
+        }
+    }
+
+    private List<PointCommand> drain(Queue<PointCommand> queue) {
+        List<PointCommand> batch = new ArrayList<>();
+        PointCommand pending;
+        while ((pending = queue.poll()) != null) {
+            batch.add(pending);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 사용 예약
+ * - 예약한 포인트는 보유 포인트에 남아 있지만 사용 가능 포인트에서는 빠진다.
+ * - 확정(capture)하면 예약한 포인트를 사용 처리하고, 취소(release)하거나 만료되면 사용 가능 포인트로 돌아간다.
+ *
+ * @param holdId          예약 아이디
+ * @param userId          사용자 아이디
+ * @param amount          예약 포인트
+ * @param expiresAtMillis 만료 시각, 밀리초
+ */
+public record PointHold(
+        long holdId,
+        long userId,
+        long amount,
+        long expiresAtMillis
+) {
+}
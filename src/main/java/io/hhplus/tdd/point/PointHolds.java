@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포인트 사용 예약 보관소
+ * - 예약과 사용자별 예약 합계를 메모리에 보관하며, 만료 시각이 지난 예약은 타이머 휠이 해제한다.
+ * - 예약의 확정, 취소, 만료는 claim 으로 예약을 먼저 꺼낸 쪽 하나만 처리하므로 서로 겹쳐도 한 번만 반영된다.
+ * - 사용 가능 포인트(보유 포인트 - 예약 합계)를 줄이는 작업(예약, 사용, 전송, 확정)의 잔액 확인은 호출하는 쪽이
+ *   사용자 단위로 순서를 보장한 상태(사용자 락 또는 잔액 맵의 구역 락)에서 수행한다.
+ *   예약 합계가 줄어드는 취소와 만료는 사용 가능 포인트를 늘리기만 하므로 순서를 보장하지 않아도 된다.
+ */
+public class PointHolds implements AutoCloseable {
+
+    private final ConcurrentHashMap<Long, PointHold> holds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> heldByUser = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final TimerWheel timerWheel;
+
+    public PointHolds(TimerWheel timerWheel) {
+        this.timerWheel = timerWheel;
+    }
+
+    /**
+     * 사용자의 예약 합계, 예약이 없으면 0
+     */
+    public long held(long userId) {
+        // 예약이 하나도 없으면 아이디를 박싱하지 않고 바로 반환한다. (할당 없는 충전/사용 경로에서 호출)
+        if (heldByUser.isEmpty()) {
+            return 0L;
+        }
+        Long held = heldByUser.get(userId);
+        return held == null ? 0L : held;
+    }
+
+    /**
+     * 예약 등록 후 만료 예약
+     * 호출하는 쪽이 사용 가능 포인트를 확인한 뒤, 같은 순서 보장 안에서 호출한다.
+     */
+    public PointHold hold(long userId, long amount, long expiresAtMillis) {
+        PointHold hold = new PointHold(sequence.incrementAndGet(), userId, amount, expiresAtMillis);
+        heldByUser.merge(userId, amount, Long::sum);
+        holds.put(hold.holdId(), hold);
+        timerWheel.schedule(expiresAtMillis, () -> expire(hold));
+        return hold;
+    }
+
+    /**
+     * 예약 조회
+     *
+     * @return 처리되지 않은 예약, 없으면 null
+     */
+    public PointHold get(long holdId) {
+        return holds.get(holdId);
+    }
+
+    /**
+     * 예약을 처리 대상으로 꺼낸다. 다른 확정, 취소, 만료가 먼저 꺼냈으면 false
+     * 꺼낸 예약의 포인트는 release 또는 restore 를 호출할 때까지 예약 합계에 남는다.
+     */
+    public boolean claim(PointHold hold) {
+        return holds.remove(hold.holdId(), hold);
+    }
+
+    /**
+     * 꺼낸 예약의 포인트를 예약 합계에서 뺀다.
+     */
+    public void release(PointHold hold) {
+        heldByUser.computeIfPresent(hold.userId(), (id, held) -> held == hold.amount() ? null : held - hold.amount());
+    }
+
+    /**
+     * 처리에 실패한 예약을 다시 보관한다. 만료 시각이 지났으면 타이머 휠이 곧 해제한다.
+     */
+    public void restore(PointHold hold) {
+        holds.put(hold.holdId(), hold);
+        if (hold.expiresAtMillis() <= System.currentTimeMillis()) {
+            timerWheel.schedule(hold.expiresAtMillis(), () -> expire(hold));
+        }
+    }
+
+    /**
+     * 처리되지 않은 예약 수
+     */
+    public int size() {
+        return holds.size();
+    }
+
+    private void expire(PointHold hold) {
+        if (claim(hold)) {
+            release(hold);
+        }
+    }
+
+    @Override
+    public void close() {
+        timerWheel.close();
+    }
+}
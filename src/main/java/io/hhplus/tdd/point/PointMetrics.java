@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 포인트 서비스 지표
+ * - point.lock.wait / point.lock.hold : 사용자 락 대기 시간, 보유 시간
+ * - point.lock.queue / point.lock.users : 락을 기다리는 요청 수, 락을 보관 중인 사용자 수
+ * - point.operation : 기능별 처리 시간과 결과(success, invalid, rejected)별 건수
+ * - point.admission.rejected : 처리량 한도로 거절하거나 기한을 넘긴 요청 수 (사유별)
+ * 기본적으로 전역 레지스트리에 기록하며, 스프링 부트가 애플리케이션 레지스트리를 전역 레지스트리에 연결한다.
+ */
+public class PointMetrics {
+
+    private static final String OUTCOME_SUCCESS = "success";   // 처리 성공
+    private static final String OUTCOME_INVALID = "invalid";   // 요청값 검증 실패
+    private static final String OUTCOME_REJECTED = "rejected"; // 잔액 한도 등 처리 불가
+
+    private final MeterRegistry registry;
+    private final Timer lockWait;
+    private final Timer lockHold;
+
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.lockWait = Timer.builder("point.lock.wait")
+                .description("사용자 락 획득까지 대기한 시간")
+                .register(registry);
+        this.lockHold = Timer.builder("point.lock.hold")
+                .description("사용자 락을 보유한 시간")
+                .register(registry);
+    }
+
+    /**
+     * 전역 레지스트리에 기록하는 지표
+     */
+    public static PointMetrics global() {
+        return new PointMetrics(Metrics.globalRegistry);
+    }
+
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(long nanos) {
+        lockHold.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 처리량 한도로 거절하거나 기한을 넘긴 요청 기록
+     */
+    public void recordAdmissionRejected(PointOverloadedException.Reason reason) {
+        Counter.builder("point.admission.rejected")
+                .description("처리량 한도로 거절하거나 기한을 넘긴 요청 수")
+                .tag("reason", reason.name().toLowerCase())
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 값을 주기적으로 읽어 기록하는 지표 등록
+     */
+    public <T> void gauge(String name, String description, T target, ToDoubleFunction<T> value) {
+        Gauge.builder(name, target, value)
+                .description(description)
+                .register(registry);
+    }
+
+    /**
+     * 기능의 처리 시간과 결과를 기록하며 실행
+     *
+     * @param operation 기능 이름
+     * @param action    실행할 기능
+     * @return 기능의 결과
+     */
+    public <T> T recordOperation(String operation, Supplier<T> action) {
+        long startNanos = System.nanoTime();
+        String outcome = OUTCOME_SUCCESS;
+        try {
+            return action.get();
+        } catch (IllegalArgumentException e) {
+            outcome = OUTCOME_INVALID;
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = OUTCOME_REJECTED;
+            throw e;
+        } finally {
+            operationTimer(operation, outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 기능의 결과별 처리 시간 기록기
+     * 결과별 Timer 를 미리 등록해 두므로 기록할 때 객체를 만들지 않는다. 할당 없이 처리해야 하는 경로에서 사용한다.
+     *
+     * @param operation 기능 이름
+     */
+    public OperationTimers operationTimers(String operation) {
+        return new OperationTimers(
+                operationTimer(operation, OUTCOME_SUCCESS),
+                operationTimer(operation, OUTCOME_INVALID),
+                operationTimer(operation, OUTCOME_REJECTED));
+    }
+
+    private Timer operationTimer(String operation, String outcome) {
+        return Timer.builder("point.operation")
+                .description("기능별 처리 시간과 결과")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * 한 기능의 결과별 Timer
+     */
+    public record OperationTimers(Timer success, Timer invalid, Timer rejected) {
+
+        public void recordSuccess(long startNanos) {
+            success.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void recordFailure(RuntimeException failure, long startNanos) {
+            Timer timer = failure instanceof IllegalArgumentException ? invalid : rejected;
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+
+/**
+ * 처리량 한도를 넘어 요청을 처리하지 않고 거절할 때 던지는 예외
+ * - USER_LIMIT : 한 사용자의 동시 요청이 한도를 넘음 (429)
+ * - GLOBAL_LIMIT : 전체 동시 요청이 한도를 넘음 (503)
+ * - DEADLINE_EXCEEDED : 처리 기한 안에 처리를 시작하지 못함 (503)
+ * - SHARD_MOVED : 다른 노드가 전달한 요청의 사용자를 이 노드가 담당하지 않음, 노드 추가가 모든 노드에 반영되는 중 (503)
+ * 요청값과 잔액 검증 실패(IllegalArgumentException, RuntimeException)와 구분하여 재시도 가능한 거절로 응답한다.
+ */
+public class PointOverloadedException extends RuntimeException {
+
+    private static final Duration DEADLINE_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    public PointOverloadedException(Reason reason, String message, Duration retryAfter) {
+        super(message, null, false, false); // 부하 상황에서 자주 던지므로 스택 트레이스를 만들지 않는다.
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public static PointOverloadedException deadlineExceeded() {
+        return new PointOverloadedException(Reason.DEADLINE_EXCEEDED, "요청 처리 기한이 지났습니다.", DEADLINE_RETRY_AFTER);
+    }
+
+    public static PointOverloadedException shardMoved() {
+        return new PointOverloadedException(Reason.SHARD_MOVED, "사용자의 담당 노드가 바뀌는 중입니다.", DEADLINE_RETRY_AFTER);
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+
+    /**
+     * 다시 요청하기까지 기다릴 시간
+     */
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+
+    public enum Reason {
+        USER_LIMIT,
+        GLOBAL_LIMIT,
+        DEADLINE_EXCEEDED,
+        SHARD_MOVED
+    }
+}
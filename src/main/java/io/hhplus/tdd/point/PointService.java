@@ -1,25 +1,57 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.ConcurrentLongBalanceMap;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PrimitiveUserPointRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PointService {
 
-    private static final long MAX_POINTS = 1_000_000L;  // 포인트 최대 한도
+    static final long MAX_POINTS = 1_000_000L;  // 포인트 최대 한도
     private static final long MIN_AMOUNT = 1_000L;   // 최소 충전, 사용 포인트
     private static final long MAX_AMOUNT = 1_000_000L;  // 최대 충전, 사용 포인트
-
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
-
-    private final ReentrantLock lock = new ReentrantLock(true); // 순차 처리 보장을 위한 공정성 옵션 사용
+    static final int DEFAULT_HISTORY_PAGE_SIZE = 100; // 내역 페이지 기본 조회 건수
+    static final int MAX_HISTORY_PAGE_SIZE = 1_000;   // 내역 페이지 최대 조회 건수
+    private static final int EXPORT_PAGE_SIZE = 1_000;        // 내역 내보내기 시 한 번에 읽는 건수
+    private static final long HOT_USER_WINDOW_MILLIS = 1_000L; // 요청이 몰리는 사용자를 판단하는 윈도 길이
+    private static final long HOT_USER_THRESHOLD = 200L;      // 윈도 안에 이 건수 이상 변경 요청이 들어온 사용자는 전용 대기열에서 처리
+    private static final long HOT_USER_IDLE_MILLIS = 100L;    // 전용 대기열 처리 스레드가 요청 없이 기다리다 전환 해제를 확인하는 간격
+    private static final long HOLD_TTL_MILLIS = 600_000L;     // 포인트 사용 예약 유지 시간 (10분)
+    private static final long HOLD_TICK_MILLIS = 100L;        // 예약 만료 타이머 휠의 칸 길이
+    private static final int HOLD_WHEEL_SIZE = 1_024;         // 예약 만료 타이머 휠의 칸 수
+    private static final String EXCEEDS_AVAILABLE = "사용 포인트가 예약된 포인트를 뺀 사용 가능 포인트를 초과할 수 없습니다.";
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+
+    private final PointMetrics pointMetrics = PointMetrics.global(); // 락 대기/보유 시간, 기능별 처리 결과 지표
+    private final UserLockManager userLockManager = new UserLockManager(pointMetrics); // 사용자 단위 순차 처리, 사용자 간 병렬 처리
+    private final UserPointSnapshots userPointSnapshots = new UserPointSnapshots(); // 락 없이 조회하기 위한 커밋 스냅샷
+    private final PointGroupCommitter groupCommitter = new PointGroupCommitter(userLockManager); // 같은 사용자의 동시 변경 요청 일괄 처리
+    private final HotUserRouter hotUserRouter = new HotUserRouter(groupCommitter, userLockManager,
+            new HotKeyDetector(HOT_USER_WINDOW_MILLIS, 4, 4, 1 << 11), HOT_USER_THRESHOLD, HOT_USER_IDLE_MILLIS, pointMetrics); // 요청이 몰리는 사용자의 단일 스레드 처리
+    private final PointHolds pointHolds = new PointHolds(new TimerWheel(HOLD_TICK_MILLIS, HOLD_WHEEL_SIZE, "point-hold-expiry")); // 포인트 사용 예약과 만료
+
+    // 잔액 맵 저장소(PrimitiveUserPointRepository) 사용 시 할당 없는 충전/사용 경로에서 쓰는 지표와 내역 기록 함수
+    private final PointMetrics.OperationTimers chargeTimers = pointMetrics.operationTimers("charge");
+    private final PointMetrics.OperationTimers useTimers = pointMetrics.operationTimers("use");
+    private final ConcurrentLongBalanceMap.UpdateListener chargeHistory = this::appendChargeHistory;
+    private final ConcurrentLongBalanceMap.UpdateListener useHistory = this::appendUseHistory;
 
 
     /**
@@ -30,63 +62,122 @@ public class PointService {
      * @return UserPoint
      */
     public UserPoint chargePoints(Long userId, Long amount) {
+        return pointMetrics.recordOperation("charge", () -> charge(userId, amount));
+    }
 
-        lock.lock();
-        try {
-            // 1. 아이디 및 충전 포인트 누락 확인
-            if (userId == null || amount == null) {
-                throw new IllegalArgumentException("사용자 아이디와 충전 포인트는 필수입니다.");
-            }
+    private UserPoint charge(Long userId, Long amount) {
+        // 1. 아이디 및 충전 포인트 누락 확인
+        if (userId == null || amount == null) {
+            throw new IllegalArgumentException("사용자 아이디와 충전 포인트는 필수입니다.");
+        }
 
-            // 2. 사용자 아이디가 음수인 경우
-            if (userId < 0) {
-                throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
-            }
+        // 2. 아이디 및 충전 포인트 범위 확인
+        validateCharge(userId, amount);
 
-            // 3. 사용자 아이디가 0인 경우
-            if (userId == 0) {
-                throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
-            }
+        // 3. 잔액 맵 저장소이면 맵에서 바로 처리
+        if (userPointRepository instanceof PrimitiveUserPointRepository primitive) {
+            long updateMillis = System.currentTimeMillis();
+            return new UserPoint(userId, applyBalance(primitive.balances(), userId, amount, updateMillis, chargeHistory), updateMillis)
+                    .withHeld(pointHolds.held(userId));
+        }
 
-            // 4. 충전 포인트가 음수인 경우
-            if (amount < 0) {
-                throw new IllegalArgumentException("충전 포인트는 음수가 될 수 없습니다.");
-            }
-            // 5. 충전 포인트가 0인 경우
-            if (amount == 0) {
-                throw new IllegalArgumentException("충전 포인트는 0일 수 없습니다.");
-            }
+        // 4. 요청이 몰리는 사용자이면 전용 대기열, 아니면 그룹 커밋 대기열에 등록 후 처리 결과 반환
+        return hotUserRouter.submit(new PointCommand(userId, TransactionType.CHARGE, amount), this::commit);
+    }
 
-            // 6. 충전 요청값이 1,000 미만인 경우
-            if (amount < MIN_AMOUNT) {
-                throw new IllegalArgumentException("충전 포인트는 최소 " + MIN_AMOUNT + " 이상이어야 합니다.");
-            }
+    static void validateCharge(long userId, long amount) {
+        // 1. 사용자 아이디가 음수인 경우
+        if (userId < 0) {
+            throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
+        }
 
-            // 7. 충전 요청값이 1,000,000인 경우
-            if (amount > MAX_AMOUNT) {
-                throw new IllegalArgumentException("충전 포인트는 최대 " + MAX_AMOUNT + " 이하여야 합니다.");
-            }
+        // 2. 사용자 아이디가 0인 경우
+        if (userId == 0) {
+            throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
+        }
 
-            // 기존 사용자 포인트 조회
-            UserPoint currentPoint = userPointTable.selectById(userId);
+        // 3. 충전 포인트가 음수인 경우
+        if (amount < 0) {
+            throw new IllegalArgumentException("충전 포인트는 음수가 될 수 없습니다.");
+        }
+        // 4. 충전 포인트가 0인 경우
+        if (amount == 0) {
+            throw new IllegalArgumentException("충전 포인트는 0일 수 없습니다.");
+        }
 
-            // 충전 후 포인트 계산
-            long resultPoint = currentPoint.point() + amount;
+        // 5. 충전 요청값이 1,000 미만인 경우
+        if (amount < MIN_AMOUNT) {
+            throw new IllegalArgumentException("충전 포인트는 최소 " + MIN_AMOUNT + " 이상이어야 합니다.");
+        }
 
-            // 8. 충전 후 포인트 잔액이 최대치를 초과한 경우
-            if (resultPoint > MAX_POINTS) {
-                throw new RuntimeException("충전 후 포인트 잔액이 " + MAX_POINTS + "을 초과하면 실패한다.");
-            }
+        // 6. 충전 요청값이 1,000,000인 경우
+        if (amount > MAX_AMOUNT) {
+            throw new IllegalArgumentException("충전 포인트는 최대 " + MAX_AMOUNT + " 이하여야 합니다.");
+        }
+    }
 
-            // 포인트 업데이트
-            UserPoint updateUserPoint = userPointTable.insertOrUpdate(userId, resultPoint);
+    /**
+     * 포인트 충전 후 잔액만 반환
+     * - 사용자 포인트 저장소가 PrimitiveUserPointRepository 이면 잔액 맵의 원자적 갱신과 내역 저장만으로 처리하여,
+     *   Long 박싱, 요청/결과 객체, 락 등록 없이 충전한다. (내역 저장소가 만드는 객체 제외)
+     * - 그 외 저장소에서는 chargePoints 와 같이 처리한다.
+     *
+     * @param userId 사용자 아이디
+     * @param amount 충전 포인트
+     * @return 충전 후 잔액
+     */
+    public long chargeBalance(long userId, long amount) {
+        if (!(userPointRepository instanceof PrimitiveUserPointRepository primitive)) {
+            return chargePoints(userId, amount).point();
+        }
+        long startNanos = System.nanoTime();
+        try {
+            validateCharge(userId, amount);
+            long balance = applyBalance(primitive.balances(), userId, amount, System.currentTimeMillis(), chargeHistory);
+            chargeTimers.recordSuccess(startNanos);
+            return balance;
+        } catch (RuntimeException e) {
+            chargeTimers.recordFailure(e, startNanos);
+            throw e;
+        }
+    }
 
-            // 충전 내역 저장
-            pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+    /**
+     * 포인트 일괄 충전
+     * - 같은 사용자의 요청은 전달된 순서대로 처리하고, 서로 다른 사용자의 요청은 가상 스레드에서 병렬로 처리한다.
+     * - 요청마다 chargePoints 와 같은 검증을 거치며, 실패한 요청은 예외 대신 실패 결과로 반환하고 나머지 요청은 계속 처리한다.
+     * - 동시에 처리되는 사용자 수는 목록에 포함된 사용자 수와 같으므로, 호출하는 쪽에서 목록을 적당한 크기로 나누어 전달한다.
+     *
+     * @param requests 충전 요청 목록
+     * @return 요청과 같은 순서의 처리 결과 목록
+     */
+    public List<PointChargeResult> chargePointsInBulk(List<PointChargeRequest> requests) {
+        // 1. 요청 위치를 사용자별로 묶는다.
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            PointChargeRequest request = requests.get(i);
+            indexesByUser.computeIfAbsent(request == null ? null : request.userId(), id -> new ArrayList<>()).add(i);
+        }
 
-            return updateUserPoint;
-        } finally {
-            lock.unlock();
+        // 2. 사용자별로 요청을 순서대로 처리하고, 사용자 간에는 병렬로 처리한다.
+        PointChargeResult[] results = new PointChargeResult[requests.size()];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture.allOf(indexesByUser.values().stream()
+                            .map(indexes -> CompletableFuture.runAsync(
+                                    () -> indexes.forEach(i -> results[i] = chargeEntry(requests.get(i))), executor))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+        }
+        return Arrays.asList(results);
+    }
+
+    private PointChargeResult chargeEntry(PointChargeRequest request) {
+        Long userId = request == null ? null : request.userId();
+        Long amount = request == null ? null : request.amount();
+        try {
+            return PointChargeResult.success(userId, amount, chargePoints(userId, amount));
+        } catch (RuntimeException e) {
+            return PointChargeResult.failure(userId, amount, e.getMessage());
         }
     }
 
@@ -98,62 +189,311 @@ public class PointService {
      * @return UserPoint
      */
     public UserPoint usePoints(Long userId, Long amount) {
-        lock.lock();
+        return pointMetrics.recordOperation("use", () -> use(userId, amount));
+    }
+
+    private UserPoint use(Long userId, Long amount) {
+        // 1. 사용자 아이디와 사용 포인트가 전달되지 않은 경우
+        if (userId == null || amount == null) {
+            throw new IllegalArgumentException("사용자 아이디와 사용 포인트는 필수입니다.");
+        }
+
+        // 2. 아이디 및 사용 포인트 범위 확인
+        validateUse(userId, amount);
+
+        // 3. 잔액 맵 저장소이면 맵에서 바로 처리 (예약된 포인트는 내역 기록 함수에서 확인)
+        if (userPointRepository instanceof PrimitiveUserPointRepository primitive) {
+            long updateMillis = System.currentTimeMillis();
+            return new UserPoint(userId, applyBalance(primitive.balances(), userId, -amount, updateMillis, useHistory), updateMillis)
+                    .withHeld(pointHolds.held(userId));
+        }
+
+        // 4. 요청이 몰리는 사용자이면 전용 대기열, 아니면 그룹 커밋 대기열에 등록 후 처리 결과 반환
+        return hotUserRouter.submit(new PointCommand(userId, TransactionType.USE, amount), this::commit);
+    }
+
+    static void validateUse(long userId, long amount) {
+        // 1. 사용자 아이디가 음수인 경우
+        if (userId < 0) {
+            throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
+        }
+
+        // 2. 사용자 아이디가 0인 경우
+        if (userId == 0) {
+            throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
+        }
+
+        // 3. 사용 포인트가 음수인 경우
+        if (amount < 0) {
+            throw new IllegalArgumentException("사용 포인트는 음수가 될 수 없습니다.");
+        }
+
+        // 4. 사용 포인트가 0인 경우
+        if (amount == 0) {
+            throw new IllegalArgumentException("사용 포인트는 0보다 커야 합니다.");
+        }
+
+        // 5. 사용 포인트가 1,000 미만인 경우
+        if (amount < MIN_AMOUNT) {
+            throw new IllegalArgumentException("사용 포인트는 최소 " + MIN_AMOUNT + " 이상이어야 합니다.");
+        }
+
+        // 6. 사용 포인트가 1,000,000 초과인 경우
+        if (amount > MAX_AMOUNT) {
+            throw new IllegalArgumentException("사용 포인트는 최대 " + MAX_AMOUNT + " 이하여야 합니다.");
+        }
+    }
+
+    /**
+     * 포인트 사용 후 잔액만 반환
+     * - 사용자 포인트 저장소가 PrimitiveUserPointRepository 이면 chargeBalance 와 같이 객체를 만들지 않고 처리한다.
+     * - 그 외 저장소에서는 usePoints 와 같이 처리한다.
+     *
+     * @param userId 사용자 아이디
+     * @param amount 사용 포인트
+     * @return 사용 후 잔액
+     */
+    public long useBalance(long userId, long amount) {
+        if (!(userPointRepository instanceof PrimitiveUserPointRepository primitive)) {
+            return usePoints(userId, amount).point();
+        }
+        long startNanos = System.nanoTime();
         try {
-            // 1. 사용자 아이디와 사용 포인트가 전달되지 않은 경우
-            if (userId == null || amount == null) {
-                throw new IllegalArgumentException("사용자 아이디와 사용 포인트는 필수입니다.");
-            }
+            validateUse(userId, amount);
+            long balance = applyBalance(primitive.balances(), userId, -amount, System.currentTimeMillis(), useHistory);
+            useTimers.recordSuccess(startNanos);
+            return balance;
+        } catch (RuntimeException e) {
+            useTimers.recordFailure(e, startNanos);
+            throw e;
+        }
+    }
 
-            // 2. 사용자 아이디가 음수인 경우
-            if (userId < 0) {
-                throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
-            }
+    /**
+     * 잔액 맵에서 한도 검사와 잔액 저장을 한 번에 처리하고, 같은 구역 락 안에서 내역을 저장한다.
+     * 내역 저장이 실패하면 맵이 잔액을 되돌린다.
+     */
+    private long applyBalance(ConcurrentLongBalanceMap balances, long userId, long delta, long updateMillis,
+                              ConcurrentLongBalanceMap.UpdateListener history) {
+        long balance = balances.add(userId, delta, MAX_POINTS, updateMillis, history);
 
-            // 3. 사용자 아이디가 0인 경우
-            if (userId == 0) {
-                throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
-            }
+        // 사용 포인트가 보유한 잔액을 초과한 경우
+        if (balance == ConcurrentLongBalanceMap.INSUFFICIENT) {
+            throw new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+        }
 
-            // 4. 사용 포인트가 음수인 경우
-            if (amount < 0) {
-                throw new IllegalArgumentException("사용 포인트는 음수가 될 수 없습니다.");
-            }
+        // 충전 후 포인트 잔액이 최대치를 초과한 경우
+        if (balance == ConcurrentLongBalanceMap.LIMIT_EXCEEDED) {
+            throw new RuntimeException("충전 후 포인트 잔액이 " + MAX_POINTS + "을 초과하면 실패한다.");
+        }
+        return balance;
+    }
 
-            // 5. 사용 포인트가 0인 경우
-            if (amount == 0) {
-                throw new IllegalArgumentException("사용 포인트는 0보다 커야 합니다.");
-            }
+    /**
+     * 포인트 전송 비즈니스 로직
+     * - 두 사용자의 락을 아이디 순서대로 획득한 뒤 보낸 사용자 차감, 받은 사용자 충전, 두 내역 저장을 하나의 단위로 처리한다.
+     * - 중간 단계가 실패하면 앞서 저장한 잔액을 되돌리고, 이미 저장된 내역은 반대 내역으로 상쇄한 뒤 실패를 반환한다.
+     *
+     * @param fromUserId 보내는 사용자 아이디
+     * @param toUserId   받는 사용자 아이디
+     * @param amount     전송 포인트
+     * @return PointTransferResult
+     */
+    public PointTransferResult transferPoints(Long fromUserId, Long toUserId, Long amount) {
+        return pointMetrics.recordOperation("transfer", () -> transfer(fromUserId, toUserId, amount));
+    }
 
-            // 6. 사용 포인트가 1,000 미만인 경우
-            if (amount < MIN_AMOUNT) {
-                throw new IllegalArgumentException("사용 포인트는 최소 " + MIN_AMOUNT + " 이상이어야 합니다.");
-            }
+    private PointTransferResult transfer(Long fromUserId, Long toUserId, Long amount) {
+        // 1. 사용자 아이디와 전송 포인트가 전달되지 않은 경우
+        if (fromUserId == null || toUserId == null || amount == null) {
+            throw new IllegalArgumentException("사용자 아이디와 전송 포인트는 필수입니다.");
+        }
 
-            // 7. 사용 포인트가 1,000,000 초과인 경우
-            if (amount > MAX_AMOUNT) {
-                throw new IllegalArgumentException("사용 포인트는 최대 " + MAX_AMOUNT + " 이하여야 합니다.");
-            }
+        // 2. 사용자 아이디가 음수인 경우
+        if (fromUserId < 0 || toUserId < 0) {
+            throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
+        }
+
+        // 3. 사용자 아이디가 0인 경우
+        if (fromUserId == 0 || toUserId == 0) {
+            throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
+        }
+
+        // 4. 자기 자신에게 전송하는 경우
+        if (fromUserId.equals(toUserId)) {
+            throw new IllegalArgumentException("자기 자신에게는 포인트를 전송할 수 없습니다.");
+        }
+
+        // 5. 전송 포인트가 1,000 미만인 경우
+        if (amount < MIN_AMOUNT) {
+            throw new IllegalArgumentException("전송 포인트는 최소 " + MIN_AMOUNT + " 이상이어야 합니다.");
+        }
+
+        // 6. 전송 포인트가 1,000,000 초과인 경우
+        if (amount > MAX_AMOUNT) {
+            throw new IllegalArgumentException("전송 포인트는 최대 " + MAX_AMOUNT + " 이하여야 합니다.");
+        }
+
+        // 7. 잔액 맵 저장소이면 맵에서 두 잔액을 함께 옮긴다.
+        if (userPointRepository instanceof PrimitiveUserPointRepository primitive) {
+            return transferBalance(primitive.balances(), fromUserId, toUserId, amount);
+        }
+
+        // 8. 두 사용자의 락을 아이디 순서대로 획득한 뒤 전송
+        return userLockManager.executeWithLocks(fromUserId, toUserId, () -> commitTransfer(fromUserId, toUserId, amount));
+    }
+
+    /**
+     * 포인트 사용 예약
+     * - 사용 가능 포인트(보유 포인트 - 예약된 포인트)에서 바로 빼고 메모리에만 기록하므로, 테이블을 읽거나 쓰지 않는다.
+     * - 예약한 포인트는 확정(capturePoints)할 때 사용 처리되고, 취소(releasePoints)하거나 HOLD_TTL_MILLIS 안에 확정하지 않으면 돌아간다.
+     *
+     * @param userId 사용자 아이디
+     * @param amount 예약 포인트
+     * @return PointHold
+     */
+    public PointHold reservePoints(Long userId, Long amount) {
+        return pointMetrics.recordOperation("reserve", () -> reserve(userId, amount));
+    }
+
+    private PointHold reserve(Long userId, Long amount) {
+        // 1. 사용자 아이디와 예약 포인트가 전달되지 않은 경우
+        if (userId == null || amount == null) {
+            throw new IllegalArgumentException("사용자 아이디와 예약 포인트는 필수입니다.");
+        }
+
+        // 2. 아이디 및 예약 포인트 범위 확인 (사용과 같은 기준)
+        validateUse(userId, amount);
+        long expiresAtMillis = System.currentTimeMillis() + HOLD_TTL_MILLIS;
+
+        // 3. 잔액 맵 저장소이면 사용과 같은 구역 락 안에서 확인 후 예약
+        if (userPointRepository instanceof PrimitiveUserPointRepository primitive) {
+            return primitive.balances().getLocked(userId, (key, balance, updateMillis) -> holdIfAvailable(key, balance, amount, expiresAtMillis));
+        }
+
+        // 4. 사용자 락 안에서 게시된 스냅샷으로 확인 후 예약 - 락 안에서는 커밋된 최신 잔액이 게시되어 있다.
+        return userLockManager.executeWithLock(userId, () -> holdIfAvailable(userId,
+                userPointSnapshots.getOrLoad(userId, () -> userPointRepository.selectById(userId)).point(), amount, expiresAtMillis));
+    }
+
+    private PointHold holdIfAvailable(long userId, long balance, long amount, long expiresAtMillis) {
+        // 예약 포인트가 사용 가능 포인트를 초과한 경우
+        if (balance - pointHolds.held(userId) < amount) {
+            throw new RuntimeException("예약 포인트가 사용 가능 포인트를 초과할 수 없습니다.");
+        }
+        return pointHolds.hold(userId, amount, expiresAtMillis);
+    }
+
+    /**
+     * 포인트 사용 예약 확정
+     * - 예약한 포인트를 잔액에서 빼고 사용 내역을 저장한 뒤 예약을 해제한다.
+     * - 실패하면 잔액을 되돌리고 예약은 그대로 유지하므로 다시 확정할 수 있다.
+     *
+     * @param userId 사용자 아이디
+     * @param holdId 예약 아이디
+     * @return UserPoint
+     */
+    public UserPoint capturePoints(Long userId, Long holdId) {
+        return pointMetrics.recordOperation("capture", () -> capture(userId, holdId));
+    }
+
+    private UserPoint capture(Long userId, Long holdId) {
+        // 1. 예약을 꺼내 만료, 취소와 겹치지 않도록 한다.
+        PointHold hold = claimHold(userId, holdId);
 
-            // 8. 사용자 잔액 확인 및 사용 가능 여부 체크
-            UserPoint userPoint = userPointTable.selectById(userId);
-            if (userPoint.point() < amount) {
-                throw new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+        try {
+            // 2. 잔액 맵 저장소이면 구역 락 안에서 잔액 차감, 내역 저장, 예약 해제
+            if (userPointRepository instanceof PrimitiveUserPointRepository primitive) {
+                return captureBalance(primitive.balances(), hold);
             }
 
-            // 9. 포인트 사용 후 잔액 계산
-            long updatedPoints = userPoint.point() - amount;
-            UserPoint updatedUserPoint = userPointTable.insertOrUpdate(userId, updatedPoints);
+            // 3. 사용자 락 안에서 잔액 차감, 내역 저장, 예약 해제
+            return userLockManager.executeWithLock(userId, () -> commitCapture(hold));
+        } catch (RuntimeException e) {
+            pointHolds.restore(hold);
+            throw e;
+        }
+    }
 
-            // 10. 사용 내역 저장
-            pointHistoryTable.insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
+    /**
+     * 포인트 사용 예약 취소
+     *
+     * @param userId 사용자 아이디
+     * @param holdId 예약 아이디
+     * @return 취소된 예약
+     */
+    public PointHold releasePoints(Long userId, Long holdId) {
+        return pointMetrics.recordOperation("release", () -> {
+            PointHold hold = claimHold(userId, holdId);
+            pointHolds.release(hold);
+            return hold;
+        });
+    }
 
-            // 11. 업데이트된 사용자 포인트 반환
-            return updatedUserPoint;
-        } finally {
-            lock.unlock();
+    private PointHold claimHold(Long userId, Long holdId) {
+        // 1. 사용자 아이디와 예약 아이디가 전달되지 않은 경우
+        if (userId == null || holdId == null) {
+            throw new IllegalArgumentException("사용자 아이디와 예약 아이디는 필수입니다.");
+        }
 
+        // 2. 사용자의 예약이 없거나 이미 확정, 취소, 만료된 경우
+        PointHold hold = pointHolds.get(holdId);
+        if (hold == null || hold.userId() != userId || !pointHolds.claim(hold)) {
+            throw new RuntimeException("처리할 수 있는 포인트 예약이 없습니다.");
         }
+        return hold;
+    }
+
+    /**
+     * 사용자 락을 보유한 상태에서 예약 확정 처리
+     */
+    private UserPoint commitCapture(PointHold hold) {
+        long userId = hold.userId();
+
+        // 1. 기존 사용자 포인트 조회
+        long balance = userPointRepository.selectById(userId).point();
+
+        // 2. 이 예약을 뺀 나머지 예약보다 잔액이 적어지는 경우
+        if (balance - hold.amount() < pointHolds.held(userId) - hold.amount()) {
+            throw new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+        }
+
+        // 3. 잔액 저장 후 사용 내역 저장 - 내역 저장이 실패하면 잔액을 되돌린다.
+        UserPoint updatedUserPoint = userPointRepository.insertOrUpdate(userId, balance - hold.amount());
+        try {
+            pointHistoryRepository.insert(userId, hold.amount(), TransactionType.USE, updatedUserPoint.updateMillis());
+        } catch (RuntimeException e) {
+            compensate(e, () -> userPointRepository.insertOrUpdate(userId, balance));
+            throw e;
+        }
+
+        // 4. 예약 해제 및 조회용 스냅샷 게시
+        pointHolds.release(hold);
+        userPointSnapshots.publish(updatedUserPoint);
+        return updatedUserPoint.withHeld(pointHolds.held(userId));
+    }
+
+    /**
+     * 잔액 맵에서 예약 확정 처리
+     * 잔액 차감, 내역 저장, 예약 해제를 같은 구역 락 안에서 처리하며, 내역 저장이 실패하면 맵이 잔액을 되돌린다.
+     */
+    private UserPoint captureBalance(ConcurrentLongBalanceMap balances, PointHold hold) {
+        long updateMillis = System.currentTimeMillis();
+        long balance = balances.add(hold.userId(), -hold.amount(), MAX_POINTS, updateMillis,
+                (userId, delta, result, millis) -> {
+                    // 이 예약을 뺀 나머지 예약보다 잔액이 적어지는 경우
+                    if (result < pointHolds.held(userId) - hold.amount()) {
+                        throw new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+                    }
+                    pointHistoryRepository.append(userId, hold.amount(), TransactionType.USE, millis);
+                    pointHolds.release(hold);
+                });
+
+        // 사용 포인트가 보유한 잔액을 초과한 경우
+        if (balance == ConcurrentLongBalanceMap.INSUFFICIENT) {
+            throw new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+        }
+        return new UserPoint(hold.userId(), balance, updateMillis).withHeld(pointHolds.held(hold.userId()));
     }
 
     /**
@@ -163,28 +503,32 @@ public class PointService {
      * @return UserPoint
      */
     public UserPoint getPoints(Long userId) {
-        lock.lock();
-        try {
-            // 1. 사용자 아이디가 null인 경우
-            if (userId == null) {
-                throw new IllegalArgumentException("사용자 아이디는 필수입니다.");
-            }
+        return pointMetrics.recordOperation("get", () -> get(userId));
+    }
 
-            // 2. 사용자 아이디가 음수인 경우
-            if (userId < 0) {
-                throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
-            }
+    private UserPoint get(Long userId) {
+        // 1. 사용자 아이디가 null인 경우
+        if (userId == null) {
+            throw new IllegalArgumentException("사용자 아이디는 필수입니다.");
+        }
 
-            // 3. 사용자 아이디가 null인 경우
-            if (userId == 0) {
-                throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
-            }
+        // 2. 사용자 아이디가 음수인 경우
+        if (userId < 0) {
+            throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
+        }
+
+        // 3. 사용자 아이디가 null인 경우
+        if (userId == 0) {
+            throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
+        }
 
-            // 4. 사용자 포인트 조회
-            return userPointTable.selectById(userId);
-        } finally {
-            lock.unlock();
+        // 4. 잔액 맵 저장소는 변경과 같은 맵을 낙관적 읽기로 바로 읽는다.
+        if (userPointRepository instanceof PrimitiveUserPointRepository) {
+            return userPointRepository.selectById(userId).withHeld(pointHolds.held(userId));
         }
+
+        // 5. 사용자 포인트 조회 - 변경 락을 잡지 않고 게시된 스냅샷을 읽으며, 예약된 포인트를 뺀 사용 가능 포인트를 함께 반환한다.
+        return userPointSnapshots.getOrLoad(userId, () -> userPointRepository.selectById(userId)).withHeld(pointHolds.held(userId));
     }
 
     /**
@@ -194,27 +538,376 @@ public class PointService {
      * @return List<PointHistory>
      */
     public List<PointHistory> getPointHistories(Long userId) {
-        lock.lock();
+        return pointMetrics.recordOperation("histories", () -> getHistories(userId));
+    }
+
+    private List<PointHistory> getHistories(Long userId) {
+        // 1. 사용자 아이디가 전달되지 않은 경우
+        if (userId == null) {
+            throw new IllegalArgumentException("사용자 아이디는 필수입니다.");
+        }
+
+        // 2. 사용자 아이디가 음수인 경우
+        if (userId < 0) {
+            throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
+        }
+
+        // 3. 사용자 아이디가 0인 경우
+        if (userId == 0) {
+            throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
+        }
+
+        // 4. 사용자 포인트 내역 조회 - 변경 락을 잡지 않는다.
+        return pointHistoryRepository.selectAllByUserId(userId);
+    }
+
+    /**
+     * 사용자 포인트 내역 페이지 조회
+     * - 내역 아이디는 저장 순서대로 증가하므로, 마지막으로 받은 내역의 아이디를 다음 요청의 커서(after)로 사용한다.
+     *
+     * @param userId 사용자 ID
+     * @param after  이 아이디 이후의 내역부터 조회 (없으면 처음부터)
+     * @param from   처리 시각 하한, 밀리초 (없으면 제한 없음)
+     * @param to     처리 시각 상한, 밀리초 (없으면 제한 없음)
+     * @param limit  최대 조회 건수 (없으면 100건)
+     * @return List<PointHistory>
+     */
+    public List<PointHistory> getPointHistories(Long userId, Long after, Long from, Long to, Integer limit) {
+        return pointMetrics.recordOperation("histories", () -> getHistories(userId, after, from, to, limit));
+    }
+
+    private List<PointHistory> getHistories(Long userId, Long after, Long from, Long to, Integer limit) {
+        // 1. 사용자 아이디가 전달되지 않은 경우
+        if (userId == null) {
+            throw new IllegalArgumentException("사용자 아이디는 필수입니다.");
+        }
+
+        // 2. 사용자 아이디가 음수인 경우
+        if (userId < 0) {
+            throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
+        }
+
+        // 3. 사용자 아이디가 0인 경우
+        if (userId == 0) {
+            throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
+        }
+
+        // 4. 조회 건수가 범위를 벗어난 경우
+        int pageSize = limit == null ? DEFAULT_HISTORY_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("조회 건수는 1 이상 " + MAX_HISTORY_PAGE_SIZE + " 이하여야 합니다.");
+        }
+
+        // 5. 커서가 음수인 경우
+        long afterId = after == null ? 0L : after;
+        if (afterId < 0) {
+            throw new IllegalArgumentException("커서는 음수가 될 수 없습니다.");
+        }
+
+        // 6. 조회 시작 시각이 종료 시각보다 늦은 경우
+        long fromMillis = from == null ? 0L : from;
+        long toMillis = to == null ? Long.MAX_VALUE : to;
+        if (fromMillis > toMillis) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 늦을 수 없습니다.");
+        }
+
+        // 7. 사용자 포인트 내역 페이지 조회 - 변경 락을 잡지 않는다.
+        return pointHistoryRepository.selectByUserId(userId, afterId, fromMillis, toMillis, pageSize);
+    }
+
+    /**
+     * 사용자 포인트 내역 순차 조회
+     * - 내역을 페이지 단위로 읽어 소비하는 만큼만 다음 페이지를 조회하므로, 내역 수와 관계없이 한 번에 메모리에 올라가는 내역은 한 페이지로 제한된다.
+     * - 검증과 첫 페이지 조회는 호출 시점에 수행하고, 이후 페이지는 스트림을 소비할 때 조회한다.
+     *
+     * @param userId 사용자 ID
+     * @param after  이 아이디 이후의 내역부터 조회 (없으면 처음부터)
+     * @return Stream<PointHistory>
+     */
+    public Stream<PointHistory> streamPointHistories(Long userId, Long after) {
+        // 1. 사용자 아이디가 전달되지 않은 경우
+        if (userId == null) {
+            throw new IllegalArgumentException("사용자 아이디는 필수입니다.");
+        }
+
+        // 2. 사용자 아이디가 음수인 경우
+        if (userId < 0) {
+            throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
+        }
+
+        // 3. 사용자 아이디가 0인 경우
+        if (userId == 0) {
+            throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
+        }
+
+        // 4. 커서가 음수인 경우
+        long afterId = after == null ? 0L : after;
+        if (afterId < 0) {
+            throw new IllegalArgumentException("커서는 음수가 될 수 없습니다.");
+        }
+
+        // 5. 마지막 내역의 아이디를 커서로 다음 페이지를 이어서 조회
+        return Stream.iterate(
+                        readExportPage(userId, afterId),
+                        page -> !page.isEmpty(),
+                        page -> page.size() < EXPORT_PAGE_SIZE ? List.of() : readExportPage(userId, page.get(page.size() - 1).id()))
+                .flatMap(List::stream);
+    }
+
+    private List<PointHistory> readExportPage(long userId, long afterId) {
+        return pointHistoryRepository.selectByUserId(userId, afterId, 0L, Long.MAX_VALUE, EXPORT_PAGE_SIZE);
+    }
+
+    /**
+     * 두 사용자의 락을 보유한 상태에서 포인트 전송 처리
+     *
+     * @param fromUserId 보내는 사용자 아이디
+     * @param toUserId   받는 사용자 아이디
+     * @param amount     전송 포인트
+     * @return PointTransferResult
+     */
+    private PointTransferResult commitTransfer(long fromUserId, long toUserId, long amount) {
+        // 1. 두 사용자 포인트 조회
+        long fromBalance = userPointRepository.selectById(fromUserId).point();
+        long toBalance = userPointRepository.selectById(toUserId).point();
+
+        // 2. 보내는 포인트가 보유한 잔액을 초과한 경우
+        if (fromBalance < amount) {
+            throw new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+        }
+
+        // 3. 보내는 포인트가 예약된 포인트를 뺀 사용 가능 포인트를 초과한 경우
+        if (fromBalance - amount < pointHolds.held(fromUserId)) {
+            throw new RuntimeException(EXCEEDS_AVAILABLE);
+        }
+
+        // 4. 받은 후 포인트 잔액이 최대치를 초과한 경우
+        if (toBalance + amount > MAX_POINTS) {
+            throw new RuntimeException("충전 후 포인트 잔액이 " + MAX_POINTS + "을 초과하면 실패한다.");
+        }
+
+        // 5. 잔액 저장 - 받는 사용자 저장이 실패하면 보내는 사용자 잔액을 되돌린다.
+        UserPoint updatedFrom = userPointRepository.insertOrUpdate(fromUserId, fromBalance - amount);
+        UserPoint updatedTo;
+        try {
+            updatedTo = userPointRepository.insertOrUpdate(toUserId, toBalance + amount);
+        } catch (RuntimeException e) {
+            compensate(e, () -> userPointRepository.insertOrUpdate(fromUserId, fromBalance));
+            throw e;
+        }
+
+        // 6. 내역 저장 - 실패하면 두 잔액을 되돌리고, 이미 저장된 보낸 사용자 내역은 반대 내역으로 상쇄한다.
+        long now = System.currentTimeMillis();
+        boolean fromHistoryStored = false;
+        try {
+            pointHistoryRepository.insert(fromUserId, amount, TransactionType.USE, now);
+            fromHistoryStored = true;
+            pointHistoryRepository.insert(toUserId, amount, TransactionType.CHARGE, now);
+        } catch (RuntimeException e) {
+            compensate(e, () -> userPointRepository.insertOrUpdate(toUserId, toBalance));
+            compensate(e, () -> userPointRepository.insertOrUpdate(fromUserId, fromBalance));
+            if (fromHistoryStored) {
+                compensate(e, () -> pointHistoryRepository.insert(fromUserId, amount, TransactionType.CHARGE, System.currentTimeMillis()));
+            }
+            throw e;
+        }
+
+        // 7. 두 사용자의 조회용 스냅샷 게시
+        userPointSnapshots.publish(updatedFrom);
+        userPointSnapshots.publish(updatedTo);
+        return new PointTransferResult(updatedFrom.withHeld(pointHolds.held(fromUserId)), updatedTo.withHeld(pointHolds.held(toUserId)));
+    }
+
+    private void appendChargeHistory(long userId, long delta, long balance, long updateMillis) {
+        pointHistoryRepository.append(userId, delta, TransactionType.CHARGE, updateMillis);
+    }
+
+    private void appendUseHistory(long userId, long delta, long balance, long updateMillis) {
+        // 예약된 포인트까지 사용하게 되면 실패하고, 잔액 맵이 잔액을 되돌린다.
+        if (balance < pointHolds.held(userId)) {
+            throw new RuntimeException(EXCEEDS_AVAILABLE);
+        }
+        pointHistoryRepository.append(userId, -delta, TransactionType.USE, updateMillis);
+    }
+
+    /**
+     * 잔액 맵에서 포인트 전송 처리
+     * - 두 잔액의 한도 검사와 저장을 맵의 두 구역 락 안에서 처리하고, 같은 락 안에서 두 내역을 저장한다.
+     * - 받은 사용자 내역 저장이 실패하면 보낸 사용자 내역은 반대 내역으로 상쇄하고, 두 잔액은 맵이 되돌린다.
+     */
+    private PointTransferResult transferBalance(ConcurrentLongBalanceMap balances, long fromUserId, long toUserId, long amount) {
+        long updateMillis = System.currentTimeMillis();
+        long[] toBalance = new long[1];
+        long fromBalance = balances.transfer(fromUserId, toUserId, amount, MAX_POINTS, updateMillis,
+                (from, to, value, fromAfter, toAfter, millis) -> {
+                    // 예약된 포인트까지 보내게 되면 실패하고, 잔액 맵이 두 잔액을 되돌린다.
+                    if (fromAfter < pointHolds.held(from)) {
+                        throw new RuntimeException(EXCEEDS_AVAILABLE);
+                    }
+                    pointHistoryRepository.insert(from, value, TransactionType.USE, millis);
+                    try {
+                        pointHistoryRepository.insert(to, value, TransactionType.CHARGE, millis);
+                    } catch (RuntimeException e) {
+                        compensate(e, () -> pointHistoryRepository.insert(from, value, TransactionType.CHARGE, System.currentTimeMillis()));
+                        throw e;
+                    }
+                    toBalance[0] = toAfter;
+                });
+
+        // 보내는 포인트가 보유한 잔액을 초과한 경우
+        if (fromBalance == ConcurrentLongBalanceMap.INSUFFICIENT) {
+            throw new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+        }
+
+        // 받은 후 포인트 잔액이 최대치를 초과한 경우
+        if (fromBalance == ConcurrentLongBalanceMap.LIMIT_EXCEEDED) {
+            throw new RuntimeException("충전 후 포인트 잔액이 " + MAX_POINTS + "을 초과하면 실패한다.");
+        }
+        return new PointTransferResult(
+                new UserPoint(fromUserId, fromBalance, updateMillis).withHeld(pointHolds.held(fromUserId)),
+                new UserPoint(toUserId, toBalance[0], updateMillis).withHeld(pointHolds.held(toUserId)));
+    }
+
+    /**
+     * 보상 작업 실행, 보상도 실패하면 원래 실패에 함께 기록한다.
+     */
+    private void compensate(RuntimeException failure, Runnable compensation) {
         try {
-            // 1. 사용자 아이디가 전달되지 않은 경우
-            if (userId == null) {
-                throw new IllegalArgumentException("사용자 아이디는 필수입니다.");
+            compensation.run();
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * 그룹 커밋 배치 처리
+     * - 잔액 조회 1회, 최종 잔액 저장 1회로 배치 내 요청을 순서대로 적용하고, 적용된 요청마다 내역을 저장한다.
+     * - 잔액 한도를 벗어나는 요청은 해당 요청만 실패 처리하고, 나머지 요청은 계속 적용한다.
+     * - 내역 저장이 실패하면 잔액을 내역이 저장된 마지막 요청 시점으로 되돌리고, 내역을 저장하지 못한 요청부터 실패 처리한다.
+     *
+     * @param userId 사용자 아이디
+     * @param batch  등록 순서대로 정렬된 변경 요청 목록
+     */
+    private void commit(long userId, List<PointCommand> batch) {
+        // 1. 기존 사용자 포인트와 예약된 포인트 조회
+        long balance = userPointRepository.selectById(userId).point();
+        long initialBalance = balance;
+        long held = pointHolds.held(userId);
+
+        // 2. 요청 순서대로 잔액 적용
+        List<PointCommand> applied = new ArrayList<>();
+        List<Long> appliedBalances = new ArrayList<>();
+        for (PointCommand command : batch) {
+            long resultPoint = command.apply(balance);
+
+            // 충전 후 포인트 잔액이 최대치를 초과한 경우
+            if (command.type() == TransactionType.CHARGE && resultPoint > MAX_POINTS) {
+                command.fail(new RuntimeException("충전 후 포인트 잔액이 " + MAX_POINTS + "을 초과하면 실패한다."));
+                continue;
+            }
+
+            // 사용 포인트가 보유한 잔액을 초과한 경우
+            if (command.type() == TransactionType.USE && resultPoint < 0) {
+                command.fail(new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다."));
+                continue;
+            }
+
+            // 사용 포인트가 예약된 포인트를 뺀 사용 가능 포인트를 초과한 경우
+            if (command.type() == TransactionType.USE && resultPoint < held) {
+                command.fail(new RuntimeException(EXCEEDS_AVAILABLE));
+                continue;
             }
 
-            // 2. 사용자 아이디가 음수인 경우
-            if (userId < 0) {
-                throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
+            balance = resultPoint;
+            applied.add(command);
+            appliedBalances.add(resultPoint);
+        }
+
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        // 3. 최종 잔액 저장 및 조회용 스냅샷 게시
+        UserPoint updatedUserPoint = userPointRepository.insertOrUpdate(userId, balance);
+        userPointSnapshots.publish(updatedUserPoint);
+
+        // 4. 요청별 내역 저장 및 요청 시점의 잔액으로 결과 반환
+        for (int i = 0; i < applied.size(); i++) {
+            PointCommand command = applied.get(i);
+            try {
+                pointHistoryRepository.insert(userId, command.amount(), command.type(), System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                // 내역이 저장된 요청까지의 잔액으로 되돌리며, 남은 요청은 그룹 커밋이 이 예외로 실패 처리한다.
+                long restored = i == 0 ? initialBalance : appliedBalances.get(i - 1);
+                compensate(e, () -> userPointSnapshots.publish(userPointRepository.insertOrUpdate(userId, restored)));
+                throw e;
+            }
+            command.complete(new UserPoint(userId, appliedBalances.get(i), updatedUserPoint.updateMillis(), appliedBalances.get(i) - held));
+        }
+    }
+
+    /**
+     * 다른 노드로 옮길 사용자의 잔액과 내역
+     * 호출하는 쪽(PointShardRouter)이 이 사용자의 다른 요청을 막은 상태에서 호출한다.
+     */
+    PointShardUser exportUser(long userId) {
+        return userLockManager.executeWithLock(userId, () -> {
+            // 예약은 이 노드의 메모리에만 있으므로, 예약이 남은 사용자는 옮기지 않는다.
+            if (pointHolds.held(userId) != 0) {
+                throw new IllegalStateException("예약 중인 포인트가 있는 사용자는 다른 노드로 옮길 수 없습니다.");
             }
+            return new PointShardUser(userId, userPointRepository.selectById(userId).point(),
+                    pointHistoryRepository.selectAllByUserId(userId));
+        });
+    }
 
-            // 3. 사용자 아이디가 0인 경우
-            if (userId == 0) {
-                throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
+    /**
+     * 다른 노드에서 옮겨 온 사용자의 내역과 잔액 저장
+     * 내역 아이디는 이 노드의 저장 순서로 새로 부여되며, 처리 시각과 종류, 포인트는 그대로 유지한다.
+     */
+    void importUser(PointShardUser user) {
+        long userId = user.userId();
+        userLockManager.executeWithLock(userId, () -> {
+            // 1. 이 노드에 남아 있는 내역이 옮겨 온 내역의 앞부분이면(중단된 이동을 다시 시도) 이어지는 내역만 저장한다.
+            List<PointHistory> existing = pointHistoryRepository.selectAllByUserId(userId);
+            List<PointHistory> incoming = user.histories();
+            if (existing.size() > incoming.size() || !sameHistories(existing, incoming.subList(0, existing.size()))) {
+                throw new IllegalStateException("이 노드에 옮겨 온 내역과 다른 내역이 있는 사용자입니다.");
             }
+            for (PointHistory pointHistory : incoming.subList(existing.size(), incoming.size())) {
+                pointHistoryRepository.insert(userId, pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+            }
+
+            // 2. 잔액 저장 및 조회용 스냅샷 게시
+            userPointSnapshots.publish(userPointRepository.insertOrUpdate(userId, user.point()));
+            return null;
+        });
+    }
 
-            // 4. 사용자 포인트 내역 조회
-            return pointHistoryTable.selectAllByUserId(userId);
-        } finally {
-            lock.unlock();
+    /**
+     * 다른 노드로 옮긴 사용자의 잔액 제거
+     * 저장소는 행을 지울 수 없으므로 잔액을 0으로 저장하며, 이후 요청은 옮긴 노드에서 처리되므로 남은 내역은 조회되지 않는다.
+     */
+    void evictUser(long userId) {
+        userLockManager.executeWithLock(userId, () -> userPointSnapshots.publish(userPointRepository.insertOrUpdate(userId, 0L)));
+    }
+
+    private static boolean sameHistories(List<PointHistory> a, List<PointHistory> b) {
+        for (int i = 0; i < a.size(); i++) {
+            PointHistory x = a.get(i);
+            PointHistory y = b.get(i);
+            if (x.amount() != y.amount() || x.type() != y.type() || x.updateMillis() != y.updateMillis()) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    /**
+     * 예약 만료 처리 스레드 종료
+     */
+    @PreDestroy
+    public void close() {
+        pointHolds.close();
     }
 }
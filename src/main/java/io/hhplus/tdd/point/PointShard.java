@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 사용자 일부를 맡아 처리하는 포인트 샤드
+ * - PointShardRouter 가 사용자 아이디의 해시 링 위치로 담당 샤드를 고르고, 그 샤드에서 요청을 처리한다.
+ * - 같은 프로세스의 PointService 를 호출하는 LocalPointShard 와, 다른 노드의 포인트 API 를 호출하는 HttpPointShard 가 있다.
+ * - 요청값 검증은 담당 노드의 PointService 가 수행한다.
+ */
+public interface PointShard {
+
+    UserPoint getPoints(Long userId);
+
+    List<PointHistory> getPointHistories(Long userId);
+
+    UserPoint chargePoints(Long userId, Long amount);
+
+    /**
+     * 멱등 키를 붙인 충전, 같은 키로 다시 요청하면 충전하지 않고 처음 요청의 결과를 반환한다.
+     * 응답을 받지 못해(PointShardIndeterminateException) 처리 여부를 알 수 없는 충전을 다시 요청할 때 사용한다.
+     */
+    UserPoint chargePoints(Long userId, Long amount, String idempotencyKey);
+
+    UserPoint usePoints(Long userId, Long amount);
+
+    /**
+     * 두 사용자를 모두 이 샤드가 담당할 때의 포인트 전송
+     */
+    PointTransferResult transferPoints(Long fromUserId, Long toUserId, Long amount);
+
+    /**
+     * 이 샤드가 담당하는 사용자들의 일괄 충전, 요청과 같은 순서의 결과를 반환한다.
+     */
+    List<PointChargeResult> chargePointsInBulk(List<PointChargeRequest> requests);
+
+    /**
+     * 다른 샤드에서 옮겨 온 사용자의 잔액과 내역 저장
+     * 이미 같은 내역을 받은 사용자이면(중단된 이동을 다시 시도) 이어지는 내역만 저장한다.
+     */
+    void importUser(PointShardUser user);
+
+    /**
+     * 다른 샤드로 옮긴 사용자를 이 샤드에서 제거
+     */
+    void removeUser(long userId);
+}
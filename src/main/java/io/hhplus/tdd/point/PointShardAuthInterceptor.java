@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 노드 사이의 내부 API(/point-shard/**) 인증 인터셉터
+ * - HttpPointShard 가 보내는 SECRET 헤더가 point.sharding.secret 과 같은 요청만 컨트롤러로 넘긴다.
+ * - 헤더가 없거나 다르면 401 로 응답한다. 비교 시간으로 값을 추측할 수 없도록 고정 시간 비교를 사용한다.
+ */
+public class PointShardAuthInterceptor implements HandlerInterceptor {
+
+    private final byte[] secret;
+    private final ObjectMapper objectMapper;
+
+    public PointShardAuthInterceptor(String secret, ObjectMapper objectMapper) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String provided = request.getHeader(HttpPointShard.SECRET);
+        if (provided != null && MessageDigest.isEqual(secret, provided.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("401", "노드 인증 값이 없거나 올바르지 않습니다."));
+        return false;
+    }
+}
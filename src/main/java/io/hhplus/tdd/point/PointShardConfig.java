@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 포인트 샤딩 설정
+ * - point.sharding.enabled 가 true 이면 사용자를 point.sharding.nodes 의 노드들에 일관된 해시로 나누어 저장한다.
+ * - 이 노드(point.sharding.node-id)의 사용자는 이 노드의 PointService 가, 나머지 사용자는 담당 노드가 HTTP 로 처리한다.
+ * - 사용자 한 명을 대상으로 하는 포인트 API 는 PointShardRoutingInterceptor 가, 일괄 충전과 샤드 간 전송은 PointController 가 라우터로 나눈다.
+ * - 노드 사이의 내부 API(/point-shard/**)는 point.sharding.secret 을 아는 노드의 요청만 처리한다. (PointShardAuthInterceptor)
+ * - servlet 스택에서만 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.sharding.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PointShardConfig implements WebMvcConfigurer {
+
+    private final LocalPointShard localPointShard;
+    private final PointShardRouter pointShardRouter;
+    private final PointShardAuthInterceptor pointShardAuthInterceptor;
+
+    public PointShardConfig(
+            PointService pointService,
+            ObjectMapper objectMapper,
+            @Value("${point.sharding.node-id}") String nodeId,
+            @Value("${point.sharding.nodes}") String nodes,
+            @Value("${point.sharding.virtual-nodes:128}") int virtualNodes,
+            @Value("${point.sharding.request-timeout-millis:3000}") long requestTimeoutMillis,
+            @Value("${point.sharding.secret:}") String secret
+    ) {
+        if (secret.isBlank()) {
+            throw new IllegalArgumentException("샤딩을 사용하려면 노드 사이의 인증 값(point.sharding.secret)이 필요합니다.");
+        }
+        this.pointShardAuthInterceptor = new PointShardAuthInterceptor(secret, objectMapper);
+
+        // 노드 목록 형식: node-1=http://localhost:8080,node-2=http://localhost:8081
+        this.localPointShard = new LocalPointShard(pointService);
+        Map<String, PointShard> shards = new LinkedHashMap<>();
+        for (String node : nodes.split(",")) {
+            String[] idAndUrl = node.trim().split("=", 2);
+            if (idAndUrl.length != 2 || idAndUrl[0].isBlank() || idAndUrl[1].isBlank()) {
+                throw new IllegalArgumentException("point.sharding.nodes 는 노드아이디=주소 목록이어야 합니다: " + node);
+            }
+            String id = idAndUrl[0].trim();
+            shards.put(id, id.equals(nodeId)
+                    ? localPointShard
+                    : new HttpPointShard(idAndUrl[1].trim(), secret, objectMapper, Duration.ofMillis(requestTimeoutMillis)));
+        }
+        if (!shards.containsKey(nodeId)) {
+            throw new IllegalArgumentException("point.sharding.nodes 에 이 노드(" + nodeId + ")가 없습니다.");
+        }
+        this.pointShardRouter = new PointShardRouter(shards, virtualNodes);
+    }
+
+    @Bean
+    public LocalPointShard localPointShard() {
+        return localPointShard;
+    }
+
+    @Bean
+    public PointShardRouter pointShardRouter() {
+        return pointShardRouter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PointShardRoutingInterceptor(pointShardRouter))
+                .addPathPatterns("/point/*", "/point/*/**")
+                .excludePathPatterns("/point/charges")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+        registry.addInterceptor(pointShardAuthInterceptor)
+                .addPathPatterns("/point-shard/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 노드 사이의 사용자 이동과 노드 추가를 위한 내부 API
+ * - 포인트 API 와 달리 담당 노드로 전달하지 않고 이 노드에서 바로 처리한다.
+ * - point.sharding.secret 을 X-Point-Shard-Secret 헤더로 보낸 요청만 처리한다. (PointShardAuthInterceptor)
+ */
+@RestController
+@RequestMapping("/point-shard")
+@ConditionalOnProperty(name = "point.sharding.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PointShardController {
+
+    private final PointShardRouter pointShardRouter;
+    private final LocalPointShard localPointShard;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final String secret;
+
+    public PointShardController(
+            PointShardRouter pointShardRouter,
+            LocalPointShard localPointShard,
+            ObjectMapper objectMapper,
+            @Value("${point.sharding.request-timeout-millis:3000}") long requestTimeoutMillis,
+            @Value("${point.sharding.secret:}") String secret
+    ) {
+        this.pointShardRouter = pointShardRouter;
+        this.localPointShard = localPointShard;
+        this.objectMapper = objectMapper;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.secret = secret;
+    }
+
+    /**
+     * 이 노드에서 처리한 적이 있는 사용자 아이디
+     */
+    @GetMapping("users")
+    public Set<Long> users() {
+        return localPointShard.userIds();
+    }
+
+    /**
+     * 다른 노드에서 옮겨 온 사용자 저장
+     */
+    @PutMapping("users/{id}")
+    public void importUser(
+            @PathVariable long id,
+            @RequestBody PointShardUser user
+    ) {
+        if (user.userId() != id) {
+            throw new IllegalArgumentException("경로와 본문의 사용자 아이디가 다릅니다.");
+        }
+        localPointShard.importUser(user);
+    }
+
+    /**
+     * 다른 노드로 옮긴 사용자 제거
+     */
+    @DeleteMapping("users/{id}")
+    public void removeUser(
+            @PathVariable long id
+    ) {
+        localPointShard.removeUser(id);
+    }
+
+    /**
+     * 노드 추가, 이 노드의 사용자 중 새 노드가 담당하게 될 사용자를 옮긴다.
+     * 모든 기존 노드에 각각 요청해야 하며, 새 노드에는 모든 노드의 추가가 끝난 뒤 요청을 보낸다. 옮긴 사용자 수를 반환한다.
+     */
+    @PostMapping("nodes")
+    public int join(
+            @RequestBody PointShardJoinRequest request
+    ) {
+        if (request.nodeId() == null || request.url() == null) {
+            throw new IllegalArgumentException("추가할 노드의 아이디와 주소는 필수입니다.");
+        }
+        return pointShardRouter.join(request.nodeId(), new HttpPointShard(request.url(), secret, objectMapper, requestTimeout));
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 다른 노드에 보낸 요청의 처리 여부를 알 수 없을 때 던지는 예외
+ * - 연결 실패, 응답 시간 초과, 응답 대기 중단처럼 응답을 받지 못한 경우로, 받은 노드가 요청을 처리했을 수도 있다.
+ * - 오류 응답(처리하지 않았다는 확실한 거절)과 구분하여, 호출한 쪽은 되돌리지 않고 같은 멱등 키로 다시 요청하거나 결과를 확인해야 한다.
+ */
+public class PointShardIndeterminateException extends RuntimeException {
+
+    public PointShardIndeterminateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 노드 추가 요청
+ *
+ * @param nodeId 추가할 노드 아이디
+ * @param url    추가할 노드의 주소 (예: http://localhost:8082)
+ */
+public record PointShardJoinRequest(
+        String nodeId,
+        String url
+) {
+}
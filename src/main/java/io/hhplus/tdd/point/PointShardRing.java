@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 사용자 아이디를 노드에 나누는 일관된 해시 링 (consistent hashing)
+ * - 노드마다 virtualNodes 개의 위치를 링에 놓고, 사용자 아이디의 해시 위치에서 시계 방향으로 처음 만나는 노드가 담당한다.
+ * - 노드가 추가되면 새 노드의 위치 바로 앞 구간의 사용자만 담당 노드가 바뀌므로, 옮겨야 하는 사용자는 약 1 / 노드 수 이다.
+ * - 변경할 수 없는 객체이며, withNode 는 노드를 추가한 새 링을 반환한다. 같은 노드 목록이면 어느 노드에서 만들어도 같은 담당 노드를 계산한다.
+ */
+public class PointShardRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> nodeIds;
+    private final int virtualNodes;
+
+    /**
+     * @param nodeIds      노드 아이디 목록
+     * @param virtualNodes 노드마다 링에 놓는 위치 수, 클수록 사용자가 고르게 나뉜다.
+     */
+    public PointShardRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("해시 링에는 노드가 1개 이상 있어야 합니다.");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("노드마다 가상 노드 수는 1 이상이어야 합니다.");
+        }
+        this.nodeIds = Collections.unmodifiableSet(new LinkedHashSet<>(nodeIds));
+        this.virtualNodes = virtualNodes;
+        for (String nodeId : this.nodeIds) {
+            long nodeHash = hash(nodeId);
+            for (int i = 0; i < virtualNodes; i++) {
+                // 위치가 겹치면 노드 순서와 관계없이 같은 결과가 나오도록 아이디가 작은 노드가 차지한다.
+                ring.merge(mix(nodeHash + i * 0x9E3779B97F4A7C15L), nodeId, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    /**
+     * 사용자를 담당하는 노드 아이디
+     */
+    public String ownerOf(long userId) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(userId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * 노드를 추가한 새 링
+     */
+    public PointShardRing withNode(String nodeId) {
+        if (nodeIds.contains(nodeId)) {
+            throw new IllegalArgumentException("이미 등록된 노드입니다: " + nodeId);
+        }
+        Set<String> next = new LinkedHashSet<>(nodeIds);
+        next.add(nodeId);
+        return new PointShardRing(next, virtualNodes);
+    }
+
+    public Set<String> nodeIds() {
+        return nodeIds;
+    }
+
+    private static long hash(String nodeId) {
+        // FNV-1a 64비트
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : nodeId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        // MurmurHash3 fmix64, 연속된 아이디도 링 전체에 흩어지게 한다.
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,266 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 사용자 아이디로 담당 샤드를 찾아 요청을 보내는 라우터
+ * - 담당 샤드는 PointShardRing 의 일관된 해시로 정하며, 모든 노드가 같은 노드 목록을 가지면 같은 샤드를 고른다.
+ * - 두 사용자의 담당 샤드가 다른 전송은 보낸 샤드에서 사용한 뒤 받는 샤드에서 충전하고, 충전이 거절되면 보낸 샤드에 다시 충전한다.
+ *   (두 샤드에 걸친 원자적 처리는 하지 않으므로, 실패 시 보낸 사용자의 내역에 사용과 되돌린 충전이 함께 남는다.)
+ *   받는 샤드의 응답을 받지 못하면 같은 멱등 키로 다시 충전하고, 끝내 결과를 알 수 없으면 되돌리지 않고 PointShardIndeterminateException 으로 알린다.
+ * - 노드가 추가되면(join) 이 라우터의 로컬 샤드에 있던 사용자 중 새 노드가 담당하게 될 사용자를 옮긴 뒤 링을 바꾼다.
+ *   옮기는 동안에는 재배치 락으로 모든 요청을 막으며, 요청은 처리하는 동안 재배치 락을 공유로 잡는다.
+ *   여러 노드로 구성된 경우 노드마다 자신의 로컬 사용자를 옮기므로, 노드 추가는 모든 노드에 각각 요청한다.
+ */
+public class PointShardRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointShardRouter.class);
+    private static final int TRANSFER_CHARGE_ATTEMPTS = 3; // 샤드 간 전송에서 받는 샤드의 충전 결과를 알 수 없을 때 다시 요청하는 횟수를 포함한 시도 횟수
+
+    private final Map<String, PointShard> shards = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock rebalanceLock = new ReentrantReadWriteLock();
+    private volatile PointShardRing ring;
+
+    /**
+     * @param shards       노드 아이디별 샤드
+     * @param virtualNodes 노드마다 해시 링에 놓는 위치 수
+     */
+    public PointShardRouter(Map<String, PointShard> shards, int virtualNodes) {
+        this.shards.putAll(shards);
+        this.ring = new PointShardRing(shards.keySet(), virtualNodes);
+    }
+
+    /**
+     * 사용자를 담당하는 노드 아이디
+     */
+    public String ownerOf(long userId) {
+        return ring.ownerOf(userId);
+    }
+
+    public Set<String> nodeIds() {
+        return ring.nodeIds();
+    }
+
+    public UserPoint getPoints(Long userId) {
+        return execute(userId, shard -> shard.getPoints(userId));
+    }
+
+    public List<PointHistory> getPointHistories(Long userId) {
+        return execute(userId, shard -> shard.getPointHistories(userId));
+    }
+
+    public UserPoint chargePoints(Long userId, Long amount) {
+        return execute(userId, shard -> shard.chargePoints(userId, amount));
+    }
+
+    public UserPoint usePoints(Long userId, Long amount) {
+        return execute(userId, shard -> shard.usePoints(userId, amount));
+    }
+
+    /**
+     * 포인트 전송
+     * 두 사용자의 담당 샤드가 같거나 요청값이 잘못된 경우에는 보낸 사용자의 샤드가 PointService 의 전송으로 처리한다.
+     * 담당 샤드가 다르면 원자적으로 처리되지 않는다. 받는 샤드의 충전이 거절되면 보낸 사용자에게 되돌려 충전하지만 이 충전도 거절될 수 있고,
+     * 충전 결과를 알 수 없으면 되돌리지 않고 PointShardIndeterminateException 을 던진다.
+     */
+    public PointTransferResult transferPoints(Long fromUserId, Long toUserId, Long amount) {
+        acquire(routingKey(fromUserId));
+        try {
+            // 1. 같은 샤드의 전송이거나 검증 실패가 확실한 요청은 보낸 사용자의 샤드에서 처리
+            PointShard from = shard(routingKey(fromUserId));
+            PointShard to = shard(routingKey(toUserId));
+            if (from == to || amount == null || fromUserId == null || toUserId == null || fromUserId <= 0 || toUserId <= 0) {
+                return from.transferPoints(fromUserId, toUserId, amount);
+            }
+
+            // 2. 보낸 샤드에서 사용 후 받는 샤드에서 충전, 되돌리는 충전은 전송 키에서 만든 멱등 키로 보낸다.
+            String transferKey = "transfer-" + UUID.randomUUID();
+            UserPoint fromPoint = from.usePoints(fromUserId, amount);
+            try {
+                return new PointTransferResult(fromPoint, chargeWithRetry(to, toUserId, amount, transferKey));
+            } catch (PointShardIndeterminateException e) {
+                // 3. 충전 결과를 알 수 없으면 되돌리지 않는다. (충전이 반영되었다면 되돌린 만큼 포인트가 새로 생긴다)
+                log.error("샤드 간 전송의 충전 결과를 알 수 없어 보낸 사용자 포인트를 되돌리지 않았습니다. fromUserId={}, toUserId={}, amount={}, key={}",
+                        fromUserId, toUserId, amount, transferKey, e);
+                throw new PointShardIndeterminateException("받는 사용자의 충전 결과를 알 수 없습니다. 전송 결과를 확인해야 합니다.", e);
+            } catch (RuntimeException e) {
+                // 4. 충전이 거절되면 보낸 사용자에게 다시 충전
+                try {
+                    chargeWithRetry(from, fromUserId, amount, transferKey + "-refund");
+                } catch (RuntimeException compensationFailure) {
+                    e.addSuppressed(compensationFailure);
+                    log.error("샤드 간 전송 실패 후 보낸 사용자 포인트를 되돌리지 못했습니다. fromUserId={}, amount={}, key={}",
+                            fromUserId, amount, transferKey + "-refund", compensationFailure);
+                }
+                throw e;
+            }
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 샤드 간 전송의 충전 (받는 사용자 충전, 거절 시 보낸 사용자에게 되돌리는 충전)
+     * - 응답을 받지 못하면 같은 멱등 키로 다시 요청하므로, 앞선 요청이 처리되었더라도 두 번 충전되지 않는다.
+     * - 샤드가 응답한 거절(오류 응답, 처리량 한도 거절)은 충전하지 않았다는 뜻이므로 그대로 던진다.
+     *   단, 앞선 요청의 응답을 받지 못한 뒤의 처리량 한도 거절은 멱등 키를 확인하기 전에 거절된 것이므로 결과를 알 수 없다.
+     */
+    private UserPoint chargeWithRetry(PointShard shard, Long userId, Long amount, String idempotencyKey) {
+        PointShardIndeterminateException indeterminate = null;
+        for (int attempt = 1; attempt <= TRANSFER_CHARGE_ATTEMPTS; attempt++) {
+            try {
+                return shard.chargePoints(userId, amount, idempotencyKey);
+            } catch (PointShardIndeterminateException e) {
+                if (indeterminate != null) {
+                    e.addSuppressed(indeterminate);
+                }
+                indeterminate = e;
+            } catch (PointOverloadedException e) {
+                if (indeterminate != null) {
+                    indeterminate.addSuppressed(e);
+                    throw indeterminate;
+                }
+                throw e;
+            }
+        }
+        throw indeterminate;
+    }
+
+    /**
+     * 포인트 일괄 충전, 담당 샤드별로 나누어 처리한 뒤 요청과 같은 순서로 결과를 모은다.
+     */
+    public List<PointChargeResult> chargePointsInBulk(List<PointChargeRequest> requests) {
+        acquire(0L);
+        try {
+            // 1. 요청 위치를 담당 샤드별로 묶는다.
+            Map<PointShard, List<Integer>> indexesByShard = new LinkedHashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                PointChargeRequest request = requests.get(i);
+                indexesByShard.computeIfAbsent(shard(routingKey(request == null ? null : request.userId())), shard -> new ArrayList<>()).add(i);
+            }
+
+            // 2. 샤드별로 처리하고 원래 위치에 결과를 넣는다.
+            PointChargeResult[] results = new PointChargeResult[requests.size()];
+            indexesByShard.forEach((shard, indexes) -> {
+                List<PointChargeResult> shardResults = shard.chargePointsInBulk(indexes.stream().map(requests::get).toList());
+                for (int i = 0; i < indexes.size(); i++) {
+                    results[indexes.get(i)] = shardResults.get(i);
+                }
+            });
+            return List.of(results);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 노드 추가
+     * 1. 로컬 샤드에서 새 노드가 담당하게 될 사용자를 모두 읽는다. 예약 중인 사용자가 있으면 아무것도 바꾸지 않고 실패한다.
+     * 2. 새 노드로 가져온다. 실패하면 이미 가져온 사용자를 새 노드에서 지우고 실패한다.
+     * 3. 로컬 샤드에서 옮긴 사용자를 지우고 링을 바꾼다.
+     *
+     * @param nodeId 추가할 노드 아이디
+     * @param shard  추가할 노드의 샤드
+     * @return 옮긴 사용자 수
+     */
+    public int join(String nodeId, PointShard shard) {
+        rebalanceLock.writeLock().lock();
+        try {
+            PointShardRing next = ring.withNode(nodeId);
+
+            // 1. 새 노드가 담당하게 될 로컬 사용자 읽기
+            List<Move> moves = new ArrayList<>();
+            for (PointShard current : shards.values()) {
+                if (!(current instanceof LocalPointShard local)) {
+                    continue;
+                }
+                for (long userId : local.userIds()) {
+                    if (!nodeId.equals(next.ownerOf(userId))) {
+                        continue;
+                    }
+                    // 조회만 하여 잔액과 내역이 없는 사용자는 옮기지 않는다.
+                    PointShardUser user = local.exportUser(userId);
+                    if (user.point() != 0 || !user.histories().isEmpty()) {
+                        moves.add(new Move(local, user));
+                    }
+                }
+            }
+
+            // 2. 새 노드로 가져오기
+            List<Move> imported = new ArrayList<>(moves.size());
+            try {
+                for (Move move : moves) {
+                    shard.importUser(move.user());
+                    imported.add(move);
+                }
+            } catch (RuntimeException e) {
+                for (Move move : imported) {
+                    try {
+                        shard.removeUser(move.user().userId());
+                    } catch (RuntimeException rollbackFailure) {
+                        e.addSuppressed(rollbackFailure);
+                    }
+                }
+                throw e;
+            }
+
+            // 3. 로컬 샤드에서 제거 후 링 교체
+            for (Move move : moves) {
+                move.from().removeUser(move.user().userId());
+            }
+            shards.put(nodeId, shard);
+            ring = next;
+            log.info("노드 {} 를 추가하고 사용자 {}명을 옮겼습니다.", nodeId, moves.size());
+            return moves.size();
+        } finally {
+            rebalanceLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 재배치 락을 공유로 잡고 사용자의 담당 샤드를 반환, 요청을 처리한 뒤 release 를 호출해야 한다.
+     * 포인트 API 요청을 로컬 샤드의 컨트롤러로 바로 넘기는 경우 요청이 끝날 때까지 사용자가 옮겨지지 않게 한다.
+     */
+    public PointShard acquire(long userId) {
+        rebalanceLock.readLock().lock();
+        return shard(userId);
+    }
+
+    public void release() {
+        rebalanceLock.readLock().unlock();
+    }
+
+    private <T> T execute(Long userId, Function<PointShard, T> action) {
+        PointShard shard = acquire(routingKey(userId));
+        try {
+            return action.apply(shard);
+        } finally {
+            release();
+        }
+    }
+
+    private PointShard shard(long userId) {
+        return shards.get(ring.ownerOf(userId));
+    }
+
+    /**
+     * 아이디가 없는 요청도 검증 실패를 응답할 샤드가 필요하므로 0 의 담당 샤드로 보낸다.
+     */
+    private static long routingKey(Long userId) {
+        return userId == null ? 0L : userId;
+    }
+
+    private record Move(LocalPointShard from, PointShardUser user) {
+    }
+}
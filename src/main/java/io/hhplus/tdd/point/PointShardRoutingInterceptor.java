@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 포인트 API 요청을 사용자의 담당 노드로 보내는 인터셉터
+ * - 경로의 사용자 아이디를 이 노드가 담당하면 요청이 끝날 때까지 재배치 락을 공유로 잡고 컨트롤러로 넘긴다.
+ * - 다른 노드가 담당하면 요청을 그대로 담당 노드에 전달하고 응답(상태, 헤더, 본문)을 복사한다.
+ * - 다른 노드가 전달한 요청은 다시 전달하지 않는다. 담당이 아니면 노드 추가가 반영되는 중이므로 503 으로 재시도하게 한다.
+ * - 사용자 락과 처리량 제한은 담당 노드에서 적용되도록 PointAdmissionInterceptor 보다 먼저 실행한다.
+ */
+public class PointShardRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ACQUIRED = PointShardRoutingInterceptor.class.getName() + ".acquired";
+    private static final List<String> REQUEST_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, HttpHeaders.RANGE,
+            "Idempotency-Key", PointAdmissionInterceptor.REQUEST_TIMEOUT);
+    private static final List<String> RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.RETRY_AFTER, HttpHeaders.ACCEPT_RANGES,
+            HttpHeaders.CONTENT_RANGE);
+
+    private final PointShardRouter pointShardRouter;
+
+    public PointShardRoutingInterceptor(PointShardRouter pointShardRouter) {
+        this.pointShardRouter = pointShardRouter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // 1. 사용자 아이디가 없는 경로와 비동기 응답의 재처리는 처음 받은 노드에서 처리한다.
+        Long userId = PointAdmissionInterceptor.userId(request);
+        if (userId == null || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        // 2. 이 노드가 담당하면 재배치 락을 잡은 채로 컨트롤러에서 처리
+        PointShard shard = pointShardRouter.acquire(userId);
+        if (shard instanceof LocalPointShard local) {
+            local.track(userId);
+            request.setAttribute(ACQUIRED, Boolean.TRUE);
+            return true;
+        }
+        pointShardRouter.release();
+
+        // 3. 다른 노드가 전달한 요청이면 다시 전달하지 않는다.
+        if (request.getHeader(HttpPointShard.FORWARDED) != null) {
+            throw PointOverloadedException.shardMoved();
+        }
+
+        // 4. 담당 노드에 전달하고 응답 복사
+        forward((HttpPointShard) shard, request, response);
+        return false;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 내역 내보내기처럼 비동기로 응답하는 요청은 처리 스레드가 바뀌므로 여기서 락을 놓는다.
+        releaseIfAcquired(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        releaseIfAcquired(request);
+    }
+
+    private void releaseIfAcquired(HttpServletRequest request) {
+        if (request.getAttribute(ACQUIRED) != null) {
+            request.removeAttribute(ACQUIRED);
+            pointShardRouter.release();
+        }
+    }
+
+    private void forward(HttpPointShard shard, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        String pathAndQuery = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+
+        HttpResponse<InputStream> forwarded = shard.exchange(request.getMethod(), pathAndQuery, headers, request.getInputStream().readAllBytes());
+        response.setStatus(forwarded.statusCode());
+        for (String name : RESPONSE_HEADERS) {
+            forwarded.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+        }
+        try (InputStream body = forwarded.body()) {
+            body.transferTo(response.getOutputStream());
+        }
+    }
+}
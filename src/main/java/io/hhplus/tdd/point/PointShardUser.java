@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 샤드 사이에 옮기는 사용자 한 명의 잔액과 내역
+ *
+ * @param userId    사용자 아이디
+ * @param point     잔액
+ * @param histories 저장 순서대로 정렬된 내역
+ */
+public record PointShardUser(
+        long userId,
+        long point,
+        List<PointHistory> histories
+) {
+}
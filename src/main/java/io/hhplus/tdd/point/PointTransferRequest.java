@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 전송 요청
+ */
+public record PointTransferRequest(
+        Long toUserId,
+        Long amount
+) {
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 전송 결과
+ *
+ * @param from 전송 후 보낸 사용자 포인트
+ * @param to   전송 후 받은 사용자 포인트
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * 리액티브 포인트 API
+ * - PointController 와 같은 경로와 요청/응답 형식(/point/{id}, /histories, /charge, /use)을 제공한다.
+ * - 요청을 처리하는 스레드는 테이블 호출이나 같은 사용자의 앞선 요청을 기다리며 멈추지 않으므로, 적은 스레드로 많은 연결을 유지한다.
+ * - 포인트 예약(/holds), 전송, 일괄 충전, 내역 내보내기와 요청 수 제한은 servlet 스택에서만 제공한다.
+ * - spring.main.web-application-type 이 reactive 일 때 사용한다.
+ */
+@RestController
+@RequestMapping("/point")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final ReactivePointService pointService;
+    private final IdempotencyStore idempotencyStore;
+
+    public ReactivePointController(ReactivePointService pointService, IdempotencyStore idempotencyStore) {
+        this.pointService = pointService;
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    /**
+     * 특정 유저의 포인트 조회
+     */
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return pointService.getPoints(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 조회
+     * after, from, to, limit 중 하나라도 전달되면 내역 아이디를 커서로 나누어 조회한다.
+     */
+    @GetMapping("{id}/histories")
+    public Mono<List<PointHistory>> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (after == null && from == null && to == null && limit == null) {
+            return pointService.getPointHistories(id);
+        }
+        return pointService.getPointHistories(id, after, from, to, limit);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 들어온 요청은 충전하지 않고 처음 요청의 결과를 반환한다.
+     */
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return pointService.chargePoints(id, amount);
+        }
+        return idempotent(idempotencyKey, "charge:" + id + ":" + amount, pointService.chargePoints(id, amount));
+    }
+
+    /**
+     * 특정 유저의 포인트 사용
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 들어온 요청은 사용하지 않고 처음 요청의 결과를 반환한다.
+     */
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return pointService.usePoints(id, amount);
+        }
+        return idempotent(idempotencyKey, "use:" + id + ":" + amount, pointService.usePoints(id, amount));
+    }
+
+    /**
+     * 멱등 키 저장소는 처음 요청의 결과를 기다리며 스레드를 멈추므로, 멱등 키가 있는 요청만 블로킹을 허용하는 스케줄러에서 처리한다.
+     */
+    private Mono<UserPoint> idempotent(String key, String fingerprint, Mono<UserPoint> action) {
+        return Mono.fromCallable(() -> idempotencyStore.execute(key, fingerprint, action::block))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ReactivePointHistoryRepository;
+import io.hhplus.tdd.database.ReactiveUserPointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 리액티브 포인트 서비스
+ * - PointService 와 같은 검증과 잔액 한도를 적용하며, 테이블 호출은 리액티브 어댑터를 통해 스레드를 멈추지 않고 기다린다.
+ * - 같은 사용자의 충전/사용은 락 대신 사용자 단위 비차단 대기열(ReactiveUserQueue)에서 차례로 처리하고, 서로 다른 사용자는 동시에 처리한다.
+ * - 조회는 대기열을 거치지 않는다.
+ * - 포인트 예약은 servlet 스택(PointService)에만 있어 이 스택에서는 만들 수 없으므로, 사용은 예약을 확인하지 않고 보유 잔액만 확인한다.
+ * - spring.main.web-application-type 이 reactive 일 때 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointService {
+
+    private final ReactiveUserPointRepository userPointRepository;
+    private final ReactivePointHistoryRepository pointHistoryRepository;
+
+    private final ReactiveUserQueue userQueue = new ReactiveUserQueue(); // 사용자 단위 순차 처리, 사용자 간 동시 처리
+    private final PointMetrics pointMetrics = PointMetrics.global();
+    private final PointMetrics.OperationTimers chargeTimers = pointMetrics.operationTimers("charge");
+    private final PointMetrics.OperationTimers useTimers = pointMetrics.operationTimers("use");
+
+    /**
+     * 사용자 포인트 조회
+     *
+     * @param userId 사용자 아이디
+     * @return Mono<UserPoint>
+     */
+    public Mono<UserPoint> getPoints(long userId) {
+        return Mono.defer(() -> {
+            validateUserId(userId);
+            return userPointRepository.selectById(userId);
+        });
+    }
+
+    /**
+     * 사용자 포인트 내역 조회
+     *
+     * @param userId 사용자 아이디
+     * @return Mono<List<PointHistory>>
+     */
+    public Mono<List<PointHistory>> getPointHistories(long userId) {
+        return Mono.defer(() -> {
+            validateUserId(userId);
+            return pointHistoryRepository.selectAllByUserId(userId);
+        });
+    }
+
+    /**
+     * 사용자 포인트 내역 페이지 조회 (PointService.getPointHistories 와 같은 커서 규칙)
+     *
+     * @param userId 사용자 아이디
+     * @param after  이 아이디 이후의 내역부터 조회 (없으면 처음부터)
+     * @param from   처리 시각 하한, 밀리초 (없으면 제한 없음)
+     * @param to     처리 시각 상한, 밀리초 (없으면 제한 없음)
+     * @param limit  최대 조회 건수 (없으면 100건)
+     * @return Mono<List<PointHistory>>
+     */
+    public Mono<List<PointHistory>> getPointHistories(long userId, Long after, Long from, Long to, Integer limit) {
+        return Mono.defer(() -> {
+            // 1. 사용자 아이디 확인
+            validateUserId(userId);
+
+            // 2. 조회 건수가 범위를 벗어난 경우
+            int pageSize = limit == null ? PointService.DEFAULT_HISTORY_PAGE_SIZE : limit;
+            if (pageSize < 1 || pageSize > PointService.MAX_HISTORY_PAGE_SIZE) {
+                throw new IllegalArgumentException("조회 건수는 1 이상 " + PointService.MAX_HISTORY_PAGE_SIZE + " 이하여야 합니다.");
+            }
+
+            // 3. 커서가 음수인 경우
+            long afterId = after == null ? 0L : after;
+            if (afterId < 0) {
+                throw new IllegalArgumentException("커서는 음수가 될 수 없습니다.");
+            }
+
+            // 4. 조회 시작 시각이 종료 시각보다 늦은 경우
+            long fromMillis = from == null ? 0L : from;
+            long toMillis = to == null ? Long.MAX_VALUE : to;
+            if (fromMillis > toMillis) {
+                throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 늦을 수 없습니다.");
+            }
+            return pointHistoryRepository.selectByUserId(userId, afterId, fromMillis, toMillis, pageSize);
+        });
+    }
+
+    /**
+     * 포인트 충전
+     *
+     * @param userId 사용자 아이디
+     * @param amount 충전 포인트
+     * @return Mono<UserPoint>
+     */
+    public Mono<UserPoint> chargePoints(long userId, long amount) {
+        return record(chargeTimers, Mono.defer(() -> {
+            PointService.validateCharge(userId, amount);
+            return userQueue.execute(userId, () -> apply(userId, TransactionType.CHARGE, amount));
+        }));
+    }
+
+    /**
+     * 포인트 사용
+     *
+     * @param userId 사용자 아이디
+     * @param amount 사용 포인트
+     * @return Mono<UserPoint>
+     */
+    public Mono<UserPoint> usePoints(long userId, long amount) {
+        return record(useTimers, Mono.defer(() -> {
+            PointService.validateUse(userId, amount);
+            return userQueue.execute(userId, () -> apply(userId, TransactionType.USE, amount));
+        }));
+    }
+
+    /**
+     * 사용자 대기열에서 차례가 된 변경 처리
+     * 내역 저장이 실패하면 잔액을 이전 값으로 되돌린 뒤 실패를 반환한다. (PointService 의 그룹 커밋과 같은 규칙)
+     */
+    private Mono<UserPoint> apply(long userId, TransactionType type, long amount) {
+        // 1. 기존 사용자 포인트 조회
+        return userPointRepository.selectById(userId).flatMap(current -> {
+            long balance = type == TransactionType.CHARGE ? current.point() + amount : current.point() - amount;
+
+            // 2. 충전 후 포인트 잔액이 최대치를 초과한 경우
+            if (type == TransactionType.CHARGE && balance > PointService.MAX_POINTS) {
+                return Mono.error(new RuntimeException("충전 후 포인트 잔액이 " + PointService.MAX_POINTS + "을 초과하면 실패한다."));
+            }
+
+            // 3. 사용 포인트가 보유한 잔액을 초과한 경우
+            if (type == TransactionType.USE && balance < 0) {
+                return Mono.error(new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다."));
+            }
+
+            // 4. 잔액 저장 후 내역 저장
+            return userPointRepository.insertOrUpdate(userId, balance)
+                    .flatMap(updated -> pointHistoryRepository.insert(userId, amount, type, updated.updateMillis())
+                            .thenReturn(updated)
+                            .onErrorResume(failure -> userPointRepository.insertOrUpdate(userId, current.point())
+                                    .onErrorResume(e -> {
+                                        failure.addSuppressed(e);
+                                        return Mono.empty();
+                                    })
+                                    .then(Mono.error(failure))));
+        });
+    }
+
+    private static Mono<UserPoint> record(PointMetrics.OperationTimers timers, Mono<UserPoint> operation) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return operation
+                    .doOnSuccess(userPoint -> timers.recordSuccess(startNanos))
+                    .doOnError(RuntimeException.class, e -> timers.recordFailure(e, startNanos));
+        });
+    }
+
+    private static void validateUserId(long userId) {
+        // 1. 사용자 아이디가 음수인 경우
+        if (userId < 0) {
+            throw new IllegalArgumentException("사용자 아이디는 음수가 될 수 없습니다.");
+        }
+
+        // 2. 사용자 아이디가 0인 경우
+        if (userId == 0) {
+            throw new IllegalArgumentException("사용자 아이디는 0일 수 없습니다.");
+        }
+    }
+}
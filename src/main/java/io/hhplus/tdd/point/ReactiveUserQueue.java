@@ -0,0 +1,148 @@
+package io.hhplus.tdd.point;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 단위 비차단 작업 대기열
+ * - 같은 사용자의 작업은 등록 순서대로 하나씩 실행하고, 앞 작업의 Mono 가 끝나면 다음 작업을 구독한다.
+ * - 락으로 스레드를 멈춰 기다리는 대신 대기열에 작업을 쌓아 두므로, 대기 중인 요청은 스레드를 점유하지 않는다.
+ * - 작업을 끝낸 스레드가 다음 작업을 이어서 실행하며, 바로 끝나는 작업이 이어져도 호출 깊이가 늘어나지 않도록 반복문으로 처리한다.
+ * - 대기열은 참조 카운트로 관리하며 남은 작업이 없으면 제거된다. (UserLockManager 와 같은 방식)
+ * - 실행 전에 구독이 취소된 작업(클라이언트 연결 종료 등)은 실행하지 않고 건너뛴다. 이미 실행 중인 작업은 끝까지 실행한다.
+ */
+public class ReactiveUserQueue {
+
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * 사용자 대기열에 작업을 등록하고, 작업이 실행되어 끝나면 그 결과를 전달하는 Mono 반환
+     *
+     * @param userId 사용자 아이디
+     * @param action 실행할 작업, 앞 작업이 끝난 뒤 호출된다.
+     */
+    public <T> Mono<T> execute(long userId, Supplier<Mono<T>> action) {
+        return Mono.create(sink -> {
+            Task task = new Task() {
+                @Override
+                void run(Runnable done) {
+                    if (cancelled) {
+                        done.run();
+                        return;
+                    }
+                    Mono<T> result;
+                    try {
+                        result = action.get();
+                    } catch (RuntimeException e) {
+                        sink.error(e);
+                        done.run();
+                        return;
+                    }
+                    // 결과를 전달한 뒤 다음 작업으로 넘어가므로, 같은 사용자의 결과도 등록 순서대로 전달된다.
+                    result.doFinally(signal -> done.run()).subscribe(sink::success, sink::error, sink::success);
+                }
+            };
+            sink.onCancel(() -> task.cancelled = true);
+            submit(userId, task);
+        });
+    }
+
+    /**
+     * 현재 보관 중인 사용자 대기열 수
+     */
+    public int size() {
+        return mailboxes.size();
+    }
+
+    /**
+     * 사용자 대기열에 작업 등록
+     */
+    void submit(long userId, Task task) {
+        // compute 는 키 단위로 원자적으로 실행되므로 참조 카운트 증가와 대기열 생성이 함께 보장된다.
+        Mailbox mailbox = mailboxes.compute(userId, (id, current) -> {
+            Mailbox target = current == null ? new Mailbox(() -> release(userId)) : current;
+            target.references++;
+            return target;
+        });
+        mailbox.offer(task);
+    }
+
+    private void release(long userId) {
+        // 마지막 참조가 해제되면 맵에서 제거한다.
+        mailboxes.computeIfPresent(userId, (id, mailbox) -> --mailbox.references == 0 ? null : mailbox);
+    }
+
+    /**
+     * 대기열에서 실행되는 작업
+     * 실행이 끝나면 done 을 정확히 한 번 호출한다. run 안에서 바로 호출해도 되고, 다른 스레드에서 나중에 호출해도 된다.
+     */
+    abstract static class Task {
+
+        private static final int RUNNING = 0;
+        private static final int COMPLETED = 1; // run 이 반환되기 전에 끝남
+        private static final int PENDING = 2;   // run 이 반환된 뒤에 끝남
+
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        volatile boolean cancelled;
+
+        abstract void run(Runnable done);
+
+        /**
+         * 작업을 실행하고 바로 끝났으면 true, 나중에 끝나면 false 를 반환한다. 나중에 끝나면 그때 completedLater 를 호출한다.
+         */
+        private boolean start(Runnable release, Runnable completedLater) {
+            run(() -> {
+                release.run();
+                if (!state.compareAndSet(RUNNING, COMPLETED)) {
+                    completedLater.run();
+                }
+            });
+            return !state.compareAndSet(RUNNING, PENDING);
+        }
+    }
+
+    /**
+     * 사용자 한 명의 작업 대기열
+     */
+    private static final class Mailbox {
+
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger(); // 대기 중 + 실행 중인 작업 수
+        private final Runnable release; // 작업이 끝날 때마다 참조 카운트 감소
+        private int references; // mailboxes 의 compute 안에서만 변경
+
+        private Mailbox(Runnable release) {
+            this.release = release;
+        }
+
+        void offer(Task task) {
+            tasks.offer(task);
+            // 대기 중인 작업이 없었으면 등록한 스레드가 실행을 시작한다.
+            if (pending.getAndIncrement() == 0) {
+                drain();
+            }
+        }
+
+        /**
+         * 작업을 하나씩 실행하며, 나중에 끝나는 작업을 만나면 멈추고 그 작업을 끝낸 스레드가 이어서 실행한다.
+         */
+        private void drain() {
+            do {
+                if (!tasks.poll().start(release, this::completedLater)) {
+                    return;
+                }
+            } while (pending.decrementAndGet() > 0);
+        }
+
+        private void completedLater() {
+            if (pending.decrementAndGet() > 0) {
+                drain();
+            }
+        }
+    }
+}
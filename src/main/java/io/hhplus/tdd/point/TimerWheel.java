@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 해시 타이머 휠
+ * - 만료 시각을 tickMillis 단위 칸(wheelSize 개)에 나누어 담고, 한 칸씩 넘어가며 만료된 작업만 실행한다.
+ * - 등록은 칸의 대기열에 추가하는 것으로 끝나고, 칸을 넘길 때는 그 칸에 담긴 작업만 확인하므로 등록된 작업 수와 관계없이 비용이 일정하다.
+ * - 휠 한 바퀴(tickMillis * wheelSize)보다 먼 작업은 같은 칸에 남아 있다가 만료되는 바퀴에서 실행된다.
+ * - 만료 시각은 tickMillis 단위로 올림되어 최대 tickMillis 늦게 실행된다. 칸을 처리하는 중에 그 칸에 등록된 작업은 한 바퀴 뒤에 실행될 수 있다.
+ * - 처리 스레드는 처음 작업이 등록될 때 시작한다.
+ */
+public class TimerWheel implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TimerWheel.class);
+
+    private final long tickMillis;
+    private final Queue<Timeout>[] slots;
+    private final LongSupplier clock;
+    private final String threadName;
+    private volatile long processedTick; // 마지막으로 처리한 칸 번호 (시각 / tickMillis)
+    private volatile ScheduledExecutorService scheduler;
+
+    public TimerWheel(long tickMillis, int wheelSize, String threadName) {
+        this(tickMillis, wheelSize, threadName, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int wheelSize, String threadName, LongSupplier clock) {
+        if (tickMillis < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("타이머 휠의 칸 길이와 칸 수는 1 이상이어야 합니다.");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.clock = clock;
+        this.threadName = threadName;
+        this.processedTick = clock.getAsLong() / tickMillis;
+    }
+
+    /**
+     * 만료 시각에 실행할 작업 등록
+     *
+     * @param deadlineMillis 만료 시각, 밀리초
+     * @param task           만료되면 실행할 작업 (처리 스레드에서 실행되므로 짧게 끝나야 한다)
+     */
+    public void schedule(long deadlineMillis, Runnable task) {
+        startIfNeeded();
+        // 이미 지난 칸에 넣으면 한 바퀴를 기다리게 되므로, 다음에 처리할 칸에 넣는다.
+        long tick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), processedTick + 1);
+        slots[(int) (tick % slots.length)].add(new Timeout(deadlineMillis, task));
+    }
+
+    /**
+     * 현재 시각까지의 칸을 넘기며 만료된 작업 실행
+     */
+    void advance() {
+        long now = clock.getAsLong();
+        long currentTick = now / tickMillis;
+        // 한 바퀴 이상 밀렸으면 모든 칸을 한 번씩만 확인한다.
+        long fromTick = Math.max(processedTick + 1, currentTick - slots.length + 1);
+        for (long tick = fromTick; tick <= currentTick; tick++) {
+            Iterator<Timeout> timeouts = slots[(int) (tick % slots.length)].iterator();
+            while (timeouts.hasNext()) {
+                Timeout timeout = timeouts.next();
+                if (timeout.deadlineMillis() <= now) {
+                    timeouts.remove();
+                    run(timeout);
+                }
+            }
+        }
+        processedTick = currentTick;
+    }
+
+    private void run(Timeout timeout) {
+        // 작업 하나가 실패해도 다음 작업과 다음 칸은 계속 처리한다.
+        try {
+            timeout.task().run();
+        } catch (RuntimeException e) {
+            log.warn("만료 작업 실행에 실패했습니다.", e);
+        }
+    }
+
+    private void startIfNeeded() {
+        if (scheduler == null) {
+            start();
+        }
+    }
+
+    private synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name(threadName).daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private record Timeout(long deadlineMillis, Runnable task) {
+    }
+}
@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 단위 락 관리
+ * - 같은 사용자의 요청은 공정 락(FIFO)으로 순차 처리하고, 서로 다른 사용자의 요청은 병렬로 처리한다.
+ * - 락은 참조 카운트로 관리하며 대기 중인 요청이 없으면 제거되므로, 보관되는 락의 수는 동시에 처리 중인 사용자 수를 넘지 않는다.
+ * - synchronized 대신 ReentrantLock 으로 대기하므로 가상 스레드가 락을 기다리는 동안 캐리어 스레드를 점유(pinning)하지 않는다.
+ *   맵의 compute 구간은 참조 카운트만 갱신하고 블로킹 작업을 하지 않는다.
+ * - 락 대기 시간, 보유 시간, 대기 중인 요청 수를 PointMetrics 로 기록한다.
+ * - 요청 처리 기한(PointDeadline)이 설정된 스레드는 기한까지만 락을 기다리고, 기한이 지나면 작업을 실행하지 않고 실패한다.
+ */
+public class UserLockManager {
+
+    private final ConcurrentHashMap<Long, LockEntry> locks = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final PointMetrics pointMetrics;
+
+    public UserLockManager() {
+        this(PointMetrics.global());
+    }
+
+    public UserLockManager(PointMetrics pointMetrics) {
+        this.pointMetrics = pointMetrics;
+        pointMetrics.gauge("point.lock.queue", "사용자 락을 기다리는 요청 수", waiting, AtomicInteger::get);
+        pointMetrics.gauge("point.lock.users", "락을 보관 중인 사용자 수", locks, ConcurrentHashMap::size);
+    }
+
+    /**
+     * 사용자 락을 획득한 상태에서 작업을 실행
+     *
+     * @param userId 사용자 아이디
+     * @param action 실행할 작업
+     * @return 작업 결과
+     */
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        LockEntry entry = acquire(userId);
+        long waitStartNanos = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean locked = false;
+        try {
+            locked = lock(entry.lock);
+        } finally {
+            waiting.decrementAndGet();
+            if (!locked) {
+                release(userId);
+            }
+        }
+
+        long acquiredNanos = System.nanoTime();
+        pointMetrics.recordLockWait(acquiredNanos - waitStartNanos);
+        try {
+            return action.get();
+        } finally {
+            entry.lock.unlock();
+            pointMetrics.recordLockHold(System.nanoTime() - acquiredNanos);
+            release(userId);
+        }
+    }
+
+    /**
+     * 두 사용자의 락을 모두 획득한 상태에서 작업을 실행
+     * 락은 항상 아이디가 작은 사용자부터 획득하므로, 같은 두 사용자를 반대 방향으로 묶는 요청이 동시에 들어와도 교착 상태가 생기지 않는다.
+     *
+     * @param userId      사용자 아이디
+     * @param otherUserId 다른 사용자 아이디
+     * @param action      실행할 작업
+     * @return 작업 결과
+     */
+    public <T> T executeWithLocks(long userId, long otherUserId, Supplier<T> action) {
+        long first = Math.min(userId, otherUserId);
+        long second = Math.max(userId, otherUserId);
+        return executeWithLock(first, () -> executeWithLock(second, action));
+    }
+
+    /**
+     * 기한이 없으면 락을 획득할 때까지, 기한이 있으면 기한까지만 대기
+     *
+     * @return 락 획득 여부, 기한이 지나면 PointOverloadedException 을 던진다.
+     */
+    private boolean lock(ReentrantLock lock) {
+        long remainingNanos = PointDeadline.remainingNanos();
+        if (remainingNanos == Long.MAX_VALUE) {
+            lock.lock();
+            return true;
+        }
+        try {
+            if (remainingNanos > 0 && lock.tryLock(remainingNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw PointOverloadedException.deadlineExceeded();
+    }
+
+    /**
+     * 현재 보관 중인 락의 수
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    /**
+     * 현재 락을 기다리는 요청 수
+     */
+    public int waitingCount() {
+        return waiting.get();
+    }
+
+    private LockEntry acquire(long userId) {
+        // compute 는 키 단위로 원자적으로 실행되므로 참조 카운트 증가와 락 생성이 함께 보장된다.
+        return locks.compute(userId, (id, entry) -> {
+            LockEntry target = entry == null ? new LockEntry() : entry;
+            target.references++;
+            return target;
+        });
+    }
+
+    private void release(long userId) {
+        // 마지막 참조가 해제되면 맵에서 제거한다.
+        locks.computeIfPresent(userId, (id, entry) -> --entry.references == 0 ? null : entry);
+    }
+
+    private static final class LockEntry {
+        private final ReentrantLock lock = new ReentrantLock(true); // 순차 처리 보장을 위한 공정성 옵션 사용
+        private int references;
+    }
+}
@@ -1,12 +1,35 @@
 package io.hhplus.tdd.point;
 
+/**
+ * 사용자 포인트
+ *
+ * @param id           사용자 아이디
+ * @param point        보유 포인트 (예약된 포인트 포함)
+ * @param updateMillis 수정 시각, 밀리초
+ * @param available    사용 가능 포인트 (보유 포인트 - 예약된 포인트)
+ */
 public record UserPoint(
         long id,
         long point,
-        long updateMillis
+        long updateMillis,
+        long available
 ) {
 
+    /**
+     * 예약된 포인트가 없는 사용자 포인트
+     */
+    public UserPoint(long id, long point, long updateMillis) {
+        this(id, point, updateMillis, point);
+    }
+
     public static UserPoint empty(long id) {
         return new UserPoint(id, 0, System.currentTimeMillis());
     }
+
+    /**
+     * 예약된 포인트를 뺀 사용 가능 포인트를 담아 반환
+     */
+    public UserPoint withHeld(long held) {
+        return held == 0 && available == point ? this : new UserPoint(id, point, updateMillis, point - held);
+    }
 }
@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 포인트 스냅샷 저장소
+ * - 포인트 변경이 커밋될 때마다 불변 스냅샷을 원자적으로 교체하여 게시하고, 조회는 락 없이 게시된 스냅샷을 읽는다.
+ * - 변경 요청은 스냅샷을 게시한 뒤에 반환되므로, 같은 사용자에 대해 변경 이후의 조회는 항상 그 결과 이후의 값을 읽는다(read-your-writes).
+ * - 최대 개수를 넘으면 임의의 스냅샷을 제거한다. 제거된 사용자는 다음 조회 때 원본에서 다시 적재한다.
+ *   조회 경로에 락을 두지 않기 위해 LRU 대신 해시 순서로 제거한다.
+ */
+public class UserPointSnapshots {
+
+    private static final int DEFAULT_MAX_SIZE = 100_000;
+    private static final int PUBLISH_STRIPES = 1024; // 2의 거듭제곱
+
+    private final int maxSize;
+    private final ConcurrentHashMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    // 원본 적재 중 같은 사용자의 스냅샷이 게시되었다면 적재 결과(이전 값)를 게시하지 않기 위한 게시 횟수
+    private final AtomicLongArray publishStamps = new AtomicLongArray(PUBLISH_STRIPES);
+
+    public UserPointSnapshots() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public UserPointSnapshots(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("스냅샷 최대 개수는 0보다 커야 합니다.");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 게시된 포인트 스냅샷
+     *
+     * @param userPoint 사용자 포인트
+     * @param version   사용자별 커밋 버전 (테이블에서 최초 적재된 경우 0, 제거 후 다시 게시되면 1부터 다시 센다)
+     */
+    public record Snapshot(UserPoint userPoint, long version) {
+    }
+
+    /**
+     * 게시된 스냅샷을 조회하고, 없으면 원본에서 적재하여 게시
+     * 적재 중 다른 커밋이 게시된 경우 적재 결과는 게시하지 않는다. (그 사이 커밋된 스냅샷이 제거되었더라도 이전 값을 게시하지 않는다)
+     *
+     * @param userId 사용자 아이디
+     * @param loader 원본 조회 함수
+     * @return UserPoint
+     */
+    public UserPoint getOrLoad(long userId, Supplier<UserPoint> loader) {
+        Snapshot snapshot = snapshots.get(userId);
+        if (snapshot != null) {
+            return snapshot.userPoint();
+        }
+
+        long stamp = publishStamps.get(stripe(userId));
+        Snapshot loaded = new Snapshot(loader.get(), 0L);
+        if (publishStamps.get(stripe(userId)) != stamp) {
+            return loaded.userPoint();
+        }
+        Snapshot published = snapshots.putIfAbsent(userId, loaded);
+        if (published != null) {
+            return published.userPoint();
+        }
+        evictIfFull(userId);
+        return loaded.userPoint();
+    }
+
+    /**
+     * 커밋된 포인트를 새 버전의 스냅샷으로 게시
+     *
+     * @param userPoint 커밋된 사용자 포인트
+     * @return 게시된 스냅샷
+     */
+    public Snapshot publish(UserPoint userPoint) {
+        // 게시 횟수를 먼저 올려야 진행 중인 적재가 이 커밋 이전 값을 게시하지 않는다.
+        publishStamps.incrementAndGet(stripe(userPoint.id()));
+        Snapshot snapshot = snapshots.compute(userPoint.id(), (id, previous) ->
+                new Snapshot(userPoint, previous == null ? 1L : previous.version() + 1));
+        evictIfFull(userPoint.id());
+        return snapshot;
+    }
+
+    /**
+     * 게시된 스냅샷 조회
+     *
+     * @param userId 사용자 아이디
+     * @return 게시된 스냅샷, 없으면 null
+     */
+    public Snapshot get(long userId) {
+        return snapshots.get(userId);
+    }
+
+    /**
+     * 게시된 스냅샷 수
+     */
+    int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * 최대 개수를 넘었으면 방금 게시한 사용자를 제외한 스냅샷을 제거
+     */
+    private void evictIfFull(long publishedUserId) {
+        if (snapshots.size() <= maxSize) {
+            return;
+        }
+        Iterator<Long> userIds = snapshots.keySet().iterator();
+        while (snapshots.size() > maxSize && userIds.hasNext()) {
+            if (userIds.next() != publishedUserId) {
+                userIds.remove();
+            }
+        }
+    }
+
+    private static int stripe(long userId) {
+        return Long.hashCode(userId) & (PUBLISH_STRIPES - 1);
+    }
+}
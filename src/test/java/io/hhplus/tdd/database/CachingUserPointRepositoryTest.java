@@ -0,0 +1,71 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+public class CachingUserPointRepositoryTest {
+
+    private final UserPointRepository delegate = mock(UserPointRepository.class);
+    private final CachingUserPointRepository repository = new CachingUserPointRepository(delegate, 2);
+
+    @Test
+    @DisplayName("캐시에 없는 포인트는 원본에서 한 번만 조회하고 이후에는 캐시에서 반환해야 한다.")
+    void 조회_캐시_적재() {
+        // given
+        given(delegate.selectById(1L)).willReturn(new UserPoint(1L, 1000L, 1L));
+
+        // when
+        repository.selectById(1L);
+        UserPoint userPoint = repository.selectById(1L);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(1000L);
+        verify(delegate, times(1)).selectById(1L);
+        assertThat(repository.missCount()).isEqualTo(1L);
+        assertThat(repository.hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("저장한 포인트는 원본에 기록하고 캐시에서 바로 조회되어야 한다.")
+    void 저장_캐시_갱신() {
+        // given
+        given(delegate.insertOrUpdate(1L, 3000L)).willReturn(new UserPoint(1L, 3000L, 1L));
+
+        // when
+        repository.insertOrUpdate(1L, 3000L);
+        UserPoint userPoint = repository.selectById(1L);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(3000L);
+        verify(delegate, times(1)).insertOrUpdate(1L, 3000L);
+        verify(delegate, never()).selectById(anyLong());
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 포인트부터 제거해야 한다.")
+    void 최대_크기_초과시_LRU_제거() {
+        // given
+        given(delegate.insertOrUpdate(anyLong(), anyLong()))
+                .willAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 1L));
+        given(delegate.selectById(anyLong()))
+                .willAnswer(invocation -> UserPoint.empty(invocation.getArgument(0)));
+        repository.insertOrUpdate(1L, 1000L);
+        repository.insertOrUpdate(2L, 2000L);
+        repository.selectById(1L); // 1번 사용자를 최근 사용 상태로 만든다.
+
+        // when
+        repository.insertOrUpdate(3L, 3000L);
+
+        // then - 2번 사용자가 제거되어 원본에서 다시 조회한다.
+        assertThat(repository.size()).isEqualTo(2);
+        assertThat(repository.evictionCount()).isEqualTo(1L);
+        assertThat(repository.selectById(1L).point()).isEqualTo(1000L);
+        repository.selectById(2L);
+        verify(delegate, times(1)).selectById(2L);
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColumnarPointHistoryRepositoryTest {
+
+    private final ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository();
+
+    @Test
+    @DisplayName("저장한 내역을 사용자별로 저장 순서대로 조회해야 한다.")
+    void 사용자별_내역_조회() {
+        // when
+        PointHistory first = repository.insert(1L, 1_000L, TransactionType.CHARGE, 10L);
+        repository.insert(2L, 2_000L, TransactionType.CHARGE, 20L);
+        repository.insert(1L, 500L, TransactionType.USE, 30L);
+
+        // then
+        assertThat(first).isEqualTo(new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, 10L));
+        assertThat(repository.selectAllByUserId(1L)).containsExactly(
+                new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, 10L),
+                new PointHistory(3L, 1L, 500L, TransactionType.USE, 30L));
+        assertThat(repository.selectAllByUserId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("청크가 가득 차면 다음 청크에 이어서 기록해야 한다.")
+    void 청크_경계를_넘는_기록() {
+        // given
+        int total = ColumnarPointHistoryRepository.CHUNK_SIZE * 2 + 10;
+
+        // when
+        for (int i = 0; i < total; i++) {
+            repository.insert(i % 2 == 0 ? 1L : 2L, i, TransactionType.CHARGE, i);
+        }
+
+        // then
+        List<PointHistory> histories = repository.selectAllByUserId(2L);
+        assertThat(repository.size()).isEqualTo(total);
+        assertThat(histories).hasSize(total / 2);
+        assertThat(histories.get(histories.size() - 1))
+                .isEqualTo(new PointHistory(total, 2L, total - 1, TransactionType.CHARGE, total - 1));
+    }
+
+    @Test
+    @DisplayName("커서 이후의 내역 중 시각 범위에 속하는 내역을 최대 조회 건수만큼 조회해야 한다.")
+    void 커서_기반_페이지_조회() {
+        // given - 1번 사용자의 내역 아이디는 1, 3, 5, ..., 199 이고 처리 시각은 아이디와 같다.
+        for (int i = 1; i <= 200; i++) {
+            repository.insert(i % 2 == 1 ? 1L : 2L, 1_000L, TransactionType.CHARGE, i);
+        }
+
+        // when
+        List<PointHistory> firstPage = repository.selectByUserId(1L, 0L, 0L, Long.MAX_VALUE, 3);
+        List<PointHistory> nextPage = repository.selectByUserId(1L, firstPage.get(2).id(), 0L, Long.MAX_VALUE, 3);
+        List<PointHistory> ranged = repository.selectByUserId(1L, 0L, 100L, 110L, 100);
+
+        // then
+        assertThat(firstPage).extracting(PointHistory::id).containsExactly(1L, 3L, 5L);
+        assertThat(nextPage).extracting(PointHistory::id).containsExactly(7L, 9L, 11L);
+        assertThat(ranged).extracting(PointHistory::id).containsExactly(101L, 103L, 105L, 107L, 109L);
+    }
+}
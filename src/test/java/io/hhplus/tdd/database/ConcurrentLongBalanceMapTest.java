@@ -0,0 +1,122 @@
+package io.hhplus.tdd.database;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrentLongBalanceMapTest {
+
+    @Test
+    @DisplayName("표 크기를 여러 번 늘려도 저장한 잔액과 수정 시각을 모두 조회해야 한다.")
+    void 표_확장_후_조회() {
+        // given - 구역 하나에 16칸으로 시작
+        ConcurrentLongBalanceMap map = new ConcurrentLongBalanceMap(1, 0);
+
+        // when
+        for (long key = 1; key <= 100_000; key++) {
+            map.put(key, key * 10, key + 1);
+        }
+
+        // then
+        assertThat(map.size()).isEqualTo(100_000L);
+        assertThat(map.balance(77_777L)).isEqualTo(777_770L);
+        assertThat(map.get(77_777L, (key, balance, updateMillis) -> updateMillis)).isEqualTo(77_778L);
+        assertThat(map.balance(100_001L)).isZero();
+        assertThat(map.get(100_001L, (key, balance, updateMillis) -> balance)).isNull();
+    }
+
+    @Test
+    @DisplayName("변경 후 잔액이 0 미만이거나 한도를 넘으면 거절하고 잔액은 그대로 두어야 한다.")
+    void 한도_밖_변경_거절() {
+        // given
+        ConcurrentLongBalanceMap map = new ConcurrentLongBalanceMap();
+        map.put(1L, 1_000L, 1L);
+
+        // when
+        long insufficient = map.add(1L, -2_000L, 10_000L, 2L, null);
+        long exceeded = map.add(1L, 10_000L, 10_000L, 2L, null);
+        long charged = map.add(1L, 9_000L, 10_000L, 3L, null);
+
+        // then
+        assertThat(insufficient).isEqualTo(ConcurrentLongBalanceMap.INSUFFICIENT);
+        assertThat(exceeded).isEqualTo(ConcurrentLongBalanceMap.LIMIT_EXCEEDED);
+        assertThat(charged).isEqualTo(10_000L);
+        assertThat(map.balance(1L)).isEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("변경 후 호출한 함수가 실패하면 잔액과 수정 시각을 이전 값으로 되돌려야 한다.")
+    void 후속_작업_실패시_되돌림() {
+        // given
+        ConcurrentLongBalanceMap map = new ConcurrentLongBalanceMap();
+        map.put(1L, 1_000L, 1L);
+        map.put(2L, 0L, 1L);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> map.add(1L, 500L, 10_000L, 2L,
+                (key, delta, balance, updateMillis) -> {
+                    throw new IllegalStateException("내역 저장 실패");
+                }));
+        assertThrows(IllegalStateException.class, () -> map.transfer(1L, 2L, 500L, 10_000L, 3L,
+                (fromKey, toKey, amount, fromBalance, toBalance, updateMillis) -> {
+                    throw new IllegalStateException("내역 저장 실패");
+                }));
+
+        // then
+        assertThat(map.get(1L, (key, balance, updateMillis) -> List.of(balance, updateMillis))).containsExactly(1_000L, 1L);
+        assertThat(map.balance(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 키들 사이에서 서로 반대 방향으로 잔액을 옮겨도 합계가 유지되고 교착 상태가 없어야 한다.")
+    void 동시_변경과_이동() throws InterruptedException {
+        // given - 10개 키에 각 100,000
+        ConcurrentLongBalanceMap map = new ConcurrentLongBalanceMap(4, 16);
+        for (long key = 1; key <= 10; key++) {
+            map.put(key, 100_000L, 0L);
+        }
+        int threadCount = 8;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int offset = t;
+            tasks.add(() -> {
+                try {
+                    for (int i = 0; i < 10_000; i++) {
+                        long from = 1 + (i + offset) % 10;
+                        long to = 1 + (i + offset + 1 + offset % 3) % 10;
+                        if (from != to) {
+                            map.transfer(from, to, 10L, Long.MAX_VALUE, i, null);
+                        }
+                        map.add(from, 1L, Long.MAX_VALUE, i, null);
+                        map.add(from, -1L, Long.MAX_VALUE, i, null);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            tasks.forEach(executor::submit);
+            assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // then
+        long total = 0L;
+        for (long key = 1; key <= 10; key++) {
+            total += map.balance(key);
+        }
+        assertThat(total).isEqualTo(1_000_000L);
+    }
+}
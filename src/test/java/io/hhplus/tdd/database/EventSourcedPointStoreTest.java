@@ -0,0 +1,232 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventSourcedPointStoreTest {
+
+    private final CountingPointHistoryRepository history = new CountingPointHistoryRepository();
+    private final MapUserPointRepository copy = new MapUserPointRepository();
+
+    @Test
+    @DisplayName("내역이 저장될 때마다 잔액 투영에 반영되고, 스냅샷 간격마다 스냅샷을 남겨야 한다.")
+    void 내역_저장시_투영_갱신_및_스냅샷() {
+        // given
+        EventSourcedPointStore store = new EventSourcedPointStore(history, copy, 3, 4);
+
+        // when - 1,000포인트 충전 5번, 500포인트 사용 1번
+        for (int i = 0; i < 5; i++) {
+            store.histories().insert(1L, 1_000L, TransactionType.CHARGE, i);
+        }
+        store.histories().insert(1L, 500L, TransactionType.USE, 5L);
+
+        // then
+        assertThat(store.userPoints().selectById(1L).point()).isEqualTo(4_500L);
+        assertThat(store.snapshot(1L)).isEqualTo(new EventSourcedPointStore.Snapshot(1L, 4_500L, 6L, 5L));
+        assertThat(copy.selectById(1L).point()).isZero(); // 사본은 잔액 저장 요청으로만 기록된다.
+    }
+
+    @Test
+    @DisplayName("투영이 없는 사용자는 마지막 스냅샷 이후의 내역만 재생하여 잔액을 계산해야 한다.")
+    void 스냅샷_이후_내역만_재생() {
+        // given - 스냅샷 간격 100, 내역 250건
+        EventSourcedPointStore store = new EventSourcedPointStore(history, copy, 100, 4);
+        for (int i = 0; i < 250; i++) {
+            store.histories().insert(1L, 1_000L, TransactionType.CHARGE, i);
+        }
+        store.evict(1L);
+        history.readCount.set(0);
+
+        // when
+        UserPoint userPoint = store.userPoints().selectById(1L);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(250_000L);
+        assertThat(history.readCount.get()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("PointService 의 충전/사용 결과는 내역으로 다시 계산한 잔액과 같아야 한다.")
+    void PointService_처리_결과와_재계산_결과_일치() {
+        // given
+        EventSourcedPointStore store = new EventSourcedPointStore(history, copy, 2, 4);
+        PointService pointService = new PointService(store.userPoints(), store.histories());
+
+        // when
+        pointService.chargePoints(1L, 10_000L);
+        pointService.usePoints(1L, 3_000L);
+        pointService.chargePoints(2L, 5_000L);
+        pointService.transferPoints(1L, 2L, 2_000L);
+
+        // then
+        EventSourcedPointStore.RebuildReport report = store.rebuild();
+        assertThat(report.userCount()).isEqualTo(2);
+        assertThat(report.mismatches()).isEmpty();
+        assertThat(store.userPoints().selectById(1L).point()).isEqualTo(5_000L);
+        assertThat(store.userPoints().selectById(2L).point()).isEqualTo(7_000L);
+    }
+
+    @Test
+    @DisplayName("잔액 사본이 내역과 다르면 재계산 결과에 보고해야 한다.")
+    void 사본_불일치_보고() {
+        // given - 내역 저장 후 사본에 다른 잔액이 기록된 경우
+        EventSourcedPointStore store = new EventSourcedPointStore(history, copy, 100, 4);
+        store.histories().insert(1L, 1_000L, TransactionType.CHARGE, 1L);
+        store.userPoints().insertOrUpdate(1L, 9_000L);
+
+        // when
+        EventSourcedPointStore.RebuildReport report = store.rebuild();
+
+        // then
+        assertThat(report.mismatches())
+                .containsExactly(new EventSourcedPointStore.Mismatch(1L, "copy", 1_000L, 9_000L));
+    }
+
+    @Test
+    @DisplayName("원본에만 저장되고 투영에 반영되지 않은 내역도 재계산 후 잔액에 반영되어야 한다.")
+    void 원본에만_저장된_내역_재계산_반영() {
+        // given
+        EventSourcedPointStore store = new EventSourcedPointStore(history, copy, 100, 4);
+        store.histories().insert(1L, 1_000L, TransactionType.CHARGE, 1L);
+        history.insert(1L, 2_000L, TransactionType.CHARGE, 2L);
+
+        // when
+        store.rebuild();
+
+        // then
+        assertThat(store.userPoints().selectById(1L).point()).isEqualTo(3_000L);
+    }
+
+    @Test
+    @DisplayName("여러 사용자의 잔액을 병렬로 다시 계산해야 한다.")
+    void 여러_사용자_병렬_재계산() {
+        // given - 1,000명에게 각 3건의 내역
+        EventSourcedPointStore store = new EventSourcedPointStore(history, copy, 2, 8);
+        for (long userId = 1; userId <= 1_000; userId++) {
+            store.histories().insert(userId, 3_000L, TransactionType.CHARGE, 1L);
+            store.histories().insert(userId, 1_000L, TransactionType.USE, 2L);
+            store.histories().insert(userId, 1_000L, TransactionType.CHARGE, 3L);
+            copy.insertOrUpdate(userId, 3_000L);
+        }
+
+        // when
+        EventSourcedPointStore.RebuildReport report = store.rebuild();
+
+        // then
+        assertThat(report.userCount()).isEqualTo(1_000);
+        assertThat(report.mismatches()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재시작하여 투영이 없는 사용자도 내역 원본의 사용자 목록으로 다시 계산해야 한다.")
+    void 재시작_후_투영_없는_사용자_재계산() {
+        // given - 같은 내역 원본 위에 새 저장소를 만들어 재시작을 흉내 낸다. 3번 사용자의 사본만 내역과 다르다.
+        EventSourcedPointStore before = new EventSourcedPointStore(history, copy, 100, 4);
+        for (long userId = 1; userId <= 3; userId++) {
+            before.histories().insert(userId, 1_000L, TransactionType.CHARGE, 1L);
+            copy.insertOrUpdate(userId, 1_000L);
+        }
+        copy.insertOrUpdate(3L, 5_000L);
+        EventSourcedPointStore restarted = new EventSourcedPointStore(history, copy, 100, 4);
+
+        // when
+        EventSourcedPointStore.RebuildReport report = restarted.rebuild();
+
+        // then
+        assertThat(report.userCount()).isEqualTo(3);
+        assertThat(report.mismatches())
+                .containsExactly(new EventSourcedPointStore.Mismatch(3L, "copy", 1_000L, 5_000L));
+    }
+
+    @Test
+    @DisplayName("투영은 최대 개수까지만 보관하고, 제거된 사용자는 다음 조회 때 내역을 재생하여 잔액을 계산해야 한다.")
+    void 최대_투영_수_초과시_오래된_투영_제거() {
+        // given - 최대 투영 2개
+        EventSourcedPointStore store = new EventSourcedPointStore(history, copy, 100, 4, 2);
+        store.histories().insert(1L, 1_000L, TransactionType.CHARGE, 1L);
+        store.histories().insert(2L, 2_000L, TransactionType.CHARGE, 2L);
+        store.userPoints().selectById(1L); // 1번 사용자를 최근에 사용한 투영으로 만든다.
+
+        // when
+        store.histories().insert(3L, 3_000L, TransactionType.CHARGE, 3L);
+
+        // then - 가장 오래 사용되지 않은 2번 사용자의 투영이 제거된다.
+        assertThat(store.projectionCount()).isEqualTo(2);
+        history.readCount.set(0);
+        assertThat(store.userPoints().selectById(1L).point()).isEqualTo(1_000L);
+        assertThat(history.readCount.get()).isZero();
+        assertThat(store.userPoints().selectById(2L).point()).isEqualTo(2_000L);
+        assertThat(history.readCount.get()).isEqualTo(1);
+        assertThat(store.projectionCount()).isEqualTo(2);
+    }
+
+    /**
+     * 아이디를 순서대로 부여하고, 페이지 조회로 읽은 내역 수를 세는 내역 저장소
+     */
+    private static class CountingPointHistoryRepository implements UserIndexedPointHistory {
+        private final AtomicLong sequence = new AtomicLong();
+        private final IndexedPointHistoryRepository index = new IndexedPointHistoryRepository(new PointHistoryRepository() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                return new PointHistory(sequence.incrementAndGet(), userId, amount, type, updateMillis);
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        private final AtomicInteger readCount = new AtomicInteger();
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            return index.insert(userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return index.selectAllByUserId(userId);
+        }
+
+        @Override
+        public List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+            List<PointHistory> page = index.selectByUserId(userId, afterId, fromMillis, toMillis, limit);
+            readCount.addAndGet(page.size());
+            return page;
+        }
+
+        @Override
+        public Set<Long> userIds() {
+            return index.userIds();
+        }
+    }
+
+    private static class MapUserPointRepository implements UserPointRepository {
+        private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
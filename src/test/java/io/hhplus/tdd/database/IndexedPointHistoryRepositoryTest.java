@@ -0,0 +1,109 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndexedPointHistoryRepositoryTest {
+
+    private static final long TARGET_USER_ID = 1L;
+    private static final int TARGET_USER_HISTORIES = 100;
+    private static final int LOOKUP_COUNT = 1_000;
+
+    @Test
+    @DisplayName("사용자별 내역을 저장 순서대로 조회해야 한다.")
+    void 사용자별_내역_조회() {
+        // given
+        IndexedPointHistoryRepository repository = new IndexedPointHistoryRepository(new SequencePointHistoryRepository());
+
+        // when
+        for (int i = 0; i < 200; i++) {
+            repository.insert(i % 2 == 0 ? 1L : 2L, 1000L + i, TransactionType.CHARGE, i);
+        }
+
+        // then
+        List<PointHistory> histories = repository.selectAllByUserId(1L);
+        assertThat(histories).hasSize(100);
+        assertThat(histories).extracting(PointHistory::userId).containsOnly(1L);
+        assertThat(histories).extracting(PointHistory::id).isSorted();
+        assertThat(repository.selectAllByUserId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("전체 내역이 100배 늘어나도 특정 사용자의 내역 조회 시간은 늘어나지 않아야 한다.")
+    void 전체_내역_증가와_무관한_조회_시간() {
+        // given
+        IndexedPointHistoryRepository small = filled(10_000);
+        IndexedPointHistoryRepository large = filled(1_000_000);
+
+        // when - 워밍업 후 측정
+        measure(small);
+        measure(large);
+        long smallNanos = measure(small);
+        long largeNanos = measure(large);
+
+        // then - 전체를 훑는다면 100배 가까이 느려진다.
+        assertThat(largeNanos).isLessThan(smallNanos * 5);
+    }
+
+    private IndexedPointHistoryRepository filled(int totalHistories) {
+        IndexedPointHistoryRepository repository = new IndexedPointHistoryRepository(new SequencePointHistoryRepository());
+        int interval = totalHistories / TARGET_USER_HISTORIES;
+        for (int i = 0; i < totalHistories; i++) {
+            long userId = i % interval == 0 ? TARGET_USER_ID : 2L + i % 10_000;
+            repository.insert(userId, 1000L, TransactionType.CHARGE, i);
+        }
+        return repository;
+    }
+
+    private long measure(IndexedPointHistoryRepository repository) {
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            assertThat(repository.selectAllByUserId(TARGET_USER_ID)).hasSize(TARGET_USER_HISTORIES);
+        }
+        return Math.max(System.nanoTime() - startNanos, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    // 지연 없이 아이디만 부여하는 원본 저장소
+    private static class SequencePointHistoryRepository implements PointHistoryRepository {
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            return new PointHistory(sequence.incrementAndGet(), userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Test
+    @DisplayName("커서 이후의 내역 중 시각 범위에 속하는 내역을 최대 조회 건수만큼 조회해야 한다.")
+    void 커서_기반_페이지_조회() {
+        // given - 1번 사용자의 내역 아이디는 1, 3, 5, ..., 199 이고 처리 시각은 아이디와 같다.
+        IndexedPointHistoryRepository repository = new IndexedPointHistoryRepository(new SequencePointHistoryRepository());
+        for (int i = 1; i <= 200; i++) {
+            repository.insert(i % 2 == 1 ? 1L : 2L, 1000L, TransactionType.CHARGE, i);
+        }
+
+        // when
+        List<PointHistory> firstPage = repository.selectByUserId(1L, 0L, 0L, Long.MAX_VALUE, 3);
+        List<PointHistory> nextPage = repository.selectByUserId(1L, firstPage.get(2).id(), 0L, Long.MAX_VALUE, 3);
+        List<PointHistory> ranged = repository.selectByUserId(1L, 0L, 100L, 110L, 100);
+
+        // then
+        assertThat(firstPage).extracting(PointHistory::id).containsExactly(1L, 3L, 5L);
+        assertThat(nextPage).extracting(PointHistory::id).containsExactly(7L, 9L, 11L);
+        assertThat(ranged).extracting(PointHistory::id).containsExactly(101L, 103L, 105L, 107L, 109L);
+        assertThat(repository.selectByUserId(1L, 199L, 0L, Long.MAX_VALUE, 3)).isEmpty();
+    }
+}
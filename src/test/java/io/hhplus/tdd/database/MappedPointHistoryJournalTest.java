@@ -0,0 +1,189 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MappedPointHistoryJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("저장한 내역을 사용자별로 저장 순서대로 조회해야 한다.")
+    void 사용자별_내역_조회() {
+        // given
+        try (MappedPointHistoryJournal journal = new MappedPointHistoryJournal(directory, 1_000, false)) {
+            // when
+            journal.insert(1L, 1_000L, TransactionType.CHARGE, 10L);
+            journal.insert(2L, 2_000L, TransactionType.CHARGE, 20L);
+            journal.insert(1L, 500L, TransactionType.USE, 30L);
+
+            // then
+            assertThat(journal.selectAllByUserId(1L)).containsExactly(
+                    new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, 10L),
+                    new PointHistory(3L, 1L, 500L, TransactionType.USE, 30L));
+            assertThat(journal.selectAllByUserId(3L)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트에 이어서 기록해야 한다.")
+    void 세그먼트_교체() throws IOException {
+        // given - 세그먼트 하나에 4건
+        try (MappedPointHistoryJournal journal = new MappedPointHistoryJournal(directory, 4, false)) {
+            // when
+            for (int i = 1; i <= 10; i++) {
+                journal.insert(1L, 1_000L, TransactionType.CHARGE, i);
+            }
+
+            // then
+            assertThat(segmentFiles()).hasSize(3);
+            assertThat(journal.selectAllByUserId(1L)).extracting(PointHistory::id)
+                    .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        }
+    }
+
+    @Test
+    @DisplayName("다시 열면 저장된 내역과 아이디를 이어서 사용해야 한다.")
+    void 재시작_후_내역_유지() {
+        // given
+        try (MappedPointHistoryJournal journal = new MappedPointHistoryJournal(directory, 4, false)) {
+            for (int i = 1; i <= 6; i++) {
+                journal.insert(i % 2 == 0 ? 2L : 1L, 1_000L, TransactionType.CHARGE, i);
+            }
+        }
+
+        // when
+        try (MappedPointHistoryJournal reopened = new MappedPointHistoryJournal(directory, 4, false)) {
+            PointHistory next = reopened.insert(1L, 2_000L, TransactionType.USE, 7L);
+
+            // then
+            assertThat(next.id()).isEqualTo(7L);
+            assertThat(reopened.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 3L, 5L, 7L);
+            assertThat(reopened.selectAllByUserId(2L)).extracting(PointHistory::id).containsExactly(2L, 4L, 6L);
+        }
+    }
+
+    @Test
+    @DisplayName("마지막 레코드가 불완전하게 기록되었다면 시작 시 지우고 그 아이디부터 다시 기록해야 한다.")
+    void 불완전한_마지막_레코드_복구() throws IOException {
+        // given - 3번째 레코드의 금액을 덮어써 checksum 이 맞지 않게 만든다.
+        try (MappedPointHistoryJournal journal = new MappedPointHistoryJournal(directory, 100, false)) {
+            for (int i = 1; i <= 3; i++) {
+                journal.insert(1L, 1_000L, TransactionType.CHARGE, i);
+            }
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(2L * MappedPointHistoryJournal.RECORD_SIZE + 16);
+            file.writeLong(999_999L);
+        }
+
+        // when
+        try (MappedPointHistoryJournal recovered = new MappedPointHistoryJournal(directory, 100, false)) {
+            PointHistory next = recovered.insert(1L, 2_000L, TransactionType.CHARGE, 4L);
+
+            // then
+            assertThat(recovered.lastId()).isEqualTo(3L);
+            assertThat(next.id()).isEqualTo(3L);
+            assertThat(recovered.selectAllByUserId(1L)).extracting(PointHistory::amount)
+                    .containsExactly(1_000L, 1_000L, 2_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("중간 세그먼트의 레코드가 불완전하다면 이후 내역을 지우지 않고 시작을 중단해야 한다.")
+    void 중간_세그먼트_불완전한_레코드_시작_중단() throws IOException {
+        // given - 세그먼트 하나에 4건, 내역 10건(세그먼트 3개) 중 3번째 레코드를 덮어써 checksum 이 맞지 않게 만든다.
+        try (MappedPointHistoryJournal journal = new MappedPointHistoryJournal(directory, 4, false)) {
+            for (int i = 1; i <= 10; i++) {
+                journal.insert(i <= 2 ? 1L : 2L, 1_000L, TransactionType.CHARGE, i);
+            }
+        }
+        corrupt(segmentFiles().get(0), 2);
+        List<byte[]> before = readAll(segmentFiles());
+
+        // when & then - 파일은 손대지 않고 남아 있어야 한다.
+        assertThatThrownBy(() -> new MappedPointHistoryJournal(directory, 4, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("아이디 3");
+        assertThat(segmentFiles()).hasSize(3);
+        assertThat(readAll(segmentFiles())).containsExactlyElementsOf(before);
+    }
+
+    @Test
+    @DisplayName("마지막 세그먼트의 불완전한 레코드 뒤에 온전한 레코드가 있다면 지우지 않고 시작을 중단해야 한다.")
+    void 마지막_세그먼트_중간_레코드_손상시_시작_중단() throws IOException {
+        // given - 내역 5건 중 3번째 레코드를 덮어쓴다.
+        try (MappedPointHistoryJournal journal = new MappedPointHistoryJournal(directory, 100, false)) {
+            for (int i = 1; i <= 5; i++) {
+                journal.insert(1L, 1_000L, TransactionType.CHARGE, i);
+            }
+        }
+        corrupt(segmentFiles().get(0), 2);
+        List<byte[]> before = readAll(segmentFiles());
+
+        // when & then
+        assertThatThrownBy(() -> new MappedPointHistoryJournal(directory, 100, false))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(readAll(segmentFiles())).containsExactlyElementsOf(before);
+    }
+
+    @Test
+    @DisplayName("커서 이후의 내역 중 시각 범위에 속하는 내역을 최대 조회 건수만큼 조회해야 한다.")
+    void 커서_기반_페이지_조회() {
+        // given - 1번 사용자의 내역 아이디는 1, 3, 5, ..., 199 이고 처리 시각은 아이디와 같다.
+        try (MappedPointHistoryJournal journal = new MappedPointHistoryJournal(directory, 64, false)) {
+            for (int i = 1; i <= 200; i++) {
+                journal.insert(i % 2 == 1 ? 1L : 2L, 1_000L, TransactionType.CHARGE, i);
+            }
+
+            // when
+            List<PointHistory> firstPage = journal.selectByUserId(1L, 0L, 0L, Long.MAX_VALUE, 3);
+            List<PointHistory> nextPage = journal.selectByUserId(1L, firstPage.get(2).id(), 0L, Long.MAX_VALUE, 3);
+            List<PointHistory> ranged = journal.selectByUserId(1L, 0L, 100L, 110L, 100);
+
+            // then
+            assertThat(firstPage).extracting(PointHistory::id).containsExactly(1L, 3L, 5L);
+            assertThat(nextPage).extracting(PointHistory::id).containsExactly(7L, 9L, 11L);
+            assertThat(ranged).extracting(PointHistory::id).containsExactly(101L, 103L, 105L, 107L, 109L);
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /**
+     * 레코드의 금액을 덮어써 checksum 이 맞지 않게 만든다.
+     */
+    private static void corrupt(Path segment, int slot) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek((long) slot * MappedPointHistoryJournal.RECORD_SIZE + 16);
+            file.writeLong(999_999L);
+        }
+    }
+
+    private static List<byte[]> readAll(List<Path> files) throws IOException {
+        List<byte[]> contents = new ArrayList<>();
+        for (Path file : files) {
+            contents.add(Files.readAllBytes(file));
+        }
+        return contents;
+    }
+}
@@ -0,0 +1,153 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PointStateSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("유지되지 않는 내역 저장소면 잔액과 내역 전체를 스냅샷에서 복원해야 한다.")
+    void 잔액과_내역_복원() {
+        // given
+        ConcurrentLongBalanceMap balances = new ConcurrentLongBalanceMap(4, 16);
+        ColumnarPointHistoryRepository history = new ColumnarPointHistoryRepository();
+        change(balances, history, 1L, 1_000L, 10L);
+        change(balances, history, 2L, 2_000L, 20L);
+        change(balances, history, 1L, -300L, 30L);
+        new PointStateSnapshotter(snapshotFile(), balances, history).write();
+
+        // when
+        ConcurrentLongBalanceMap restoredBalances = new ConcurrentLongBalanceMap(4, 16);
+        ColumnarPointHistoryRepository restoredHistory = new ColumnarPointHistoryRepository();
+        PointStateSnapshotter.Report report = new PointStateSnapshotter(snapshotFile(), restoredBalances, restoredHistory).restore();
+
+        // then
+        assertThat(report.users()).isEqualTo(2L);
+        assertThat(report.replayed()).isZero();
+        assertThat(restoredBalances.get(1L, (key, balance, updateMillis) -> balance + "/" + updateMillis)).isEqualTo("700/30");
+        assertThat(restoredBalances.balance(2L)).isEqualTo(2_000L);
+        assertThat(restoredHistory.selectAllByUserId(1L)).containsExactly(
+                new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, 10L),
+                new PointHistory(3L, 1L, 300L, TransactionType.USE, 30L));
+    }
+
+    @Test
+    @DisplayName("유지되는 내역 저장소면 스냅샷 이후의 내역을 잔액에 다시 적용해야 한다.")
+    void 스냅샷_이후_내역_적용() {
+        // given - 스냅샷 이후에도 충전/사용이 이어진 뒤 종료
+        Path journalDirectory = directory.resolve("journal");
+        try (MappedPointHistoryJournal journal = new MappedPointHistoryJournal(journalDirectory, 1_000, false)) {
+            ConcurrentLongBalanceMap balances = new ConcurrentLongBalanceMap(4, 16);
+            change(balances, journal, 1L, 1_000L, 10L);
+            new PointStateSnapshotter(snapshotFile(), balances, journal).write();
+            change(balances, journal, 1L, -400L, 20L);
+            change(balances, journal, 2L, 500L, 30L);
+        }
+
+        // when
+        try (MappedPointHistoryJournal journal = new MappedPointHistoryJournal(journalDirectory, 1_000, false)) {
+            ConcurrentLongBalanceMap restored = new ConcurrentLongBalanceMap(4, 16);
+            PointStateSnapshotter.Report report = new PointStateSnapshotter(snapshotFile(), restored, journal).restore();
+
+            // then
+            assertThat(report.replayed()).isEqualTo(2L);
+            assertThat(restored.get(1L, (key, balance, updateMillis) -> balance + "/" + updateMillis)).isEqualTo("600/20");
+            assertThat(restored.balance(2L)).isEqualTo(500L);
+        }
+    }
+
+    @Test
+    @DisplayName("기록 중에 잔액이 바뀌어도 복원한 잔액은 복원한 내역의 합계와 같아야 한다.")
+    void 기록_중_변경() throws InterruptedException {
+        // given - 4개 스레드가 100명의 잔액을 계속 바꾸는 동안 스냅샷 기록
+        ConcurrentLongBalanceMap balances = new ConcurrentLongBalanceMap(8, 16);
+        ColumnarPointHistoryRepository history = new ColumnarPointHistoryRepository();
+        int threadCount = 4;
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            for (int t = 0; t < threadCount; t++) {
+                int offset = t;
+                executor.submit(() -> {
+                    try {
+                        for (long i = 0; running.get(); i++) {
+                            long userId = 1 + (i * 7 + offset) % 100;
+                            change(balances, history, userId, i % 3 == 2 ? -10L : 10L, i);
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+
+            // when
+            Thread.sleep(50L);
+            for (int i = 0; i < 5; i++) {
+                new PointStateSnapshotter(snapshotFile(), balances, history).write();
+            }
+            running.set(false);
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+        ConcurrentLongBalanceMap restoredBalances = new ConcurrentLongBalanceMap(8, 16);
+        ColumnarPointHistoryRepository restoredHistory = new ColumnarPointHistoryRepository();
+        new PointStateSnapshotter(snapshotFile(), restoredBalances, restoredHistory).restore();
+
+        // then
+        for (long userId = 1; userId <= 100; userId++) {
+            long sum = restoredHistory.selectAllByUserId(userId).stream()
+                    .mapToLong(h -> h.type() == TransactionType.CHARGE ? h.amount() : -h.amount())
+                    .sum();
+            assertThat(restoredBalances.balance(userId)).isEqualTo(sum);
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷 파일이 손상되었으면 복원하지 않아야 한다.")
+    void 손상된_스냅샷() throws IOException {
+        // given
+        ConcurrentLongBalanceMap balances = new ConcurrentLongBalanceMap(4, 16);
+        ColumnarPointHistoryRepository history = new ColumnarPointHistoryRepository();
+        change(balances, history, 1L, 1_000L, 10L);
+        new PointStateSnapshotter(snapshotFile(), balances, history).write();
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile().toFile(), "rw")) {
+            file.seek(30L);
+            file.write(0x7f);
+        }
+
+        // when & then
+        ConcurrentLongBalanceMap restored = new ConcurrentLongBalanceMap(4, 16);
+        assertThrows(IllegalStateException.class,
+                () -> new PointStateSnapshotter(snapshotFile(), restored, new ColumnarPointHistoryRepository()).restore());
+        assertThat(restored.size()).isZero();
+    }
+
+    private Path snapshotFile() {
+        return directory.resolve("point-state.snap");
+    }
+
+    /**
+     * PointService 와 같이 잔액 변경과 내역 저장을 구역 락 안에서 함께 수행
+     */
+    private static void change(ConcurrentLongBalanceMap balances, PointHistoryLog history, long userId, long delta, long updateMillis) {
+        balances.add(userId, delta, Long.MAX_VALUE, updateMillis, (key, value, balance, millis) ->
+                history.append(key, Math.abs(value), value >= 0 ? TransactionType.CHARGE : TransactionType.USE, millis));
+    }
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TieredPointHistoryRepositoryTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    private long now = 100 * DAY;
+    // 사용자별 최근 내역 3건, 최근 내역 보관 2일, 집계 보관 10일
+    private final TieredPointHistoryRepository repository = new TieredPointHistoryRepository(
+            3, Duration.ofDays(2), Duration.ofDays(10), ZoneOffset.UTC, () -> now);
+
+    @Test
+    @DisplayName("최근 내역 보관 건수를 넘으면 가장 오래된 내역부터 일 단위 CHARGE, USE 합계로 압축되어 함께 조회되어야 한다.")
+    void 보관_건수_초과시_일_단위_집계() {
+        // given - 1일차에 충전 2건과 사용 1건, 2일차에 충전 3건
+        repository.insert(1L, 1_000L, TransactionType.CHARGE, DAY + 10);
+        repository.insert(1L, 300L, TransactionType.USE, DAY + 20);
+        repository.insert(1L, 2_000L, TransactionType.CHARGE, DAY + 30);
+        repository.insert(2L, 5_000L, TransactionType.CHARGE, DAY + 40);
+
+        // when
+        repository.insert(1L, 100L, TransactionType.CHARGE, 2 * DAY + 10);
+        repository.insert(1L, 200L, TransactionType.CHARGE, 2 * DAY + 20);
+        repository.insert(1L, 400L, TransactionType.CHARGE, 2 * DAY + 30);
+
+        // then - 1일차 내역은 아이디 3(충전), 2(사용)의 집계로, 최근 3건은 원본 그대로 조회된다.
+        assertThat(repository.selectAllByUserId(1L)).containsExactly(
+                new PointHistory(2L, 1L, 300L, TransactionType.USE, DAY),
+                new PointHistory(3L, 1L, 3_000L, TransactionType.CHARGE, DAY),
+                new PointHistory(5L, 1L, 100L, TransactionType.CHARGE, 2 * DAY + 10),
+                new PointHistory(6L, 1L, 200L, TransactionType.CHARGE, 2 * DAY + 20),
+                new PointHistory(7L, 1L, 400L, TransactionType.CHARGE, 2 * DAY + 30));
+        assertThat(repository.selectAllByUserId(2L)).containsExactly(
+                new PointHistory(4L, 2L, 5_000L, TransactionType.CHARGE, DAY + 40));
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 최근 내역은 집계로 압축되고, 보관 기간이 지난 집계는 버려져야 한다.")
+    void 보관_기간에_따른_압축과_삭제() {
+        // given - 97일차 내역 1건, 85일차 내역 1건, 99일차 내역 1건
+        repository.insert(1L, 1_000L, TransactionType.CHARGE, 85 * DAY);
+        repository.insert(1L, 500L, TransactionType.USE, 97 * DAY + 100);
+        repository.insert(1L, 700L, TransactionType.CHARGE, 99 * DAY + 100);
+        repository.insert(2L, 1_000L, TransactionType.CHARGE, 80 * DAY);
+
+        // when
+        int compacted = repository.compact();
+
+        // then - 2일 이전 내역은 압축되고, 그 중 10일 이전 날의 집계는 버려진다. 2번 사용자는 내역이 모두 사라진다.
+        assertThat(compacted).isEqualTo(3);
+        assertThat(repository.selectAllByUserId(1L)).containsExactly(
+                new PointHistory(2L, 1L, 500L, TransactionType.USE, 97 * DAY),
+                new PointHistory(3L, 1L, 700L, TransactionType.CHARGE, 99 * DAY + 100));
+        assertThat(repository.selectAllByUserId(2L)).isEmpty();
+
+        // 내역이 모두 사라진 사용자도 다시 기록할 수 있다.
+        repository.insert(2L, 300L, TransactionType.CHARGE, now);
+        assertThat(repository.selectAllByUserId(2L)).containsExactly(
+                new PointHistory(5L, 2L, 300L, TransactionType.CHARGE, now));
+    }
+
+    @Test
+    @DisplayName("집계와 최근 내역에 걸쳐 아이디 커서로 이어서 조회할 수 있어야 한다.")
+    void 커서_기반_페이지_조회() {
+        // given - 하루에 1건씩 10일치 충전, 최근 3건을 뺀 7건은 7개의 집계가 된다.
+        for (int day = 1; day <= 10; day++) {
+            repository.insert(1L, day, TransactionType.CHARGE, day * DAY + 1);
+        }
+
+        // when
+        List<PointHistory> firstPage = repository.selectByUserId(1L, 0L, 0L, Long.MAX_VALUE, 4);
+        List<PointHistory> secondPage = repository.selectByUserId(1L, firstPage.get(3).id(), 0L, Long.MAX_VALUE, 4);
+        List<PointHistory> lastPage = repository.selectByUserId(1L, secondPage.get(3).id(), 0L, Long.MAX_VALUE, 4);
+        List<PointHistory> range = repository.selectByUserId(1L, 0L, 6 * DAY, 9 * DAY, 10);
+
+        // then
+        assertThat(firstPage).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(secondPage).extracting(PointHistory::id).containsExactly(5L, 6L, 7L, 8L);
+        assertThat(lastPage).extracting(PointHistory::id).containsExactly(9L, 10L);
+        assertThat(range).extracting(PointHistory::amount).containsExactly(6L, 7L, 8L);
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.database;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "point.user-point.cache.enabled=true",
+        "point.user-point.cache.max-size=100"
+})
+public class UserPointCacheIntegrationTest {
+
+    private static final int READ_COUNT = 20;
+
+    @Autowired
+    private UserPointRepository userPointRepository;
+
+    @Autowired
+    private UserPointTable userPointTable;
+
+    @Test
+    @DisplayName("캐시를 사용하면 반복 조회 시 테이블 지연 없이 조회되어야 한다.")
+    void 캐시_사용_여부에_따른_조회_지연_비교() {
+        // given
+        long userId = 1L;
+        userPointRepository.insertOrUpdate(userId, 10_000L);
+        UserPointRepository uncached = new UserPointTableRepository(userPointTable);
+
+        // when
+        long uncachedMillis = measure(() -> uncached.selectById(userId));
+        long cachedMillis = measure(() -> userPointRepository.selectById(userId));
+
+        // then - 캐시를 사용하지 않으면 조회마다 평균 100ms 의 테이블 지연이 발생한다.
+        assertThat(userPointRepository).isInstanceOf(CachingUserPointRepository.class);
+        assertThat(uncached).isNotInstanceOf(CachingUserPointRepository.class);
+        assertThat(uncachedMillis).isGreaterThan(cachedMillis);
+        assertThat(cachedMillis).isLessThan(50L);
+
+        CachingUserPointRepository cache = (CachingUserPointRepository) userPointRepository;
+        assertThat(cache.hitCount()).isEqualTo(READ_COUNT);
+        assertThat(cache.missCount()).isZero();
+    }
+
+    private long measure(Runnable read) {
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < READ_COUNT; i++) {
+            read.run();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
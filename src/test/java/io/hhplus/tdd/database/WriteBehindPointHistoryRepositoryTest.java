@@ -0,0 +1,99 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class WriteBehindPointHistoryRepositoryTest {
+
+    @Test
+    @DisplayName("테이블에 저장되기 전인 내역도 등록 순서대로 조회되어야 한다.")
+    void 저장_전_내역_조회() throws InterruptedException {
+        // given - 게이트가 열릴 때까지 저장이 멈춰 있는 테이블
+        GatedPointHistoryTable table = new GatedPointHistoryTable();
+        WriteBehindPointHistoryRepository repository = new WriteBehindPointHistoryRepository(table, 100);
+
+        // when
+        repository.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        repository.insert(2L, 2000L, TransactionType.CHARGE, 2L);
+        repository.insert(1L, 500L, TransactionType.USE, 3L);
+
+        // then - 저장 전
+        assertThat(repository.selectAllByUserId(1L))
+                .extracting(PointHistory::id, PointHistory::amount)
+                .containsExactly(
+                        tuple(1L, 1000L),
+                        tuple(3L, 500L)
+                );
+
+        // then - 저장 후에도 같은 내역이 중복 없이 조회된다.
+        table.gate.countDown();
+        repository.close();
+        assertThat(repository.backlog()).isZero();
+        assertThat(table.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 3L);
+        assertThat(repository.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("버퍼가 가득 차면 저장될 때까지 등록이 대기해야 한다.")
+    void 버퍼_가득_찬_경우_등록_대기() throws Exception {
+        // given - 크기가 1인 버퍼, 첫 번째 내역은 테이블 저장 중 멈춰 있다.
+        GatedPointHistoryTable table = new GatedPointHistoryTable();
+        WriteBehindPointHistoryRepository repository = new WriteBehindPointHistoryRepository(table, 1);
+        repository.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+
+        // when
+        CompletableFuture<PointHistory> blocked = CompletableFuture.supplyAsync(
+                () -> repository.insert(1L, 2000L, TransactionType.CHARGE, 2L));
+
+        // then
+        TimeUnit.MILLISECONDS.sleep(300L);
+        assertThat(blocked).isNotDone();
+
+        table.gate.countDown();
+        assertThat(blocked.get(5, TimeUnit.SECONDS).id()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("종료 시 버퍼에 남은 내역을 모두 순서대로 저장해야 한다.")
+    void 종료_시_남은_내역_저장() throws InterruptedException {
+        // given
+        GatedPointHistoryTable table = new GatedPointHistoryTable();
+        WriteBehindPointHistoryRepository repository = new WriteBehindPointHistoryRepository(table, 1_000);
+        for (int i = 1; i <= 20; i++) {
+            repository.insert(1L, i * 1000L, TransactionType.CHARGE, i);
+        }
+
+        // when
+        table.gate.countDown();
+        repository.close();
+
+        // then
+        List<PointHistory> histories = table.selectAllByUserId(1L);
+        assertThat(histories).hasSize(20);
+        assertThat(histories).extracting(PointHistory::updateMillis).isSorted();
+    }
+
+    private static class GatedPointHistoryTable extends PointHistoryTable {
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.insert(userId, amount, type, updateMillis);
+        }
+    }
+}
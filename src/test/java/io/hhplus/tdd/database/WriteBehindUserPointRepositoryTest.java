@@ -0,0 +1,72 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WriteBehindUserPointRepositoryTest {
+
+    @Test
+    @DisplayName("테이블에 저장되기 전인 잔액도 바로 조회되고, 종료 시 사용자별 마지막 잔액이 테이블에 반영되어야 한다.")
+    void 저장_전_잔액_조회_및_종료_시_반영() throws InterruptedException {
+        // given - 게이트가 열릴 때까지 저장이 멈춰 있는 테이블
+        GatedUserPointTable table = new GatedUserPointTable();
+        WriteBehindUserPointRepository repository = new WriteBehindUserPointRepository(table);
+
+        // when
+        repository.insertOrUpdate(1L, 1000L);
+        repository.insertOrUpdate(2L, 2000L);
+        repository.insertOrUpdate(1L, 3000L);
+        repository.insertOrUpdate(1L, 5000L);
+
+        // then - 저장 전
+        assertThat(repository.selectById(1L).point()).isEqualTo(5000L);
+        assertThat(repository.selectById(2L).point()).isEqualTo(2000L);
+
+        // then - 같은 사용자의 연속 저장은 합쳐서 반영된다.
+        table.gate.countDown();
+        repository.close();
+        assertThat(repository.backlog()).isZero();
+        assertThat(table.selectById(1L).point()).isEqualTo(5000L);
+        assertThat(table.selectById(2L).point()).isEqualTo(2000L);
+        assertThat(table.updates.get()).isLessThan(4);
+    }
+
+    @Test
+    @DisplayName("이 저장소로 저장된 적 없는 사용자는 테이블의 잔액을 조회해야 한다.")
+    void 저장된_적_없는_사용자_테이블_조회() throws InterruptedException {
+        // given
+        UserPointTable table = new UserPointTable();
+        table.insertOrUpdate(1L, 7000L);
+        WriteBehindUserPointRepository repository = new WriteBehindUserPointRepository(table);
+
+        // when
+        UserPoint userPoint = repository.selectById(1L);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(7000L);
+        assertThat(repository.selectById(2L).point()).isZero();
+        repository.close();
+    }
+
+    private static class GatedUserPointTable extends UserPointTable {
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final AtomicInteger updates = new AtomicInteger();
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            updates.incrementAndGet();
+            return super.insertOrUpdate(id, amount);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotUserRouterTest {
+
+    @Test
+    @DisplayName("스케치는 윈도 안의 요청 수를 작게 추정하지 않고, 윈도를 벗어난 구간의 요청은 세지 않아야 한다.")
+    void 슬라이딩_윈도_추정() {
+        // given - 1초 윈도를 250ms 구간 4개로 나눔
+        long[] now = {0L};
+        HotKeyDetector detector = new HotKeyDetector(1_000L, 4, 4, 1 << 10, () -> now[0]);
+
+        // when
+        for (int i = 0; i < 300; i++) {
+            detector.record(1L);
+        }
+        for (long userId = 2; userId <= 10_000; userId++) {
+            detector.record(userId);
+        }
+        now[0] = 600L;
+        detector.record(1L);
+
+        // then
+        assertThat(detector.estimate(1L)).isGreaterThanOrEqualTo(301L);
+        now[0] = 1_100L; // 첫 구간(0 ~ 250ms)이 윈도를 벗어남
+        assertThat(detector.estimate(1L)).isGreaterThanOrEqualTo(1L).isLessThan(300L);
+    }
+
+    @Test
+    @DisplayName("요청이 몰리는 사용자는 전용 대기열에서 배치로 처리되고, 요청이 줄면 그룹 커밋으로 돌아가야 한다.")
+    void 전용_대기열_전환과_해제() throws InterruptedException {
+        // given - 윈도 안에 50건 이상이면 전환
+        UserLockManager userLockManager = new UserLockManager(new PointMetrics(new SimpleMeterRegistry()));
+        HotUserRouter router = new HotUserRouter(new PointGroupCommitter(userLockManager), userLockManager,
+                new HotKeyDetector(200L, 4, 4, 1 << 10), 50L, 20L, new PointMetrics(new SimpleMeterRegistry()));
+        AtomicLong balance = new AtomicLong();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        boolean[] hot = {false};
+
+        // when - 가상 스레드 2,000개가 같은 사용자에게 충전 요청
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2_000; i++) {
+                executor.submit(() -> router.submit(new PointCommand(1L, TransactionType.CHARGE, 1_000L), (userId, batch) -> {
+                    hot[0] |= router.isHot(userId);
+                    batchSizes.add(batch.size());
+                    for (PointCommand command : batch) {
+                        command.complete(new UserPoint(userId, balance.addAndGet(command.amount()), 0L));
+                    }
+                }));
+            }
+        }
+
+        // then - 모든 요청이 반영되고, 전환된 뒤에는 여러 요청이 한 배치로 처리된다.
+        assertThat(balance.get()).isEqualTo(2_000_000L);
+        assertThat(hot[0]).isTrue();
+        assertThat(batchSizes.size()).isLessThan(2_000);
+        TimeUnit.MILLISECONDS.sleep(500L); // 윈도(200ms)가 지나면 요청 수 추정값이 기준 아래로 내려간다.
+        assertThat(router.size()).isZero();
+    }
+}
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HttpPointShardTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private HttpServer server;
+
+    @AfterEach
+    void 서버_종료() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("503 거절은 응답 본문의 거절 사유로 전달해야 한다.")
+    void 응답_본문의_거절_사유_전달() throws IOException {
+        // given - 담당 노드가 바뀌는 중이라는 503 응답
+        HttpPointShard shard = shard(503, "3", "{\"code\":\"503\",\"message\":\"사용자의 담당 노드가 바뀌는 중입니다.\",\"reason\":\"SHARD_MOVED\"}", 0L, TIMEOUT);
+
+        // when
+        PointOverloadedException e = assertThrows(PointOverloadedException.class, () -> shard.chargePoints(1L, 1_000L));
+
+        // then
+        assertThat(e.reason()).isEqualTo(PointOverloadedException.Reason.SHARD_MOVED);
+        assertThat(e.retryAfter()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    @DisplayName("거절 사유가 없는 503 거절은 전체 한도 거절로, 해석할 수 없는 Retry-After 는 기본값으로 전달해야 한다.")
+    void 거절_사유_없는_응답() throws IOException {
+        // given
+        HttpPointShard shard = shard(503, "soon", "Service Unavailable", 0L, TIMEOUT);
+
+        // when
+        PointOverloadedException e = assertThrows(PointOverloadedException.class, () -> shard.chargePoints(1L, 1_000L));
+
+        // then
+        assertThat(e.reason()).isEqualTo(PointOverloadedException.Reason.GLOBAL_LIMIT);
+        assertThat(e.retryAfter()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Retry-After 는 초와 HTTP 날짜 형식을 모두 해석해야 한다.")
+    void Retry_After_해석() {
+        // given
+        String inOneMinute = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+
+        // when & then
+        assertThat(HttpPointShard.retryAfter(" 5 ")).isEqualTo(Duration.ofSeconds(5));
+        assertThat(HttpPointShard.retryAfter(inOneMinute)).isBetween(Duration.ofSeconds(55), Duration.ofSeconds(60));
+        assertThat(HttpPointShard.retryAfter(past)).isEqualTo(Duration.ZERO);
+        assertThat(HttpPointShard.retryAfter("-1")).isEqualTo(Duration.ofSeconds(1));
+        assertThat(HttpPointShard.retryAfter("99999999999999999999")).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("응답 시간 안에 응답을 받지 못하면 처리 여부를 알 수 없다는 예외를 던져야 한다.")
+    void 응답_시간_초과시_결과_알_수_없음() throws IOException {
+        // given - 요청 시간 제한(300ms)보다 늦게 응답하는 노드
+        HttpPointShard shard = shard(200, null, "{\"id\":1,\"point\":1000,\"updateMillis\":1}", 2_000L, Duration.ofMillis(300));
+
+        // when & then
+        assertThrows(PointShardIndeterminateException.class, () -> shard.chargePoints(1L, 1_000L));
+    }
+
+    private HttpPointShard shard(int status, String retryAfter, String body, long delayMillis, Duration timeout) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (retryAfter != null) {
+                exchange.getResponseHeaders().add("Retry-After", retryAfter);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            } catch (IOException ignored) {
+                // 시간 초과로 연결이 닫힌 경우
+            }
+        });
+        server.start();
+        return new HttpPointShard("http://localhost:" + server.getAddress().getPort(), "test-secret", new ObjectMapper(), timeout);
+    }
+}
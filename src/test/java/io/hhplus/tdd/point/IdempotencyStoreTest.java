@@ -0,0 +1,231 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class IdempotencyStoreTest {
+
+    private final IdempotencyStore idempotencyStore = new IdempotencyStore(60_000L, 100);
+
+    @Test
+    @DisplayName("같은 키로 다시 요청하면 작업을 실행하지 않고 처음 결과를 반환해야 한다.")
+    void 같은_키_재요청시_처음_결과_반환() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint first = idempotencyStore.execute("key-1", "charge:1:1000", () -> {
+            executions.incrementAndGet();
+            return new UserPoint(1L, 1000L, 1L);
+        });
+
+        // when
+        UserPoint replayed = idempotencyStore.execute("key-1", "charge:1:1000", () -> {
+            executions.incrementAndGet();
+            return new UserPoint(1L, 2000L, 2L);
+        });
+
+        // then
+        assertThat(replayed).isEqualTo(first);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처음 요청이 실패했다면 같은 키로 다시 요청해도 같은 실패를 반환해야 한다.")
+    void 같은_키_재요청시_처음_실패_반환() {
+        // given
+        assertThrows(RuntimeException.class, () -> idempotencyStore.execute("key-1", "use:1:5000", () -> {
+            throw new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+        }));
+
+        // when & then
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> idempotencyStore.execute("key-1", "use:1:5000", () -> new UserPoint(1L, 0L, 1L))
+        );
+        assertThat(exception.getMessage()).isEqualTo("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청을 보내면 실행하지 않고 요청 실패")
+    void 같은_키_다른_요청시_IllegalArgumentException_발생() {
+        // given
+        idempotencyStore.execute("key-1", "charge:1:1000", () -> new UserPoint(1L, 1000L, 1L));
+
+        // when & then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> idempotencyStore.execute("key-1", "charge:1:2000", () -> new UserPoint(1L, 3000L, 1L))
+        );
+        assertThat(exception.getMessage()).isEqualTo("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 들어온 요청은 한 번만 실행되고 모두 같은 결과를 받아야 한다.")
+    void 같은_키_동시_요청시_한_번만_실행() throws InterruptedException {
+        // given
+        int requestCount = 50;
+        AtomicInteger executions = new AtomicInteger();
+        Set<UserPoint> results = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch ready = new CountDownLatch(requestCount);
+        CountDownLatch done = new CountDownLatch(requestCount);
+
+        // when - 처음 요청은 200ms 동안 실행된다.
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    ready.countDown();
+                    ready.await();
+                    results.add(idempotencyStore.execute("key-1", "charge:1:1000", () -> {
+                        executions.incrementAndGet();
+                        sleep(200L);
+                        return new UserPoint(1L, 1000L, System.nanoTime());
+                    }));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(results).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("보관 시간이 지난 키로 요청하면 새 요청으로 실행해야 한다.")
+    void 보관_시간이_지난_키는_다시_실행() {
+        // given
+        IdempotencyStore shortLived = new IdempotencyStore(50L, 100);
+        AtomicInteger executions = new AtomicInteger();
+        shortLived.execute("key-1", "charge:1:1000", executions::incrementAndGet);
+
+        // when
+        sleep(100L);
+        shortLived.execute("key-1", "charge:1:1000", executions::incrementAndGet);
+
+        // then
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(shortLived.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 먼저 등록된 키부터 제거해야 한다.")
+    void 최대_개수_초과시_오래된_키_제거() {
+        // given
+        IdempotencyStore bounded = new IdempotencyStore(60_000L, 2);
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        bounded.execute("key-1", "charge:1:1000", executions::incrementAndGet);
+        bounded.execute("key-2", "charge:1:1000", executions::incrementAndGet);
+        bounded.execute("key-3", "charge:1:1000", executions::incrementAndGet);
+        bounded.execute("key-1", "charge:1:1000", executions::incrementAndGet);
+
+        // then - key-1 은 제거된 뒤 다시 실행된다.
+        assertThat(executions.get()).isEqualTo(4);
+        assertThat(bounded.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("처음 요청이 Error 로 끝났다면 같은 키로 다시 요청해도 기다리지 않고 같은 Error 를 받아야 한다.")
+    void 같은_키_재요청시_처음_Error_반환() {
+        // given
+        Error error = new Error("테스트 오류");
+        assertThrows(Error.class, () -> idempotencyStore.execute("key-1", "charge:1:1000", () -> {
+            throw error;
+        }));
+
+        // when & then
+        Error replayed = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(
+                Error.class,
+                () -> idempotencyStore.execute("key-1", "charge:1:1000", () -> new UserPoint(1L, 1000L, 1L))
+        ));
+        assertThat(replayed).isSameAs(error);
+    }
+
+    @Test
+    @DisplayName("실행 중인 키는 최대 개수를 넘어도 제거하지 않고, 끝난 키부터 제거해야 한다.")
+    void 최대_개수_초과시_실행_중인_키_유지() throws Exception {
+        // given - 최대 1개, key-1 은 실행 중이다.
+        IdempotencyStore bounded = new IdempotencyStore(60_000L, 1);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> running = CompletableFuture.supplyAsync(() -> bounded.execute("key-1", "charge:1:1000", () -> {
+            started.countDown();
+            await(release);
+            return executions.incrementAndGet();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        bounded.execute("key-2", "charge:1:1000", executions::incrementAndGet);
+        bounded.execute("key-3", "charge:1:1000", executions::incrementAndGet);
+        release.countDown();
+        int first = running.get(5, TimeUnit.SECONDS);
+
+        // then - key-1 은 다시 실행되지 않고 처음 결과를 반환한다.
+        assertThat(bounded.execute("key-1", "charge:1:1000", executions::incrementAndGet)).isEqualTo(first);
+        assertThat(executions.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("가장 먼저 등록된 키가 실행 중이어도 그 뒤의 만료된 키는 정리해야 한다.")
+    void 실행_중인_키_뒤의_만료된_키_정리() throws Exception {
+        // given - key-1 은 실행 중이고, key-2 는 끝난 뒤 만료된다.
+        IdempotencyStore shortLived = new IdempotencyStore(50L, 100);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> running = CompletableFuture.supplyAsync(() -> shortLived.execute("key-1", "charge:1:1000", () -> {
+            started.countDown();
+            await(release);
+            return executions.incrementAndGet();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        shortLived.execute("key-2", "charge:1:1000", executions::incrementAndGet);
+
+        // when
+        sleep(100L);
+        shortLived.execute("key-3", "charge:1:1000", executions::incrementAndGet);
+
+        // then - 실행 중인 key-1 과 새로 등록한 key-3 만 남는다.
+        assertThat(shortLived.size()).isEqualTo(2);
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
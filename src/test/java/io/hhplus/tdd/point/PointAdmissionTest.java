@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PointAdmissionTest {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("같은 사용자의 동시 요청이 한도를 넘으면 429 로 거절하고, 처리가 끝나면 다시 받아야 한다.")
+    void 사용자_한도_초과() {
+        // given - 사용자별 2건, 전체 10건
+        PointAdmission admission = new PointAdmission(new AdaptiveConcurrencyLimit(10, 1, 10), 2, pointMetrics);
+        PointAdmission.Permit first = admission.acquire(1L, TIMEOUT_NANOS);
+        admission.acquire(1L, TIMEOUT_NANOS);
+
+        // when
+        PointOverloadedException exception = assertThrows(PointOverloadedException.class, () -> admission.acquire(1L, TIMEOUT_NANOS));
+        admission.acquire(2L, TIMEOUT_NANOS);
+        admission.release(first);
+
+        // then
+        assertThat(exception.reason()).isEqualTo(PointOverloadedException.Reason.USER_LIMIT);
+        assertThat(exception.retryAfter().toSeconds()).isPositive();
+        assertThat(admission.acquire(1L, TIMEOUT_NANOS).userId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("전체 동시 요청이 한도를 넘으면 사용자와 관계없이 503 으로 거절해야 한다.")
+    void 전체_한도_초과() {
+        // given - 전체 2건
+        PointAdmission admission = new PointAdmission(new AdaptiveConcurrencyLimit(2, 1, 2), 16, pointMetrics);
+        admission.acquire(1L, TIMEOUT_NANOS);
+        admission.acquire(2L, TIMEOUT_NANOS);
+
+        // when
+        PointOverloadedException exception = assertThrows(PointOverloadedException.class, () -> admission.acquire(3L, TIMEOUT_NANOS));
+
+        // then
+        assertThat(exception.reason()).isEqualTo(PointOverloadedException.Reason.GLOBAL_LIMIT);
+    }
+
+    @Test
+    @DisplayName("처리 시간이 평소보다 길어지면 전체 한도를 줄이고, 평균 처리 시간에 맞추어 사용자별 한도도 줄여야 한다.")
+    void 처리_시간_증가시_한도_감소() {
+        // given - 평소 처리 시간 10ms 로 한도를 채워 처리
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1_000);
+        PointAdmission admission = new PointAdmission(limit, 16, pointMetrics);
+        for (int i = 0; i < 100; i++) {
+            process(limit, 80, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int steadyLimit = limit.limit();
+
+        // when - 처리 시간이 100ms 로 증가
+        for (int i = 0; i < 20; i++) {
+            process(limit, 32, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        // then
+        assertThat(steadyLimit).isGreaterThanOrEqualTo(100);
+        assertThat(limit.limit()).isLessThan(steadyLimit / 2);
+        assertThat(admission.userLimit(TimeUnit.MILLISECONDS.toNanos(100))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("기한을 넘겨 끝난 요청이 생기면 처리 시간과 관계없이 한도를 바로 줄여야 한다.")
+    void 기한_초과시_한도_감소() {
+        // given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1_000);
+
+        // when
+        limit.tryAcquire();
+        limit.release(1L, true);
+
+        // then
+        assertThat(limit.limit()).isEqualTo(90);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    private static void process(AdaptiveConcurrencyLimit limit, int count, long rttNanos) {
+        int acquired = 0;
+        while (acquired < count && limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos, false);
+        }
+    }
+}
@@ -9,13 +9,27 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -125,4 +139,190 @@ public class PointControllerTest {
                 .andExpect(jsonPath("$[1].amount").value(2000L)) // 두 번째 내역의 금액 검증
                 .andExpect(jsonPath("$[1].type").value(TransactionType.USE.name())); // 두 번째 내역의 타입 검증
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /point/{id}/histories?after=&limit= 요청 시 커서 이후의 내역을 반환해야 한다.")
+    void 포인트_내역_페이지_조회_성공() throws Exception {
+        // given
+        long userId = 1L;
+        long currentTime = System.currentTimeMillis();
+
+        PointHistory history = new PointHistory(11L, userId, 1000L, TransactionType.CHARGE, currentTime);
+
+        // when
+        given(pointService.getPointHistories(userId, 10L, null, null, 1))
+                .willReturn(List.of(history));
+
+        // then
+        mockMvc.perform(get("/point/{id}/histories", userId)
+                        .param("after", "10")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].id").value(11L));
+    }
+
+    @Test
+    @DisplayName("GET /point/{id}/histories/export 요청 시 내역을 한 줄에 하나씩 NDJSON으로 내보내야 한다.")
+    void 포인트_내역_NDJSON_내보내기_성공() throws Exception {
+        // given
+        long userId = 1L;
+        long currentTime = System.currentTimeMillis();
+
+        PointHistory history1 = new PointHistory(1L, userId, 1000L, TransactionType.CHARGE, currentTime);
+        PointHistory history2 = new PointHistory(2L, userId, 500L, TransactionType.USE, currentTime);
+
+        // when
+        given(pointService.streamPointHistories(userId, null))
+                .willReturn(Stream.of(history1, history2));
+
+        MvcResult result = mockMvc.perform(get("/point/{id}/histories/export", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "id"))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(history1) + "\n" + objectMapper.writeValueAsString(history2) + "\n"));
+    }
+
+    @Test
+    @DisplayName("Range: id={아이디}- 헤더로 요청하면 해당 아이디부터 이어서 내보내야 한다.")
+    void 포인트_내역_NDJSON_이어서_내보내기_성공() throws Exception {
+        // given
+        long userId = 1L;
+        PointHistory history = new PointHistory(11L, userId, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        given(pointService.streamPointHistories(userId, 10L))
+                .willReturn(Stream.of(history));
+
+        MvcResult result = mockMvc.perform(get("/point/{id}/histories/export", userId)
+                        .header("Range", "id=11-"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "id 11-*/*"))
+                .andExpect(content().string(objectMapper.writeValueAsString(history) + "\n"));
+    }
+
+    @Test
+    @DisplayName("Range 의 시작 아이디가 long 범위를 넘으면 416 으로 응답해야 한다.")
+    void 포인트_내역_NDJSON_범위_초과_Range_416() throws Exception {
+        // when & then
+        mockMvc.perform(get("/point/{id}/histories/export", 1L)
+                        .header("Range", "id=99999999999999999999-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "id */*"));
+        verify(pointService, never()).streamPointHistories(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("POST /point/charges 요청 시 항목별 충전 결과를 요청 순서대로 NDJSON으로 반환해야 한다.")
+    void 포인트_일괄_충전_성공() throws Exception {
+        // given
+        List<PointChargeRequest> requests = List.of(
+                new PointChargeRequest(1L, 1000L),
+                new PointChargeRequest(2L, 500L));
+        PointChargeResult success = PointChargeResult.success(1L, 1000L, new UserPoint(1L, 1000L, System.currentTimeMillis()));
+        PointChargeResult failure = PointChargeResult.failure(2L, 500L, "충전 포인트는 최소 1000 이상이어야 합니다.");
+
+        // when
+        given(pointService.chargePointsInBulk(anyList()))
+                .willReturn(List.of(success, failure));
+
+        MvcResult result = mockMvc.perform(post("/point/charges")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(success) + "\n" + objectMapper.writeValueAsString(failure) + "\n"));
+    }
+
+    @Test
+    @DisplayName("POST /point/{id}/transfer 요청 시 전송 후 두 사용자의 포인트를 반환해야 한다.")
+    void 포인트_전송_성공() throws Exception {
+        // given
+        long currentTime = System.currentTimeMillis();
+        PointTransferResult transferResult = new PointTransferResult(
+                new UserPoint(1L, 2000L, currentTime),
+                new UserPoint(2L, 4000L, currentTime));
+
+        // when
+        given(pointService.transferPoints(1L, 2L, 3000L))
+                .willReturn(transferResult);
+
+        // then
+        mockMvc.perform(post("/point/{id}/transfer", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PointTransferRequest(2L, 3000L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.point").value(2000L))
+                .andExpect(jsonPath("$.to.id").value(2L))
+                .andExpect(jsonPath("$.to.point").value(4000L));
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 충전을 다시 요청하면 다시 충전하지 않고 처음 결과를 반환해야 한다.")
+    void 멱등_키_충전_재요청시_처음_결과_반환() throws Exception {
+        // given
+        long userId = 3L;
+        UserPoint charged = new UserPoint(userId, 1000L, System.currentTimeMillis());
+
+        // when
+        given(pointService.chargePoints(userId, 1000L))
+                .willReturn(charged);
+
+        // then
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(patch("/point/{id}/charge", userId)
+                            .header("Idempotency-Key", "charge-retry-key")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("1000"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point").value(1000L))
+                    .andExpect(jsonPath("$.updateMillis").value(charged.updateMillis()));
+        }
+        verify(pointService, times(1)).chargePoints(userId, 1000L);
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 요청이 한도를 넘어 거절되면 429와 Retry-After 를 응답해야 한다.")
+    void 사용자_요청_한도_초과시_429() throws Exception {
+        // given
+        long userId = 4L;
+
+        // when
+        given(pointService.getPoints(userId))
+                .willThrow(new PointOverloadedException(PointOverloadedException.Reason.USER_LIMIT,
+                        "같은 사용자의 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", Duration.ofSeconds(2)));
+
+        // then
+        mockMvc.perform(get("/point/{id}", userId))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.code").value("429"));
+    }
+
+    @Test
+    @DisplayName("처리 기한 헤더가 숫자가 아니면 처리하지 않아야 한다.")
+    void 처리_기한_헤더_오류() throws Exception {
+        // then
+        mockMvc.perform(get("/point/{id}", 5L)
+                        .header(PointAdmissionInterceptor.REQUEST_TIMEOUT, "soon"))
+                .andExpect(status().isInternalServerError());
+        verify(pointService, times(0)).getPoints(5L);
+    }
+}
@@ -0,0 +1,271 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableRepository;
+import io.hhplus.tdd.database.WriteBehindPointHistoryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PointGroupCommitterTest {
+
+    // 테이블 호출 횟수를 세기 위해 고정 지연(5ms)을 갖는 테이블 사용
+    private final CountingUserPointTable userPointTable = new CountingUserPointTable();
+    private final CountingPointHistoryTable pointHistoryTable = new CountingPointHistoryTable();
+    private final WriteBehindPointHistoryRepository pointHistoryRepository = new WriteBehindPointHistoryRepository(pointHistoryTable, 10_000);
+    private final PointService pointService = new PointService(new UserPointTableRepository(userPointTable), pointHistoryRepository);
+
+    @Test
+    @DisplayName("한 사용자에게 1,000건의 충전이 동시에 요청되면 배치 단위로 잔액을 조회/저장하고 요청마다 자신의 순서에 맞는 잔액을 반환해야 한다.")
+    void 동일_사용자_1000건_동시_충전_그룹_커밋() throws InterruptedException {
+        // given
+        long userId = 1L;
+        int requestCount = 1_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(100);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        Set<Long> results = ConcurrentHashMap.newKeySet();
+
+        // when
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    results.add(pointService.chargePoints(userId, 1000L).point());
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        executorService.shutdown();
+
+        // then - 요청마다 충전 순서에 해당하는 서로 다른 잔액을 받는다.
+        assertThat(results).isEqualTo(LongStream.rangeClosed(1, requestCount).map(i -> i * 1000L).boxed().collect(Collectors.toSet()));
+        assertThat(pointService.getPoints(userId).point()).isEqualTo(1_000_000L);
+
+        // 잔액 조회/저장은 요청 수보다 훨씬 적게, 내역은 요청마다 저장된다.
+        pointHistoryRepository.close();
+        assertThat(userPointTable.selects.get()).isLessThan(requestCount / 10);
+        assertThat(userPointTable.updates.get()).isEqualTo(userPointTable.selects.get());
+        assertThat(pointHistoryTable.inserts.get()).isEqualTo(requestCount);
+
+        // 요청마다 3회 테이블을 호출하면 최소 15초(1,000 x 3 x 5ms)가 걸린다.
+        assertThat(elapsedMillis).isLessThan(15_000L);
+    }
+
+    @Test
+    @DisplayName("동시에 요청된 사용 중 잔액을 초과하는 요청만 실패하고 나머지는 성공해야 한다.")
+    void 동시_사용_요청중_잔액_초과_요청만_실패() throws InterruptedException {
+        // given - 50,000 포인트 보유
+        long userId = 2L;
+        pointService.chargePoints(userId, 50_000L);
+
+        int requestCount = 10;
+        ExecutorService executorService = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicInteger successCount = new AtomicInteger();
+        Map<String, Integer> failures = new ConcurrentHashMap<>();
+
+        // when - 6,000 포인트 사용 10건
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    pointService.usePoints(userId, 6_000L);
+                    successCount.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failures.merge(e.getMessage(), 1, Integer::sum);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(8);
+        assertThat(failures).containsExactly(Map.entry("사용 포인트가 보유한 잔액을 초과할 수 없습니다.", 2));
+        assertThat(pointService.getPoints(userId).point()).isEqualTo(2_000L);
+    }
+
+    @Test
+    @DisplayName("처리 기한까지 사용자 락을 얻지 못한 요청은 처리하지 않고 대기열에서 빠져야 한다.")
+    void 처리_기한_초과_요청_제외() throws InterruptedException {
+        // given - 다른 요청이 사용자 락을 300ms 동안 보유
+        UserLockManager userLockManager = new UserLockManager();
+        PointGroupCommitter groupCommitter = new PointGroupCommitter(userLockManager);
+        List<PointCommand> processed = new CopyOnWriteArrayList<>();
+        BiConsumer<Long, List<PointCommand>> processor = (userId, batch) -> {
+            processed.addAll(batch);
+            batch.forEach(command -> command.complete(new UserPoint(userId, command.amount(), 0L)));
+        };
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> userLockManager.executeWithLock(1L, () -> {
+            locked.countDown();
+            sleep(300L);
+            return null;
+        }));
+        locked.await();
+
+        // when - 기한 50ms 로 충전 요청
+        PointDeadline.start(TimeUnit.MILLISECONDS.toNanos(50L));
+        try {
+            PointOverloadedException exception = assertThrows(PointOverloadedException.class,
+                    () -> groupCommitter.submit(new PointCommand(1L, TransactionType.CHARGE, 1_000L), processor));
+            assertThat(exception.reason()).isEqualTo(PointOverloadedException.Reason.DEADLINE_EXCEEDED);
+        } finally {
+            PointDeadline.clear();
+        }
+        holder.join();
+        groupCommitter.submit(new PointCommand(1L, TransactionType.CHARGE, 2_000L), processor);
+
+        // then - 기한이 지난 요청은 다음 배치에도 포함되지 않는다.
+        assertThat(processed).extracting(PointCommand::amount).containsExactly(2_000L);
+        assertThat(userLockManager.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("배치 처리 중 내역 저장이 실패하면 내역이 저장된 요청까지만 잔액에 반영되고, 나머지 요청은 실패해야 한다.")
+    void 내역_저장_실패시_잔액_되돌림() throws InterruptedException {
+        // given - 첫 번째 내역 저장은 게이트가 열릴 때까지 멈추고, 세 번째 내역 저장은 실패한다.
+        long userId = 3L;
+        CountingUserPointTable table = new CountingUserPointTable();
+        FailingPointHistoryRepository histories = new FailingPointHistoryRepository(3);
+        PointService service = new PointService(new UserPointTableRepository(table), histories);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        CountDownLatch latch = new CountDownLatch(4);
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failureCount = new AtomicInteger();
+        Runnable charge = () -> {
+            try {
+                service.chargePoints(userId, 1_000L);
+                successCount.incrementAndGet();
+            } catch (RuntimeException e) {
+                failureCount.incrementAndGet();
+            } finally {
+                latch.countDown();
+            }
+        };
+
+        // when - 첫 번째 충전이 내역 저장에서 멈춘 사이 3건이 대기열에 쌓여 다음 배치로 함께 처리된다.
+        executorService.submit(charge);
+        histories.blocked.await();
+        for (int i = 0; i < 3; i++) {
+            executorService.submit(charge);
+        }
+        sleep(200L);
+        histories.gate.countDown();
+        latch.await();
+        executorService.shutdown();
+
+        // then - 내역이 저장된 2건만 잔액에 반영된다.
+        assertThat(successCount.get()).isEqualTo(2);
+        assertThat(failureCount.get()).isEqualTo(2);
+        assertThat(table.selectById(userId).point()).isEqualTo(2_000L);
+        assertThat(service.getPoints(userId).point()).isEqualTo(2_000L);
+        assertThat(service.getPointHistories(userId)).hasSize(2);
+    }
+
+    private static void sleep() {
+        sleep(5L);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CountingUserPointTable extends UserPointTable {
+        private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private final AtomicInteger selects = new AtomicInteger();
+        private final AtomicInteger updates = new AtomicInteger();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            selects.incrementAndGet();
+            sleep();
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            updates.incrementAndGet();
+            sleep();
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    private static class CountingPointHistoryTable extends PointHistoryTable {
+        private final AtomicInteger inserts = new AtomicInteger();
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            sleep();
+            return new PointHistory(inserts.incrementAndGet(), userId, amount, type, updateMillis);
+        }
+    }
+
+    /**
+     * 첫 번째 저장은 게이트가 열릴 때까지 멈추고, failAt 번째 저장은 실패하는 내역 저장소
+     */
+    private static class FailingPointHistoryRepository implements PointHistoryRepository {
+        private final PointHistoryRepository delegate = new ColumnarPointHistoryRepository();
+        private final AtomicInteger inserts = new AtomicInteger();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final int failAt;
+
+        FailingPointHistoryRepository(int failAt) {
+            this.failAt = failAt;
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            int count = inserts.incrementAndGet();
+            if (count == 1) {
+                blocked.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (count == failAt) {
+                throw new RuntimeException("내역 저장에 실패했습니다.");
+            }
+            return delegate.insert(userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return delegate.selectAllByUserId(userId);
+        }
+    }
+}
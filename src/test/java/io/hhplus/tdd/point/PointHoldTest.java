@@ -0,0 +1,140 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.database.PrimitiveUserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PointHoldTest {
+
+    @Nested
+    @DisplayName("테이블 저장소 사용 시 테스트")
+    class TableRepository extends HoldScenarios {
+        TableRepository() {
+            super(new PointService(new UserPointTableRepository(new UserPointTable()), new ColumnarPointHistoryRepository()));
+        }
+    }
+
+    @Nested
+    @DisplayName("잔액 맵 저장소 사용 시 테스트")
+    class PrimitiveRepository extends HoldScenarios {
+        PrimitiveRepository() {
+            super(new PointService(new PrimitiveUserPointRepository(), new ColumnarPointHistoryRepository()));
+        }
+    }
+
+    abstract static class HoldScenarios {
+
+        private final PointService pointService;
+
+        HoldScenarios(PointService pointService) {
+            this.pointService = pointService;
+        }
+
+        @Test
+        @DisplayName("예약한 포인트는 사용 가능 포인트에서 빠지고, 예약을 뺀 포인트를 초과해 사용할 수 없다.")
+        void 예약_후_사용_가능_포인트_초과_사용시_RuntimeException_발생() {
+            // given
+            pointService.chargePoints(1L, 10_000L);
+
+            // when
+            pointService.reservePoints(1L, 7_000L);
+
+            // then
+            UserPoint userPoint = pointService.getPoints(1L);
+            assertThat(userPoint.point()).isEqualTo(10_000L);
+            assertThat(userPoint.available()).isEqualTo(3_000L);
+            assertThrows(RuntimeException.class, () -> pointService.usePoints(1L, 4_000L));
+            assertThrows(RuntimeException.class, () -> pointService.reservePoints(1L, 4_000L));
+            assertThat(pointService.usePoints(1L, 3_000L).available()).isZero();
+        }
+
+        @Test
+        @DisplayName("예약을 확정하면 잔액이 줄고 사용 내역이 저장되며, 같은 예약은 다시 확정하거나 취소할 수 없다.")
+        void 예약_확정_성공() {
+            // given
+            pointService.chargePoints(1L, 10_000L);
+            PointHold hold = pointService.reservePoints(1L, 4_000L);
+
+            // when
+            UserPoint captured = pointService.capturePoints(1L, hold.holdId());
+
+            // then
+            assertThat(captured.point()).isEqualTo(6_000L);
+            assertThat(captured.available()).isEqualTo(6_000L);
+            List<PointHistory> histories = pointService.getPointHistories(1L);
+            assertThat(histories).extracting(PointHistory::type).containsExactly(TransactionType.CHARGE, TransactionType.USE);
+            assertThat(histories.get(1).amount()).isEqualTo(4_000L);
+            assertThrows(RuntimeException.class, () -> pointService.capturePoints(1L, hold.holdId()));
+            assertThrows(RuntimeException.class, () -> pointService.releasePoints(1L, hold.holdId()));
+        }
+
+        @Test
+        @DisplayName("예약을 취소하면 사용 가능 포인트가 돌아오고 잔액과 내역은 그대로다.")
+        void 예약_취소_성공() {
+            // given
+            pointService.chargePoints(1L, 10_000L);
+            PointHold hold = pointService.reservePoints(1L, 4_000L);
+
+            // when
+            pointService.releasePoints(1L, hold.holdId());
+
+            // then
+            UserPoint userPoint = pointService.getPoints(1L);
+            assertThat(userPoint.point()).isEqualTo(10_000L);
+            assertThat(userPoint.available()).isEqualTo(10_000L);
+            assertThat(pointService.getPointHistories(1L)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("다른 사용자의 예약은 확정할 수 없다.")
+        void 다른_사용자_예약_확정시_RuntimeException_발생() {
+            // given
+            pointService.chargePoints(1L, 10_000L);
+            PointHold hold = pointService.reservePoints(1L, 4_000L);
+
+            // when & then
+            RuntimeException exception = assertThrows(
+                    RuntimeException.class,
+                    () -> pointService.capturePoints(2L, hold.holdId())
+            );
+            assertThat(exception.getMessage()).isEqualTo("처리할 수 있는 포인트 예약이 없습니다.");
+            assertThat(pointService.getPoints(1L).available()).isEqualTo(6_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("만료 시각이 지난 예약은 타이머 휠이 칸을 넘길 때 해제된다.")
+    void 예약_만료() {
+        // given - 100ms 칸 8개짜리 휠, 시각은 직접 움직인다.
+        long[] now = {1_000L};
+        TimerWheel timerWheel = new TimerWheel(100L, 8, "point-hold-expiry-test", () -> now[0]);
+        PointHolds pointHolds = new PointHolds(timerWheel);
+        PointHold shortHold = pointHolds.hold(1L, 1_000L, 1_250L);
+        PointHold longHold = pointHolds.hold(1L, 2_000L, 3_000L); // 휠 한 바퀴(800ms)보다 먼 예약
+
+        // when
+        now[0] = 1_300L;
+        timerWheel.advance();
+
+        // then
+        assertThat(pointHolds.get(shortHold.holdId())).isNull();
+        assertThat(pointHolds.held(1L)).isEqualTo(2_000L);
+        now[0] = 2_900L;
+        timerWheel.advance();
+        assertThat(pointHolds.get(longHold.holdId())).isNotNull();
+        now[0] = 3_000L;
+        timerWheel.advance();
+        assertThat(pointHolds.size()).isZero();
+        assertThat(pointHolds.held(1L)).isZero();
+        pointHolds.close();
+    }
+}
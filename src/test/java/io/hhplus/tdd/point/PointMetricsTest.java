@@ -0,0 +1,66 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PointMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PointMetrics pointMetrics = new PointMetrics(registry);
+
+    @Test
+    @DisplayName("사용자 락을 거쳐 실행된 작업마다 락 대기 시간과 보유 시간이 기록되어야 한다.")
+    void 락_대기_보유_시간_기록() throws InterruptedException {
+        // given
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        int requestCount = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(10);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    userLockManager.executeWithLock(1L, () -> null);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(registry.get("point.lock.wait").timer().count()).isEqualTo(requestCount);
+        assertThat(registry.get("point.lock.hold").timer().count()).isEqualTo(requestCount);
+        assertThat(registry.get("point.lock.queue").gauge().value()).isZero();
+        assertThat(registry.get("point.lock.users").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("기능 처리 결과는 성공, 요청값 검증 실패, 처리 불가로 나뉘어 기록되어야 한다.")
+    void 기능별_처리_결과_기록() {
+        // when
+        pointMetrics.recordOperation("charge", () -> 100L);
+        assertThatThrownBy(() -> pointMetrics.recordOperation("charge", () -> {
+            throw new IllegalArgumentException("충전 포인트는 0보다 커야 합니다.");
+        }));
+        assertThatThrownBy(() -> pointMetrics.recordOperation("use", () -> {
+            throw new RuntimeException("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+        }));
+
+        // then
+        assertThat(registry.get("point.operation").tags("operation", "charge", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.operation").tags("operation", "charge", "outcome", "invalid").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.operation").tags("operation", "use", "outcome", "rejected").timer().count()).isEqualTo(1);
+    }
+}
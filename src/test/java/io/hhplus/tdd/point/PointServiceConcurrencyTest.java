@@ -1,15 +1,25 @@
 package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointRepositoryConfig;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableRepository;
+import io.hhplus.tdd.database.WriteBehindPointHistoryRepository;
+import io.hhplus.tdd.database.WriteBehindUserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -18,7 +28,14 @@ public class PointServiceConcurrencyTest {
     // 동시성 테스트를 위해 Mock이 아닌 구현된 Bean 사용
     private final UserPointTable userPointTable = new UserPointTable();
     private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
-    private final PointService pointService = new PointService(userPointTable, pointHistoryTable);
+    private final PointService pointService = new PointService(new UserPointTableRepository(userPointTable), new WriteBehindPointHistoryRepository(pointHistoryTable, 10_000));
+
+    // 사용자 간 병렬 처리는 운영 구성(UserPointRepositoryConfig 기본값: 쓰기 지연 저장소 + 캐시)으로 확인한다.
+    // (UserPointTableRepository 는 테이블 보호를 위해 저장을 사용자와 관계없이 하나씩 처리한다)
+    private final PointService shippedPointService = new PointService(
+            new UserPointRepositoryConfig().userPointRepository(
+                    new WriteBehindUserPointRepository(new UserPointTable()), new SimpleMeterRegistry(), "table", true, 10_000),
+            new WriteBehindPointHistoryRepository(new PointHistoryTable(), 10_000));
 
     final long USER_ID = 1L;
 
@@ -137,4 +154,229 @@ public class PointServiceConcurrencyTest {
         assertThat(currentUserPoint.point()).isEqualTo(expectedFinalPoint);
 
     }
+
+    @Test
+    @DisplayName("서로 다른 100명의 사용자가 동시에 충전하면 사용자 간 대기 없이 병렬로 처리되어야 한다.")
+    void 서로_다른_사용자_100명_동시_충전_병렬_처리() throws InterruptedException {
+        // given - 초기 충전 대상인 1번 사용자와 겹치지 않는 100명의 사용자
+        int userCount = 100;
+        long firstUserId = 1_000L;
+        ExecutorService executorService = Executors.newFixedThreadPool(userCount);
+        CountDownLatch latch = new CountDownLatch(userCount);
+
+        // when
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < userCount; i++) {
+            long userId = firstUserId + i;
+            executorService.submit(() -> {
+                try {
+                    shippedPointService.chargePoints(userId, 1000L);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        executorService.shutdown();
+
+        // then - 충전 1건은 테이블 지연(최대 500ms)만큼 걸리므로, 전역 락이라면 100건에 수십 초가 걸린다.
+        assertThat(elapsedMillis).isLessThan(5_000L);
+        for (int i = 0; i < userCount; i++) {
+            assertThat(shippedPointService.getPoints(firstUserId + i).point()).isEqualTo(1000L);
+        }
+    }
+
+    @Test
+    @DisplayName("서로 다른 사용자들이 동시에 충전해도 UserPointTable 에 저장된 잔액이 유실되지 않아야 한다.")
+    void 서로_다른_사용자_동시_충전시_테이블_잔액_보존() throws InterruptedException {
+        // given
+        int userCount = 20;
+        long firstUserId = 2_000L;
+        ExecutorService executorService = Executors.newFixedThreadPool(userCount);
+        CountDownLatch latch = new CountDownLatch(userCount);
+
+        // when
+        for (int i = 0; i < userCount; i++) {
+            long userId = firstUserId + i;
+            executorService.submit(() -> {
+                try {
+                    pointService.chargePoints(userId, 1000L);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then - 조회용 스냅샷이 아닌 테이블에서 직접 확인한다.
+        for (int i = 0; i < userCount; i++) {
+            assertThat(userPointTable.selectById(firstUserId + i).point()).isEqualTo(1000L);
+        }
+    }
+
+    @Test
+    @DisplayName("조회 90%, 변경 10%를 동시에 요청해도 조회는 변경 락을 기다리지 않아야 한다.")
+    void 조회_90_변경_10_혼합_요청시_조회_지연은_변경과_무관() throws InterruptedException {
+        // given - 스냅샷 게시 이후에는 조회가 테이블을 거치지 않는다.
+        pointService.getPoints(USER_ID);
+
+        int requestCount = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(50);
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicLong maxReadNanos = new AtomicLong();
+        AtomicLong maxWriteNanos = new AtomicLong();
+
+        // when - 10건 중 1건은 같은 사용자에 대한 충전
+        for (int i = 0; i < requestCount; i++) {
+            boolean write = i % 10 == 0;
+            executorService.submit(() -> {
+                try {
+                    long startNanos = System.nanoTime();
+                    if (write) {
+                        pointService.chargePoints(USER_ID, 1000L);
+                        maxWriteNanos.accumulateAndGet(System.nanoTime() - startNanos, Math::max);
+                    } else {
+                        pointService.getPoints(USER_ID);
+                        maxReadNanos.accumulateAndGet(System.nanoTime() - startNanos, Math::max);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then - 변경 20건은 공정 락에서 줄을 서서 수 초가 걸리지만, 조회는 그 대기에 영향을 받지 않는다.
+        assertThat(TimeUnit.NANOSECONDS.toMillis(maxWriteNanos.get())).isGreaterThan(1_000L);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(maxReadNanos.get())).isLessThan(100L);
+        assertThat(pointService.getPoints(USER_ID).point()).isEqualTo(50_000L + 1000L * (requestCount / 10));
+    }
+
+    @Test
+    @DisplayName("가상 스레드에서는 10,000건의 요청을 동시에 처리할 수 있어야 한다.")
+    void 가상_스레드_10000건_동시_요청_처리() throws InterruptedException {
+        // given - 요청마다 서로 다른 사용자를 조회하여 테이블 지연(최대 200ms)이 모두 발생하도록 한다.
+        int requestCount = 10_000;
+        long firstUserId = 100_000L;
+        CountDownLatch latch = new CountDownLatch(requestCount);
+        AtomicLong completed = new AtomicLong();
+
+        // when
+        long startNanos = System.nanoTime();
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requestCount; i++) {
+                long userId = firstUserId + i;
+                executorService.submit(() -> {
+                    try {
+                        pointService.getPoints(userId);
+                        completed.incrementAndGet();
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        // then - 플랫폼 스레드 200개(Tomcat 기본값)로는 50회에 나누어 처리되어 수 초가 걸린다.
+        assertThat(completed.get()).isEqualTo(requestCount);
+        assertThat(elapsedMillis).isLessThan(3_000L);
+    }
+
+    @Test
+    @DisplayName("1,000명에게 일괄 충전하면 사용자 간 병렬로 처리되어 모든 사용자의 잔액이 충전 포인트와 같아야 한다.")
+    void 사용자_1000명_일괄_충전() {
+        // given - 1,000명의 사용자에게 각각 2,000포인트 충전 요청
+        int userCount = 1_000;
+        List<PointChargeRequest> requests = LongStream.rangeClosed(1_001, 1_000 + userCount)
+                .mapToObj(userId -> new PointChargeRequest(userId, 2_000L))
+                .toList();
+
+        // when
+        long startNanos = System.nanoTime();
+        List<PointChargeResult> results = shippedPointService.chargePointsInBulk(requests);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        // then - 테이블 조회 지연이 사용자 간에 겹치고 저장은 테이블을 기다리지 않으므로 순차 처리(수백 초)보다 훨씬 빨리 끝난다.
+        assertThat(results).hasSize(userCount).allMatch(PointChargeResult::success);
+        LongStream.rangeClosed(1_001, 1_000 + userCount)
+                .forEach(userId -> assertThat(shippedPointService.getPoints(userId).point()).isEqualTo(2_000L));
+        assertThat(elapsedMillis).isLessThan(30_000L);
+    }
+
+    @Test
+    @DisplayName("10,000명에게 1,000명씩 나누어 일괄 충전해도 테이블 저장을 기다리지 않아 수십 초 안에 끝나야 한다.")
+    void 사용자_10000명_묶음_단위_일괄_충전() {
+        // given - 일괄 충전 API 와 같이 1,000건씩 나눈 요청
+        int userCount = 10_000;
+        int chunkSize = 1_000;
+        long firstUserId = 1_000_001L;
+
+        // when
+        long startNanos = System.nanoTime();
+        for (long chunkStart = firstUserId; chunkStart < firstUserId + userCount; chunkStart += chunkSize) {
+            List<PointChargeResult> results = shippedPointService.chargePointsInBulk(
+                    LongStream.range(chunkStart, chunkStart + chunkSize)
+                            .mapToObj(userId -> new PointChargeRequest(userId, 2_000L))
+                            .toList());
+            assertThat(results).hasSize(chunkSize).allMatch(PointChargeResult::success);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        // then - 테이블 저장을 하나씩 기다린다면 건당 평균 150ms 로 25분이 걸린다.
+        LongStream.range(firstUserId, firstUserId + userCount)
+                .forEach(userId -> assertThat(shippedPointService.getPoints(userId).point()).isEqualTo(2_000L));
+        assertThat(elapsedMillis).isLessThan(30_000L);
+    }
+
+    @Test
+    @DisplayName("100명 사이에서 무작위 전송 1,000건이 동시에 요청되어도 교착 상태 없이 끝나고 전체 포인트 합계는 보존되어야 한다.")
+    void 무작위_교차_전송_1000건_포인트_보존() throws InterruptedException {
+        // given - 운영 구성의 저장소에서 100명에게 각각 100,000포인트 충전
+        PointService transferService = shippedPointService;
+        int userCount = 100;
+        int transferCount = 1_000;
+        transferService.chargePointsInBulk(LongStream.rangeClosed(1, userCount)
+                .mapToObj(userId -> new PointChargeRequest(userId, 100_000L))
+                .toList());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(50);
+        CountDownLatch latch = new CountDownLatch(transferCount);
+
+        // when - 보내는 사용자와 받는 사용자를 무작위로 골라 양방향 전송이 섞이도록 요청
+        for (int i = 0; i < transferCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long fromUserId = random.nextLong(1, userCount + 1);
+                    long toUserId = random.nextLong(1, userCount);
+                    if (toUserId >= fromUserId) {
+                        toUserId++; // 보내는 사용자를 제외하고 고른다.
+                    }
+                    transferService.transferPoints(fromUserId, toUserId, random.nextLong(1, 11) * 1_000L);
+                } catch (RuntimeException e) {
+                    // 잔액 부족 등으로 실패한 전송은 어느 쪽 잔액도 바꾸지 않는다.
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // then - 제한 시간 안에 모든 전송이 끝나고 전체 합계는 처음과 같다.
+        boolean completed = latch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        assertThat(completed).isTrue();
+        long total = LongStream.rangeClosed(1, userCount)
+                .map(userId -> transferService.getPoints(userId).point())
+                .sum();
+        assertThat(total).isEqualTo(userCount * 100_000L);
+    }
 }
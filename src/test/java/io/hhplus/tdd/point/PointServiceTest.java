@@ -1,12 +1,15 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PrimitiveUserPointRepository;
+import io.hhplus.tdd.database.UserPointRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -16,12 +19,12 @@ import static org.mockito.Mockito.*;
 
 public class PointServiceTest {
 
-    // UserPointTable, PointHistoryTable의 Mock 객체 생성
-    private final UserPointTable userPointTable = mock(UserPointTable.class);
-    private final PointHistoryTable pointHistoryTable = mock(PointHistoryTable.class);
+    // UserPointRepository, PointHistoryRepository의 Mock 객체 생성
+    private final UserPointRepository userPointRepository = mock(UserPointRepository.class);
+    private final PointHistoryRepository pointHistoryRepository = mock(PointHistoryRepository.class);
 
     // PointService 객체 생성. Mock으로 생성한 빈 껍데기 객체를 주입
-    private final PointService pointService = new PointService(userPointTable, pointHistoryTable);
+    private final PointService pointService = new PointService(userPointRepository, pointHistoryRepository);
 
     @Nested // 기능별 구역을 구분하기 위한 어노테이션
     @DisplayName("포인트 충전 테스트")
@@ -35,10 +38,10 @@ public class PointServiceTest {
             final Long amount = 1000L;
             final Long currentTime = System.currentTimeMillis();
 
-            given(userPointTable.selectById(userId))
+            given(userPointRepository.selectById(userId))
                     .willReturn(new UserPoint(userId, 2000L, currentTime));
 
-            given(userPointTable.insertOrUpdate(eq(userId), eq(3000L)))
+            given(userPointRepository.insertOrUpdate(eq(userId), eq(3000L)))
                     .willReturn(new UserPoint(userId, 3000L, System.currentTimeMillis()));
 
             // when
@@ -48,8 +51,8 @@ public class PointServiceTest {
             // then
             assertThat(userPoint.point()).isEqualTo(3000L);
 
-            verify(userPointTable, times(1)).insertOrUpdate(eq(userId), eq(3000L));
-            verify(pointHistoryTable, times(1)).insert(eq(userId), eq(amount), eq(TransactionType.CHARGE), anyLong());
+            verify(userPointRepository, times(1)).insertOrUpdate(eq(userId), eq(3000L));
+            verify(pointHistoryRepository, times(1)).insert(eq(userId), eq(amount), eq(TransactionType.CHARGE), anyLong());
         }
 
         @Test
@@ -167,7 +170,7 @@ public class PointServiceTest {
             final Long amount = 200000L;
 
             // Mock 객체의 메서드가 호출될 때 반환될 값 설정
-            given(userPointTable.selectById(userId))
+            given(userPointRepository.selectById(userId))
                     .willReturn(new UserPoint(userId, 900000L, System.currentTimeMillis()));
             // when & then
             RuntimeException exception = assertThrows(
@@ -184,7 +187,7 @@ public class PointServiceTest {
             final Long userId = 1L;
             final Long amount = 200_000L;
 
-            given(userPointTable.selectById(userId))
+            given(userPointRepository.selectById(userId))
                     .willReturn(new UserPoint(userId, 900_000L, System.currentTimeMillis()));
 
             // when
@@ -195,12 +198,66 @@ public class PointServiceTest {
 
             // then
             assertThat(exception.getMessage()).isEqualTo("충전 후 포인트 잔액이 1000000을 초과하면 실패한다.");
-            // 요청 실패 시 내역을 저장하지 않기 때문에 PointHistoryTable.insert() 메서드가 호출되면 안된다.
-            verify(pointHistoryTable, times(0)).insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+            // 요청 실패 시 내역을 저장하지 않기 때문에 PointHistoryRepository.insert() 메서드가 호출되면 안된다.
+            verify(pointHistoryRepository, times(0)).insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
 
         }
     }
 
+    @Nested
+    @DisplayName("포인트 일괄 충전 테스트")
+    class ChargePointsInBulk {
+
+        @Test
+        @DisplayName("항목별로 충전하고, 검증에 실패한 항목은 단건 충전과 같은 오류 메시지를 요청 순서대로 반환한다.")
+        void 항목별_성공_실패_결과를_요청_순서대로_반환() {
+            // given
+            final long currentTime = System.currentTimeMillis();
+            given(userPointRepository.selectById(1L))
+                    .willReturn(new UserPoint(1L, 0L, currentTime), new UserPoint(1L, 1_000L, currentTime));
+            given(userPointRepository.insertOrUpdate(1L, 1_000L)).willReturn(new UserPoint(1L, 1_000L, currentTime));
+            given(userPointRepository.insertOrUpdate(1L, 3_000L)).willReturn(new UserPoint(1L, 3_000L, currentTime));
+            given(userPointRepository.selectById(2L)).willReturn(new UserPoint(2L, 0L, currentTime));
+            given(userPointRepository.insertOrUpdate(2L, 5_000L)).willReturn(new UserPoint(2L, 5_000L, currentTime));
+
+            List<PointChargeRequest> requests = List.of(
+                    new PointChargeRequest(1L, 1_000L),
+                    new PointChargeRequest(0L, 1_000L),
+                    new PointChargeRequest(2L, 5_000L),
+                    new PointChargeRequest(2L, 500L),
+                    new PointChargeRequest(1L, 2_000L));
+
+            // when
+            List<PointChargeResult> results = pointService.chargePointsInBulk(requests);
+
+            // then
+            assertThat(results).extracting(PointChargeResult::userId).containsExactly(1L, 0L, 2L, 2L, 1L);
+            assertThat(results).extracting(PointChargeResult::success).containsExactly(true, false, true, false, true);
+            assertThat(results.get(0).userPoint().point()).isEqualTo(1_000L);
+            assertThat(results.get(1).message()).isEqualTo("사용자 아이디는 0일 수 없습니다.");
+            assertThat(results.get(2).userPoint().point()).isEqualTo(5_000L);
+            assertThat(results.get(3).message()).isEqualTo("충전 포인트는 최소 1000 이상이어야 합니다.");
+            assertThat(results.get(4).userPoint().point()).isEqualTo(3_000L);
+        }
+
+        @Test
+        @DisplayName("비어 있는 항목은 사용자 아이디와 충전 포인트가 누락된 요청으로 실패 처리한다.")
+        void 비어_있는_항목은_실패_결과_반환() {
+            // given
+            List<PointChargeRequest> requests = new ArrayList<>();
+            requests.add(null);
+
+            // when
+            List<PointChargeResult> results = pointService.chargePointsInBulk(requests);
+
+            // then
+            assertThat(results).hasSize(1);
+            assertThat(results.get(0).success()).isFalse();
+            assertThat(results.get(0).message()).isEqualTo("사용자 아이디와 충전 포인트는 필수입니다.");
+            verifyNoInteractions(userPointRepository, pointHistoryRepository);
+        }
+    }
+
     @Nested
     @DisplayName("포인트 사용 테스트")
     class UsePoints{
@@ -213,10 +270,10 @@ public class PointServiceTest {
             final Long amount = 1000L;
             final Long currentTime = System.currentTimeMillis();
 
-            given(userPointTable.selectById(userId))
+            given(userPointRepository.selectById(userId))
                     .willReturn(new UserPoint(userId, 3000L, currentTime));
 
-            given(userPointTable.insertOrUpdate(eq(userId), eq(2000L)))
+            given(userPointRepository.insertOrUpdate(eq(userId), eq(2000L)))
                     .willReturn(new UserPoint(userId, 2000L, System.currentTimeMillis()));
 
             // when
@@ -225,8 +282,8 @@ public class PointServiceTest {
             // then
             assertThat(userPoint.point()).isEqualTo(2000L);
 
-            verify(userPointTable, times(1)).insertOrUpdate(eq(userId), eq(2000L));
-            verify(pointHistoryTable, times(1)).insert(eq(userId), eq(amount), eq(TransactionType.USE), anyLong());
+            verify(userPointRepository, times(1)).insertOrUpdate(eq(userId), eq(2000L));
+            verify(pointHistoryRepository, times(1)).insert(eq(userId), eq(amount), eq(TransactionType.USE), anyLong());
         }
         @Test
         @DisplayName("사용자 아이디와 사용 포인트가 전달되지 않을 시 요청 실패.")
@@ -326,8 +383,8 @@ public class PointServiceTest {
             final Long userId = 1L;
             final Long amount = 2000L;
 
-            // Mock 객체의 userPointTable.selectById() 반환값 설정
-            given(userPointTable.selectById(userId))
+            // Mock 객체의 userPointRepository.selectById() 반환값 설정
+            given(userPointRepository.selectById(userId))
                     .willReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
 
             // when & then
@@ -346,7 +403,7 @@ public class PointServiceTest {
             final Long amount = 2000L;
 
             // Mock 객체의 메서드 반환값 설정
-            given(userPointTable.selectById(userId))
+            given(userPointRepository.selectById(userId))
                     .willReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
 
             // when: 요청 실패
@@ -355,12 +412,87 @@ public class PointServiceTest {
                     () -> pointService.usePoints(userId, amount)
             );
 
-            // then: PointHistoryTable.insert()가 호출되지 않아야 함
+            // then: PointHistoryRepository.insert()가 호출되지 않아야 함
+            assertThat(exception.getMessage()).isEqualTo("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+            verify(pointHistoryRepository, times(0)).insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
+        }
+
+    }
+    @Nested
+    @DisplayName("포인트 전송 테스트")
+    class TransferPoints {
+
+        @Test
+        @DisplayName("보낸 사용자는 차감, 받은 사용자는 충전되고 두 사용자의 내역이 함께 저장된다.")
+        void 포인트_전송_성공() {
+            // given
+            final long currentTime = System.currentTimeMillis();
+            given(userPointRepository.selectById(1L)).willReturn(new UserPoint(1L, 5_000L, currentTime));
+            given(userPointRepository.selectById(2L)).willReturn(new UserPoint(2L, 1_000L, currentTime));
+            given(userPointRepository.insertOrUpdate(1L, 2_000L)).willReturn(new UserPoint(1L, 2_000L, currentTime));
+            given(userPointRepository.insertOrUpdate(2L, 4_000L)).willReturn(new UserPoint(2L, 4_000L, currentTime));
+
+            // when
+            PointTransferResult result = pointService.transferPoints(1L, 2L, 3_000L);
+
+            // then
+            assertThat(result.from().point()).isEqualTo(2_000L);
+            assertThat(result.to().point()).isEqualTo(4_000L);
+            verify(pointHistoryRepository, times(1)).insert(eq(1L), eq(3_000L), eq(TransactionType.USE), anyLong());
+            verify(pointHistoryRepository, times(1)).insert(eq(2L), eq(3_000L), eq(TransactionType.CHARGE), anyLong());
+        }
+
+        @Test
+        @DisplayName("보낸 사용자의 잔액이 부족하면 어느 쪽 잔액도 저장하지 않고 요청 실패")
+        void 잔액_부족시_RuntimeException_발생() {
+            // given
+            final long currentTime = System.currentTimeMillis();
+            given(userPointRepository.selectById(1L)).willReturn(new UserPoint(1L, 1_000L, currentTime));
+            given(userPointRepository.selectById(2L)).willReturn(new UserPoint(2L, 0L, currentTime));
+
+            // when & then
+            RuntimeException exception = assertThrows(
+                    RuntimeException.class,
+                    () -> pointService.transferPoints(1L, 2L, 3_000L)
+            );
             assertThat(exception.getMessage()).isEqualTo("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
-            verify(pointHistoryTable, times(0)).insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
+            verify(userPointRepository, never()).insertOrUpdate(anyLong(), anyLong());
+            verifyNoInteractions(pointHistoryRepository);
         }
 
+        @Test
+        @DisplayName("자기 자신에게 전송하면 요청 실패")
+        void 자기_자신에게_전송시_IllegalArgumentException_발생() {
+            // when & then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> pointService.transferPoints(1L, 1L, 3_000L)
+            );
+            assertThat(exception.getMessage()).isEqualTo("자기 자신에게는 포인트를 전송할 수 없습니다.");
+            verifyNoInteractions(userPointRepository, pointHistoryRepository);
+        }
+
+        @Test
+        @DisplayName("받은 사용자의 잔액 저장이 실패하면 보낸 사용자의 잔액을 되돌리고 내역은 저장하지 않는다.")
+        void 받은_사용자_저장_실패시_보낸_사용자_잔액_보상() {
+            // given
+            final long currentTime = System.currentTimeMillis();
+            given(userPointRepository.selectById(1L)).willReturn(new UserPoint(1L, 5_000L, currentTime));
+            given(userPointRepository.selectById(2L)).willReturn(new UserPoint(2L, 1_000L, currentTime));
+            given(userPointRepository.insertOrUpdate(1L, 2_000L)).willReturn(new UserPoint(1L, 2_000L, currentTime));
+            given(userPointRepository.insertOrUpdate(2L, 4_000L)).willThrow(new RuntimeException("저장 실패"));
+
+            // when & then
+            RuntimeException exception = assertThrows(
+                    RuntimeException.class,
+                    () -> pointService.transferPoints(1L, 2L, 3_000L)
+            );
+            assertThat(exception.getMessage()).isEqualTo("저장 실패");
+            verify(userPointRepository, times(1)).insertOrUpdate(1L, 5_000L);
+            verifyNoInteractions(pointHistoryRepository);
+        }
     }
+
     @Nested
     @DisplayName("포인트 조회 테스트")
     class GetPoints {
@@ -371,7 +503,7 @@ public class PointServiceTest {
             // given
             final Long userId = 1L;
 
-            given(userPointTable.selectById(userId))
+            given(userPointRepository.selectById(userId))
                     .willReturn(new UserPoint(userId, 2000L, System.currentTimeMillis()));
 
             // when
@@ -380,7 +512,7 @@ public class PointServiceTest {
             // then
             assertThat(userPoint.point()).isEqualTo(2000L);
 
-            verify(userPointTable, times(1)).selectById(eq(userId));
+            verify(userPointRepository, times(1)).selectById(eq(userId));
         }
 
         @Test
@@ -436,7 +568,7 @@ public class PointServiceTest {
             final Long userId = 1L;
             final Long currentTime = System.currentTimeMillis();
 
-            given(pointHistoryTable.selectAllByUserId(userId))
+            given(pointHistoryRepository.selectAllByUserId(userId))
                     .willReturn(List.of(
                             new PointHistory(1L, userId, 3000L, TransactionType.CHARGE, currentTime),
                             new PointHistory(2L, userId, 1000L, TransactionType.USE, currentTime)
@@ -452,7 +584,7 @@ public class PointServiceTest {
             assertThat(histories.get(1).amount()).isEqualTo(1000L);
             assertThat(histories.get(1).type()).isEqualTo(TransactionType.USE);
 
-            verify(pointHistoryTable, times(1)).selectAllByUserId(eq(userId));
+            verify(pointHistoryRepository, times(1)).selectAllByUserId(eq(userId));
         }
 
         @Test
@@ -497,4 +629,186 @@ public class PointServiceTest {
             assertThat(exception.getMessage()).isEqualTo("사용자 아이디는 0일 수 없습니다.");
         }
     }
+
+    @Nested
+    @DisplayName("포인트 내역 페이지 조회 테스트")
+    class GetPointHistoryPage {
+
+        @Test
+        @DisplayName("조건이 전달되지 않으면 처음부터 100건을 조회한다.")
+        void 조건_없이_조회시_기본값으로_조회() {
+            // given
+            final Long userId = 1L;
+            given(pointHistoryRepository.selectByUserId(userId, 0L, 0L, Long.MAX_VALUE, 100))
+                    .willReturn(List.of(new PointHistory(1L, userId, 3000L, TransactionType.CHARGE, 1L)));
+
+            // when
+            List<PointHistory> histories = pointService.getPointHistories(userId, null, null, null, null);
+
+            // then
+            assertThat(histories).hasSize(1);
+            verify(pointHistoryRepository, times(1)).selectByUserId(userId, 0L, 0L, Long.MAX_VALUE, 100);
+            verify(pointHistoryRepository, never()).selectAllByUserId(anyLong());
+        }
+
+        @Test
+        @DisplayName("커서와 시각 범위, 조회 건수를 그대로 전달한다.")
+        void 커서_시각_범위_조회() {
+            // given
+            final Long userId = 1L;
+
+            // when
+            pointService.getPointHistories(userId, 10L, 1_000L, 2_000L, 20);
+
+            // then
+            verify(pointHistoryRepository, times(1)).selectByUserId(userId, 10L, 1_000L, 2_000L, 20);
+        }
+
+        @Test
+        @DisplayName("조회 건수가 1,000을 초과하면 요청 실패")
+        void 조회_건수가_1000_초과인_경우_IllegalArgumentException_발생() {
+            // when & then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> pointService.getPointHistories(1L, null, null, null, 1_001)
+            );
+            assertThat(exception.getMessage()).isEqualTo("조회 건수는 1 이상 1000 이하여야 합니다.");
+        }
+
+        @Test
+        @DisplayName("커서가 음수이면 요청 실패")
+        void 커서가_음수인_경우_IllegalArgumentException_발생() {
+            // when & then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> pointService.getPointHistories(1L, -1L, null, null, 10)
+            );
+            assertThat(exception.getMessage()).isEqualTo("커서는 음수가 될 수 없습니다.");
+        }
+
+        @Test
+        @DisplayName("조회 시작 시각이 종료 시각보다 늦으면 요청 실패")
+        void 조회_시작_시각이_종료_시각보다_늦은_경우_IllegalArgumentException_발생() {
+            // when & then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> pointService.getPointHistories(1L, null, 2_000L, 1_000L, 10)
+            );
+            assertThat(exception.getMessage()).isEqualTo("조회 시작 시각은 종료 시각보다 늦을 수 없습니다.");
+        }
+    }
+
+    @Nested
+    @DisplayName("포인트 내역 내보내기 테스트")
+    class StreamPointHistories {
+
+        @Test
+        @DisplayName("내역을 1,000건씩 나누어 읽으며 모든 내역을 순서대로 반환한다.")
+        void 페이지_단위로_모든_내역_반환() {
+            // given - 1,001건의 내역
+            final Long userId = 1L;
+            given(pointHistoryRepository.selectByUserId(userId, 0L, 0L, Long.MAX_VALUE, 1_000))
+                    .willReturn(LongStream.rangeClosed(1, 1_000)
+                            .mapToObj(id -> new PointHistory(id, userId, 1000L, TransactionType.CHARGE, id))
+                            .toList());
+            given(pointHistoryRepository.selectByUserId(userId, 1_000L, 0L, Long.MAX_VALUE, 1_000))
+                    .willReturn(List.of(new PointHistory(1_001L, userId, 1000L, TransactionType.CHARGE, 1_001L)));
+
+            // when
+            List<PointHistory> histories = pointService.streamPointHistories(userId, null).toList();
+
+            // then
+            assertThat(histories).hasSize(1_001);
+            assertThat(histories.get(1_000).id()).isEqualTo(1_001L);
+            verify(pointHistoryRepository, times(2)).selectByUserId(eq(userId), anyLong(), anyLong(), anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("사용자 아이디가 0인 경우 스트림을 만들기 전에 요청 실패")
+        void 사용자_아이디로_0이_전달되면_IllegalArgumentException_발생() {
+            // when & then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> pointService.streamPointHistories(0L, null)
+            );
+            assertThat(exception.getMessage()).isEqualTo("사용자 아이디는 0일 수 없습니다.");
+            verifyNoInteractions(pointHistoryRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("잔액 맵 저장소 사용 시 테스트")
+    class PrimitiveBalance {
+
+        private final PrimitiveUserPointRepository primitiveRepository = new PrimitiveUserPointRepository();
+        private final PointService primitiveService = new PointService(primitiveRepository, pointHistoryRepository);
+
+        @Test
+        @DisplayName("잔액만 반환하는 충전/사용은 잔액 맵에 반영되고 내역을 저장한다.")
+        void 잔액_충전_사용_성공() {
+            // when
+            long charged = primitiveService.chargeBalance(1L, 5_000L);
+            long used = primitiveService.useBalance(1L, 2_000L);
+
+            // then
+            assertThat(charged).isEqualTo(5_000L);
+            assertThat(used).isEqualTo(3_000L);
+            assertThat(primitiveService.getPoints(1L).point()).isEqualTo(3_000L);
+            verify(pointHistoryRepository, times(1)).append(eq(1L), eq(5_000L), eq(TransactionType.CHARGE), anyLong());
+            verify(pointHistoryRepository, times(1)).append(eq(1L), eq(2_000L), eq(TransactionType.USE), anyLong());
+        }
+
+        @Test
+        @DisplayName("잔액을 초과해 사용하면 기존 메시지로 요청 실패하고 잔액과 내역은 그대로다.")
+        void 잔액_초과_사용시_RuntimeException_발생() {
+            // given
+            primitiveService.chargeBalance(1L, 1_000L);
+
+            // when & then
+            RuntimeException exception = assertThrows(
+                    RuntimeException.class,
+                    () -> primitiveService.useBalance(1L, 2_000L)
+            );
+            assertThat(exception.getMessage()).isEqualTo("사용 포인트가 보유한 잔액을 초과할 수 없습니다.");
+            assertThat(primitiveRepository.selectById(1L).point()).isEqualTo(1_000L);
+            verify(pointHistoryRepository, never()).append(anyLong(), anyLong(), eq(TransactionType.USE), anyLong());
+        }
+
+        @Test
+        @DisplayName("내역 저장이 실패하면 충전한 잔액을 되돌린다.")
+        void 내역_저장_실패시_잔액_되돌림() {
+            // given
+            given(pointHistoryRepository.append(anyLong(), anyLong(), any(), anyLong())).willThrow(new RuntimeException("저장 실패"));
+
+            // when & then
+            RuntimeException exception = assertThrows(
+                    RuntimeException.class,
+                    () -> primitiveService.chargePoints(1L, 5_000L)
+            );
+            assertThat(exception.getMessage()).isEqualTo("저장 실패");
+            assertThat(primitiveService.getPoints(1L).point()).isZero();
+        }
+
+        @Test
+        @DisplayName("전송은 두 잔액을 함께 옮기고, 받는 사용자의 잔액이 한도를 넘으면 요청 실패")
+        void 포인트_전송() {
+            // given
+            primitiveService.chargeBalance(1L, 5_000L);
+            primitiveService.chargeBalance(2L, 1_000_000L);
+            primitiveService.chargeBalance(3L, 1_000L);
+
+            // when
+            PointTransferResult result = primitiveService.transferPoints(1L, 3L, 3_000L);
+            RuntimeException exception = assertThrows(
+                    RuntimeException.class,
+                    () -> primitiveService.transferPoints(1L, 2L, 1_000L)
+            );
+
+            // then
+            assertThat(result.from().point()).isEqualTo(2_000L);
+            assertThat(result.to().point()).isEqualTo(4_000L);
+            assertThat(exception.getMessage()).isEqualTo("충전 후 포인트 잔액이 1000000을 초과하면 실패한다.");
+            assertThat(primitiveRepository.selectById(1L).point()).isEqualTo(2_000L);
+        }
+    }
 }
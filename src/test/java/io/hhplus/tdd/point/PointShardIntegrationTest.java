@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.TddApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 노드마다 Spring 컨텍스트를 하나씩 localhost 의 다른 포트로 띄워 HTTP 로 서로 요청을 전달하는 테스트
+ */
+public class PointShardIntegrationTest {
+
+    private static final String SECRET = "test-secret";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void 노드_종료() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    @DisplayName("어느 노드로 요청해도 담당 노드에서 처리되고, 노드가 추가되면 새 노드가 담당하게 된 사용자의 잔액과 내역이 옮겨진다.")
+    void 여러_노드_요청_전달과_노드_추가() throws Exception {
+        // given - 노드 2개로 시작, 3번째 노드는 나중에 추가
+        int[] ports = {freePort(), freePort(), freePort()};
+        String twoNodes = "node-1=http://localhost:" + ports[0] + ",node-2=http://localhost:" + ports[1];
+        start("node-1", ports[0], twoNodes);
+        start("node-2", ports[1], twoNodes);
+
+        // when - 모든 요청을 1번 노드로 보낸다.
+        for (long userId = 1; userId <= 20; userId++) {
+            assertThat(send(ports[0], "PATCH", "/point/" + userId + "/charge", "10000").statusCode()).isEqualTo(200);
+        }
+
+        // then - 2번 노드에서 조회해도 같은 잔액이고, 사용자는 두 노드에 나뉘어 저장된다.
+        for (long userId = 1; userId <= 20; userId++) {
+            assertThat(point(ports[1], userId)).isEqualTo(10_000L);
+        }
+        Set<Long> node1Users = users(ports[0]);
+        Set<Long> node2Users = users(ports[1]);
+        assertThat(node1Users).isNotEmpty().doesNotContainAnyElementsOf(node2Users);
+        assertThat(node2Users).isNotEmpty();
+
+        // when - 3번 노드를 띄우고 기존 노드마다 노드 추가 요청
+        start("node-3", ports[2], twoNodes + ",node-3=http://localhost:" + ports[2]);
+        String join = "{\"nodeId\":\"node-3\",\"url\":\"http://localhost:" + ports[2] + "\"}";
+        int moved = 0;
+        for (int i = 0; i < 2; i++) {
+            HttpResponse<String> response = send(ports[i], "POST", "/point-shard/nodes", join, SECRET);
+            assertThat(response.statusCode()).isEqualTo(200);
+            moved += Integer.parseInt(response.body());
+        }
+
+        // then - 옮겨진 사용자는 3번 노드에 있고, 어느 노드에서 조회해도 잔액과 내역이 그대로다.
+        assertThat(users(ports[2])).hasSize(moved);
+        for (long userId = 1; userId <= 20; userId++) {
+            for (int port : ports) {
+                assertThat(point(port, userId)).isEqualTo(10_000L);
+            }
+            PointHistory[] histories = objectMapper.readValue(send(ports[2], "GET", "/point/" + userId + "/histories", null).body(), PointHistory[].class);
+            assertThat(histories).extracting(PointHistory::amount).containsExactly(10_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("인증 값이 없거나 다른 내부 API 요청은 처리하지 않고 401 로 거절해야 한다.")
+    void 인증_값_없는_내부_API_요청_거절() throws Exception {
+        // given - 노드 1개에 10,000포인트를 가진 1번 사용자
+        int port = freePort();
+        start("node-1", port, "node-1=http://localhost:" + port);
+        send(port, "PATCH", "/point/1/charge", "10000");
+        String user = "{\"userId\":1,\"point\":999999,\"histories\":[]}";
+        String join = "{\"nodeId\":\"node-2\",\"url\":\"http://localhost:" + freePort() + "\"}";
+
+        // when & then - 인증 값이 없는 요청과 다른 요청 모두 거절된다.
+        for (String secret : new String[]{null, "wrong-secret"}) {
+            assertThat(send(port, "GET", "/point-shard/users", null, secret).statusCode()).isEqualTo(401);
+            assertThat(send(port, "PUT", "/point-shard/users/1", user, secret).statusCode()).isEqualTo(401);
+            assertThat(send(port, "DELETE", "/point-shard/users/1", null, secret).statusCode()).isEqualTo(401);
+            assertThat(send(port, "POST", "/point-shard/nodes", join, secret).statusCode()).isEqualTo(401);
+        }
+
+        // then - 사용자의 잔액과 노드 구성은 그대로다.
+        assertThat(point(port, 1L)).isEqualTo(10_000L);
+        assertThat(users(port)).containsExactly(1L);
+    }
+
+    private void start(String nodeId, int port, String nodes) {
+        this.nodes.add(new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=" + port,
+                        "point.sharding.enabled=true",
+                        "point.sharding.node-id=" + nodeId,
+                        "point.sharding.nodes=" + nodes,
+                        "point.sharding.secret=" + SECRET,
+                        "point.user-point.store=primitive" // UserPointTable 의 지연 없이 확인
+                )
+                .run());
+    }
+
+    private long point(int port, long userId) throws Exception {
+        return objectMapper.readValue(send(port, "GET", "/point/" + userId, null).body(), UserPoint.class).point();
+    }
+
+    private Set<Long> users(int port) throws Exception {
+        return new HashSet<>(List.of(objectMapper.readValue(send(port, "GET", "/point-shard/users", null, SECRET).body(), Long[].class)));
+    }
+
+    private HttpResponse<String> send(int port, String method, String path, String json) throws Exception {
+        return send(port, method, path, json, null);
+    }
+
+    private HttpResponse<String> send(int port, String method, String path, String json, String secret) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        if (secret != null) {
+            builder.header(HttpPointShard.SECRET, secret);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
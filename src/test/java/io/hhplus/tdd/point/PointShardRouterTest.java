@@ -0,0 +1,260 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.database.PrimitiveUserPointRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PointShardRouterTest {
+
+    // 노드별 PointService, 같은 프로세스의 샤드로 연결
+    private final Map<String, PointService> services = new LinkedHashMap<>();
+    private final PointShardRouter router = new PointShardRouter(shards("node-1", "node-2", "node-3"), 128);
+
+    private Map<String, PointShard> shards(String... nodeIds) {
+        Map<String, PointShard> shards = new LinkedHashMap<>();
+        for (String nodeId : nodeIds) {
+            shards.put(nodeId, new LocalPointShard(service(nodeId)));
+        }
+        return shards;
+    }
+
+    private PointService service(String nodeId) {
+        PointService pointService = new PointService(new PrimitiveUserPointRepository(), new ColumnarPointHistoryRepository());
+        services.put(nodeId, pointService);
+        return pointService;
+    }
+
+    @Test
+    @DisplayName("사용자는 노드들에 고르게 나뉘고, 노드 목록의 순서와 관계없이 같은 노드가 담당한다.")
+    void 일관된_해시_분배() {
+        // given
+        PointShardRing ring = new PointShardRing(List.of("node-1", "node-2", "node-3"), 128);
+        PointShardRing reordered = new PointShardRing(List.of("node-3", "node-1", "node-2"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        // when
+        for (long userId = 1; userId <= 30_000; userId++) {
+            counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+            assertThat(reordered.ownerOf(userId)).isEqualTo(ring.ownerOf(userId));
+        }
+
+        // then - 노드마다 1/3 (10,000명)에서 크게 벗어나지 않는다.
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(8_000, 12_000));
+    }
+
+    @Test
+    @DisplayName("노드가 추가되면 새 노드가 담당하게 된 사용자만 잔액과 내역을 가지고 옮겨진다.")
+    void 노드_추가시_재배치() {
+        // given
+        Map<Long, String> owners = new HashMap<>();
+        for (long userId = 1; userId <= 300; userId++) {
+            router.chargePoints(userId, 1_000L + userId);
+            router.usePoints(userId, 1_000L);
+            owners.put(userId, router.ownerOf(userId));
+        }
+
+        // when
+        LocalPointShard newShard = new LocalPointShard(service("node-4"));
+        int moved = router.join("node-4", newShard);
+
+        // then - 담당 노드가 바뀐 사용자는 모두 새 노드로 옮겨졌고, 옮겨진 뒤에도 잔액과 내역이 그대로다.
+        long changed = owners.entrySet().stream().filter(entry -> !router.ownerOf(entry.getKey()).equals(entry.getValue())).count();
+        assertThat((long) moved).isEqualTo(changed).isBetween(30L, 120L);
+        assertThat(newShard.userIds()).hasSize(moved);
+        for (long userId = 1; userId <= 300; userId++) {
+            if (!router.ownerOf(userId).equals(owners.get(userId))) {
+                assertThat(router.ownerOf(userId)).isEqualTo("node-4");
+            }
+            assertThat(router.getPoints(userId).point()).isEqualTo(userId);
+            assertThat(router.getPointHistories(userId)).extracting(PointHistory::type)
+                    .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+        }
+    }
+
+    @Test
+    @DisplayName("예약 중인 사용자가 옮겨져야 하면 노드 추가는 아무것도 바꾸지 않고 실패한다.")
+    void 예약_중인_사용자_이동시_노드_추가_실패() {
+        // given - 새 노드가 담당하게 될 사용자에게 예약을 건다.
+        PointShardRing next = new PointShardRing(List.of("node-1", "node-2", "node-3", "node-4"), 128);
+        long userId = 1L;
+        while (!next.ownerOf(userId).equals("node-4")) {
+            userId++;
+        }
+        String owner = router.ownerOf(userId);
+        router.chargePoints(userId, 10_000L);
+        services.get(owner).reservePoints(userId, 5_000L);
+
+        // when & then
+        long heldUserId = userId;
+        assertThrows(IllegalStateException.class, () -> router.join("node-4", new LocalPointShard(service("node-4"))));
+        assertThat(router.ownerOf(heldUserId)).isEqualTo(owner);
+        assertThat(router.nodeIds()).containsExactly("node-1", "node-2", "node-3");
+        assertThat(router.getPoints(heldUserId).available()).isEqualTo(5_000L);
+    }
+
+    @Test
+    @DisplayName("담당 노드가 다른 사용자 간 전송에서 받는 쪽 충전이 실패하면 보낸 사용자의 포인트를 되돌린다.")
+    void 샤드_간_전송_실패시_되돌림() {
+        // given - 받는 사용자는 한도까지 충전되어 있다.
+        long fromUserId = 1L;
+        long toUserId = 2L;
+        while (router.ownerOf(toUserId).equals(router.ownerOf(fromUserId))) {
+            toUserId++;
+        }
+        router.chargePoints(fromUserId, 10_000L);
+        router.chargePoints(toUserId, 1_000_000L);
+
+        // when
+        long receiver = toUserId;
+        assertThrows(RuntimeException.class, () -> router.transferPoints(fromUserId, receiver, 5_000L));
+
+        // then
+        assertThat(router.getPoints(fromUserId).point()).isEqualTo(10_000L);
+        assertThat(router.getPoints(toUserId).point()).isEqualTo(1_000_000L);
+        assertThat(router.transferPoints(fromUserId, 3L, 5_000L).from().point()).isEqualTo(5_000L);
+    }
+
+    @Test
+    @DisplayName("샤드 간 전송에서 받는 샤드의 응답을 받지 못하면 같은 멱등 키로 다시 충전해야 한다.")
+    void 샤드_간_전송_응답_없음시_같은_키로_재충전() {
+        // given - 2번 노드는 첫 충전 요청을 처리한 뒤 응답을 잃는다.
+        UnreachablePointShard node2 = new UnreachablePointShard(new LocalPointShard(service("node-2")), 1);
+        PointShardRouter router = new PointShardRouter(Map.of("node-1", new LocalPointShard(service("node-1")), "node-2", node2), 128);
+        long fromUserId = userOwnedBy(router, "node-1");
+        long toUserId = userOwnedBy(router, "node-2");
+        router.chargePoints(fromUserId, 10_000L);
+
+        // when
+        PointTransferResult result = router.transferPoints(fromUserId, toUserId, 5_000L);
+
+        // then - 두 번 요청했지만 같은 멱등 키이므로 한 번만 충전된다.
+        assertThat(node2.keys).hasSize(2).containsOnly(node2.keys.get(0));
+        assertThat(result.to().point()).isEqualTo(5_000L);
+        assertThat(router.getPoints(fromUserId).point()).isEqualTo(5_000L);
+        assertThat(router.getPoints(toUserId).point()).isEqualTo(5_000L);
+    }
+
+    @Test
+    @DisplayName("샤드 간 전송에서 받는 샤드의 충전 결과를 끝내 알 수 없으면 보낸 사용자의 포인트를 되돌리지 않고 알려야 한다.")
+    void 샤드_간_전송_결과_알_수_없음시_되돌리지_않음() {
+        // given - 2번 노드는 충전 요청을 처리하지만 응답을 항상 잃는다.
+        UnreachablePointShard node2 = new UnreachablePointShard(new LocalPointShard(service("node-2")), Integer.MAX_VALUE);
+        PointShardRouter router = new PointShardRouter(Map.of("node-1", new LocalPointShard(service("node-1")), "node-2", node2), 128);
+        long fromUserId = userOwnedBy(router, "node-1");
+        long toUserId = userOwnedBy(router, "node-2");
+        router.chargePoints(fromUserId, 10_000L);
+
+        // when
+        assertThrows(PointShardIndeterminateException.class, () -> router.transferPoints(fromUserId, toUserId, 5_000L));
+
+        // then - 되돌렸다면 보낸 사용자에게 5,000포인트가 새로 생겼을 것이다.
+        assertThat(node2.keys).hasSize(3);
+        assertThat(router.getPoints(fromUserId).point()).isEqualTo(5_000L);
+        assertThat(router.getPoints(toUserId).point()).isEqualTo(5_000L);
+    }
+
+    @Test
+    @DisplayName("샤드 간 전송을 되돌리는 충전은 전송 키에서 만든 멱등 키로 보내, 응답을 받지 못해 다시 보내도 한 번만 되돌려야 한다.")
+    void 샤드_간_전송_되돌림_멱등_키() {
+        // given - 1번 노드는 첫 되돌림 요청을 처리한 뒤 응답을 잃고, 받는 사용자는 한도까지 충전되어 있다.
+        UnreachablePointShard node1 = new UnreachablePointShard(new LocalPointShard(service("node-1")), 1);
+        PointShardRouter router = new PointShardRouter(Map.of("node-1", node1, "node-2", new LocalPointShard(service("node-2"))), 128);
+        long fromUserId = userOwnedBy(router, "node-1");
+        long toUserId = userOwnedBy(router, "node-2");
+        router.chargePoints(fromUserId, 10_000L);
+        router.chargePoints(toUserId, 1_000_000L);
+
+        // when
+        assertThrows(RuntimeException.class, () -> router.transferPoints(fromUserId, toUserId, 5_000L));
+
+        // then - 두 번 요청했지만 같은 멱등 키이므로 한 번만 되돌려진다.
+        assertThat(node1.keys).hasSize(2).containsOnly(node1.keys.get(0));
+        assertThat(node1.keys.get(0)).startsWith("transfer-").endsWith("-refund");
+        assertThat(router.getPoints(fromUserId).point()).isEqualTo(10_000L);
+        assertThat(router.getPoints(toUserId).point()).isEqualTo(1_000_000L);
+    }
+
+    private static long userOwnedBy(PointShardRouter router, String nodeId) {
+        long userId = 1L;
+        while (!router.ownerOf(userId).equals(nodeId)) {
+            userId++;
+        }
+        return userId;
+    }
+
+    /**
+     * 멱등 키를 붙인 충전을 처리한 뒤 응답을 잃는 샤드, 같은 키의 요청은 한 번만 처리한다.
+     */
+    private static class UnreachablePointShard implements PointShard {
+        private final PointShard delegate;
+        private final int lostResponses;
+        private final List<String> keys = new ArrayList<>();
+        private final Map<String, UserPoint> results = new HashMap<>();
+
+        UnreachablePointShard(PointShard delegate, int lostResponses) {
+            this.delegate = delegate;
+            this.lostResponses = lostResponses;
+        }
+
+        @Override
+        public UserPoint chargePoints(Long userId, Long amount, String idempotencyKey) {
+            keys.add(idempotencyKey);
+            UserPoint result = results.computeIfAbsent(idempotencyKey, key -> delegate.chargePoints(userId, amount));
+            if (keys.size() <= lostResponses) {
+                throw new PointShardIndeterminateException("응답을 받지 못했습니다.", new IOException("timeout"));
+            }
+            return result;
+        }
+
+        @Override
+        public UserPoint getPoints(Long userId) {
+            return delegate.getPoints(userId);
+        }
+
+        @Override
+        public List<PointHistory> getPointHistories(Long userId) {
+            return delegate.getPointHistories(userId);
+        }
+
+        @Override
+        public UserPoint chargePoints(Long userId, Long amount) {
+            return delegate.chargePoints(userId, amount);
+        }
+
+        @Override
+        public UserPoint usePoints(Long userId, Long amount) {
+            return delegate.usePoints(userId, amount);
+        }
+
+        @Override
+        public PointTransferResult transferPoints(Long fromUserId, Long toUserId, Long amount) {
+            return delegate.transferPoints(fromUserId, toUserId, amount);
+        }
+
+        @Override
+        public List<PointChargeResult> chargePointsInBulk(List<PointChargeRequest> requests) {
+            return delegate.chargePointsInBulk(requests);
+        }
+
+        @Override
+        public void importUser(PointShardUser user) {
+            delegate.importUser(user);
+        }
+
+        @Override
+        public void removeUser(long userId) {
+            delegate.removeUser(userId);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PrimitiveUserPointRepository;
+import io.hhplus.tdd.database.ReactivePointHistoryRepository;
+import io.hhplus.tdd.database.ReactiveUserPointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ReactivePointServiceTest {
+
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(16, 10_000, "point-table-test");
+    private final PrimitiveUserPointRepository userPointRepository = new PrimitiveUserPointRepository();
+
+    @AfterEach
+    void 스케줄러_종료() {
+        scheduler.dispose();
+    }
+
+    private ReactivePointService reactivePointService(PointHistoryRepository pointHistoryRepository) {
+        return new ReactivePointService(
+                new ReactiveUserPointRepository(userPointRepository, scheduler),
+                new ReactivePointHistoryRepository(pointHistoryRepository, scheduler));
+    }
+
+    @Test
+    @DisplayName("같은 사용자에게 1000포인트 충전 100건을 동시에 요청하면 모두 차례로 반영되어 잔액은 100,000포인트가 되어야 한다.")
+    void 같은_사용자_동시_충전_순차_반영() {
+        // given
+        ColumnarPointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository();
+        ReactivePointService pointService = reactivePointService(pointHistoryRepository);
+        List<Mono<UserPoint>> charges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            charges.add(pointService.chargePoints(1L, 1_000L));
+        }
+
+        // when
+        Mono.when(charges).block(Duration.ofSeconds(10));
+
+        // then
+        assertThat(pointService.getPoints(1L).block().point()).isEqualTo(100_000L);
+        assertThat(pointHistoryRepository.selectAllByUserId(1L)).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("보유한 잔액보다 많은 포인트를 사용하면 실패하고 잔액은 그대로 유지되어야 한다.")
+    void 잔액_초과_사용_실패() {
+        // given
+        ReactivePointService pointService = reactivePointService(new ColumnarPointHistoryRepository());
+        pointService.chargePoints(1L, 1_000L).block();
+
+        // when & then
+        StepVerifier.create(pointService.usePoints(1L, 2_000L))
+                .expectErrorMessage("사용 포인트가 보유한 잔액을 초과할 수 없습니다.")
+                .verify(Duration.ofSeconds(5));
+        assertThat(userPointRepository.selectById(1L).point()).isEqualTo(1_000L);
+    }
+
+    @Test
+    @DisplayName("내역 저장이 실패하면 잔액을 이전 값으로 되돌리고, 다음 요청은 되돌린 잔액에서 처리해야 한다.")
+    void 내역_저장_실패시_잔액_복구() {
+        // given
+        PointHistoryRepository pointHistoryRepository = mock(PointHistoryRepository.class);
+        given(pointHistoryRepository.insert(anyLong(), eq(500L), any(), anyLong()))
+                .willThrow(new IllegalStateException("내역 저장 실패"));
+        ReactivePointService pointService = reactivePointService(pointHistoryRepository);
+        userPointRepository.insertOrUpdate(1L, 1_000L);
+
+        // when
+        StepVerifier.create(pointService.chargePoints(1L, 500L))
+                .expectErrorMessage("내역 저장 실패")
+                .verify(Duration.ofSeconds(5));
+        UserPoint charged = pointService.chargePoints(1L, 100L).block(Duration.ofSeconds(5));
+
+        // then
+        assertThat(charged.point()).isEqualTo(1_100L);
+    }
+
+    @Test
+    @DisplayName("사용자 아이디가 0이면 테이블을 조회하지 않고 실패해야 한다.")
+    void 잘못된_사용자_아이디_실패() {
+        // given
+        ReactivePointService pointService = reactivePointService(new ColumnarPointHistoryRepository());
+
+        // when & then
+        StepVerifier.create(pointService.getPoints(0L))
+                .expectErrorMessage("사용자 아이디는 0일 수 없습니다.")
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactiveUserQueueTest {
+
+    private final ReactiveUserQueue userQueue = new ReactiveUserQueue();
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(8, 10_000, "user-queue-test");
+
+    @AfterEach
+    void 스케줄러_종료() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 작업은 다른 스레드에서 끝나더라도 한 번에 하나씩 등록 순서대로 실행되어야 한다.")
+    void 같은_사용자_작업_순차_실행() {
+        // given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<Mono<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int sequence = i;
+            tasks.add(userQueue.execute(1L, () -> Mono.fromCallable(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(sequence);
+                running.decrementAndGet();
+                return sequence;
+            }).subscribeOn(scheduler)));
+        }
+
+        // when - 등록 순서대로 구독
+        Mono.when(tasks).block(Duration.ofSeconds(10));
+
+        // then
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(order).isSorted().hasSize(200);
+        assertThat(userQueue.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("바로 끝나는 작업 100,000건이 이어져도 호출 깊이가 늘어나지 않고 모두 실행되어야 한다.")
+    void 동기_작업_연속_실행() {
+        // given
+        int[] executed = {0};
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            userQueue.submit(1L, new ReactiveUserQueue.Task() {
+                @Override
+                void run(Runnable done) {
+                    executed[0]++;
+                    done.run();
+                }
+            });
+        }
+
+        // then
+        assertThat(executed[0]).isEqualTo(100_000);
+        assertThat(userQueue.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("실행 전에 구독이 취소된 작업은 건너뛰고 다음 작업을 실행해야 한다.")
+    void 취소된_작업_건너뜀() {
+        // given - 첫 작업이 끝나지 않은 상태에서 두 작업을 등록하고 두 번째 작업의 구독을 취소
+        Sinks.One<String> first = Sinks.one();
+        List<String> executed = new ArrayList<>();
+        userQueue.execute(1L, first::asMono).subscribe(executed::add);
+        Disposable cancelled = userQueue.execute(1L, () -> Mono.just("cancelled")).subscribe(executed::add);
+        userQueue.execute(1L, () -> Mono.just("third")).subscribe(executed::add);
+        cancelled.dispose();
+
+        // when
+        first.tryEmitValue("first");
+
+        // then
+        assertThat(executed).containsExactly("first", "third");
+        assertThat(userQueue.size()).isZero();
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserPointSnapshotsTest {
+
+    private final UserPointSnapshots userPointSnapshots = new UserPointSnapshots(3);
+
+    @Test
+    @DisplayName("스냅샷이 최대 개수를 넘으면 제거되고, 제거된 사용자는 원본에서 다시 적재해야 한다.")
+    void 최대_개수_초과시_제거_후_재적재() {
+        // given
+        for (long userId = 1; userId <= 10; userId++) {
+            userPointSnapshots.publish(new UserPoint(userId, userId * 1_000L, userId));
+        }
+        assertThat(userPointSnapshots.size()).isEqualTo(3);
+        assertThat(userPointSnapshots.get(10L)).isNotNull(); // 방금 게시한 사용자는 제거하지 않는다.
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        long total = 0L;
+        for (long userId = 1; userId <= 10; userId++) {
+            long id = userId;
+            total += userPointSnapshots.getOrLoad(id, () -> {
+                loads.incrementAndGet();
+                return new UserPoint(id, id * 1_000L, id);
+            }).point();
+        }
+
+        // then - 제거된 사용자는 원본에서 다시 적재하고, 전체 개수는 최대 개수를 넘지 않는다.
+        assertThat(userPointSnapshots.size()).isLessThanOrEqualTo(3);
+        assertThat(loads.get()).isGreaterThanOrEqualTo(7);
+        assertThat(total).isEqualTo(55_000L);
+    }
+
+    @Test
+    @DisplayName("원본 적재 중 같은 사용자의 커밋이 게시되었다면, 게시된 스냅샷이 제거된 뒤에도 적재한 이전 값을 게시하지 않아야 한다.")
+    void 적재중_게시된_커밋_이후_이전_값_미게시() {
+        // given
+        UserPointSnapshots snapshots = new UserPointSnapshots(1);
+
+        // when - 1번 사용자 적재 중 1번 사용자 커밋 게시, 이어서 2번 사용자 게시로 1번 사용자 스냅샷 제거
+        UserPoint loaded = snapshots.getOrLoad(1L, () -> {
+            snapshots.publish(new UserPoint(1L, 2_000L, 2L));
+            snapshots.publish(new UserPoint(2L, 1_000L, 2L));
+            return new UserPoint(1L, 1_000L, 1L);
+        });
+
+        // then - 적재한 이전 값은 반환만 하고 게시하지 않으므로 다음 조회는 원본을 다시 읽는다.
+        assertThat(loaded.point()).isEqualTo(1_000L);
+        assertThat(snapshots.get(1L)).isNull();
+        assertThat(snapshots.getOrLoad(1L, () -> new UserPoint(1L, 2_000L, 2L)).point()).isEqualTo(2_000L);
+    }
+}